@@ -0,0 +1,37 @@
+package software.amazon.timestream.database;
+
+import com.amazonaws.util.StringUtils;
+
+/**
+ * Builds the ARNs of Timestream resources from the region, account and names, the way the service assigns them, so
+ * that a call needing an ARN does not have to wait for a Describe call to return it.
+ *
+ * A synthesized ARN is only as good as the assumptions behind it, so where the service returns the actual ARN as
+ * well, the callers check the two against each other.
+ */
+final class Arns {
+
+    private Arns() {
+    }
+
+    static String partition(final String region) {
+        if (region.startsWith("cn-")) {
+            return "aws-cn";
+        }
+        if (region.startsWith("us-gov-")) {
+            return "aws-us-gov";
+        }
+        return "aws";
+    }
+
+    /**
+     * @return the ARN of the database, or null when the request carries no account to build it in.
+     */
+    static String database(final String awsAccountId, final String databaseName) {
+        if (StringUtils.isNullOrEmpty(awsAccountId)) {
+            return null;
+        }
+        final String region = TimestreamClientFactory.getRegion();
+        return "arn:" + partition(region) + ":timestream:" + region + ":" + awsAccountId + ":database/" + databaseName;
+    }
+}
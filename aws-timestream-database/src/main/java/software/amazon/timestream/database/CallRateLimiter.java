@@ -0,0 +1,145 @@
+package software.amazon.timestream.database;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import lombok.Value;
+
+/**
+ * Container-wide limit on the rate of Timestream calls, shared by every handler action the function serves and
+ * keyed by region, account and API family, as the service quotas are.
+ *
+ * Permits refill at the configured rate (see Configuration.callRatePerSecond) up to one second worth of calls.
+ * MUTATE calls are the ones making progress and are served first: while one of them waits, READ calls, i.e. the
+ * describe and list polls of stabilization, are held back, and READ calls never take the last
+ * MUTATE_RESERVE_PERMITS permits. A call waits for as long as the deadline of its invocation leaves room for it,
+ * after which it fails with a ClientRateLimitedException.
+ */
+final class CallRateLimiter {
+
+    enum ApiFamily {
+        WRITE_CONTROL_PLANE,
+        QUERY_CONTROL_PLANE
+    }
+
+    static final ApiFamily API_FAMILY = ApiFamily.WRITE_CONTROL_PLANE;
+    static final double DEFAULT_RATE_PER_SECOND = 10;
+    static final double MUTATE_RESERVE_PERMITS = 2;
+
+    private static final CallRateLimiter INSTANCE =
+            new CallRateLimiter(Configuration.callRatePerSecond(), System::nanoTime, Thread::sleep);
+
+    private final ConcurrentMap<Key, Permits> permits = new ConcurrentHashMap<>();
+    private final double ratePerSecond;
+    private final LongSupplier nanoClock;
+    private final ThrottlingRetry.Sleeper sleeper;
+
+    CallRateLimiter(final double ratePerSecond, final LongSupplier nanoClock, final ThrottlingRetry.Sleeper sleeper) {
+        this.ratePerSecond = ratePerSecond;
+        this.nanoClock = nanoClock;
+        this.sleeper = sleeper;
+    }
+
+    static CallRateLimiter getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Waits for a permit to call the API family of this module in the region and account.
+     *
+     * @throws ClientRateLimitedException once waiting any longer would not leave the call enough of the deadline.
+     */
+    void acquire(final String region, final String awsAccountId, final ClientProfile profile, final Deadline deadline) {
+        final Permits keyPermits = permits.computeIfAbsent(new Key(region, awsAccountId, API_FAMILY),
+                key -> new Permits(ratePerSecond, nanoClock.getAsLong()));
+        final boolean mutation = profile == ClientProfile.MUTATE;
+        if (mutation) {
+            keyPermits.mutationWaiting(1);
+        }
+        try {
+            for (long waitNanos = keyPermits.tryAcquire(mutation, nanoClock.getAsLong());
+                    waitNanos > 0;
+                    waitNanos = keyPermits.tryAcquire(mutation, nanoClock.getAsLong())) {
+                final long waitMillis = Math.max(1L, TimeUnit.NANOSECONDS.toMillis(waitNanos));
+                if (deadline.remainingMillis() - waitMillis
+                        < Deadline.RESERVE_MILLIS + ThrottlingRetry.MIN_CALL_MILLIS) {
+                    throw rateExceeded(region);
+                }
+                try {
+                    sleeper.sleep(waitMillis);
+                } catch (final InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    throw rateExceeded(region);
+                }
+            }
+        } finally {
+            if (mutation) {
+                keyPermits.mutationWaiting(-1);
+            }
+        }
+    }
+
+    void clear() {
+        permits.clear();
+    }
+
+    private static ClientRateLimitedException rateExceeded(final String region) {
+        return new ClientRateLimitedException(
+                "Rate of " + API_FAMILY + " calls in " + region + " exceeded client side");
+    }
+
+    @Value
+    private static class Key {
+        String region;
+        String awsAccountId;
+        ApiFamily apiFamily;
+    }
+
+    /**
+     * Permits of a single key.
+     */
+    private static final class Permits {
+
+        private final double ratePerSecond;
+        private final double capacity;
+        private double available;
+        private long refilledAt;
+        private int waitingMutations;
+
+        Permits(final double ratePerSecond, final long nanoTime) {
+            this.ratePerSecond = ratePerSecond;
+            this.capacity = Math.max(1, ratePerSecond);
+            this.available = capacity;
+            this.refilledAt = nanoTime;
+        }
+
+        synchronized void mutationWaiting(final int delta) {
+            waitingMutations += delta;
+        }
+
+        /**
+         * @return 0 when a permit was taken, or else how long to wait before trying again, in nanoseconds.
+         */
+        synchronized long tryAcquire(final boolean mutation, final long nanoTime) {
+            available = Math.min(capacity,
+                    available + (nanoTime - refilledAt) * ratePerSecond / TimeUnit.SECONDS.toNanos(1));
+            refilledAt = nanoTime;
+
+            final double floor = mutation ? 0 : Math.min(MUTATE_RESERVE_PERMITS, capacity - 1);
+            if (!mutation && waitingMutations > 0) {
+                return nanosFor(1);
+            }
+            if (available - 1 >= floor) {
+                available -= 1;
+                return 0;
+            }
+            return nanosFor(floor + 1 - available);
+        }
+
+        private long nanosFor(final double missing) {
+            return Math.max(1L, (long) Math.ceil(missing / ratePerSecond * TimeUnit.SECONDS.toNanos(1)));
+        }
+    }
+}
@@ -1,12 +1,23 @@
 package software.amazon.timestream.database;
 
+import java.util.List;
+
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Data
 @NoArgsConstructor
+@AllArgsConstructor
 @Builder
 public class CallbackContext {
-
+    private String endpointAddress;
+    private long endpointExpiresAt;
+    private String databaseArn;
+    private List<String> completedSteps;
+    private int throttledResumes;
+    private String tablesNextToken;
+    private int tablesRemaining;
+    private int tablesPasses;
 }
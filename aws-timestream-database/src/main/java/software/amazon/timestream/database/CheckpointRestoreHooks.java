@@ -0,0 +1,92 @@
+package software.amazon.timestream.database;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.crac.Context;
+import org.crac.Core;
+import org.crac.Resource;
+
+import com.amazonaws.SdkClientException;
+import com.amazonaws.auth.AWSStaticCredentialsProvider;
+import com.amazonaws.auth.BasicAWSCredentials;
+import com.amazonaws.client.builder.AwsClientBuilder;
+import com.amazonaws.services.timestreamwrite.AmazonTimestreamWrite;
+import com.amazonaws.services.timestreamwrite.AmazonTimestreamWriteClient;
+import com.amazonaws.services.timestreamwrite.model.DescribeDatabaseRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Checkpoint and restore hooks of the handler JVM, for runtimes that snapshot the initialised JVM (CRaC).
+ *
+ * Before the checkpoint, a priming pass loads what the first invocation would otherwise pay for: the model and
+ * tag helper classes, the JSON mapping of the model and callback context, and a Timestream write client, which sends
+ * one request to a closed local port so that the marshalling, signing and HTTP stack get loaded without any network
+ * access or credentials. Every client is then shut down, the snapshot holds no open connection.
+ *
+ * After the restore, the pooled connections, the discovered endpoints and the credentials cached by the discovery
+ * client belong to the JVM the snapshot was taken from. They are all dropped and the connection pre-warming, when
+ * enabled, starts over.
+ */
+final class CheckpointRestoreHooks implements Resource {
+
+    static final String PRIMING_ENDPOINT = "http://127.0.0.1:1";
+    static final String PRIMING_REGION = "us-east-1";
+
+    // the global context only keeps weak references to the registered resources
+    private static final CheckpointRestoreHooks INSTANCE = new CheckpointRestoreHooks();
+    private static final AtomicBoolean REGISTERED = new AtomicBoolean();
+
+    static void register() {
+        if (REGISTERED.compareAndSet(false, true)) {
+            Core.getGlobalContext().register(INSTANCE);
+        }
+    }
+
+    @Override
+    public void beforeCheckpoint(final Context<? extends Resource> context) throws IOException {
+        prime();
+        dropClientState();
+    }
+
+    @Override
+    public void afterRestore(final Context<? extends Resource> context) {
+        dropClientState();
+        ConnectionPrewarmer.restartIfEnabled();
+    }
+
+    static void prime() throws IOException {
+        final ResourceModel model = ResourceModel.builder()
+                .databaseName("priming")
+                .kmsKeyId("priming")
+                .tags(Collections.singletonList(Tag.builder().key("priming").value("priming").build()))
+                .build();
+        TagHelper.convertToSet(TagHelper.convertToMap(model.getTags()));
+
+        final ObjectMapper mapper = new ObjectMapper();
+        mapper.readValue(mapper.writeValueAsString(model), ResourceModel.class);
+        mapper.writeValueAsString(CallbackContext.builder().build());
+
+        final AmazonTimestreamWrite client = AmazonTimestreamWriteClient.builder()
+                .withCredentials(new AWSStaticCredentialsProvider(new BasicAWSCredentials("priming", "priming")))
+                .withEndpointConfiguration(new AwsClientBuilder.EndpointConfiguration(PRIMING_ENDPOINT, PRIMING_REGION))
+                .withClientConfiguration(Configuration.clientConfiguration(ClientProfile.READ).withMaxErrorRetry(0))
+                .build();
+        try {
+            client.describeDatabase(new DescribeDatabaseRequest().withDatabaseName("priming"));
+        } catch (final SdkClientException ex) {
+            // expected, nothing listens on the priming endpoint
+        } finally {
+            client.shutdown();
+        }
+    }
+
+    /**
+     * Shuts down every client, dropping its connections and cached credentials, and forgets the discovered endpoints.
+     */
+    static void dropClientState() {
+        TimestreamClientRegistry.getInstance().clear();
+        EndpointCache.getInstance().clear();
+    }
+}
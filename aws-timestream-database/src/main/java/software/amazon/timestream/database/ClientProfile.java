@@ -0,0 +1,92 @@
+package software.amazon.timestream.database;
+
+import java.util.function.UnaryOperator;
+
+import com.amazonaws.AmazonWebServiceRequest;
+import com.amazonaws.ClientConfiguration;
+import com.amazonaws.Protocol;
+import com.amazonaws.retry.PredefinedRetryPolicies;
+import com.amazonaws.retry.RetryPolicy;
+import com.amazonaws.retry.RetryUtils;
+
+/**
+ * Client settings per kind of call. READ covers the describe and list calls, which handlers poll and which should
+ * fail fast rather than hold the invocation, MUTATE covers the create, update, delete and tag calls.
+ *
+ * Each setting can be overridden through a TIMESTREAM_&lt;PROFILE&gt;_&lt;SETTING&gt; environment variable, e.g.
+ * TIMESTREAM_READ_SOCKET_TIMEOUT_MILLIS or TIMESTREAM_MUTATE_MAX_ERROR_RETRY, see Configuration.
+ * Values that cannot be parsed are ignored and the default applies.
+ *
+ * The SDK retries transient errors only. Throttled calls are left to ThrottlingRetry, which backs off across the
+ * whole invocation, so that one logical call is not retried by both layers.
+ */
+enum ClientProfile {
+
+    READ(2_000, 5_000, 5_000, 15_000, 10, 2),
+    MUTATE(2_000, 20_000, 20_000, 60_000, 10, 3);
+
+    static final String ENV_PREFIX = "TIMESTREAM_";
+
+    /**
+     * The default retry condition of the SDK, except for throttling errors.
+     */
+    static final RetryPolicy.RetryCondition RETRY_UNLESS_THROTTLED = (request, exception, retries) ->
+            !RetryUtils.isThrottlingException(exception)
+                    && PredefinedRetryPolicies.DEFAULT_RETRY_CONDITION.shouldRetry(request, exception, retries);
+
+    private final int connectionTimeoutMillis;
+    private final int socketTimeoutMillis;
+    private final int requestTimeoutMillis;
+    private final int clientExecutionTimeoutMillis;
+    private final int maxConnections;
+    private final int maxErrorRetry;
+
+    ClientProfile(
+            final int connectionTimeoutMillis,
+            final int socketTimeoutMillis,
+            final int requestTimeoutMillis,
+            final int clientExecutionTimeoutMillis,
+            final int maxConnections,
+            final int maxErrorRetry) {
+        this.connectionTimeoutMillis = connectionTimeoutMillis;
+        this.socketTimeoutMillis = socketTimeoutMillis;
+        this.requestTimeoutMillis = requestTimeoutMillis;
+        this.clientExecutionTimeoutMillis = clientExecutionTimeoutMillis;
+        this.maxConnections = maxConnections;
+        this.maxErrorRetry = maxErrorRetry;
+    }
+
+    /**
+     * @return READ for the Describe* and List* requests, MUTATE for every other request.
+     */
+    static ClientProfile of(final AmazonWebServiceRequest request) {
+        final String operation = request.getClass().getSimpleName();
+        return operation.startsWith("Describe") || operation.startsWith("List") ? READ : MUTATE;
+    }
+
+    /**
+     * @param environment looks up the value of an environment variable, null if it is not set.
+     */
+    ClientConfiguration toClientConfiguration(final UnaryOperator<String> environment) {
+        return new ClientConfiguration()
+                .withProtocol(Protocol.HTTPS)
+                .withConnectionTimeout(setting(environment, "CONNECTION_TIMEOUT_MILLIS", connectionTimeoutMillis))
+                .withSocketTimeout(setting(environment, "SOCKET_TIMEOUT_MILLIS", socketTimeoutMillis))
+                .withRequestTimeout(setting(environment, "REQUEST_TIMEOUT_MILLIS", requestTimeoutMillis))
+                .withClientExecutionTimeout(
+                        setting(environment, "CLIENT_EXECUTION_TIMEOUT_MILLIS", clientExecutionTimeoutMillis))
+                .withMaxConnections(setting(environment, "MAX_CONNECTIONS", maxConnections))
+                .withRetryPolicy(new RetryPolicy(
+                        RETRY_UNLESS_THROTTLED, PredefinedRetryPolicies.DEFAULT_BACKOFF_STRATEGY, maxErrorRetry, true))
+                .withMaxErrorRetry(setting(environment, "MAX_ERROR_RETRY", maxErrorRetry))
+                .withTcpKeepAlive(!"false".equalsIgnoreCase(environment.apply(variable("TCP_KEEP_ALIVE"))));
+    }
+
+    String variable(final String setting) {
+        return ENV_PREFIX + name() + "_" + setting;
+    }
+
+    private int setting(final UnaryOperator<String> environment, final String setting, final int defaultValue) {
+        return Configuration.intSetting(environment, variable(setting), defaultValue, 0, Integer.MAX_VALUE);
+    }
+}
@@ -32,6 +32,9 @@ import com.amazonaws.util.StringUtils;
 /**
  * Timestream database resource creation handler. CloudFormation invokes this handler
  * when the resource is initially created during stack create operations.
+ *
+ * While the circuit of the endpoint is open (see CircuitBreaker), the handler returns IN_PROGRESS and tries again
+ * once called back.
  */
 public class CreateHandler extends BaseHandler<CallbackContext> {
 
@@ -40,8 +43,9 @@ public class CreateHandler extends BaseHandler<CallbackContext> {
 
     private static final int DATABASE_NAME_MAX_LENGTH = 256;
 
-    private AmazonWebServicesClientProxy proxy;
-    private AmazonTimestreamWrite timestreamClient;
+    public CreateHandler() {
+        RuntimeHooks.init();
+    }
 
     @Override
     public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
@@ -50,8 +54,8 @@ public class CreateHandler extends BaseHandler<CallbackContext> {
         final CallbackContext callbackContext,
         final Logger logger) {
 
-        timestreamClient = TimestreamClientFactory.get(proxy, logger);
-        this.proxy = proxy;
+        final RequestContext requestContext =
+                RequestContext.of(proxy, request, callbackContext, Deadline.start(), logger);
 
         final ResourceModel model = request.getDesiredResourceState();
 
@@ -83,7 +87,7 @@ public class CreateHandler extends BaseHandler<CallbackContext> {
 
         try {
             final CreateDatabaseResult result =
-                    this.proxy.injectCredentialsAndInvoke(createDatabaseRequest, timestreamClient::createDatabase);
+                    requestContext.invoke(createDatabaseRequest, AmazonTimestreamWrite::createDatabase);
             model.setArn(result.getDatabase().getArn());
         } catch (ConflictException ex) {
             throw new CfnAlreadyExistsException(ResourceModel.TYPE_NAME, model.getDatabaseName(), ex);
@@ -93,10 +97,13 @@ public class CreateHandler extends BaseHandler<CallbackContext> {
             throw new CfnAccessDeniedException(CREATE_DATABASE, ex);
         } catch (ServiceQuotaExceededException ex) {
             throw new CfnServiceLimitExceededException(ResourceModel.TYPE_NAME, QUOTE_MESSAGE, ex);
-        } catch(ThrottlingException ex) {
+        } catch(ThrottlingException | ClientRateLimitedException ex) {
             throw new CfnThrottlingException(CREATE_DATABASE, ex);
         } catch(InternalServerException ex) {
             throw new CfnInternalFailureException(ex);
+        } catch (CircuitOpenException ex) {
+            // nothing was created, create again once the circuit may have closed
+            return ex.toProgressEvent(model, callbackContext == null ? CallbackContext.builder().build() : callbackContext);
         }
 
         return ProgressEvent.<ResourceModel, CallbackContext>builder()
@@ -1,5 +1,7 @@
 package software.amazon.timestream.database;
 
+import java.util.function.Supplier;
+
 import software.amazon.cloudformation.exceptions.CfnAccessDeniedException;
 import software.amazon.cloudformation.exceptions.CfnInternalFailureException;
 import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
@@ -26,14 +28,33 @@ import com.amazonaws.services.timestreamwrite.model.ValidationException;
  * Timestream database resource deletion handler. CloudFormation invokes this handler
  * when the resource is deleted, either when the resource is deleted from the stack as
  * part of a stack update operation, or the stack itself is deleted.
+ *
+ * When cascading deletes are enabled, see Configuration.cascadeDatabaseDelete, the tables left in the database,
+ * e.g. ones created outside of the stack, are deleted first through a TableTeardown, which may take several
+ * invocations.
+ *
+ * While the circuit of the endpoint is open (see CircuitBreaker), the handler returns IN_PROGRESS and tries again
+ * once called back.
  */
 public class DeleteHandler extends BaseHandler<CallbackContext> {
 
     private static final String DELETE_DATABASE = "DeleteDatabase";
     private static final String CONFLICT_REASON =
             "Database deletion conflicts with the resource's availability. E.g. trying to delete the database in CREATING state.";
-    private AmazonWebServicesClientProxy proxy;
-    private AmazonTimestreamWrite timestreamClient;
+    private final boolean cascade;
+    private final Supplier<Deadline> deadlines;
+    private final ThrottlingRetry.Sleeper sleeper;
+
+    public DeleteHandler() {
+        this(Configuration.cascadeDatabaseDelete(), Deadline::start, Thread::sleep);
+        RuntimeHooks.init();
+    }
+
+    DeleteHandler(final boolean cascade, final Supplier<Deadline> deadlines, final ThrottlingRetry.Sleeper sleeper) {
+        this.cascade = cascade;
+        this.deadlines = deadlines;
+        this.sleeper = sleeper;
+    }
 
     @Override
     public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
@@ -42,15 +63,23 @@ public class DeleteHandler extends BaseHandler<CallbackContext> {
         final CallbackContext callbackContext,
         final Logger logger) {
 
-        timestreamClient = TimestreamClientFactory.get(proxy, logger);
-        this.proxy = proxy;
+        final Deadline deadline = deadlines.get();
+        final CallbackContext context = callbackContext == null ? CallbackContext.builder().build() : callbackContext;
+        final RequestContext requestContext = RequestContext.of(proxy, request, context, deadline, logger);
 
         final ResourceModel model = request.getDesiredResourceState();
 
         final DeleteDatabaseRequest deleteDatabaseRequest =
                 new DeleteDatabaseRequest().withDatabaseName(model.getDatabaseName());
         try {
-            this.proxy.injectCredentialsAndInvoke(deleteDatabaseRequest, timestreamClient::deleteDatabase);
+            if (cascade) {
+                final ProgressEvent<ResourceModel, CallbackContext> teardown =
+                        new TableTeardown(requestContext, context, sleeper).run(model);
+                if (teardown.getStatus() != OperationStatus.SUCCESS) {
+                    return teardown;
+                }
+            }
+            requestContext.invoke(deleteDatabaseRequest, AmazonTimestreamWrite::deleteDatabase);
         } catch (final ResourceNotFoundException ex) {
             throw new CfnNotFoundException(ResourceModel.TYPE_NAME, model.getDatabaseName(), ex);
         } catch (ConflictException ex) {
@@ -59,10 +88,12 @@ public class DeleteHandler extends BaseHandler<CallbackContext> {
             throw new CfnInvalidRequestException(request.toString(), ex);
         } catch(InternalServerException ex) {
             throw new CfnInternalFailureException(ex);
-        } catch (ThrottlingException ex) {
+        } catch (ThrottlingException | ClientRateLimitedException ex) {
             throw new CfnThrottlingException(DELETE_DATABASE, ex);
         } catch (AccessDeniedException ex) {
             throw new CfnAccessDeniedException(DELETE_DATABASE, ex);
+        } catch (CircuitOpenException ex) {
+            return ex.toProgressEvent(model, context);
         }
 
         return ProgressEvent.<ResourceModel, CallbackContext>builder()
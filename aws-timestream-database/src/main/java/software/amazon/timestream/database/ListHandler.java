@@ -31,8 +31,10 @@ public class ListHandler extends BaseHandler<CallbackContext> {
 
     private static final int MAX_ITEMS = 10;
     private static final String LIST_DATABASES = "ListDatabases";
-    private AmazonWebServicesClientProxy proxy;
-    private AmazonTimestreamWrite timestreamClient;
+
+    public ListHandler() {
+        RuntimeHooks.init();
+    }
 
     @Override
     public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
@@ -41,17 +43,17 @@ public class ListHandler extends BaseHandler<CallbackContext> {
         final CallbackContext callbackContext,
         final Logger logger) {
 
-        timestreamClient = TimestreamClientFactory.get(proxy, logger);
-        this.proxy = proxy;
+        final RequestContext requestContext =
+                RequestContext.of(proxy, request, callbackContext, Deadline.start(), logger);
 
         ListDatabasesResult result;
         final ListDatabasesRequest listDatabasesRequest =
                 new ListDatabasesRequest().withNextToken(request.getNextToken()).withMaxResults(MAX_ITEMS);
         try {
-            result = this.proxy.injectCredentialsAndInvoke(listDatabasesRequest, timestreamClient::listDatabases);
+            result = requestContext.invoke(listDatabasesRequest, AmazonTimestreamWrite::listDatabases);
         } catch (InternalServerException ex) {
             throw new CfnInternalFailureException(ex);
-        } catch (ThrottlingException ex) {
+        } catch (ThrottlingException | ClientRateLimitedException ex) {
             throw new CfnThrottlingException(LIST_DATABASES, ex);
         } catch (ValidationException | InvalidEndpointException ex) {
             throw new CfnInvalidRequestException(request.toString(), ex);
@@ -1,6 +1,7 @@
 package software.amazon.timestream.database;
 
 import java.util.List;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 import software.amazon.cloudformation.exceptions.CfnAccessDeniedException;
@@ -34,8 +35,10 @@ import com.amazonaws.services.timestreamwrite.model.ValidationException;
 public class ReadHandler extends BaseHandler<CallbackContext> {
 
     private static final String DESCRIBE_DATABASE = "DescribeDatabase";
-    private AmazonWebServicesClientProxy proxy;
-    private AmazonTimestreamWrite timestreamClient;
+
+    public ReadHandler() {
+        RuntimeHooks.init();
+    }
 
     @Override
     public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
@@ -44,19 +47,24 @@ public class ReadHandler extends BaseHandler<CallbackContext> {
         final CallbackContext callbackContext,
         final Logger logger) {
 
-        timestreamClient = TimestreamClientFactory.get(proxy, logger);
-        this.proxy = proxy;
+        final RequestContext requestContext =
+                RequestContext.of(proxy, request, callbackContext, Deadline.start(), logger);
 
         ResourceModel result;
         final ResourceModel model = request.getDesiredResourceState();
         final DescribeDatabaseRequest describeDatabaseRequest =
                 new DescribeDatabaseRequest().withDatabaseName(model.getDatabaseName());
 
+        // with the ARN known up front, the tags are listed while the database is described
+        final String expectedArn = Arns.database(request.getAwsAccountId(), model.getDatabaseName());
+        final Future<List<Tag>> expectedTags =
+                expectedArn == null ? null : FanOut.fork(() -> getTags(requestContext, expectedArn));
+
         try {
             final DescribeDatabaseResult describeDatabaseResult =
-                    this.proxy.injectCredentialsAndInvoke(describeDatabaseRequest, timestreamClient::describeDatabase);
+                    requestContext.invoke(describeDatabaseRequest, AmazonTimestreamWrite::describeDatabase);
             final Database databaseRecord = describeDatabaseResult.getDatabase();
-            final List<Tag> tags = getTags(databaseRecord.getArn());
+            final List<Tag> tags = getTags(requestContext, databaseRecord.getArn(), expectedArn, expectedTags);
             model.setTags(tags == null || tags.isEmpty() ? null : tags);
             model.setArn(databaseRecord.getArn());
             result = model;
@@ -66,10 +74,14 @@ public class ReadHandler extends BaseHandler<CallbackContext> {
             throw new CfnInvalidRequestException(request.toString(), ex);
         } catch (AccessDeniedException ex) {
             throw new CfnAccessDeniedException(DESCRIBE_DATABASE, ex);
-        } catch (ThrottlingException ex) {
+        } catch (ThrottlingException | ClientRateLimitedException ex) {
             throw new CfnThrottlingException(DESCRIBE_DATABASE, ex);
         } catch (InternalServerException ex) {
             throw new CfnInternalFailureException(ex);
+        } finally {
+            if (expectedTags != null) {
+                expectedTags.cancel(true);
+            }
         }
 
         return ProgressEvent.<ResourceModel, CallbackContext>builder()
@@ -78,12 +90,33 @@ public class ReadHandler extends BaseHandler<CallbackContext> {
             .build();
     }
 
-    private List<Tag> getTags(final String arn) {
+    /**
+     * @return the tags listed while the database was described, unless the ARN they were listed for is not the actual
+     * one.
+     */
+    private List<Tag> getTags(
+            final RequestContext requestContext,
+            final String arn,
+            final String expectedArn,
+            final Future<List<Tag>> expectedTags) {
+        if (expectedTags == null) {
+            return getTags(requestContext, arn);
+        }
+        if (!arn.equals(expectedArn)) {
+            expectedTags.cancel(true);
+            requestContext.getLogger().log("Database ARN " + arn + " differs from the synthesized " + expectedArn
+                    + ", listing its tags again\n");
+            return getTags(requestContext, arn);
+        }
+        return FanOut.join(expectedTags);
+    }
+
+    private List<Tag> getTags(final RequestContext requestContext, final String arn) {
         final ListTagsForResourceRequest listTagsForResourceRequest =
                 new ListTagsForResourceRequest().withResourceARN(arn);
         final ListTagsForResourceResult listTagsForResourceResult =
-                this.proxy.injectCredentialsAndInvoke(
-                        listTagsForResourceRequest, timestreamClient::listTagsForResource);
+                requestContext.invoke(
+                        listTagsForResourceRequest, AmazonTimestreamWrite::listTagsForResource);
 
         if (listTagsForResourceResult.getTags() == null) {
             return null;
@@ -0,0 +1,44 @@
+package software.amazon.timestream.database;
+
+import java.util.function.BiFunction;
+
+import lombok.Value;
+
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+import com.amazonaws.AmazonWebServiceRequest;
+import com.amazonaws.AmazonWebServiceResult;
+import com.amazonaws.ResponseMetadata;
+import com.amazonaws.services.timestreamwrite.AmazonTimestreamWrite;
+
+/**
+ * What a single handler invocation works with. The handlers pass it along instead of keeping it in fields, so that
+ * a handler instance holds no state of its own and can serve concurrent requests.
+ */
+@Value
+class RequestContext {
+
+    ResourceHandlerRequest<ResourceModel> request;
+    TimestreamInvoker invoker;
+    Deadline deadline;
+    Logger logger;
+
+    static RequestContext of(
+            final AmazonWebServicesClientProxy proxy,
+            final ResourceHandlerRequest<ResourceModel> request,
+            final CallbackContext callbackContext,
+            final Deadline deadline,
+            final Logger logger) {
+        return new RequestContext(request,
+                new TimestreamInvoker(proxy, request.getAwsAccountId(), callbackContext, deadline, logger),
+                deadline, logger);
+    }
+
+    <RequestT extends AmazonWebServiceRequest, ResultT extends AmazonWebServiceResult<ResponseMetadata>> ResultT invoke(
+            final RequestT request,
+            final BiFunction<AmazonTimestreamWrite, RequestT, ResultT> operation) {
+        return invoker.invoke(request, operation);
+    }
+}
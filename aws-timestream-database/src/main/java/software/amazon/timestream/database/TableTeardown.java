@@ -0,0 +1,186 @@
+package software.amazon.timestream.database;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import software.amazon.cloudformation.exceptions.CfnResourceConflictException;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+
+import com.amazonaws.services.timestreamwrite.AmazonTimestreamWrite;
+import com.amazonaws.services.timestreamwrite.model.ConflictException;
+import com.amazonaws.services.timestreamwrite.model.DeleteTableRequest;
+import com.amazonaws.services.timestreamwrite.model.ListTablesRequest;
+import com.amazonaws.services.timestreamwrite.model.ListTablesResult;
+import com.amazonaws.services.timestreamwrite.model.ResourceNotFoundException;
+import com.amazonaws.services.timestreamwrite.model.Table;
+import com.amazonaws.services.timestreamwrite.model.TableStatus;
+import com.amazonaws.services.timestreamwrite.model.ThrottlingException;
+
+/**
+ * Deletes every table of a database, so that the database itself can be deleted, see
+ * Configuration.cascadeDatabaseDelete.
+ *
+ * The tables are gone through in passes over ListTables, a page at a time. The tables of a page that are not being
+ * deleted yet are deleted concurrently, at most MAX_CONCURRENT_TABLE_DELETES at once. The same passes serve to poll
+ * for the tables to disappear, a page of tables per call: once a pass lists no table, the database is empty. A table
+ * whose deletion is throttled or conflicts, e.g. as it is still being created, is simply deleted again in the next
+ * pass. After MAX_PASSES passes that still list tables, the teardown gives up with CfnResourceConflictException
+ * rather than keep the stack waiting on a table that cannot be deleted.
+ *
+ * The position in the current pass is kept in the callback context, so that the teardown resumes where it stopped
+ * when the deadline of the invocation is nearly expired. Between passes, the teardown waits POLL_DELAY_MILLIS inline
+ * while the deadline leaves room, or else for a callback. The tables of a page are deleted on a pool of the
+ * invocation, which is shut down when it returns.
+ */
+final class TableTeardown {
+
+    static final int MAX_CONCURRENT_TABLE_DELETES = 5;
+    static final int LIST_TABLES_PAGE_SIZE = 20;
+    static final long POLL_DELAY_MILLIS = 2_000L;
+    static final int CHECKPOINT_CALLBACK_DELAY_SECONDS = 1;
+    static final int POLL_CALLBACK_DELAY_SECONDS = 10;
+    // passes are at least POLL_DELAY_MILLIS apart, this gives the tables no less than 6 minutes to go
+    static final int MAX_PASSES = 180;
+
+    private final TimestreamInvoker invoker;
+    private final Deadline deadline;
+    private final CallbackContext context;
+    private final ThrottlingRetry.Sleeper sleeper;
+    private final Logger logger;
+
+    TableTeardown(
+            final RequestContext requestContext,
+            final CallbackContext context,
+            final ThrottlingRetry.Sleeper sleeper) {
+        this.invoker = requestContext.getInvoker();
+        this.deadline = requestContext.getDeadline();
+        this.context = context;
+        this.sleeper = sleeper;
+        this.logger = requestContext.getLogger();
+    }
+
+    /**
+     * @return SUCCESS once the database holds no table any more, or else IN_PROGRESS with the context to resume from.
+     */
+    ProgressEvent<ResourceModel, CallbackContext> run(final ResourceModel model) {
+        final ExecutorService deletes =
+                Executors.newFixedThreadPool(MAX_CONCURRENT_TABLE_DELETES, TableTeardown::daemonThread);
+        try {
+            return run(model, deletes);
+        } finally {
+            deletes.shutdownNow();
+        }
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> run(
+            final ResourceModel model, final ExecutorService deletes) {
+        while (true) {
+            if (deadline.isNearlyExpired()) {
+                return inProgress(model, CHECKPOINT_CALLBACK_DELAY_SECONDS);
+            }
+            final ListTablesResult page = invoker.invoke(
+                    new ListTablesRequest()
+                            .withDatabaseName(model.getDatabaseName())
+                            .withMaxResults(LIST_TABLES_PAGE_SIZE)
+                            .withNextToken(context.getTablesNextToken()),
+                    AmazonTimestreamWrite::listTables);
+            final List<Table> tables = page.getTables() == null ? Collections.emptyList() : page.getTables();
+            deleteTables(deletes, model.getDatabaseName(), tables.stream()
+                    .filter(table -> !TableStatus.DELETING.toString().equals(table.getTableStatus()))
+                    .map(Table::getTableName)
+                    .collect(Collectors.toList()));
+            context.setTablesRemaining(context.getTablesRemaining() + tables.size());
+            context.setTablesNextToken(page.getNextToken());
+            if (page.getNextToken() != null) {
+                continue;
+            }
+
+            final int remaining = context.getTablesRemaining();
+            if (remaining == 0) {
+                return ProgressEvent.<ResourceModel, CallbackContext>builder()
+                        .resourceModel(model)
+                        .status(OperationStatus.SUCCESS)
+                        .build();
+            }
+            context.setTablesRemaining(0);
+            context.setTablesPasses(context.getTablesPasses() + 1);
+            if (context.getTablesPasses() >= MAX_PASSES) {
+                throw new CfnResourceConflictException(ResourceModel.TYPE_NAME, model.getDatabaseName(),
+                        remaining + " tables of the database are still left after " + MAX_PASSES
+                                + " passes deleting them");
+            }
+            logger.log("Waiting for " + remaining + " tables of database " + model.getDatabaseName()
+                    + " to be deleted\n");
+            if (deadline.remainingMillis() - POLL_DELAY_MILLIS
+                    < Deadline.RESERVE_MILLIS + ThrottlingRetry.MIN_CALL_MILLIS) {
+                return inProgress(model, POLL_CALLBACK_DELAY_SECONDS);
+            }
+            try {
+                sleeper.sleep(POLL_DELAY_MILLIS);
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return inProgress(model, POLL_CALLBACK_DELAY_SECONDS);
+            }
+        }
+    }
+
+    private void deleteTables(
+            final ExecutorService deletes, final String databaseName, final List<String> tableNames) {
+        final List<Future<?>> pending = new ArrayList<>();
+        for (final String tableName : tableNames) {
+            pending.add(deletes.submit(() -> deleteTable(databaseName, tableName)));
+        }
+        RuntimeException failure = null;
+        for (final Future<?> delete : pending) {
+            try {
+                delete.get();
+            } catch (final ExecutionException ex) {
+                if (failure == null && ex.getCause() instanceof RuntimeException) {
+                    failure = (RuntimeException) ex.getCause();
+                }
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while deleting tables of " + databaseName, ex);
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void deleteTable(final String databaseName, final String tableName) {
+        try {
+            invoker.invoke(new DeleteTableRequest().withDatabaseName(databaseName).withTableName(tableName),
+                    AmazonTimestreamWrite::deleteTable);
+            logger.log("Deleting table " + tableName + " of database " + databaseName + "\n");
+        } catch (final ResourceNotFoundException ex) {
+            // deleted in the meantime
+        } catch (final ConflictException | ThrottlingException | ClientRateLimitedException ex) {
+            logger.log("Deleting table " + tableName + " failed with " + ex + ", retrying in the next pass\n");
+        }
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> inProgress(
+            final ResourceModel model, final int callbackDelaySeconds) {
+        return ProgressEvent.<ResourceModel, CallbackContext>builder()
+                .callbackContext(context)
+                .resourceModel(model)
+                .status(OperationStatus.IN_PROGRESS)
+                .callbackDelaySeconds(callbackDelaySeconds)
+                .build();
+    }
+
+    private static Thread daemonThread(final Runnable runnable) {
+        final Thread thread = new Thread(runnable, "timestream-table-teardown");
+        thread.setDaemon(true);
+        return thread;
+    }
+}
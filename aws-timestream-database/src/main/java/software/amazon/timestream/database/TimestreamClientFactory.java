@@ -5,8 +5,6 @@ import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.Logger;
 
-import com.amazonaws.ClientConfiguration;
-import com.amazonaws.Protocol;
 import com.amazonaws.client.builder.AwsClientBuilder;
 import com.amazonaws.services.timestreamwrite.AmazonTimestreamWrite;
 import com.amazonaws.services.timestreamwrite.AmazonTimestreamWriteClient;
@@ -16,6 +14,8 @@ import com.amazonaws.services.timestreamwrite.model.DescribeEndpointsResult;
 import com.amazonaws.services.timestreamwrite.model.InternalServerException;
 import com.amazonaws.services.timestreamwrite.model.ValidationException;
 
+import java.util.Optional;
+
 /**
  * Factory class that provides Timestream client instance.
  */
@@ -25,9 +25,74 @@ class TimestreamClientFactory {
 
     /**
      *
-     *  @return  Timestream write client with corresponding endpoint discovered.
+     *  @return  the endpoint to send Timestream write requests to, discovered or taken from the cache.
+     */
+    static String resolveEndpoint(
+            final AmazonWebServicesClientProxy proxy,
+            final String awsAccountId,
+            final CallbackContext callbackContext,
+            final Logger logger) {
+        final String region = getRegion();
+
+        /*
+         * Describe the endpoints unless a still valid one is cached for this region and account, or was carried
+         * over in the callback context by a previous invocation. The credentials from users will be used and
+         * injected to the request. Note here the credentials from users should be used for discovering endpoints
+         * (instead of the credentials of the lambda handlers)
+         */
+        final EndpointCache endpointCache = EndpointCache.getInstance();
+        if (callbackContext != null) {
+            endpointCache.seed(region, awsAccountId,
+                    callbackContext.getEndpointAddress(), callbackContext.getEndpointExpiresAt());
+        }
+        final EndpointCache.CachedEndpoint cachedEndpoint =
+                endpointCache.get(region, awsAccountId, () -> describeEndpoints(proxy, region, logger));
+        if (callbackContext != null) {
+            callbackContext.setEndpointAddress(cachedEndpoint.getAddress());
+            callbackContext.setEndpointExpiresAt(cachedEndpoint.getExpiresAt());
+        }
+
+        return cachedEndpoint.getAddress();
+    }
+
+    /**
+     *
+     *  @return  Timestream write client bound to the given endpoint, configured for the given profile, to be handed
+     *           back with release once the call made with it is done.
+     */
+    static AmazonTimestreamWrite getClient(final String endpoint, final ClientProfile profile, final Logger logger) {
+        final String region = getRegion();
+
+        /*
+         * Reuse, or create and register, the actual client to use with the endpoint obtained
+         */
+        return TimestreamClientRegistry.getInstance().get(region, endpoint, profile, () -> {
+            logger.log("Creating AmazonTimestreamWriteClient with endpoint " + endpoint + " in region " + region
+                    + " for " + profile + " calls\n");
+            return AmazonTimestreamWriteClient.builder()
+                    .withEndpointConfiguration(new AwsClientBuilder.EndpointConfiguration(endpoint, region))
+                    .withClientConfiguration(Configuration.clientConfiguration(profile))
+                    .build();
+        });
+    }
+
+    /**
+     * Hands back a client obtained from this factory, see TimestreamClientRegistry.
      */
-    static AmazonTimestreamWrite get(final AmazonWebServicesClientProxy proxy, final Logger logger) {
+    static void release(final AmazonTimestreamWrite client) {
+        TimestreamClientRegistry.getInstance().release(client);
+    }
+
+    /**
+     * Forgets an endpoint that turned out to be stale or unreachable, together with the client bound to it.
+     */
+    static void evictEndpoint(final String awsAccountId, final String endpoint) {
+        final String region = getRegion();
+        EndpointCache.getInstance().evict(region, awsAccountId, endpoint);
+        TimestreamClientRegistry.getInstance().evict(region, endpoint);
+    }
+
+    static String getRegion() {
         /*
          * From CFN team, it is recommended to use the production environment for all stages of resource handlers.
          *
@@ -36,38 +101,38 @@ class TimestreamClientFactory {
          * prod stage/region when creating client.
          *
          */
-        String region = System.getenv("AWS_REGION");
-        if (region == null) {
-            region = DEFAULT_AWS_REGION;
-        }
-        logger.log("Creating AmazonTimestreamWriteClient in region " + region + "\n");
+        return Optional.ofNullable(System.getenv("AWS_REGION")).orElse(DEFAULT_AWS_REGION);
+    }
+
+    private static DescribeEndpointsResult describeEndpoints(
+            final AmazonWebServicesClientProxy proxy, final String region, final Logger logger) {
+        logger.log("Discovering AmazonTimestreamWriteClient endpoints in region " + region + "\n");
 
-        /*
-         * 1. Create a client and describe the endpoints. The credentials from users will be used and
-         *   injected to the request. Note here the credentials from users should be used for discovering endpoints
-         *   (instead of the credentials of the lambda handlers)
-         */
-        final DescribeEndpointsResult result;
         final DescribeEndpointsRequest discoveryRequest = new DescribeEndpointsRequest();
+        final AmazonTimestreamWrite timestreamClient = getDiscoveryClient(region);
         try {
-            final AmazonTimestreamWrite timestreamClient = buildWriteClientWithDisco(region);
-            result = proxy.injectCredentialsAndInvoke(discoveryRequest, timestreamClient::describeEndpoints);
+            return proxy.injectCredentialsAndInvoke(discoveryRequest, timestreamClient::describeEndpoints);
         } catch (final InternalServerException ex) {
             throw new CfnInternalFailureException(ex);
         } catch (final ValidationException ex) {
             throw new CfnInvalidRequestException(discoveryRequest.toString(), ex);
+        } finally {
+            release(timestreamClient);
         }
+    }
 
-        final String endpoint = result.getEndpoints().get(0).getAddress();
-        logger.log("Creating AmazonTimestreamWriteClient with endpoint " + endpoint + "\n");
+    /**
+     *
+     *  @return  the regional client used for DescribeEndpoints, shared through the registry, to be handed back with
+     *           release.
+     */
+    static AmazonTimestreamWrite getDiscoveryClient() {
+        return getDiscoveryClient(getRegion());
+    }
 
-        /*
-         * 2. Create the actual client to use with the endpoint obtained
-         */
-        return AmazonTimestreamWriteClient.builder()
-                .withEndpointConfiguration(
-                        new AwsClientBuilder.EndpointConfiguration(endpoint, region))
-                .build();
+    private static AmazonTimestreamWrite getDiscoveryClient(final String region) {
+        return TimestreamClientRegistry.getInstance().get(
+                region, null, ClientProfile.READ, () -> buildWriteClientWithDisco(region));
     }
 
     /**
@@ -77,9 +142,8 @@ class TimestreamClientFactory {
         final AmazonTimestreamWriteClientBuilder builder
                 = AmazonTimestreamWriteClientBuilder.standard().withRegion(region);
 
-        final ClientConfiguration config = new ClientConfiguration();
-        config.setProtocol(Protocol.HTTPS);
-        builder.withClientConfiguration(config);
+        builder.withClientConfiguration(Configuration.clientConfiguration(ClientProfile.READ));
         return builder.build();
     }
 }
+
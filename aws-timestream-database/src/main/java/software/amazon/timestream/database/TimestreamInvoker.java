@@ -0,0 +1,159 @@
+package software.amazon.timestream.database;
+
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.UnknownHostException;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Logger;
+
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.AmazonWebServiceRequest;
+import com.amazonaws.AmazonWebServiceResult;
+import com.amazonaws.ResponseMetadata;
+import com.amazonaws.SdkClientException;
+import com.amazonaws.services.timestreamwrite.AmazonTimestreamWrite;
+import com.amazonaws.services.timestreamwrite.model.DescribeEndpointsRequest;
+import com.amazonaws.services.timestreamwrite.model.DescribeEndpointsResult;
+import com.amazonaws.services.timestreamwrite.model.InvalidEndpointException;
+
+/**
+ * Invokes Timestream write operations with the caller credentials against the discovered endpoint, through the
+ * client of the profile matching the operation (see ClientProfile). Every call is bounded by the deadline of the
+ * invocation.
+ *
+ * When the endpoint turns out to be stale (InvalidEndpointException) or unreachable, it is evicted together with
+ * its client and the call is retried once, against the next discovered address if there is one or else against a
+ * freshly discovered endpoint. Any other failure, or a second failure, is left to the handlers to translate.
+ *
+ * Throttled calls are first retried with backoff, within the limits of ThrottlingRetry. Every attempt first takes a
+ * permit of the container-wide CallRateLimiter.
+ *
+ * Read-only calls may be hedged, i.e. sent a second time when slow, see Hedging.
+ *
+ * Calls to an endpoint whose CircuitBreaker is open fail with CircuitOpenException without reaching the service.
+ * The breaker probes the endpoint with DescribeEndpoints, a cheap call, before closing again.
+ *
+ * Every attempt borrows its client from the TimestreamClientRegistry and releases it when done, so that a client
+ * evicted meanwhile, e.g. by a failover of a concurrent invocation, is not shut down under a call still using it.
+ */
+class TimestreamInvoker {
+
+    private final AmazonWebServicesClientProxy proxy;
+    private final String awsAccountId;
+    private final CallbackContext callbackContext;
+    private final Deadline deadline;
+    private final ThrottlingRetry throttlingRetry;
+    private final Logger logger;
+    private volatile String endpoint;
+
+    TimestreamInvoker(
+            final AmazonWebServicesClientProxy proxy,
+            final String awsAccountId,
+            final CallbackContext callbackContext,
+            final Deadline deadline,
+            final Logger logger) {
+        this.proxy = proxy;
+        this.awsAccountId = awsAccountId;
+        this.callbackContext = callbackContext;
+        this.deadline = deadline;
+        this.throttlingRetry = new ThrottlingRetry(deadline, logger);
+        this.logger = logger;
+        this.endpoint = TimestreamClientFactory.resolveEndpoint(proxy, awsAccountId, callbackContext, logger);
+    }
+
+    <RequestT extends AmazonWebServiceRequest, ResultT extends AmazonWebServiceResult<ResponseMetadata>> ResultT invoke(
+            final RequestT request,
+            final BiFunction<AmazonTimestreamWrite, RequestT, ResultT> operation) {
+        final String failedEndpoint = endpoint;
+        try {
+            return invoke(failedEndpoint, request, operation);
+        } catch (final RuntimeException ex) {
+            if (!isEndpointFailure(ex)) {
+                throw ex;
+            }
+            logger.log("Endpoint " + failedEndpoint + " failed with " + ex + ", retrying with another endpoint\n");
+            failOver(failedEndpoint);
+        }
+        return invoke(endpoint, request, operation);
+    }
+
+    private <RequestT extends AmazonWebServiceRequest, ResultT extends AmazonWebServiceResult<ResponseMetadata>> ResultT invoke(
+            final String target,
+            final RequestT request,
+            final BiFunction<AmazonTimestreamWrite, RequestT, ResultT> operation) {
+        final ClientProfile profile = ClientProfile.of(request);
+        final int clientExecutionTimeout = Configuration.clientConfiguration(profile).getClientExecutionTimeout();
+        final CircuitBreaker breaker = CircuitBreaker.forEndpoint(target);
+        breaker.acquire(() -> probe(target));
+        final Function<RequestT, ResultT> attempt = r -> {
+            CallRateLimiter.getInstance().acquire(TimestreamClientFactory.getRegion(), awsAccountId, profile, deadline);
+            deadline.cap(r, clientExecutionTimeout);
+            final AmazonTimestreamWrite client = TimestreamClientFactory.getClient(target, profile, logger);
+            try {
+                final Function<RequestT, ResultT> call = sent -> operation.apply(client, sent);
+                return breaker.record(() -> proxy.injectCredentialsAndInvoke(r, call));
+            } finally {
+                TimestreamClientFactory.release(client);
+            }
+        };
+        if (profile != ClientProfile.READ) {
+            return throttlingRetry.call(() -> attempt.apply(request));
+        }
+        return throttlingRetry.call(() -> Hedging.getInstance().call(request.getClass().getSimpleName(),
+                () -> attempt.apply(request),
+                () -> attempt.apply(copy(request))));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <RequestT extends AmazonWebServiceRequest> RequestT copy(final RequestT request) {
+        // the hedged attempt gets credentials and a timeout of its own, while the first attempt may still be sent
+        return (RequestT) request.clone();
+    }
+
+    private void probe(final String target) {
+        logger.log("Probing endpoint " + target + "\n");
+        final AmazonTimestreamWrite client = TimestreamClientFactory.getClient(target, ClientProfile.READ, logger);
+        try {
+            final Function<DescribeEndpointsRequest, DescribeEndpointsResult> call = client::describeEndpoints;
+            proxy.injectCredentialsAndInvoke(
+                    deadline.cap(new DescribeEndpointsRequest(),
+                            Configuration.clientConfiguration(ClientProfile.READ).getClientExecutionTimeout()),
+                    call);
+        } finally {
+            TimestreamClientFactory.release(client);
+        }
+    }
+
+    private synchronized void failOver(final String failedEndpoint) {
+        if (!failedEndpoint.equals(endpoint)) {
+            // a concurrent call already moved on from the failed endpoint
+            return;
+        }
+        TimestreamClientFactory.evictEndpoint(awsAccountId, failedEndpoint);
+        if (callbackContext != null) {
+            // do not let the context seed the evicted endpoint back into the cache
+            callbackContext.setEndpointAddress(null);
+        }
+        endpoint = TimestreamClientFactory.resolveEndpoint(proxy, awsAccountId, callbackContext, logger);
+    }
+
+    static boolean isEndpointFailure(final Throwable ex) {
+        if (ex instanceof InvalidEndpointException) {
+            return true;
+        }
+        if (!(ex instanceof SdkClientException) || ex instanceof AmazonServiceException) {
+            return false;
+        }
+        for (Throwable cause = ex.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConnectException
+                    || cause instanceof UnknownHostException
+                    || cause instanceof NoRouteToHostException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
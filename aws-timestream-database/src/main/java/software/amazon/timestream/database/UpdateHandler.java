@@ -2,7 +2,9 @@ package software.amazon.timestream.database;
 
 import java.util.Comparator;
 import java.util.Map;
-import java.util.Set;import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import com.amazonaws.services.timestreamwrite.model.TagResourceRequest;
 import com.amazonaws.services.timestreamwrite.model.UntagResourceRequest;
@@ -15,7 +17,6 @@ import software.amazon.cloudformation.exceptions.CfnServiceLimitExceededExceptio
 import software.amazon.cloudformation.exceptions.CfnThrottlingException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.Logger;
-import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 
@@ -42,15 +43,32 @@ import com.google.common.collect.Sets;
  * operation, this handler should fail. CF will try deleting and recreating the resource instead.
  *
  * https://docs.aws.amazon.com/AWSCloudFormation/latest/UserGuide/using-cfn-updating-stacks-update-behaviors.html#update-replacement
+ *
+ * The update runs as a StepSequence of UpdateDatabase, UntagResource and TagResource, so that an invocation running
+ * short of time, or throttled part way, resumes at the unfinished step once called back. The ARN to tag is built from
+ * the account and database name (see Arns); only a request without an account has it described first, in a
+ * DescribeDatabase step. An update that changes neither the KMS key nor the tags describes the database all the
+ * same, so that it fails as not found when the database is gone. Without a previous resource state, a KMS key and
+ * the tags set in the desired state are taken as changed.
  */
 public class UpdateHandler extends BaseHandler<CallbackContext> {
 
     private static final String UPDATE_DATABASE = "UpdateDatabase";
     private static final String QUOTE_MESSAGE = "Limit for number of grants for this KMS key exceeded.";
+    private static final String DESCRIBE_DATABASE = "DescribeDatabase";
+    private static final String UNTAG_RESOURCE = "UntagResource";
+    private static final String TAG_RESOURCE = "TagResource";
+
+    private final Supplier<Deadline> deadlines;
 
-    private AmazonWebServicesClientProxy proxy;
-    private AmazonTimestreamWrite timestreamClient;
+    public UpdateHandler() {
+        this(Deadline::start);
+        RuntimeHooks.init();
+    }
 
+    UpdateHandler(final Supplier<Deadline> deadlines) {
+        this.deadlines = deadlines;
+    }
 
     @Override
     public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
@@ -59,37 +77,13 @@ public class UpdateHandler extends BaseHandler<CallbackContext> {
         final CallbackContext callbackContext,
         final Logger logger) {
 
-        timestreamClient = TimestreamClientFactory.get(proxy, logger);
-        this.proxy = proxy;
+        final Deadline deadline = deadlines.get();
+        final CallbackContext context = callbackContext == null ? CallbackContext.builder().build() : callbackContext;
+        final RequestContext requestContext = RequestContext.of(proxy, request, context, deadline, logger);
 
         final ResourceModel model = request.getDesiredResourceState();
         final ResourceModel existingModel = request.getPreviousResourceState();
-
-        // Step 1: Update the DB with the new KMS CMK.
-        if (!StringUtils.equals(model.getKmsKeyId(), existingModel.getKmsKeyId())) {
-            try {
-                final UpdateDatabaseRequest updateDatabaseRequest =
-                        new UpdateDatabaseRequest()
-                                .withDatabaseName(model.getDatabaseName())
-                                .withKmsKeyId(model.getKmsKeyId());
-
-                this.proxy.injectCredentialsAndInvoke(updateDatabaseRequest, timestreamClient::updateDatabase);
-            } catch (InternalServerException ex) {
-                throw new CfnInternalFailureException(ex);
-            } catch (ThrottlingException ex) {
-                throw new CfnThrottlingException(UPDATE_DATABASE, ex);
-            } catch (ValidationException | InvalidEndpointException ex) {
-                throw new CfnInvalidRequestException(request.toString(), ex);
-            } catch (ResourceNotFoundException ex) {
-                throw new CfnNotFoundException(ex);
-            } catch (AccessDeniedException ex) {
-                throw new CfnAccessDeniedException(UPDATE_DATABASE, ex);
-            } catch (ServiceQuotaExceededException ex) {
-                throw new CfnServiceLimitExceededException(ResourceModel.TYPE_NAME, QUOTE_MESSAGE, ex);
-            }
-        }
-
-        // Step 2: Update the tags
+        final String previousKmsKeyId = existingModel == null ? null : existingModel.getKmsKeyId();
 
         final Map<String, String> desiredTags = TagHelper.getNewDesiredTags(model, request);
         final Map<String, String> previousTags = TagHelper.getPreviouslyAttachedTags(request);
@@ -99,22 +93,32 @@ public class UpdateHandler extends BaseHandler<CallbackContext> {
         final Set<String> tagsToRemove = TagHelper.generateTagsToRemove(previousTags, desiredTags);
 
         try {
-            final DescribeDatabaseRequest describeDatabaseRequest =
-                    new DescribeDatabaseRequest().withDatabaseName(model.getDatabaseName());
-            final DescribeDatabaseResult describeDatabaseResult =
-                    this.proxy.injectCredentialsAndInvoke(describeDatabaseRequest, timestreamClient::describeDatabase);
-
             /*
-             * Update tags
+             * Update the DB with the new KMS CMK, then the tags.
              *
              * Here we first remove the tags no long exist, this includes tags whose values are modified.
              * New tags are added afterwards, including tags with updated values.
              */
-            removeTags(describeDatabaseResult.getDatabase().getArn(), tagsToRemove);
-            addTags(describeDatabaseResult.getDatabase().getArn(), tagsToAdd);
+            final StepSequence steps = new StepSequence(deadline, context, logger);
+            final boolean updatesDatabase = !StringUtils.equals(model.getKmsKeyId(), previousKmsKeyId);
+            if (updatesDatabase) {
+                steps.step(UPDATE_DATABASE, () -> updateDatabase(requestContext, model));
+            }
+            final String databaseArn = Arns.database(request.getAwsAccountId(), model.getDatabaseName());
+            if (databaseArn != null) {
+                context.setDatabaseArn(databaseArn);
+            }
+            final boolean updatesTags = !tagsToRemove.isEmpty() || !tagsToAdd.isEmpty();
+            if (databaseArn == null || !updatesDatabase && !updatesTags) {
+                steps.step(DESCRIBE_DATABASE, () -> context.setDatabaseArn(describeDatabaseArn(requestContext, model)));
+            }
+            return steps
+                    .step(UNTAG_RESOURCE, () -> removeTags(requestContext, context.getDatabaseArn(), tagsToRemove))
+                    .step(TAG_RESOURCE, () -> addTags(requestContext, context.getDatabaseArn(), tagsToAdd))
+                    .run(model);
         } catch (InternalServerException ex) {
             throw new CfnInternalFailureException(ex);
-        } catch (ThrottlingException ex) {
+        } catch (ThrottlingException | ClientRateLimitedException ex) {
             throw new CfnThrottlingException(UPDATE_DATABASE, ex);
         } catch (ValidationException | InvalidEndpointException ex) {
             throw new CfnInvalidRequestException(request.toString(), ex);
@@ -122,24 +126,41 @@ public class UpdateHandler extends BaseHandler<CallbackContext> {
             throw new CfnNotFoundException(ex);
         } catch (AccessDeniedException ex) {
             throw new CfnAccessDeniedException(UPDATE_DATABASE, ex);
+        } catch (ServiceQuotaExceededException ex) {
+            throw new CfnServiceLimitExceededException(ResourceModel.TYPE_NAME, QUOTE_MESSAGE, ex);
+        } catch (CircuitOpenException ex) {
+            // the progress made so far is checkpointed, carry on once the circuit may have closed
+            return ex.toProgressEvent(model, context);
         }
+    }
+
+    private void updateDatabase(final RequestContext requestContext, final ResourceModel model) {
+        final UpdateDatabaseRequest updateDatabaseRequest =
+                new UpdateDatabaseRequest()
+                        .withDatabaseName(model.getDatabaseName())
+                        .withKmsKeyId(model.getKmsKeyId());
+
+        requestContext.invoke(updateDatabaseRequest, AmazonTimestreamWrite::updateDatabase);
+    }
 
-        return ProgressEvent.<ResourceModel, CallbackContext>builder()
-                .resourceModel(model)
-                .status(OperationStatus.SUCCESS)
-                .build();
+    private String describeDatabaseArn(final RequestContext requestContext, final ResourceModel model) {
+        final DescribeDatabaseRequest describeDatabaseRequest =
+                new DescribeDatabaseRequest().withDatabaseName(model.getDatabaseName());
+        final DescribeDatabaseResult describeDatabaseResult =
+                requestContext.invoke(describeDatabaseRequest, AmazonTimestreamWrite::describeDatabase);
+        return describeDatabaseResult.getDatabase().getArn();
     }
 
-    private void removeTags(final String arn, final Set<String> tagsToRemove) {
+    private void removeTags(final RequestContext requestContext, final String arn, final Set<String> tagsToRemove) {
         if (!tagsToRemove.isEmpty()) {
             final UntagResourceRequest untagResourceRequest = new UntagResourceRequest()
                     .withResourceARN(arn)
                     .withTagKeys(tagsToRemove);
-            this.proxy.injectCredentialsAndInvoke(untagResourceRequest, timestreamClient::untagResource);
+            requestContext.invoke(untagResourceRequest, AmazonTimestreamWrite::untagResource);
         }
     }
 
-    private void addTags(final String arn, final Set<Tag> tagsToAdd) {
+    private void addTags(final RequestContext requestContext, final String arn, final Set<Tag> tagsToAdd) {
         if (!tagsToAdd.isEmpty()) {
             final TagResourceRequest tagResourceRequest = new TagResourceRequest().withResourceARN(arn).withTags(
                     tagsToAdd.stream().map(
@@ -149,7 +170,7 @@ public class UpdateHandler extends BaseHandler<CallbackContext> {
                             // sort with decisive order for reliable testing
                             .sorted(Comparator.comparing(com.amazonaws.services.timestreamwrite.model.Tag::getKey))
                             .collect(Collectors.toList()));
-            this.proxy.injectCredentialsAndInvoke(tagResourceRequest, timestreamClient::tagResource);
+            requestContext.invoke(tagResourceRequest, AmazonTimestreamWrite::tagResource);
         }
     }
 }
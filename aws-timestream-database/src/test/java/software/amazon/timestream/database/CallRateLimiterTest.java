@@ -0,0 +1,128 @@
+package software.amazon.timestream.database;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class CallRateLimiterTest {
+    private static final String TEST_REGION = "us-east-1";
+    private static final String TEST_ACCOUNT_ID = "123456789012";
+    private static final double RATE_PER_SECOND = 10;
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final List<Long> sleeps = new ArrayList<>();
+
+    @Test
+    public void acquireShouldNotWaitWithinBurst() {
+        final CallRateLimiter limiter = limiter(this::sleep);
+
+        for (int i = 0; i < RATE_PER_SECOND; i++) {
+            limiter.acquire(TEST_REGION, TEST_ACCOUNT_ID, ClientProfile.MUTATE, deadline());
+        }
+
+        assertThat(sleeps).isEmpty();
+    }
+
+    @Test
+    public void acquireShouldWaitForRefillOnceBurstIsSpent() {
+        final CallRateLimiter limiter = limiter(this::sleep);
+        for (int i = 0; i < RATE_PER_SECOND; i++) {
+            limiter.acquire(TEST_REGION, TEST_ACCOUNT_ID, ClientProfile.MUTATE, deadline());
+        }
+
+        limiter.acquire(TEST_REGION, TEST_ACCOUNT_ID, ClientProfile.MUTATE, deadline());
+
+        assertThat(sleeps).containsExactly((long) (1_000 / RATE_PER_SECOND));
+    }
+
+    @Test
+    public void readsShouldLeaveReserveToMutations() {
+        final CallRateLimiter limiter = limiter(this::sleep);
+        for (int i = 0; i < RATE_PER_SECOND - CallRateLimiter.MUTATE_RESERVE_PERMITS; i++) {
+            limiter.acquire(TEST_REGION, TEST_ACCOUNT_ID, ClientProfile.READ, deadline());
+        }
+        assertThat(sleeps).isEmpty();
+
+        for (int i = 0; i < CallRateLimiter.MUTATE_RESERVE_PERMITS; i++) {
+            limiter.acquire(TEST_REGION, TEST_ACCOUNT_ID, ClientProfile.MUTATE, deadline());
+        }
+        assertThat(sleeps).isEmpty();
+
+        limiter.acquire(TEST_REGION, TEST_ACCOUNT_ID, ClientProfile.READ, deadline());
+        assertThat(sleeps).isNotEmpty();
+    }
+
+    @Test
+    public void readsShouldYieldToWaitingMutation() {
+        final AtomicBoolean pollAttempted = new AtomicBoolean();
+        final List<Throwable> pollFailures = new ArrayList<>();
+        final CallRateLimiter[] limiter = new CallRateLimiter[1];
+        limiter[0] = limiter(millis -> {
+            sleep(millis);
+            if (pollAttempted.compareAndSet(false, true)) {
+                // a stabilization poll comes in while the mutation waits for its permit
+                try {
+                    limiter[0].acquire(TEST_REGION, TEST_ACCOUNT_ID, ClientProfile.READ, deadline());
+                } catch (final ClientRateLimitedException ex) {
+                    pollFailures.add(ex);
+                }
+            }
+        });
+        for (int i = 0; i < RATE_PER_SECOND; i++) {
+            limiter[0].acquire(TEST_REGION, TEST_ACCOUNT_ID, ClientProfile.MUTATE, deadline());
+        }
+
+        limiter[0].acquire(TEST_REGION, TEST_ACCOUNT_ID, ClientProfile.MUTATE, deadline());
+
+        assertThat(pollFailures).hasSize(1);
+    }
+
+    @Test
+    public void acquireShouldFailOnceDeadlineLeavesNoRoom() {
+        final CallRateLimiter limiter = limiter(this::sleep);
+        final Deadline deadline = deadline();
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(
+                Deadline.MIN_BUDGET_MILLIS - Deadline.RESERVE_MILLIS - ThrottlingRetry.MIN_CALL_MILLIS));
+        for (int i = 0; i < RATE_PER_SECOND; i++) {
+            limiter.acquire(TEST_REGION, TEST_ACCOUNT_ID, ClientProfile.MUTATE, deadline());
+        }
+
+        assertThrows(ClientRateLimitedException.class,
+                () -> limiter.acquire(TEST_REGION, TEST_ACCOUNT_ID, ClientProfile.MUTATE, deadline));
+        assertThat(sleeps).isEmpty();
+    }
+
+    @Test
+    public void permitsShouldBeKeyedByAccountAndRegion() {
+        final CallRateLimiter limiter = limiter(this::sleep);
+        for (int i = 0; i < RATE_PER_SECOND; i++) {
+            limiter.acquire(TEST_REGION, TEST_ACCOUNT_ID, ClientProfile.MUTATE, deadline());
+        }
+
+        limiter.acquire(TEST_REGION, "210987654321", ClientProfile.MUTATE, deadline());
+        limiter.acquire("eu-west-1", TEST_ACCOUNT_ID, ClientProfile.MUTATE, deadline());
+
+        assertThat(sleeps).isEmpty();
+    }
+
+    private CallRateLimiter limiter(final ThrottlingRetry.Sleeper sleeper) {
+        return new CallRateLimiter(RATE_PER_SECOND, nanos::get, sleeper);
+    }
+
+    private Deadline deadline() {
+        return new Deadline(Deadline.MIN_BUDGET_MILLIS, () -> TimeUnit.NANOSECONDS.toMillis(nanos.get()));
+    }
+
+    private void sleep(final long millis) {
+        sleeps.add(millis);
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+}
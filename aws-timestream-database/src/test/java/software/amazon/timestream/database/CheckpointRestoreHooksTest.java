@@ -0,0 +1,75 @@
+package software.amazon.timestream.database;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.crac.Core;
+import org.crac.Resource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.amazonaws.services.timestreamwrite.AmazonTimestreamWrite;
+import com.amazonaws.services.timestreamwrite.model.DescribeEndpointsResult;
+import com.amazonaws.services.timestreamwrite.model.Endpoint;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class CheckpointRestoreHooksTest {
+    private static final String TEST_REGION = "us-east-1";
+    private static final String TEST_ACCOUNT_ID = "123456789012";
+
+    private final Resource hooks = new CheckpointRestoreHooks();
+
+    private AmazonTimestreamWrite client;
+
+    @BeforeEach
+    public void setup() {
+        TimestreamClientRegistry.getInstance().clear();
+        EndpointCache.getInstance().clear();
+        client = mock(AmazonTimestreamWrite.class);
+        TimestreamClientRegistry.getInstance().get(TEST_REGION, "endpoint", ClientProfile.MUTATE, () -> client);
+        EndpointCache.getInstance().get(TEST_REGION, TEST_ACCOUNT_ID, () -> describeEndpointsResult("endpoint"));
+    }
+
+    @Test
+    public void beforeCheckpointShouldPrimeAndLeaveNoClientState() throws Exception {
+        hooks.beforeCheckpoint(Core.getGlobalContext());
+
+        assertThat(TimestreamClientRegistry.getInstance().size()).isZero();
+        verify(client).shutdown();
+        assertThat(rediscoveries()).isEqualTo(1);
+    }
+
+    @Test
+    public void afterRestoreShouldDropClientState() throws Exception {
+        hooks.afterRestore(Core.getGlobalContext());
+
+        assertThat(TimestreamClientRegistry.getInstance().size()).isZero();
+        verify(client).shutdown();
+        assertThat(rediscoveries()).isEqualTo(1);
+    }
+
+    @Test
+    public void primeShouldNotLeaveClientsBehind() throws Exception {
+        TimestreamClientRegistry.getInstance().clear();
+
+        CheckpointRestoreHooks.prime();
+
+        assertThat(TimestreamClientRegistry.getInstance().size()).isZero();
+    }
+
+    private static int rediscoveries() {
+        final AtomicInteger discoveries = new AtomicInteger();
+        EndpointCache.getInstance().get(TEST_REGION, TEST_ACCOUNT_ID, () -> {
+            discoveries.incrementAndGet();
+            return describeEndpointsResult("endpoint2");
+        });
+        return discoveries.get();
+    }
+
+    private static DescribeEndpointsResult describeEndpointsResult(final String address) {
+        return new DescribeEndpointsResult()
+                .withEndpoints(new Endpoint().withAddress(address).withCachePeriodInMinutes(1440L));
+    }
+}
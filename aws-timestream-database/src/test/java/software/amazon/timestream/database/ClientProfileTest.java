@@ -0,0 +1,84 @@
+package software.amazon.timestream.database;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.ClientConfiguration;
+import com.amazonaws.retry.RetryPolicy;
+import com.amazonaws.services.timestreamwrite.model.CreateDatabaseRequest;
+import com.amazonaws.services.timestreamwrite.model.DescribeDatabaseRequest;
+import com.amazonaws.services.timestreamwrite.model.ListTagsForResourceRequest;
+import com.amazonaws.services.timestreamwrite.model.TagResourceRequest;
+import com.amazonaws.services.timestreamwrite.model.ThrottlingException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ClientProfileTest {
+
+    @Test
+    public void ofShouldUseReadProfileForDescribeAndListCalls() {
+        assertThat(ClientProfile.of(new DescribeDatabaseRequest())).isEqualTo(ClientProfile.READ);
+        assertThat(ClientProfile.of(new ListTagsForResourceRequest())).isEqualTo(ClientProfile.READ);
+        assertThat(ClientProfile.of(new CreateDatabaseRequest())).isEqualTo(ClientProfile.MUTATE);
+        assertThat(ClientProfile.of(new TagResourceRequest())).isEqualTo(ClientProfile.MUTATE);
+    }
+
+    @Test
+    public void toClientConfigurationShouldFailReadsFasterByDefault() {
+        final ClientConfiguration read = ClientProfile.READ.toClientConfiguration(name -> null);
+        final ClientConfiguration mutate = ClientProfile.MUTATE.toClientConfiguration(name -> null);
+
+        assertThat(read.getSocketTimeout()).isLessThan(mutate.getSocketTimeout());
+        assertThat(read.getClientExecutionTimeout()).isLessThan(mutate.getClientExecutionTimeout());
+        assertThat(read.getMaxErrorRetry()).isLessThan(mutate.getMaxErrorRetry());
+        assertThat(read.useTcpKeepAlive()).isTrue();
+    }
+
+    @Test
+    public void toClientConfigurationShouldApplyEnvironmentOverrides() {
+        final Map<String, String> environment = new HashMap<>();
+        environment.put("TIMESTREAM_READ_SOCKET_TIMEOUT_MILLIS", "1500");
+        environment.put("TIMESTREAM_READ_MAX_CONNECTIONS", "4");
+        environment.put("TIMESTREAM_READ_MAX_ERROR_RETRY", "0");
+        environment.put("TIMESTREAM_READ_TCP_KEEP_ALIVE", "false");
+        environment.put("TIMESTREAM_MUTATE_SOCKET_TIMEOUT_MILLIS", "45000");
+
+        final ClientConfiguration read = ClientProfile.READ.toClientConfiguration(environment::get);
+        assertThat(read.getSocketTimeout()).isEqualTo(1500);
+        assertThat(read.getMaxConnections()).isEqualTo(4);
+        assertThat(read.getMaxErrorRetry()).isEqualTo(0);
+        assertThat(read.useTcpKeepAlive()).isFalse();
+        assertThat(ClientProfile.MUTATE.toClientConfiguration(environment::get).getSocketTimeout()).isEqualTo(45000);
+    }
+
+    @Test
+    public void toClientConfigurationShouldIgnoreInvalidValues() {
+        final Map<String, String> environment = new HashMap<>();
+        environment.put("TIMESTREAM_READ_SOCKET_TIMEOUT_MILLIS", "fast");
+        environment.put("TIMESTREAM_READ_MAX_ERROR_RETRY", "-1");
+
+        final ClientConfiguration read = ClientProfile.READ.toClientConfiguration(environment::get);
+        final ClientConfiguration defaults = ClientProfile.READ.toClientConfiguration(name -> null);
+        assertThat(read.getSocketTimeout()).isEqualTo(defaults.getSocketTimeout());
+        assertThat(read.getMaxErrorRetry()).isEqualTo(defaults.getMaxErrorRetry());
+    }
+
+    @Test
+    public void toClientConfigurationShouldLeaveThrottlingToThrottlingRetry() {
+        final RetryPolicy.RetryCondition condition =
+                ClientProfile.MUTATE.toClientConfiguration(name -> null).getRetryPolicy().getRetryCondition();
+
+        final ThrottlingException throttled = new ThrottlingException("Rate exceeded");
+        throttled.setErrorCode("ThrottlingException");
+        throttled.setStatusCode(400);
+        final AmazonServiceException unavailable = new AmazonServiceException("Service unavailable");
+        unavailable.setErrorCode("ServiceUnavailable");
+        unavailable.setStatusCode(503);
+
+        assertThat(condition.shouldRetry(new TagResourceRequest(), throttled, 0)).isFalse();
+        assertThat(condition.shouldRetry(new TagResourceRequest(), unavailable, 0)).isTrue();
+    }
+}
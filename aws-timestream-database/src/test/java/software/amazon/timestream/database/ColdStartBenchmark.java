@@ -0,0 +1,219 @@
+package software.amazon.timestream.database;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Cold start benchmark of the Create, Read and Delete handlers, run with the cold-start-benchmark profile:
+ *
+ *   mvn -P cold-start-benchmark verify -DskipTests
+ *
+ * Every sample forks a fresh JVM (ColdStartSample) that initialises and invokes one handler against a local
+ * Timestream stand-in, so no credentials or network access are needed. The samples are summarised per handler and
+ * written as JSON to benchmark.outputDirectory, in a file named after the module and the current commit. Passing a
+ * previous report as benchmark.baseline prints the change of the medians against it.
+ *
+ * System properties: benchmark.samples (10), benchmark.warmups (1), benchmark.jvmArgs (JVM options of the samples),
+ * benchmark.outputDirectory (target/cold-start-benchmark), benchmark.baseline.
+ */
+public final class ColdStartBenchmark {
+
+    static final String MODULE = "aws-timestream-database";
+    static final List<String> HANDLERS = Arrays.asList("CreateHandler", "ReadHandler", "DeleteHandler");
+    static final List<String> METRICS = Arrays.asList(
+            "firstResponseMillis", "spawnToFirstResponseMillis", "initMillis", "clientFactoryMillis",
+            "loadedClasses", "heapAfterInitBytes");
+
+    private static final long SAMPLE_TIMEOUT_SECONDS = 120;
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private ColdStartBenchmark() {
+    }
+
+    public static void main(final String[] args) throws Exception {
+        final int samples = Integer.getInteger("benchmark.samples", 10);
+        final int warmups = Integer.getInteger("benchmark.warmups", 1);
+        final List<String> jvmArgs = split(System.getProperty("benchmark.jvmArgs", ""));
+        final Path outputDirectory = Paths.get(System.getProperty("benchmark.outputDirectory",
+                "target" + File.separator + "cold-start-benchmark"));
+        final String baseline = System.getProperty("benchmark.baseline", "");
+        final String commit = commit();
+
+        final Map<String, Object> handlers = new LinkedHashMap<>();
+        for (final String handler : HANDLERS) {
+            try (TimestreamStandIn standIn = TimestreamStandIn.start(responses(handler))) {
+                final String endpoint = standIn.endpoint();
+                for (int i = 0; i < warmups; i++) {
+                    sample(handler, endpoint, jvmArgs);
+                }
+                final List<Map<String, Long>> results = new ArrayList<>();
+                for (int i = 0; i < samples; i++) {
+                    results.add(sample(handler, endpoint, jvmArgs));
+                }
+                handlers.put(handler, summarize(results));
+            }
+        }
+
+        final Map<String, Object> report = new LinkedHashMap<>();
+        report.put("module", MODULE);
+        report.put("commit", commit);
+        report.put("timestamp", Instant.now().toString());
+        report.put("javaVersion", System.getProperty("java.version"));
+        report.put("jvmArgs", jvmArgs);
+        report.put("samples", samples);
+        report.put("handlers", handlers);
+
+        Files.createDirectories(outputDirectory);
+        final Path output = outputDirectory.resolve(MODULE + "-" + commit + ".json");
+        MAPPER.writerWithDefaultPrettyPrinter().writeValue(output.toFile(), report);
+        System.out.println("Cold start report written to " + output);
+
+        final JsonNode current = MAPPER.valueToTree(report);
+        final JsonNode previous = baseline.isEmpty() ? null : MAPPER.readTree(new File(baseline));
+        print(current, previous);
+    }
+
+    /**
+     * Canned stand-in responses per operation, see TimestreamStandIn.
+     */
+    static Map<String, String> responses(final String handler) {
+        final String database = "{\"Database\":{\"Arn\":\"arn:aws:timestream:us-east-1:123456789012:database/"
+                + ColdStartSample.DATABASE_NAME + "\","
+                + "\"DatabaseName\":\"" + ColdStartSample.DATABASE_NAME + "\",\"TableCount\":0}}";
+        final Map<String, String> responses = new LinkedHashMap<>();
+        switch (handler) {
+            case "CreateHandler":
+                responses.put("CreateDatabase", database);
+                break;
+            case "ReadHandler":
+                responses.put("DescribeDatabase", database);
+                responses.put("ListTagsForResource", "{\"Tags\":[]}");
+                break;
+            default:
+                responses.put("DeleteDatabase", "{}");
+        }
+        return responses;
+    }
+
+    private static Map<String, Long> sample(
+            final String handler,
+            final String endpoint,
+            final List<String> jvmArgs) throws IOException, InterruptedException {
+        final List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArgs);
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(ColdStartSample.class.getName());
+        command.add(handler);
+        command.add(endpoint);
+
+        final ProcessBuilder builder = new ProcessBuilder(command).redirectError(ProcessBuilder.Redirect.INHERIT);
+        builder.environment().put("AWS_REGION", ColdStartSample.REGION);
+        final long spawnedAt = System.currentTimeMillis();
+        final Process process = builder.start();
+
+        Map<String, Long> result = null;
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith(ColdStartSample.RESULT_PREFIX)) {
+                    result = MAPPER.readValue(line.substring(ColdStartSample.RESULT_PREFIX.length()),
+                            new TypeReference<LinkedHashMap<String, Long>>() { });
+                }
+            }
+        }
+        if (!process.waitFor(SAMPLE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+            throw new IllegalStateException(handler + " sample timed out");
+        }
+        if (process.exitValue() != 0 || result == null) {
+            throw new IllegalStateException(handler + " sample failed with exit code " + process.exitValue());
+        }
+        result.put("spawnToFirstResponseMillis", result.remove("respondedAtEpochMillis") - spawnedAt);
+        return result;
+    }
+
+    private static Map<String, Object> summarize(final List<Map<String, Long>> results) {
+        final Map<String, Object> summary = new LinkedHashMap<>();
+        for (final String metric : METRICS) {
+            final List<Long> values = new ArrayList<>();
+            for (final Map<String, Long> result : results) {
+                values.add(result.get(metric));
+            }
+            final List<Long> sorted = new ArrayList<>(values);
+            Collections.sort(sorted);
+            final Map<String, Object> statistics = new LinkedHashMap<>();
+            statistics.put("min", sorted.get(0));
+            statistics.put("median", sorted.get(sorted.size() / 2));
+            statistics.put("p90", sorted.get((int) Math.ceil(sorted.size() * 0.9) - 1));
+            statistics.put("max", sorted.get(sorted.size() - 1));
+            statistics.put("values", values);
+            summary.put(metric, statistics);
+        }
+        return summary;
+    }
+
+    private static void print(final JsonNode current, final JsonNode baseline) {
+        System.out.println(String.format("%-15s %-28s %12s %12s", "handler", "metric", "median", "baseline"));
+        current.get("handlers").fields().forEachRemaining(handler -> {
+            for (final String metric : METRICS) {
+                final long median = handler.getValue().path(metric).path("median").asLong();
+                final JsonNode previous = baseline == null ? null
+                        : baseline.path("handlers").path(handler.getKey()).path(metric).path("median");
+                System.out.println(String.format("%-15s %-28s %12d %12s", handler.getKey(), metric, median,
+                        previous == null || previous.isMissingNode() ? "-" : String.valueOf(previous.asLong())));
+            }
+        });
+    }
+
+    private static List<String> split(final String value) {
+        return value.trim().isEmpty() ? Collections.emptyList() : Arrays.asList(value.trim().split("\\s+"));
+    }
+
+    /**
+     * @return the abbreviated commit the report belongs to, with a suffix when the tree has local changes.
+     */
+    private static String commit() {
+        try {
+            final String head = git("rev-parse", "--short", "HEAD");
+            return git("status", "--porcelain", "--untracked-files=no").isEmpty() ? head : head + "-dirty";
+        } catch (final IOException ex) {
+            return "unknown";
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return "unknown";
+        }
+    }
+
+    private static String git(final String... args) throws IOException, InterruptedException {
+        final List<String> command = new ArrayList<>();
+        command.add("git");
+        command.addAll(Arrays.asList(args));
+        final Process process = new ProcessBuilder(command).redirectError(ProcessBuilder.Redirect.DISCARD).start();
+        final String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+        if (process.waitFor() != 0) {
+            throw new IOException("git " + String.join(" ", args) + " failed");
+        }
+        return output;
+    }
+}
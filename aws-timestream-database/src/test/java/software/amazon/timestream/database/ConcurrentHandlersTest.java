@@ -0,0 +1,161 @@
+package software.amazon.timestream.database;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+import com.amazonaws.AmazonWebServiceRequest;
+import com.amazonaws.services.timestreamwrite.model.CreateDatabaseRequest;
+import com.amazonaws.services.timestreamwrite.model.CreateDatabaseResult;
+import com.amazonaws.services.timestreamwrite.model.Database;
+import com.amazonaws.services.timestreamwrite.model.DescribeEndpointsRequest;
+import com.amazonaws.services.timestreamwrite.model.DescribeEndpointsResult;
+import com.amazonaws.services.timestreamwrite.model.DescribeDatabaseRequest;
+import com.amazonaws.services.timestreamwrite.model.DescribeDatabaseResult;
+import com.amazonaws.services.timestreamwrite.model.Endpoint;
+import com.amazonaws.services.timestreamwrite.model.ListTagsForResourceRequest;
+import com.amazonaws.services.timestreamwrite.model.ListTagsForResourceResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Runs many requests at once through a single instance of each handler, as local load tests and bulk provisioning
+ * do. Each request comes with a proxy of its own, as it would with the credentials of its caller, which answers with
+ * ARNs in the account of the request, so that a call made through the proxy of another request shows.
+ */
+public class ConcurrentHandlersTest {
+    private static final int THREADS = 16;
+    private static final int REQUESTS = 200;
+    private static final String TEST_TAG_KEY = "TestAccount";
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    private final Logger logger = mock(Logger.class);
+    private final ReadHandler readHandler = new ReadHandler();
+    private final CreateHandler createHandler = new CreateHandler();
+
+    @BeforeEach
+    public void setup() {
+        clearSharedState();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+        clearSharedState();
+    }
+
+    @Test
+    public void handlersShouldServeConcurrentRequests() throws Exception {
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Future<ProgressEvent<ResourceModel, CallbackContext>>> responses = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            final ResourceHandlerRequest<ResourceModel> request = request(i);
+            final AmazonWebServicesClientProxy proxy = standInProxy(request.getAwsAccountId());
+            final Callable<ProgressEvent<ResourceModel, CallbackContext>> call = i % 2 == 0
+                    ? () -> readHandler.handleRequest(proxy, request, null, logger)
+                    : () -> createHandler.handleRequest(proxy, request, null, logger);
+            responses.add(executor.submit(() -> {
+                start.await();
+                return call.call();
+            }));
+        }
+
+        start.countDown();
+
+        for (int i = 0; i < REQUESTS; i++) {
+            final ProgressEvent<ResourceModel, CallbackContext> response = responses.get(i).get(30, TimeUnit.SECONDS);
+            assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+            assertThat(response.getResourceModel().getDatabaseName()).isEqualTo(databaseName(i));
+            assertThat(response.getResourceModel().getArn()).isEqualTo(arn(accountId(i), databaseName(i)));
+            if (i % 2 == 0) {
+                assertThat(response.getResourceModel().getTags())
+                        .containsExactly(Tag.builder().key(TEST_TAG_KEY).value(accountId(i)).build());
+            }
+        }
+    }
+
+    /**
+     * @return a proxy answering each call from its own request, after a short random delay to interleave the calls.
+     */
+    @SuppressWarnings("unchecked")
+    private static AmazonWebServicesClientProxy standInProxy(final String accountId) {
+        final AmazonWebServicesClientProxy proxy = mock(AmazonWebServicesClientProxy.class);
+        doAnswer(invocation -> {
+            final AmazonWebServiceRequest request = invocation.getArgument(0);
+            Thread.sleep(ThreadLocalRandom.current().nextInt(3));
+            if (request instanceof DescribeEndpointsRequest) {
+                return new DescribeEndpointsResult().withEndpoints(
+                        new Endpoint().withAddress("endpoint").withCachePeriodInMinutes(1440L));
+            }
+            if (request instanceof DescribeDatabaseRequest) {
+                final String databaseName = ((DescribeDatabaseRequest) request).getDatabaseName();
+                return new DescribeDatabaseResult().withDatabase(database(accountId, databaseName));
+            }
+            if (request instanceof ListTagsForResourceRequest) {
+                return new ListTagsForResourceResult().withTags(new com.amazonaws.services.timestreamwrite.model.Tag()
+                        .withKey(TEST_TAG_KEY)
+                        .withValue(accountId));
+            }
+            if (request instanceof CreateDatabaseRequest) {
+                final String databaseName = ((CreateDatabaseRequest) request).getDatabaseName();
+                return new CreateDatabaseResult().withDatabase(database(accountId, databaseName));
+            }
+            throw new IllegalArgumentException("Unexpected request " + request);
+        }).when(proxy).injectCredentialsAndInvoke(any(AmazonWebServiceRequest.class), any(Function.class));
+        return proxy;
+    }
+
+    private static ResourceHandlerRequest<ResourceModel> request(final int i) {
+        final ResourceModel model = ResourceModel.builder()
+                .databaseName(databaseName(i))
+                .build();
+        return ResourceHandlerRequest.<ResourceModel>builder()
+                // an account per request, so that the client side rate limit does not serialise the calls
+                .awsAccountId(accountId(i))
+                .desiredResourceState(model)
+                .build();
+    }
+
+    private static Database database(final String accountId, final String databaseName) {
+        return new Database().withDatabaseName(databaseName).withArn(arn(accountId, databaseName));
+    }
+
+    private static String accountId(final int i) {
+        return String.format("%012d", i);
+    }
+
+    private static String databaseName(final int i) {
+        return "Database" + i;
+    }
+
+    private static String arn(final String accountId, final String databaseName) {
+        return "arn:aws:timestream:us-east-1:" + accountId + ":database/" + databaseName;
+    }
+
+    private static void clearSharedState() {
+        CircuitBreaker.clear();
+        EndpointCache.getInstance().clear();
+        TimestreamClientRegistry.getInstance().clear();
+        ThrottlingRetry.TokenBucket.getInstance().reset();
+        CallRateLimiter.getInstance().clear();
+    }
+}
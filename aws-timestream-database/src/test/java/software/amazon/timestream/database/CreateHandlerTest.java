@@ -65,6 +65,7 @@ public class CreateHandlerTest {
 
     @BeforeEach
     public void setup() {
+        CircuitBreaker.clear();
         proxy = mock(AmazonWebServicesClientProxy.class);
         doReturn(new DescribeEndpointsResult().withEndpoints(new Endpoint().withAddress("endpoint")))
                 .when(proxy).injectCredentialsAndInvoke(any(DescribeEndpointsRequest.class), any(Function.class));
@@ -18,14 +18,23 @@ import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 
 import com.amazonaws.services.timestreamwrite.model.ConflictException;
 import com.amazonaws.services.timestreamwrite.model.DeleteDatabaseRequest;
+import com.amazonaws.services.timestreamwrite.model.DeleteTableRequest;
 import com.amazonaws.services.timestreamwrite.model.DescribeEndpointsRequest;
 import com.amazonaws.services.timestreamwrite.model.DescribeEndpointsResult;
 import com.amazonaws.services.timestreamwrite.model.Endpoint;
 import com.amazonaws.services.timestreamwrite.model.InternalServerException;
 import com.amazonaws.services.timestreamwrite.model.InvalidEndpointException;
+import com.amazonaws.services.timestreamwrite.model.ListTablesRequest;
+import com.amazonaws.services.timestreamwrite.model.ListTablesResult;
 import com.amazonaws.services.timestreamwrite.model.ResourceNotFoundException;
+import com.amazonaws.services.timestreamwrite.model.Table;
+import com.amazonaws.services.timestreamwrite.model.TableStatus;
+import com.amazonaws.services.timestreamwrite.model.ThrottlingException;
 import com.amazonaws.services.timestreamwrite.model.ValidationException;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -36,6 +45,7 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
@@ -48,9 +58,16 @@ public class DeleteHandlerTest {
     private Logger logger;
 
     private final DeleteHandler handler = new DeleteHandler();
+    private final AtomicLong now = new AtomicLong();
+    private final List<Long> sleeps = new ArrayList<>();
+    private Deadline deadline;
+    private final DeleteHandler cascadingHandler = new DeleteHandler(true, () -> deadline, sleeps::add);
 
     @BeforeEach
     public void setup() {
+        CircuitBreaker.clear();
+        CallRateLimiter.getInstance().clear();
+        deadline = new Deadline(Deadline.MIN_BUDGET_MILLIS, now::get);
         proxy = mock(AmazonWebServicesClientProxy.class);
         doReturn(new DescribeEndpointsResult().withEndpoints(new Endpoint().withAddress("endpoint")))
                 .when(proxy).injectCredentialsAndInvoke(any(DescribeEndpointsRequest.class), any(Function.class));
@@ -78,6 +95,153 @@ public class DeleteHandlerTest {
         verify(proxy).injectCredentialsAndInvoke(eq(expectedDeleteDatabaseRequest), any(Function.class));
     }
 
+    @Test
+    public void deleteDatabaseShouldWaitWhileCircuitIsOpen() {
+        final CircuitBreaker breaker = CircuitBreaker.forEndpoint("endpoint");
+        for (int i = 0; i < CircuitBreaker.MIN_CALLS; i++) {
+            assertThrows(InternalServerException.class, () -> breaker.record(() -> {
+                throw new InternalServerException("Test exception");
+            }));
+        }
+        final ResourceHandlerRequest<ResourceModel> request = givenAResourceHandlerRequest();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+            = handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(CircuitBreaker.OPEN_CALLBACK_DELAY_SECONDS);
+        assertThat(response.getCallbackContext()).isNotNull();
+        verify(proxy, never()).injectCredentialsAndInvoke(any(DeleteDatabaseRequest.class), any(Function.class));
+    }
+
+    @Test
+    public void deleteDatabaseShouldCascadeToTables() {
+        final ResourceHandlerRequest<ResourceModel> request = givenAResourceHandlerRequest();
+        doReturn(
+                new ListTablesResult()
+                        .withTables(table("Active", TableStatus.ACTIVE), table("Deleting", TableStatus.DELETING))
+                        .withNextToken("TestNextToken"),
+                new ListTablesResult().withTables(table("Throttled", TableStatus.ACTIVE)),
+                new ListTablesResult().withTables(table("Throttled", TableStatus.ACTIVE)),
+                new ListTablesResult())
+                .when(proxy).injectCredentialsAndInvoke(any(ListTablesRequest.class), any(Function.class));
+        doReturn(null)
+                .when(proxy).injectCredentialsAndInvoke(eq(deleteTableRequest("Active")), any(Function.class));
+        doThrow(new ThrottlingException("Test exception")).doReturn(null)
+                .when(proxy).injectCredentialsAndInvoke(eq(deleteTableRequest("Throttled")), any(Function.class));
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+            = cascadingHandler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(sleeps).containsExactly(TableTeardown.POLL_DELAY_MILLIS, TableTeardown.POLL_DELAY_MILLIS);
+        verify(proxy, never()).injectCredentialsAndInvoke(eq(deleteTableRequest("Deleting")), any(Function.class));
+        verify(proxy).injectCredentialsAndInvoke(
+                eq(new ListTablesRequest()
+                        .withDatabaseName("TestDatabaseName")
+                        .withMaxResults(TableTeardown.LIST_TABLES_PAGE_SIZE)
+                        .withNextToken("TestNextToken")),
+                any(Function.class));
+        verify(proxy).injectCredentialsAndInvoke(
+                eq(new DeleteDatabaseRequest().withDatabaseName("TestDatabaseName")), any(Function.class));
+    }
+
+    @Test
+    public void deleteDatabaseShouldWaitForTablesOverCallback() {
+        final ResourceHandlerRequest<ResourceModel> request = givenAResourceHandlerRequest();
+        now.set(Deadline.RESERVE_MILLIS - ThrottlingRetry.MIN_CALL_MILLIS);
+        doReturn(new ListTablesResult().withTables(table("Deleting", TableStatus.DELETING)))
+                .when(proxy).injectCredentialsAndInvoke(any(ListTablesRequest.class), any(Function.class));
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+            = cascadingHandler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(TableTeardown.POLL_CALLBACK_DELAY_SECONDS);
+        assertThat(response.getCallbackContext().getTablesNextToken()).isNull();
+        assertThat(response.getCallbackContext().getTablesRemaining()).isZero();
+        assertThat(sleeps).isEmpty();
+        verify(proxy, never()).injectCredentialsAndInvoke(any(DeleteDatabaseRequest.class), any(Function.class));
+    }
+
+    @Test
+    public void deleteDatabaseShouldCheckpointTablesTeardown() {
+        final ResourceHandlerRequest<ResourceModel> request = givenAResourceHandlerRequest();
+        final CallbackContext callbackContext = CallbackContext.builder()
+                .tablesNextToken("TestNextToken")
+                .tablesRemaining(1)
+                .build();
+        now.set(Deadline.MIN_BUDGET_MILLIS - Deadline.RESERVE_MILLIS);
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+            = cascadingHandler.handleRequest(proxy, request, callbackContext, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(TableTeardown.CHECKPOINT_CALLBACK_DELAY_SECONDS);
+        assertThat(response.getCallbackContext()).isSameAs(callbackContext);
+        verify(proxy, never()).injectCredentialsAndInvoke(any(ListTablesRequest.class), any(Function.class));
+    }
+
+    @Test
+    public void deleteDatabaseShouldResumeTablesTeardown() {
+        final ResourceHandlerRequest<ResourceModel> request = givenAResourceHandlerRequest();
+        final CallbackContext callbackContext = CallbackContext.builder()
+                .tablesNextToken("TestNextToken")
+                .build();
+        doReturn(new ListTablesResult())
+                .when(proxy).injectCredentialsAndInvoke(any(ListTablesRequest.class), any(Function.class));
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+            = cascadingHandler.handleRequest(proxy, request, callbackContext, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        verify(proxy).injectCredentialsAndInvoke(
+                eq(new ListTablesRequest()
+                        .withDatabaseName("TestDatabaseName")
+                        .withMaxResults(TableTeardown.LIST_TABLES_PAGE_SIZE)
+                        .withNextToken("TestNextToken")),
+                any(Function.class));
+        verify(proxy).injectCredentialsAndInvoke(any(DeleteDatabaseRequest.class), any(Function.class));
+    }
+
+    @Test
+    public void deleteDatabaseShouldKeepTeardownProgressWhileCircuitIsOpen() {
+        final ResourceHandlerRequest<ResourceModel> request = givenAResourceHandlerRequest();
+        doReturn(new ListTablesResult()
+                        .withTables(table("Deleting", TableStatus.DELETING))
+                        .withNextToken("TestNextToken"))
+                .doThrow(new CircuitOpenException("endpoint"))
+                .when(proxy).injectCredentialsAndInvoke(any(ListTablesRequest.class), any(Function.class));
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+            = cascadingHandler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(CircuitBreaker.OPEN_CALLBACK_DELAY_SECONDS);
+        assertThat(response.getCallbackContext().getTablesNextToken()).isEqualTo("TestNextToken");
+        assertThat(response.getCallbackContext().getTablesRemaining()).isEqualTo(1);
+        assertThat(response.getCallbackContext().getEndpointAddress()).isEqualTo("endpoint");
+        verify(proxy, never()).injectCredentialsAndInvoke(any(DeleteDatabaseRequest.class), any(Function.class));
+    }
+
+    @Test
+    public void deleteDatabaseShouldGiveUpOnTablesLeftAfterMaxPasses() {
+        final ResourceHandlerRequest<ResourceModel> request = givenAResourceHandlerRequest();
+        final CallbackContext callbackContext = CallbackContext.builder()
+                .tablesPasses(TableTeardown.MAX_PASSES - 1)
+                .build();
+        doReturn(new ListTablesResult().withTables(table("Conflicting", TableStatus.ACTIVE)))
+                .when(proxy).injectCredentialsAndInvoke(any(ListTablesRequest.class), any(Function.class));
+        doThrow(new ConflictException("Test exception"))
+                .when(proxy).injectCredentialsAndInvoke(eq(deleteTableRequest("Conflicting")), any(Function.class));
+
+        assertThrows(
+                CfnResourceConflictException.class,
+                () -> cascadingHandler.handleRequest(proxy, request, callbackContext, logger));
+        assertThat(sleeps).isEmpty();
+        verify(proxy, never()).injectCredentialsAndInvoke(any(DeleteDatabaseRequest.class), any(Function.class));
+    }
+
     /*
      * Tests for error handling.
      */
@@ -141,6 +305,14 @@ public class DeleteHandlerTest {
                 () -> handler.handleRequest(proxy, request, null, logger));
     }
 
+    private static Table table(final String tableName, final TableStatus tableStatus) {
+        return new Table().withDatabaseName("TestDatabaseName").withTableName(tableName).withTableStatus(tableStatus);
+    }
+
+    private static DeleteTableRequest deleteTableRequest(final String tableName) {
+        return new DeleteTableRequest().withDatabaseName("TestDatabaseName").withTableName(tableName);
+    }
+
     private ResourceHandlerRequest<ResourceModel> givenAResourceHandlerRequest() {
         final ResourceModel model =
                 ResourceModel.builder()
@@ -2,6 +2,8 @@ package software.amazon.timestream.database;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -39,6 +41,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
@@ -54,6 +57,7 @@ public class ReadHandlerTest {
     private static final String TEST_TAG_KEY = "TestKey";
     private static final String TEST_TAG_VALUE = "TestValue";
     private static final String TEST_KMS_KEY_ID = "TestKMSKeyId";
+    private static final String TEST_ACCOUNT_ID = "123456789012";
 
     @Mock
     private AmazonWebServicesClientProxy proxy;
@@ -65,6 +69,8 @@ public class ReadHandlerTest {
 
     @BeforeEach
     public void setup() {
+        CircuitBreaker.clear();
+        EndpointCache.getInstance().clear();
         proxy = mock(AmazonWebServicesClientProxy.class);
         doReturn(new DescribeEndpointsResult().withEndpoints(new Endpoint().withAddress("endpoint")))
                 .when(proxy).injectCredentialsAndInvoke(any(DescribeEndpointsRequest.class), any(Function.class));
@@ -106,6 +112,54 @@ public class ReadHandlerTest {
         verifyNoMoreInteractions(proxy);
     }
 
+    @Test
+    public void readDatabaseShouldListTagsWhileDescribing() {
+        final ResourceHandlerRequest<ResourceModel> request = givenAResourceReadHandlerRequestWithAccount();
+        final String arn = Arns.database(TEST_ACCOUNT_ID, TEST_DATABASE_NAME);
+        final CountDownLatch tagsListed = new CountDownLatch(1);
+
+        doAnswer(invocation -> {
+            // only answers once the tags are being listed alongside
+            assertThat(tagsListed.await(5, TimeUnit.SECONDS)).isTrue();
+            return new DescribeDatabaseResult().withDatabase(
+                    new Database().withDatabaseName(TEST_DATABASE_NAME).withArn(arn));
+        }).when(proxy).injectCredentialsAndInvoke(any(DescribeDatabaseRequest.class), any(Function.class));
+        doAnswer(invocation -> {
+            tagsListed.countDown();
+            return givenAListTagsForResourceResultWithTags();
+        }).when(proxy).injectCredentialsAndInvoke(any(ListTagsForResourceRequest.class), any(Function.class));
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+            = handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModel().getArn()).isEqualTo(arn);
+        assertThat(response.getResourceModel().getTags())
+                .containsExactly(Tag.builder().key(TEST_TAG_KEY).value(TEST_TAG_VALUE).build());
+        verify(proxy).injectCredentialsAndInvoke(eq(new ListTagsForResourceRequest().withResourceARN(arn)),
+                any(Function.class));
+    }
+
+    @Test
+    public void readDatabaseShouldListTagsAgainWhenSynthesizedArnDiffers() {
+        final ResourceHandlerRequest<ResourceModel> request = givenAResourceReadHandlerRequestWithAccount();
+
+        doReturn(givenADescribeDatabaseResult())
+                .when(proxy).injectCredentialsAndInvoke(any(DescribeDatabaseRequest.class), any(Function.class));
+        doReturn(givenAListTagsForResourceResultWithTags())
+                .when(proxy).injectCredentialsAndInvoke(any(ListTagsForResourceRequest.class), any(Function.class));
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+            = handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModel().getArn()).isEqualTo(TEST_ARN);
+        assertThat(response.getResourceModel().getTags())
+                .containsExactly(Tag.builder().key(TEST_TAG_KEY).value(TEST_TAG_VALUE).build());
+        verify(proxy).injectCredentialsAndInvoke(eq(new ListTagsForResourceRequest().withResourceARN(TEST_ARN)),
+                any(Function.class));
+    }
+
     /*
      *  Tests for error handling.
      */
@@ -149,6 +203,18 @@ public class ReadHandlerTest {
         assertThrows(CfnThrottlingException.class, () -> handler.handleRequest(proxy, request, null, logger));
     }
 
+    @Test
+    public void readDatabaseShouldThrowWhenRateLimitedClientSide() {
+        final ResourceHandlerRequest<ResourceModel> request = givenAResourceReadHandlerRequest();
+
+        doThrow(new ClientRateLimitedException("Test exception"))
+                .when(proxy).injectCredentialsAndInvoke(any(DescribeDatabaseRequest.class), any(Function.class));
+
+        assertThrows(
+                CfnThrottlingException.class,
+                () -> handler.handleRequest(proxy, request, null, logger));
+    }
+
     @Test
     public void readDatabaseShouldThrowWhenGenericException() {
         final ResourceHandlerRequest<ResourceModel> request = givenAResourceReadHandlerRequest();
@@ -196,4 +262,16 @@ public class ReadHandlerTest {
                 .desiredResourceState(model)
                 .build();
     }
+
+    private ResourceHandlerRequest<ResourceModel> givenAResourceReadHandlerRequestWithAccount() {
+        final ResourceModel model =
+                ResourceModel.builder()
+                        .databaseName(TEST_DATABASE_NAME)
+                        .build();
+
+        return ResourceHandlerRequest.<ResourceModel>builder()
+                .awsAccountId(TEST_ACCOUNT_ID)
+                .desiredResourceState(model)
+                .build();
+    }
 }
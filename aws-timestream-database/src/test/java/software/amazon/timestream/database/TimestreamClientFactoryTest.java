@@ -10,22 +10,31 @@ import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.Logger;
 
+import com.amazonaws.services.timestreamwrite.AmazonTimestreamWrite;
 import com.amazonaws.services.timestreamwrite.model.DescribeEndpointsRequest;
 import com.amazonaws.services.timestreamwrite.model.DescribeEndpointsResult;
 import com.amazonaws.services.timestreamwrite.model.Endpoint;
 import com.amazonaws.services.timestreamwrite.model.InternalServerException;
 import com.amazonaws.services.timestreamwrite.model.ValidationException;
 
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
 public class TimestreamClientFactoryTest {
+    private static final String TEST_ACCOUNT_ID = "123456789012";
+
     @Mock
     private AmazonWebServicesClientProxy proxy;
 
@@ -36,13 +45,64 @@ public class TimestreamClientFactoryTest {
     public void setup() {
         proxy = mock(AmazonWebServicesClientProxy.class);
         logger = mock(Logger.class);
+        EndpointCache.getInstance().clear();
+        TimestreamClientRegistry.getInstance().clear();
     }
-
+    
     @Test
     public void getTimestreamClientShouldSuceed() {
         doReturn(new DescribeEndpointsResult().withEndpoints(new Endpoint().withAddress("endpoint")))
                 .when(proxy).injectCredentialsAndInvoke(any(DescribeEndpointsRequest.class), any(Function.class));
-        TimestreamClientFactory.get(proxy, logger);
+        client(null, ClientProfile.READ);
+    }
+
+    @Test
+    public void getTimestreamClientShouldReuseCachedEndpoint() {
+        doReturn(new DescribeEndpointsResult().withEndpoints(
+                new Endpoint().withAddress("endpoint").withCachePeriodInMinutes(1440L)))
+                .when(proxy).injectCredentialsAndInvoke(any(DescribeEndpointsRequest.class), any(Function.class));
+        client(null, ClientProfile.READ);
+        client(null, ClientProfile.READ);
+        verify(proxy, times(1)).injectCredentialsAndInvoke(any(DescribeEndpointsRequest.class), any(Function.class));
+    }
+
+    @Test
+    public void getTimestreamClientShouldReuseRegisteredClient() {
+        doReturn(new DescribeEndpointsResult().withEndpoints(
+                new Endpoint().withAddress("endpoint").withCachePeriodInMinutes(1440L)))
+                .when(proxy).injectCredentialsAndInvoke(any(DescribeEndpointsRequest.class), any(Function.class));
+        assertThat(client(null, ClientProfile.READ))
+                .isSameAs(client(null, ClientProfile.READ));
+    }
+
+    @Test
+    public void getTimestreamClientShouldUseSeparateClientPerProfile() {
+        doReturn(new DescribeEndpointsResult().withEndpoints(
+                new Endpoint().withAddress("endpoint").withCachePeriodInMinutes(1440L)))
+                .when(proxy).injectCredentialsAndInvoke(any(DescribeEndpointsRequest.class), any(Function.class));
+        assertThat(client(null, ClientProfile.READ))
+                .isNotSameAs(client(null, ClientProfile.MUTATE));
+    }
+
+    @Test
+    public void getTimestreamClientShouldUseEndpointFromCallbackContext() {
+        final CallbackContext callbackContext = CallbackContext.builder()
+                .endpointAddress("endpoint")
+                .endpointExpiresAt(System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(10))
+                .build();
+        client(callbackContext, ClientProfile.READ);
+        verify(proxy, never()).injectCredentialsAndInvoke(any(DescribeEndpointsRequest.class), any(Function.class));
+    }
+
+    @Test
+    public void getTimestreamClientShouldRecordEndpointInCallbackContext() {
+        doReturn(new DescribeEndpointsResult().withEndpoints(
+                new Endpoint().withAddress("endpoint").withCachePeriodInMinutes(1440L)))
+                .when(proxy).injectCredentialsAndInvoke(any(DescribeEndpointsRequest.class), any(Function.class));
+        final CallbackContext callbackContext = CallbackContext.builder().build();
+        client(callbackContext, ClientProfile.READ);
+        assertThat(callbackContext.getEndpointAddress()).isEqualTo("endpoint");
+        assertThat(callbackContext.getEndpointExpiresAt()).isGreaterThan(System.currentTimeMillis());
     }
 
     @Test
@@ -50,7 +110,8 @@ public class TimestreamClientFactoryTest {
         doThrow(InternalServerException.class)
                 .when(proxy).injectCredentialsAndInvoke(any(DescribeEndpointsRequest.class), any(Function.class));
         assertThrows(
-                CfnInternalFailureException.class, () -> TimestreamClientFactory.get(proxy, logger));
+                CfnInternalFailureException.class,
+                () -> client(null, ClientProfile.READ));
     }
 
     @Test
@@ -58,6 +119,24 @@ public class TimestreamClientFactoryTest {
         doThrow(ValidationException.class)
                 .when(proxy).injectCredentialsAndInvoke(any(DescribeEndpointsRequest.class), any(Function.class));
         assertThrows(
-                CfnInvalidRequestException.class, () -> TimestreamClientFactory.get(proxy, logger));
+                CfnInvalidRequestException.class,
+                () -> client(null, ClientProfile.READ));
+    }
+
+    @Test
+    public void getClientShouldOnlyLogWhenBuildingClient() {
+        TimestreamClientFactory.release(TimestreamClientFactory.getClient("endpoint", ClientProfile.READ, logger));
+        TimestreamClientFactory.release(TimestreamClientFactory.getClient("endpoint", ClientProfile.READ, logger));
+
+        verify(logger, times(1)).log(argThat(message -> message.startsWith("Creating")));
+    }
+
+    private AmazonTimestreamWrite client(final CallbackContext callbackContext, final ClientProfile profile) {
+        final AmazonTimestreamWrite client = TimestreamClientFactory.getClient(
+                TimestreamClientFactory.resolveEndpoint(proxy, TEST_ACCOUNT_ID, callbackContext, logger),
+                profile,
+                logger);
+        TimestreamClientFactory.release(client);
+        return client;
     }
 }
@@ -1,8 +1,10 @@
 package software.amazon.timestream.database;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -43,9 +45,11 @@ import static org.assertj.core.api.AssertionsForInterfaceTypes.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 
@@ -62,6 +66,7 @@ public class UpdateHandlerTest {
     private static final String TEST_TAG_VALUE_2_NEW = "TestTagValue2New";
     private static final String TEST_TAG_VALUE_3 = "TestTagValue3";
     private static final String TEST_ARN = "TestArn";
+    private static final String TEST_ACCOUNT_ID = "123456789012";
 
     @Mock
     private AmazonWebServicesClientProxy proxy;
@@ -73,6 +78,8 @@ public class UpdateHandlerTest {
 
     @BeforeEach
     public void setup() {
+        CircuitBreaker.clear();
+        EndpointCache.getInstance().clear();
         proxy = mock(AmazonWebServicesClientProxy.class);
         doReturn(new DescribeEndpointsResult().withEndpoints(new Endpoint().withAddress("endpoint")))
                 .when(proxy).injectCredentialsAndInvoke(any(DescribeEndpointsRequest.class), any(Function.class));
@@ -194,6 +201,153 @@ public class UpdateHandlerTest {
         verifyNoMoreInteractions(proxy);
     }
 
+    @Test
+    public void updateTaggingShouldNotDescribeDatabaseWithAccount() {
+        final ResourceHandlerRequest<ResourceModel> request = givenAResourceHandlerRequest();
+        request.setAwsAccountId(TEST_ACCOUNT_ID);
+        final String arn = Arns.database(TEST_ACCOUNT_ID, TEST_DATABASE_NAME);
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+                = handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        final TagResourceRequest expectedTagResourceRequest =
+                new TagResourceRequest().withResourceARN(arn).withTags(
+                        new com.amazonaws.services.timestreamwrite.model.Tag()
+                                .withKey(TEST_TAG_KEY_2).withValue(TEST_TAG_VALUE_2_NEW),
+                        new com.amazonaws.services.timestreamwrite.model.Tag()
+                                .withKey(TEST_TAG_KEY_3).withValue(TEST_TAG_VALUE_3));
+        final UntagResourceRequest expectedUntagResourceRequest =
+                new UntagResourceRequest().withResourceARN(arn).withTagKeys(TEST_TAG_KEY_1);
+
+        verify(proxy).injectCredentialsAndInvoke(eq(expectedTagResourceRequest), any(Function.class));
+        verify(proxy).injectCredentialsAndInvoke(eq(expectedUntagResourceRequest), any(Function.class));
+        verify(proxy, never()).injectCredentialsAndInvoke(any(DescribeDatabaseRequest.class), any(Function.class));
+    }
+
+    @Test
+    public void updateDatabaseShouldCheckpointWhenDeadlineIsNearlyExpired() {
+        final ResourceHandlerRequest<ResourceModel> request =
+                givenAResourceHandlerRequestWithAttributes(
+                        TEST_DATABASE_NAME, TEST_DATABASE_NAME, TEST_KMS_KEY_ID_2, TEST_KMS_KEY_ID, getTags(), getTags());
+        final AtomicLong now = new AtomicLong();
+        doAnswer(invocation -> {
+            // the update eats up the budget of the invocation
+            now.set(Deadline.MIN_BUDGET_MILLIS - Deadline.RESERVE_MILLIS);
+            return new UpdateDatabaseResult();
+        }).when(proxy).injectCredentialsAndInvoke(any(UpdateDatabaseRequest.class), any(Function.class));
+        final UpdateHandler deadlineHandler =
+                new UpdateHandler(() -> new Deadline(Deadline.MIN_BUDGET_MILLIS, now::get));
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+                = deadlineHandler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackContext().getCompletedSteps()).containsExactly("UpdateDatabase");
+        assertThat(response.getCallbackContext().getDatabaseArn()).isNull();
+        verify(proxy, never()).injectCredentialsAndInvoke(any(DescribeDatabaseRequest.class), any(Function.class));
+        verify(proxy, never()).injectCredentialsAndInvoke(any(TagResourceRequest.class), any(Function.class));
+    }
+
+    @Test
+    public void updateDatabaseShouldResumeFromCheckpoint() {
+        final ResourceHandlerRequest<ResourceModel> request = givenAResourceHandlerRequest();
+        final CallbackContext callbackContext = CallbackContext.builder()
+                .completedSteps(new ArrayList<>(Arrays.asList("DescribeDatabase", "UntagResource")))
+                .databaseArn(TEST_ARN)
+                .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+                = handler.handleRequest(proxy, request, callbackContext, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        verify(proxy, never()).injectCredentialsAndInvoke(any(DescribeDatabaseRequest.class), any(Function.class));
+        verify(proxy, never()).injectCredentialsAndInvoke(any(UntagResourceRequest.class), any(Function.class));
+        verify(proxy).injectCredentialsAndInvoke(any(TagResourceRequest.class), any(Function.class));
+    }
+
+    @Test
+    public void updateDatabaseShouldResumeAtThrottledStep() {
+        final ResourceHandlerRequest<ResourceModel> request = givenAResourceHandlerRequest();
+        final Database database = new Database().withDatabaseName(TEST_DATABASE_NAME).withArn(TEST_ARN);
+        doReturn(new DescribeDatabaseResult().withDatabase(database))
+                .when(proxy).injectCredentialsAndInvoke(any(DescribeDatabaseRequest.class), any(Function.class));
+        doReturn(null).when(proxy).injectCredentialsAndInvoke(any(UntagResourceRequest.class), any(Function.class));
+        doThrow(new ThrottlingException("Test exception"))
+                .when(proxy).injectCredentialsAndInvoke(any(TagResourceRequest.class), any(Function.class));
+
+        final ProgressEvent<ResourceModel, CallbackContext> throttled
+                = handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(throttled.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(throttled.getCallbackDelaySeconds())
+                .isEqualTo(StepSequence.FIRST_THROTTLED_CALLBACK_DELAY_SECONDS);
+        assertThat(throttled.getCallbackContext().getCompletedSteps())
+                .containsExactly("DescribeDatabase", "UntagResource");
+        assertThat(throttled.getCallbackContext().getDatabaseArn()).isEqualTo(TEST_ARN);
+
+        doReturn(null).when(proxy).injectCredentialsAndInvoke(any(TagResourceRequest.class), any(Function.class));
+        final ProgressEvent<ResourceModel, CallbackContext> response
+                = handler.handleRequest(proxy, request, throttled.getCallbackContext(), logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        verify(proxy).injectCredentialsAndInvoke(any(DescribeDatabaseRequest.class), any(Function.class));
+        verify(proxy).injectCredentialsAndInvoke(any(UntagResourceRequest.class), any(Function.class));
+    }
+
+    @Test
+    public void updateWithoutChangeShouldDescribeDatabase() {
+        final ResourceHandlerRequest<ResourceModel> request =
+                givenAResourceHandlerRequestWithAttributes(
+                        TEST_DATABASE_NAME, TEST_DATABASE_NAME, TEST_KMS_KEY_ID, TEST_KMS_KEY_ID, getTags(), getTags());
+        request.setAwsAccountId(TEST_ACCOUNT_ID);
+        doReturn(new DescribeDatabaseResult().withDatabase(new Database().withArn(TEST_ARN)))
+                .when(proxy).injectCredentialsAndInvoke(any(DescribeDatabaseRequest.class), any(Function.class));
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+                = handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        verify(proxy).injectCredentialsAndInvoke(
+                eq(new DescribeDatabaseRequest().withDatabaseName(TEST_DATABASE_NAME)), any(Function.class));
+        verify(proxy, never()).injectCredentialsAndInvoke(any(UpdateDatabaseRequest.class), any(Function.class));
+        verify(proxy, never()).injectCredentialsAndInvoke(any(TagResourceRequest.class), any(Function.class));
+        verify(proxy, never()).injectCredentialsAndInvoke(any(UntagResourceRequest.class), any(Function.class));
+    }
+
+    @Test
+    public void updateWithoutChangeShouldThrowWhenDatabaseIsGone() {
+        final ResourceHandlerRequest<ResourceModel> request =
+                givenAResourceHandlerRequestWithAttributes(
+                        TEST_DATABASE_NAME, TEST_DATABASE_NAME, TEST_KMS_KEY_ID, TEST_KMS_KEY_ID, getTags(), getTags());
+        request.setAwsAccountId(TEST_ACCOUNT_ID);
+        doThrow(new ResourceNotFoundException("Test exception"))
+                .when(proxy).injectCredentialsAndInvoke(any(DescribeDatabaseRequest.class), any(Function.class));
+
+        assertThrows(
+                CfnNotFoundException.class,
+                () -> handler.handleRequest(proxy, request, null, logger));
+    }
+
+    @Test
+    public void updateWithoutPreviousStateShouldApplyDesiredState() {
+        final ResourceHandlerRequest<ResourceModel> request =
+                givenAResourceHandlerRequestWithAttributes(
+                        TEST_DATABASE_NAME, TEST_DATABASE_NAME, TEST_KMS_KEY_ID, null, getTags(), null);
+        request.setPreviousResourceState(null);
+        request.setAwsAccountId(TEST_ACCOUNT_ID);
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+                = handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        verify(proxy).injectCredentialsAndInvoke(
+                eq(new UpdateDatabaseRequest().withDatabaseName(TEST_DATABASE_NAME).withKmsKeyId(TEST_KMS_KEY_ID)),
+                any(Function.class));
+        verify(proxy).injectCredentialsAndInvoke(any(TagResourceRequest.class), any(Function.class));
+        verify(proxy, never()).injectCredentialsAndInvoke(any(DescribeDatabaseRequest.class), any(Function.class));
+    }
+
     /*
      *  Tests for error handling.
      */
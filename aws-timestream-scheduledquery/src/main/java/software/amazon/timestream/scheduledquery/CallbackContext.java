@@ -1,5 +1,7 @@
 package software.amazon.timestream.scheduledquery;
 
+import java.util.List;
+
 import software.amazon.cloudformation.proxy.StdCallbackContext;
 
 @lombok.Getter
@@ -9,4 +11,10 @@ import software.amazon.cloudformation.proxy.StdCallbackContext;
 @lombok.Builder(toBuilder = true)
 public class CallbackContext extends StdCallbackContext {
     private boolean deleteScheduledQueryStarted;
+    private long deleteScheduledQueryStartedAt;
+    private long expectedDeleteMillis;
+    private String endpointAddress;
+    private long endpointExpiresAt;
+    private List<String> completedSteps;
+    private int throttledResumes;
 }
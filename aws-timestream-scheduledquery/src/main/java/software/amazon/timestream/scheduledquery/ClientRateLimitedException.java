@@ -0,0 +1,15 @@
+package software.amazon.timestream.scheduledquery;
+
+/**
+ * Thrown by CallRateLimiter when a call cannot get a permit within the deadline of its invocation. The call never
+ * reached the service, so unlike a ThrottlingException it is neither retried by ThrottlingRetry nor taken as a sign
+ * that the service is overloaded. Handlers report it as CfnThrottlingException, for CloudFormation to back off.
+ */
+class ClientRateLimitedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    ClientRateLimitedException(final String message) {
+        super(message);
+    }
+}
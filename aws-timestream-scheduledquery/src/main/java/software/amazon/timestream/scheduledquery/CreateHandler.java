@@ -2,8 +2,13 @@ package software.amazon.timestream.scheduledquery;
 
 import com.amazonaws.services.timestreamquery.AmazonTimestreamQuery;
 import com.amazonaws.services.timestreamquery.model.CreateScheduledQueryRequest;
-import com.amazonaws.services.timestreamquery.model.CreateScheduledQueryResult;
 import com.amazonaws.services.timestreamquery.model.ConflictException;
+import com.amazonaws.services.timestreamquery.model.DescribeScheduledQueryRequest;
+import com.amazonaws.services.timestreamquery.model.ListScheduledQueriesRequest;
+import com.amazonaws.services.timestreamquery.model.ListScheduledQueriesResult;
+import com.amazonaws.services.timestreamquery.model.ResourceNotFoundException;
+import com.amazonaws.services.timestreamquery.model.ScheduledQuery;
+import com.amazonaws.services.timestreamquery.model.ScheduledQueryDescription;
 import com.amazonaws.services.timestreamquery.model.ValidationException;
 import com.amazonaws.services.timestreamquery.model.InvalidEndpointException;
 import com.amazonaws.services.timestreamquery.model.AccessDeniedException;
@@ -25,6 +30,8 @@ import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 import software.amazon.cloudformation.resource.IdentifierUtils;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
 
@@ -35,6 +42,11 @@ public class CreateHandler extends BaseHandler<CallbackContext> {
     private static final String CREATE_SCHEDULED_QUERY = "CreateScheduledQuery";
     private static final String QUOTE_MESSAGE = "Limit for number of scheduled queries per account exceeded.";
     private static final int SCHEDULED_QUERY_NAME_MAX_LENGTH = 64;
+    private static final int LIST_PAGE_SIZE = 1000;
+
+    public CreateHandler() {
+        RuntimeHooks.init();
+    }
 
     @Override
     public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
@@ -45,9 +57,11 @@ public class CreateHandler extends BaseHandler<CallbackContext> {
 
         final ResourceModel model = request.getDesiredResourceState();
 
-        AmazonTimestreamQuery timestreamClient = TimestreamClientFactory.get(proxy, logger);
+        final RequestContext requestContext =
+                RequestContext.of(proxy, request, callbackContext, Deadline.start(), logger);
 
-        if (StringUtils.isNullOrEmpty(model.getScheduledQueryName())) {
+        final boolean generatedName = StringUtils.isNullOrEmpty(model.getScheduledQueryName());
+        if (generatedName) {
             model.setScheduledQueryName(
                     IdentifierUtils.generateResourceIdentifier(
                             request.getLogicalResourceIdentifier(),
@@ -57,7 +71,7 @@ public class CreateHandler extends BaseHandler<CallbackContext> {
         }
 
         if (StringUtils.isNullOrEmpty(model.getClientToken())) {
-            model.setClientToken(UUID.randomUUID().toString());
+            model.setClientToken(clientToken(request));
         }
 
         final CreateScheduledQueryRequest createScheduledQueryRequest =
@@ -91,9 +105,7 @@ public class CreateHandler extends BaseHandler<CallbackContext> {
         }
 
         try {
-            final CreateScheduledQueryResult result =
-                    proxy.injectCredentialsAndInvoke(createScheduledQueryRequest, timestreamClient::createScheduledQuery);
-            model.setArn(result.getArn());
+            model.setArn(createScheduledQuery(requestContext, createScheduledQueryRequest, generatedName));
             model.setSQName(model.getScheduledQueryName());
             model.setSQQueryString(model.getQueryString());
             model.setSQScheduleConfiguration(model.getScheduleConfiguration().toString());
@@ -120,10 +132,13 @@ public class CreateHandler extends BaseHandler<CallbackContext> {
             throw new CfnAccessDeniedException(CREATE_SCHEDULED_QUERY, ex);
         } catch (ServiceQuotaExceededException ex) {
             throw new CfnServiceLimitExceededException(ResourceModel.TYPE_NAME, QUOTE_MESSAGE, ex);
-        } catch (ThrottlingException ex) {
+        } catch (ThrottlingException | ClientRateLimitedException ex) {
             throw new CfnThrottlingException(CREATE_SCHEDULED_QUERY, ex);
         } catch (InternalServerException ex) {
             throw new CfnInternalFailureException(ex);
+        } catch (CircuitOpenException ex) {
+            // nothing was created, create again with the same client token once the circuit may have closed
+            return ex.toProgressEvent(model, callbackContext == null ? CallbackContext.builder().build() : callbackContext);
         }
 
         return ProgressEvent.<ResourceModel, CallbackContext>builder()
@@ -131,4 +146,88 @@ public class CreateHandler extends BaseHandler<CallbackContext> {
                 .status(OperationStatus.SUCCESS)
                 .build();
     }
+
+    /**
+     * Derives the client token from the logical ID and the client request token, so that CloudFormation retrying
+     * the same create sends the same token and the service returns the scheduled query created already, within
+     * the 8 hours it keeps tokens for. A random token is used only when there is no client request token.
+     */
+    static String clientToken(final ResourceHandlerRequest<ResourceModel> request) {
+        if (StringUtils.isNullOrEmpty(request.getClientRequestToken())) {
+            return UUID.randomUUID().toString();
+        }
+        final String seed = request.getLogicalResourceIdentifier() + ":" + request.getClientRequestToken();
+        return UUID.nameUUIDFromBytes(seed.getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+    /**
+     * Creates the scheduled query, or adopts the one an earlier attempt of this very create made when the service
+     * no longer matches the client token to it. This is only done for a name generated from the client request
+     * token, which no other create shares; a conflict on a name given in the template is left to fail.
+     *
+     * The ARN of a scheduled query ends in a suffix the service generates, so the existing one is looked up by name
+     * and only adopted when it runs the same query string into the same target.
+     *
+     * @return the ARN of the scheduled query.
+     */
+    private String createScheduledQuery(
+            final RequestContext requestContext,
+            final CreateScheduledQueryRequest createScheduledQueryRequest,
+            final boolean generatedName) {
+        try {
+            return requestContext.invoke(createScheduledQueryRequest, AmazonTimestreamQuery::createScheduledQuery)
+                    .getArn();
+        } catch (ConflictException ex) {
+            if (!generatedName) {
+                throw ex;
+            }
+            final String arn = findEarlierAttempt(requestContext, createScheduledQueryRequest);
+            if (arn == null) {
+                throw ex;
+            }
+            requestContext.getLogger().log(
+                    "Scheduled query " + arn + " exists already, adopting it as created by an earlier attempt\n");
+            return arn;
+        }
+    }
+
+    /**
+     * @return the ARN of the scheduled query named as in the request and matching it, null when there is none.
+     */
+    private static String findEarlierAttempt(
+            final RequestContext requestContext,
+            final CreateScheduledQueryRequest createScheduledQueryRequest) {
+        String nextToken = null;
+        do {
+            final ListScheduledQueriesResult page = requestContext.invoke(
+                    new ListScheduledQueriesRequest().withMaxResults(LIST_PAGE_SIZE).withNextToken(nextToken),
+                    AmazonTimestreamQuery::listScheduledQueries);
+            for (final ScheduledQuery scheduledQuery : page.getScheduledQueries()) {
+                if (createScheduledQueryRequest.getName().equals(scheduledQuery.getName())) {
+                    return matches(requestContext, scheduledQuery.getArn(), createScheduledQueryRequest)
+                            ? scheduledQuery.getArn()
+                            : null;
+                }
+            }
+            nextToken = page.getNextToken();
+        } while (nextToken != null);
+        return null;
+    }
+
+    private static boolean matches(
+            final RequestContext requestContext,
+            final String arn,
+            final CreateScheduledQueryRequest createScheduledQueryRequest) {
+        final ScheduledQueryDescription existing;
+        try {
+            existing = requestContext.invoke(new DescribeScheduledQueryRequest().withScheduledQueryArn(arn),
+                    AmazonTimestreamQuery::describeScheduledQuery).getScheduledQuery();
+        } catch (ResourceNotFoundException ex) {
+            // deleted since it was listed
+            return false;
+        }
+        return Objects.equals(existing.getQueryString(), createScheduledQueryRequest.getQueryString())
+                && Objects.equals(existing.getTargetConfiguration(),
+                        createScheduledQueryRequest.getTargetConfiguration());
+    }
 }
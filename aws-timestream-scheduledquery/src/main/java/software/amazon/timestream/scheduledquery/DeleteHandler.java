@@ -21,14 +21,35 @@ import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 
-
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Deletes the scheduled query, then waits for it to be gone through a Stabilizer: inline at first, then over
+ * callbacks sized from the durations of recent deletions. While the circuit of the endpoint is open (see
+ * CircuitBreaker), it returns IN_PROGRESS instead.
+ */
 public class DeleteHandler extends BaseHandler<CallbackContext> {
 
     private static final String DELETE_SCHEDULED_QUERY = "DeleteScheduledQuery";
     private static final String DESCRIBE_SCHEDULED_QUERY = "DescribeScheduledQuery";
-    private static final int CALLBACK_DELAY_SECONDS = 15;
-    private AmazonWebServicesClientProxy proxy;
-    private AmazonTimestreamQuery timestreamClient;
+    private static final DurationHistogram DELETE_DURATIONS = new DurationHistogram();
+    private final Supplier<Deadline> deadlines;
+    private final Function<Deadline, Stabilizer> stabilizers;
+
+    public DeleteHandler() {
+        this(Deadline::start);
+        RuntimeHooks.init();
+    }
+
+    DeleteHandler(final Supplier<Deadline> deadlines) {
+        this(deadlines, deadline -> new Stabilizer(deadline, DELETE_DURATIONS));
+    }
+
+    DeleteHandler(final Supplier<Deadline> deadlines, final Function<Deadline, Stabilizer> stabilizers) {
+        this.deadlines = deadlines;
+        this.stabilizers = stabilizers;
+    }
 
     @Override
     public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
@@ -37,11 +58,6 @@ public class DeleteHandler extends BaseHandler<CallbackContext> {
         final CallbackContext callbackContext,
         final Logger logger) {
 
-        final ResourceModel model = request.getDesiredResourceState();
-
-        timestreamClient = TimestreamClientFactory.get(proxy, logger);
-        this.proxy = proxy;
-
         CallbackContext returnCallbackContext;
         if (callbackContext == null) {
             returnCallbackContext = CallbackContext.builder()
@@ -51,27 +67,72 @@ public class DeleteHandler extends BaseHandler<CallbackContext> {
             returnCallbackContext = callbackContext;
         }
 
+        try {
+            return handleDelete(proxy, request, returnCallbackContext, logger);
+        } catch (CircuitOpenException ex) {
+            return ex.toProgressEvent(request.getDesiredResourceState(), returnCallbackContext);
+        }
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> handleDelete(
+        final AmazonWebServicesClientProxy proxy,
+        final ResourceHandlerRequest<ResourceModel> request,
+        final CallbackContext returnCallbackContext,
+        final Logger logger) {
+
+        final Deadline deadline = deadlines.get();
+        final Stabilizer stabilizer = stabilizers.apply(deadline);
+        final ResourceModel model = request.getDesiredResourceState();
+
+        final RequestContext requestContext =
+                RequestContext.of(proxy, request, returnCallbackContext, deadline, logger);
+
         if (!returnCallbackContext.isDeleteScheduledQueryStarted()) {
-            initiateDeleteScheduledQuery(request, returnCallbackContext, model);
+            initiateDeleteScheduledQuery(requestContext, returnCallbackContext, model);
+            returnCallbackContext.setDeleteScheduledQueryStartedAt(stabilizer.now());
+            returnCallbackContext.setExpectedDeleteMillis(stabilizer.expectedMillis());
+            if (deadline.isNearlyExpired()) {
+                // the deletion is recorded as started, leave checking on it to the next invocation
+                return inProgress(returnCallbackContext, model, stabilizer);
+            }
+            if (!stabilizer.pollInline(() -> isScheduledQueryDeleted(requestContext, model))) {
+                return inProgress(returnCallbackContext, model, stabilizer);
+            }
+        } else if (!isScheduledQueryDeleted(requestContext, model)) {
+            return inProgress(returnCallbackContext, model, stabilizer);
         }
 
-        return checkDeleteScheduledQueryStatus(request, returnCallbackContext, model);
+        stabilizer.recordStabilized(returnCallbackContext.getDeleteScheduledQueryStartedAt());
+        return ProgressEvent.<ResourceModel, CallbackContext>builder()
+                .status(OperationStatus.SUCCESS)
+                .build();
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> inProgress(
+            CallbackContext callbackContext, ResourceModel model, Stabilizer stabilizer) {
+        return ProgressEvent.<ResourceModel, CallbackContext>builder()
+                .callbackContext(callbackContext)
+                .resourceModel(model)
+                .status(OperationStatus.IN_PROGRESS)
+                .callbackDelaySeconds(stabilizer.callbackDelaySeconds(
+                        callbackContext.getDeleteScheduledQueryStartedAt(), callbackContext.getExpectedDeleteMillis()))
+                .build();
     }
 
     private void initiateDeleteScheduledQuery(
-            ResourceHandlerRequest<ResourceModel> request, CallbackContext callbackContext, ResourceModel model) {
+            RequestContext requestContext, CallbackContext callbackContext, ResourceModel model) {
         final DeleteScheduledQueryRequest deleteScheduledQueryRequest =
                 new DeleteScheduledQueryRequest()
                         .withScheduledQueryArn(model.getArn());
 
         try {
-            this.proxy.injectCredentialsAndInvoke(deleteScheduledQueryRequest, timestreamClient::deleteScheduledQuery);
+            requestContext.invoke(deleteScheduledQueryRequest, AmazonTimestreamQuery::deleteScheduledQuery);
         } catch (InternalServerException ex) {
             throw new CfnInternalFailureException(ex);
-        } catch (ThrottlingException ex) {
+        } catch (ThrottlingException | ClientRateLimitedException ex) {
             throw new CfnThrottlingException(DELETE_SCHEDULED_QUERY, ex);
         } catch (ValidationException | InvalidEndpointException ex) {
-            throw new CfnInvalidRequestException(request.toString(), ex);
+            throw new CfnInvalidRequestException(requestContext.getRequest().toString(), ex);
         } catch (ResourceNotFoundException ex) {
             throw new CfnNotFoundException(ex);
         } catch (AccessDeniedException ex) {
@@ -81,34 +142,25 @@ public class DeleteHandler extends BaseHandler<CallbackContext> {
         callbackContext.setDeleteScheduledQueryStarted(true);
     }
 
-    private ProgressEvent<ResourceModel, CallbackContext> checkDeleteScheduledQueryStatus(
-            ResourceHandlerRequest<ResourceModel> request, CallbackContext callbackContext, ResourceModel model) {
+    private boolean isScheduledQueryDeleted(RequestContext requestContext, ResourceModel model) {
 
         DescribeScheduledQueryRequest describeScheduledQueryRequest =
                 new DescribeScheduledQueryRequest()
                         .withScheduledQueryArn(model.getArn());
 
         try {
-            this.proxy.injectCredentialsAndInvoke(describeScheduledQueryRequest, timestreamClient::describeScheduledQuery);
+            requestContext.invoke(describeScheduledQueryRequest, AmazonTimestreamQuery::describeScheduledQuery);
         } catch (ResourceNotFoundException ex) {
-            return ProgressEvent.<ResourceModel, CallbackContext>builder()
-                    .status(OperationStatus.SUCCESS)
-                    .build();
+            return true;
         } catch (ValidationException | InvalidEndpointException ex) {
-            throw new CfnInvalidRequestException(request.toString(), ex);
+            throw new CfnInvalidRequestException(requestContext.getRequest().toString(), ex);
         } catch (AccessDeniedException ex) {
             throw new CfnAccessDeniedException(DESCRIBE_SCHEDULED_QUERY, ex);
-        } catch (ThrottlingException ex) {
+        } catch (ThrottlingException | ClientRateLimitedException ex) {
             throw new CfnThrottlingException(DESCRIBE_SCHEDULED_QUERY, ex);
         } catch (InternalServerException ex) {
             throw new CfnInternalFailureException(ex);
         }
-
-        return ProgressEvent.<ResourceModel, CallbackContext>builder()
-                .callbackContext(callbackContext)
-                .resourceModel(model)
-                .status(OperationStatus.IN_PROGRESS)
-                .callbackDelaySeconds(CALLBACK_DELAY_SECONDS)
-                .build();
+        return false;
     }
 }
@@ -0,0 +1,157 @@
+package software.amazon.timestream.scheduledquery;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import lombok.Value;
+
+import com.amazonaws.services.timestreamquery.model.DescribeEndpointsResult;
+import com.amazonaws.services.timestreamquery.model.Endpoint;
+
+/**
+ * Process-wide cache of the endpoints returned by DescribeEndpoints, keyed by region and account.
+ *
+ * Every address returned by the service is kept. Requests go to the first one, and an address that turns out to be
+ * stale or unreachable can be evicted so that the next one takes over; once none is left the key is rediscovered.
+ *
+ * Entries are kept for the CachePeriodInMinutes advertised by the service. Once an entry enters its refresh
+ * window a single caller rediscovers it while concurrent callers keep using the still valid address. Missing or
+ * expired entries are discovered by exactly one caller per key, the other callers wait for that result.
+ */
+final class EndpointCache {
+
+    static final long REFRESH_WINDOW_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    private static final EndpointCache INSTANCE = new EndpointCache(System::currentTimeMillis);
+
+    private final ConcurrentMap<Key, CachedEndpoint> endpoints = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Key, ReentrantLock> locks = new ConcurrentHashMap<>();
+    private final LongSupplier clock;
+
+    EndpointCache(final LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    static EndpointCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @return the cached endpoint for the region and account, running the discovery call if needed.
+     */
+    CachedEndpoint get(final String region, final String awsAccountId, final Supplier<DescribeEndpointsResult> discovery) {
+        final Key key = new Key(region, awsAccountId);
+        final CachedEndpoint cached = endpoints.get(key);
+        if (cached != null && clock.getAsLong() < cached.getRefreshAt()) {
+            return cached;
+        }
+
+        final ReentrantLock lock = locks.computeIfAbsent(key, k -> new ReentrantLock());
+        final boolean stillValid = cached != null && clock.getAsLong() < cached.getExpiresAt();
+        if (stillValid) {
+            // refresh ahead of expiry, someone else is already on it so keep serving the current address
+            if (!lock.tryLock()) {
+                return cached;
+            }
+        } else {
+            lock.lock();
+        }
+
+        try {
+            final CachedEndpoint current = endpoints.get(key);
+            if (current != null && current != cached && clock.getAsLong() < current.getRefreshAt()) {
+                return current;
+            }
+
+            final CachedEndpoint discovered;
+            try {
+                discovered = CachedEndpoint.of(discovery.get(), clock.getAsLong());
+            } catch (final RuntimeException ex) {
+                if (stillValid) {
+                    return cached;
+                }
+                throw ex;
+            }
+            endpoints.put(key, discovered);
+            return discovered;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Seeds the cache with an endpoint discovered earlier, e.g. by a previous invocation of the same operation,
+     * unless a longer lived entry is already cached.
+     */
+    void seed(final String region, final String awsAccountId, final String address, final long expiresAt) {
+        if (address == null || clock.getAsLong() >= expiresAt) {
+            return;
+        }
+        final CachedEndpoint seeded = new CachedEndpoint(
+                Collections.singletonList(address), expiresAt - REFRESH_WINDOW_MILLIS, expiresAt);
+        endpoints.merge(new Key(region, awsAccountId), seeded,
+                (existing, candidate) -> existing.getExpiresAt() >= candidate.getExpiresAt() ? existing : candidate);
+    }
+
+    /**
+     * Evicts a single address, falling back to the remaining discovered addresses of the entry if there are any.
+     */
+    void evict(final String region, final String awsAccountId, final String address) {
+        endpoints.computeIfPresent(new Key(region, awsAccountId), (key, cached) -> {
+            final List<String> remaining = cached.getAddresses().stream()
+                    .filter(candidate -> !candidate.equals(address))
+                    .collect(Collectors.toList());
+            return remaining.isEmpty()
+                    ? null : new CachedEndpoint(remaining, cached.getRefreshAt(), cached.getExpiresAt());
+        });
+    }
+
+    void invalidate(final String region, final String awsAccountId) {
+        endpoints.remove(new Key(region, awsAccountId));
+    }
+
+    void clear() {
+        endpoints.clear();
+    }
+
+    @Value
+    private static class Key {
+        String region;
+        String awsAccountId;
+    }
+
+    @Value
+    static class CachedEndpoint {
+        List<String> addresses;
+        long refreshAt;
+        long expiresAt;
+
+        String getAddress() {
+            return addresses.get(0);
+        }
+
+        static CachedEndpoint of(final DescribeEndpointsResult result, final long now) {
+            final List<Endpoint> discovered = result.getEndpoints();
+            // the shortest advertised cache period bounds the whole entry
+            final long cachePeriodInMinutes = discovered.stream()
+                    .mapToLong(endpoint -> endpoint.getCachePeriodInMinutes() == null ? 0L : endpoint.getCachePeriodInMinutes())
+                    .min()
+                    .orElse(0L);
+            final long ttl = TimeUnit.MINUTES.toMillis(cachePeriodInMinutes);
+            // short lived entries start refreshing half way through instead of a full window ahead
+            final long refreshWindow = Math.min(REFRESH_WINDOW_MILLIS, ttl / 2);
+            final List<String> addresses = discovered.stream()
+                    .map(Endpoint::getAddress)
+                    .distinct()
+                    .collect(Collectors.toList());
+            return new CachedEndpoint(Collections.unmodifiableList(addresses), now + ttl - refreshWindow, now + ttl);
+        }
+    }
+}
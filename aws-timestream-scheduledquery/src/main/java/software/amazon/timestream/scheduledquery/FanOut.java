@@ -0,0 +1,51 @@
+package software.amazon.timestream.scheduledquery;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Runs independent calls of an invocation side by side, such as listing the tags of a scheduled query while it is
+ * described. The calls go through the invoker of the invocation like any other, which takes concurrent calls.
+ */
+final class FanOut {
+
+    private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(FanOut::daemonThread);
+
+    private FanOut() {
+    }
+
+    static <T> Future<T> fork(final Supplier<T> call) {
+        return EXECUTOR.submit(call::get);
+    }
+
+    /**
+     * @return the result of the forked call, or else its failure rethrown as is, for the handler to translate.
+     */
+    static <T> T join(final Future<T> forked) {
+        try {
+            return forked.get();
+        } catch (final ExecutionException ex) {
+            final Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        } catch (final InterruptedException ex) {
+            forked.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a forked call", ex);
+        }
+    }
+
+    private static Thread daemonThread(final Runnable runnable) {
+        final Thread thread = new Thread(runnable, "timestream-fan-out");
+        thread.setDaemon(true);
+        return thread;
+    }
+}
@@ -0,0 +1,133 @@
+package software.amazon.timestream.scheduledquery;
+
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Hedging of the read-only calls, such as DescribeScheduledQuery and ListTagsForResource, which are safe to send twice.
+ *
+ * The latency of every such call is kept per operation in a DurationHistogram shared by the invocations of the
+ * container. When hedging is enabled, see Configuration.hedgeReads, and the operation has at least MIN_SAMPLES
+ * recorded, a call that has not answered within the HEDGE_PERCENTILE latency of its operation is sent a second
+ * time, and whichever attempt answers first is taken. The other attempt is cancelled. A failing attempt only fails
+ * the call once the other one failed as well, with the failure that came first.
+ */
+final class Hedging {
+
+    static final int MIN_SAMPLES = 16;
+    static final double HEDGE_PERCENTILE = 0.95;
+    static final long MIN_DELAY_MILLIS = 20L;
+
+    private static final Hedging INSTANCE = new Hedging(
+            Configuration.hedgeReads(), Executors.newCachedThreadPool(Hedging::daemonThread), System::currentTimeMillis);
+
+    private final boolean enabled;
+    private final ExecutorService executor;
+    private final LongSupplier clock;
+    private final Map<String, DurationHistogram> latencies = new ConcurrentHashMap<>();
+
+    Hedging(final boolean enabled, final ExecutorService executor, final LongSupplier clock) {
+        this.enabled = enabled;
+        this.executor = executor;
+        this.clock = clock;
+    }
+
+    static Hedging getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @param attempt makes the call.
+     * @param hedge makes the same call once more, with a request of its own.
+     */
+    <ResultT> ResultT call(final String operation, final Supplier<ResultT> attempt, final Supplier<ResultT> hedge) {
+        final long delay = delayMillis(operation);
+        if (!enabled || delay <= 0) {
+            return timed(operation, attempt);
+        }
+        final CompletionService<ResultT> attempts = new ExecutorCompletionService<>(executor);
+        final Future<ResultT> first = attempts.submit(() -> timed(operation, attempt));
+        Future<ResultT> second = null;
+        try {
+            Future<ResultT> answered = attempts.poll(delay, TimeUnit.MILLISECONDS);
+            if (answered == null) {
+                second = attempts.submit(() -> timed(operation, hedge));
+                answered = attempts.take();
+            }
+            try {
+                return answered.get();
+            } catch (final ExecutionException ex) {
+                if (second == null) {
+                    throw ex;
+                }
+                try {
+                    return attempts.take().get();
+                } catch (final ExecutionException other) {
+                    throw ex;
+                }
+            }
+        } catch (final ExecutionException ex) {
+            throw rethrow(ex);
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for " + operation, ex);
+        } finally {
+            first.cancel(true);
+            if (second != null) {
+                second.cancel(true);
+            }
+        }
+    }
+
+    void clear() {
+        latencies.clear();
+    }
+
+    /**
+     * @return how long to wait for an answer before hedging the operation, 0 while too few calls were recorded.
+     */
+    long delayMillis(final String operation) {
+        final DurationHistogram latency = latency(operation);
+        if (latency.size() < MIN_SAMPLES) {
+            return 0L;
+        }
+        return Math.max(MIN_DELAY_MILLIS, latency.percentile(HEDGE_PERCENTILE));
+    }
+
+    private <ResultT> ResultT timed(final String operation, final Supplier<ResultT> attempt) {
+        final long start = clock.getAsLong();
+        final ResultT result = attempt.get();
+        latency(operation).record(clock.getAsLong() - start);
+        return result;
+    }
+
+    private DurationHistogram latency(final String operation) {
+        return latencies.computeIfAbsent(operation, key -> new DurationHistogram());
+    }
+
+    private static RuntimeException rethrow(final ExecutionException ex) {
+        final Throwable cause = ex.getCause();
+        if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return new IllegalStateException(cause);
+    }
+
+    private static Thread daemonThread(final Runnable runnable) {
+        final Thread thread = new Thread(runnable, "timestream-hedged-call");
+        thread.setDaemon(true);
+        return thread;
+    }
+}
@@ -27,6 +27,10 @@ public class ListHandler extends BaseHandler<CallbackContext> {
     private static final int MAX_ITEMS = 30;
     private static final String LIST_SCHEDULED_QUERIES = "ListScheduledQueries";
 
+    public ListHandler() {
+        RuntimeHooks.init();
+    }
+
     @Override
     public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
         final AmazonWebServicesClientProxy proxy,
@@ -34,7 +38,8 @@ public class ListHandler extends BaseHandler<CallbackContext> {
         final CallbackContext callbackContext,
         final Logger logger) {
 
-        AmazonTimestreamQuery timestreamClient = TimestreamClientFactory.get(proxy, logger);
+        final RequestContext requestContext =
+                RequestContext.of(proxy, request, callbackContext, Deadline.start(), logger);
 
         ListScheduledQueriesResult listScheduledQueriesResult;
         ListScheduledQueriesRequest listScheduledQueriesRequest =
@@ -44,10 +49,10 @@ public class ListHandler extends BaseHandler<CallbackContext> {
 
         try {
             listScheduledQueriesResult =
-                    proxy.injectCredentialsAndInvoke(listScheduledQueriesRequest, timestreamClient::listScheduledQueries);
+                    requestContext.invoke(listScheduledQueriesRequest, AmazonTimestreamQuery::listScheduledQueries);
         } catch(InternalServerException ex) {
             throw new CfnInternalFailureException(ex);
-        } catch (ThrottlingException ex) {
+        } catch (ThrottlingException | ClientRateLimitedException ex) {
             throw new CfnThrottlingException(LIST_SCHEDULED_QUERIES, ex);
         } catch (ValidationException | InvalidEndpointException ex) {
             throw new CfnInvalidRequestException(request.toString(), ex);
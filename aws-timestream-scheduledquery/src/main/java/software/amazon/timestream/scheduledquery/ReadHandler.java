@@ -25,12 +25,15 @@ import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 
 import java.util.List;
+import java.util.concurrent.Future;
 
 public class ReadHandler extends BaseHandler<CallbackContext> {
 
     private static final String DESCRIBE_SCHEDULED_QUERY = "DescribeScheduledQuery";
-    private AmazonWebServicesClientProxy proxy;
-    private AmazonTimestreamQuery timestreamClient;
+
+    public ReadHandler() {
+        RuntimeHooks.init();
+    }
 
     @Override
     public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
@@ -41,15 +44,20 @@ public class ReadHandler extends BaseHandler<CallbackContext> {
 
         final ResourceModel model = request.getDesiredResourceState();
 
-        timestreamClient = TimestreamClientFactory.get(proxy, logger);
-        this.proxy = proxy;
+        final RequestContext requestContext =
+                RequestContext.of(proxy, request, callbackContext, Deadline.start(), logger);
 
         final DescribeScheduledQueryRequest describeScheduledQueryRequest =
                 new DescribeScheduledQueryRequest().withScheduledQueryArn(model.getArn());
 
+        // the scheduled query is read by its ARN, so its tags are listed while it is described
+        final String expectedArn = model.getArn();
+        final Future<List<Tag>> expectedTags =
+                expectedArn == null ? null : FanOut.fork(() -> getTags(requestContext, expectedArn));
+
         try {
             final DescribeScheduledQueryResult describeScheduledQueryResult =
-                    this.proxy.injectCredentialsAndInvoke(describeScheduledQueryRequest, timestreamClient::describeScheduledQuery);
+                    requestContext.invoke(describeScheduledQueryRequest, AmazonTimestreamQuery::describeScheduledQuery);
 
             final ScheduledQueryDescription scheduledQueryDescription = describeScheduledQueryResult.getScheduledQuery();
             model.setArn(scheduledQueryDescription.getArn());
@@ -62,17 +70,21 @@ public class ReadHandler extends BaseHandler<CallbackContext> {
                     scheduledQueryDescription.getTargetConfiguration().toString() : null);
             model.setSQErrorReportConfiguration(scheduledQueryDescription.getErrorReportConfiguration().toString());
             model.setSQKmsKeyId(scheduledQueryDescription.getKmsKeyId());
-            model.setTags(getTags(scheduledQueryDescription.getArn()));
+            model.setTags(getTags(requestContext, scheduledQueryDescription.getArn(), expectedArn, expectedTags));
         } catch (ResourceNotFoundException ex) {
             throw new CfnNotFoundException(ex);
         } catch (ValidationException | InvalidEndpointException ex) {
             throw new CfnInvalidRequestException(request.toString(), ex);
         } catch (AccessDeniedException ex) {
             throw new CfnAccessDeniedException(DESCRIBE_SCHEDULED_QUERY, ex);
-        } catch (ThrottlingException ex) {
+        } catch (ThrottlingException | ClientRateLimitedException ex) {
             throw new CfnThrottlingException(DESCRIBE_SCHEDULED_QUERY, ex);
         } catch (InternalServerException ex) {
             throw new CfnInternalFailureException(ex);
+        } finally {
+            if (expectedTags != null) {
+                expectedTags.cancel(true);
+            }
         }
 
         return ProgressEvent.<ResourceModel, CallbackContext>builder()
@@ -81,13 +93,34 @@ public class ReadHandler extends BaseHandler<CallbackContext> {
                 .build();
     }
 
-    private List<Tag> getTags(final String arn) {
+    /**
+     * @return the tags listed while the scheduled query was described, unless the ARN they were listed for is not the
+     * actual one.
+     */
+    private List<Tag> getTags(
+            final RequestContext requestContext,
+            final String arn,
+            final String expectedArn,
+            final Future<List<Tag>> expectedTags) {
+        if (expectedTags == null) {
+            return getTags(requestContext, arn);
+        }
+        if (!arn.equals(expectedArn)) {
+            expectedTags.cancel(true);
+            requestContext.getLogger().log("Scheduled query ARN " + arn + " differs from the requested " + expectedArn
+                    + ", listing its tags again\n");
+            return getTags(requestContext, arn);
+        }
+        return FanOut.join(expectedTags);
+    }
+
+    private List<Tag> getTags(final RequestContext requestContext, final String arn) {
         final ListTagsForResourceRequest listTagsForResourceRequest =
                 new ListTagsForResourceRequest().withResourceARN(arn);
 
         final ListTagsForResourceResult listTagsForResourceResult =
-                this.proxy.injectCredentialsAndInvoke(
-                        listTagsForResourceRequest, timestreamClient::listTagsForResource);
+                requestContext.invoke(
+                        listTagsForResourceRequest, AmazonTimestreamQuery::listTagsForResource);
 
         return ScheduledQueryModelConverter
                 .convertToModelTags(listTagsForResourceResult.getTags());
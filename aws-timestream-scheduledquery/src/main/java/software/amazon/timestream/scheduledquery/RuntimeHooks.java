@@ -0,0 +1,17 @@
+package software.amazon.timestream.scheduledquery;
+
+/**
+ * Wiring of the handler JVM, done once while the handler wrapper constructs the handlers, well before a request is
+ * parsed: the checkpoint and restore hooks get registered and the opt-in connection pre-warming starts. Every public
+ * handler constructor calls init(), repeated calls do nothing. Configuration only reads settings.
+ */
+final class RuntimeHooks {
+
+    private RuntimeHooks() {
+    }
+
+    static void init() {
+        CheckpointRestoreHooks.register();
+        ConnectionPrewarmer.startIfEnabled();
+    }
+}
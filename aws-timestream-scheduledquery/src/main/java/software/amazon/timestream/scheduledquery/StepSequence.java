@@ -0,0 +1,103 @@
+package software.amazon.timestream.scheduledquery;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+
+import com.amazonaws.services.timestreamquery.model.ThrottlingException;
+
+/**
+ * The calls of a multi-step handler action, such as an update, run as named steps in order. Each finished step is
+ * recorded in the callback context, as is whatever the step resolved, so that a later invocation resumes at the
+ * first unfinished step instead of repeating the calls made already.
+ *
+ * The sequence returns IN_PROGRESS, to be called back, when
+ * - only the reserve of the deadline is left before a step, or
+ * - a step is throttled, by the service or by CallRateLimiter, after earlier steps finished, at most
+ *   MAX_THROTTLED_RESUMES times, with a callback delay doubling from FIRST_THROTTLED_CALLBACK_DELAY_SECONDS. A step
+ *   throttled before any step finished, or once the resumes are spent, fails the action as before: there is no
+ *   progress to keep.
+ */
+final class StepSequence {
+
+    @FunctionalInterface
+    interface Step {
+        void run();
+    }
+
+    static final int CHECKPOINT_CALLBACK_DELAY_SECONDS = 1;
+    static final int MAX_THROTTLED_RESUMES = 5;
+    static final int FIRST_THROTTLED_CALLBACK_DELAY_SECONDS = 5;
+    static final int MAX_THROTTLED_CALLBACK_DELAY_SECONDS = 60;
+
+    private final Deadline deadline;
+    private final CallbackContext context;
+    private final Logger logger;
+    private final Map<String, Step> steps = new LinkedHashMap<>();
+
+    StepSequence(final Deadline deadline, final CallbackContext context, final Logger logger) {
+        this.deadline = deadline;
+        this.context = context;
+        this.logger = logger;
+    }
+
+    StepSequence step(final String name, final Step step) {
+        steps.put(name, step);
+        return this;
+    }
+
+    /**
+     * Runs the steps not recorded as finished in the context yet.
+     *
+     * @return SUCCESS once every step finished, or else IN_PROGRESS with the context to resume from.
+     */
+    ProgressEvent<ResourceModel, CallbackContext> run(final ResourceModel model) {
+        if (context.getCompletedSteps() == null) {
+            context.setCompletedSteps(new ArrayList<>());
+        }
+        for (final Map.Entry<String, Step> step : steps.entrySet()) {
+            if (context.getCompletedSteps().contains(step.getKey())) {
+                continue;
+            }
+            if (deadline.isNearlyExpired()) {
+                return inProgress(model, CHECKPOINT_CALLBACK_DELAY_SECONDS);
+            }
+            try {
+                step.getValue().run();
+            } catch (final ThrottlingException | ClientRateLimitedException ex) {
+                final int resumes = context.getThrottledResumes();
+                if (context.getCompletedSteps().isEmpty() || resumes >= MAX_THROTTLED_RESUMES) {
+                    throw ex;
+                }
+                context.setThrottledResumes(resumes + 1);
+                final int delaySeconds = throttledCallbackDelaySeconds(resumes);
+                logger.log("Step " + step.getKey() + " throttled, resuming in " + delaySeconds + " s\n");
+                return inProgress(model, delaySeconds);
+            }
+            context.getCompletedSteps().add(step.getKey());
+        }
+        return ProgressEvent.<ResourceModel, CallbackContext>builder()
+                .resourceModel(model)
+                .status(OperationStatus.SUCCESS)
+                .build();
+    }
+
+    static int throttledCallbackDelaySeconds(final int resumes) {
+        return Math.min(MAX_THROTTLED_CALLBACK_DELAY_SECONDS,
+                FIRST_THROTTLED_CALLBACK_DELAY_SECONDS << Math.min(resumes, 10));
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> inProgress(
+            final ResourceModel model, final int callbackDelaySeconds) {
+        return ProgressEvent.<ResourceModel, CallbackContext>builder()
+                .callbackContext(context)
+                .resourceModel(model)
+                .status(OperationStatus.IN_PROGRESS)
+                .callbackDelaySeconds(callbackDelaySeconds)
+                .build();
+    }
+}
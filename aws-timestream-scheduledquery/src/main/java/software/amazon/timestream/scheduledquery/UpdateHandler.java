@@ -18,19 +18,33 @@ import software.amazon.cloudformation.exceptions.CfnNotFoundException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.ProgressEvent;
-import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 
 import java.util.Comparator;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+/**
+ * Updates the tags of the scheduled query as a StepSequence of UntagResource and TagResource, so that an invocation
+ * running short of time, or throttled part way, resumes at the unfinished step once called back.
+ */
 public class UpdateHandler extends BaseHandler<CallbackContext> {
 
     private static final String UPDATE_SCHEDULED_QUERY = "UpdateScheduledQuery";
-    private AmazonWebServicesClientProxy proxy;
-    private AmazonTimestreamQuery timestreamClient;
+    private static final String UNTAG_RESOURCE = "UntagResource";
+    private static final String TAG_RESOURCE = "TagResource";
+    private final Supplier<Deadline> deadlines;
+
+    public UpdateHandler() {
+        this(Deadline::start);
+        RuntimeHooks.init();
+    }
+
+    UpdateHandler(final Supplier<Deadline> deadlines) {
+        this.deadlines = deadlines;
+    }
 
     @Override
     public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
@@ -39,10 +53,11 @@ public class UpdateHandler extends BaseHandler<CallbackContext> {
         final CallbackContext callbackContext,
         final Logger logger) {
 
+        final Deadline deadline = deadlines.get();
         final ResourceModel model = request.getDesiredResourceState();
+        final CallbackContext context = callbackContext == null ? CallbackContext.builder().build() : callbackContext;
 
-        timestreamClient = TimestreamClientFactory.get(proxy, logger);
-        this.proxy = proxy;
+        final RequestContext requestContext = RequestContext.of(proxy, request, context, deadline, logger);
 
         final Map<String, String> desiredTags = TagHelper.getNewDesiredTags(model, request);
         final Map<String, String> previousTags = TagHelper.getPreviouslyAttachedTags(request);
@@ -52,11 +67,13 @@ public class UpdateHandler extends BaseHandler<CallbackContext> {
         final Set<String> tagsToRemove = TagHelper.generateTagsToRemove(previousTags, desiredTags);
 
         try {
-            removeTags(model.getArn(), tagsToRemove);
-            addTags(model.getArn(), tagsToAdd);
+            return new StepSequence(deadline, context, logger)
+                    .step(UNTAG_RESOURCE, () -> removeTags(requestContext, model.getArn(), tagsToRemove))
+                    .step(TAG_RESOURCE, () -> addTags(requestContext, model.getArn(), tagsToAdd))
+                    .run(model);
         } catch (InternalServerException ex) {
             throw new CfnInternalFailureException(ex);
-        } catch (ThrottlingException ex) {
+        } catch (ThrottlingException | ClientRateLimitedException ex) {
             throw new CfnThrottlingException(UPDATE_SCHEDULED_QUERY, ex);
         } catch (ValidationException | InvalidEndpointException ex) {
             throw new CfnInvalidRequestException(request.toString(), ex);
@@ -64,24 +81,22 @@ public class UpdateHandler extends BaseHandler<CallbackContext> {
             throw new CfnNotFoundException(ex);
         } catch (AccessDeniedException ex) {
             throw new CfnAccessDeniedException(UPDATE_SCHEDULED_QUERY, ex);
+        } catch (CircuitOpenException ex) {
+            // the progress made so far is checkpointed, carry on once the circuit may have closed
+            return ex.toProgressEvent(model, context);
         }
-
-        return ProgressEvent.<ResourceModel, CallbackContext>builder()
-                .resourceModel(model)
-                .status(OperationStatus.SUCCESS)
-                .build();
     }
 
-    private void removeTags(final String arn, final Set<String> tagsToRemove) {
+    private void removeTags(final RequestContext requestContext, final String arn, final Set<String> tagsToRemove) {
         if (!tagsToRemove.isEmpty()) {
             final UntagResourceRequest untagResourceRequest = new UntagResourceRequest()
                     .withResourceARN(arn)
                     .withTagKeys(tagsToRemove);
-            this.proxy.injectCredentialsAndInvoke(untagResourceRequest, timestreamClient::untagResource);
+            requestContext.invoke(untagResourceRequest, AmazonTimestreamQuery::untagResource);
         }
     }
 
-    private void addTags(final String arn, final Set<Tag> tagsToAdd) {
+    private void addTags(final RequestContext requestContext, final String arn, final Set<Tag> tagsToAdd) {
         if (!tagsToAdd.isEmpty()) {
             final TagResourceRequest tagResourceRequest = new TagResourceRequest().withResourceARN(arn).withTags(
                     tagsToAdd.stream().map(
@@ -89,7 +104,7 @@ public class UpdateHandler extends BaseHandler<CallbackContext> {
                             // sort with decisive order for reliable testing
                             .sorted(Comparator.comparing(com.amazonaws.services.timestreamquery.model.Tag::getKey))
                             .collect(Collectors.toList()));
-            this.proxy.injectCredentialsAndInvoke(tagResourceRequest, timestreamClient::tagResource);
+            requestContext.invoke(tagResourceRequest, AmazonTimestreamQuery::tagResource);
         }
     }
 }
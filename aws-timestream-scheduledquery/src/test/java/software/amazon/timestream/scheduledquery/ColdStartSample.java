@@ -0,0 +1,142 @@
+package software.amazon.timestream.scheduledquery;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Credentials;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.LoggerProxy;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+import com.amazonaws.client.builder.AwsClientBuilder;
+import com.amazonaws.services.timestreamquery.AmazonTimestreamQuery;
+import com.amazonaws.services.timestreamquery.AmazonTimestreamQueryClient;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * A single cold start sample, run by ColdStartBenchmark in a JVM of its own.
+ *
+ * Initialises the configuration and the handler as the handler wrapper does, then drives one handleRequest against
+ * the Timestream stand-in and prints the measurements as one JSON line starting with RESULT_PREFIX. The regional
+ * discovery client is registered against the stand-in before the first call is timed, and the time it takes is left
+ * out of the time to the first response. Everything else runs as in the handler.
+ */
+final class ColdStartSample {
+
+    static final String RESULT_PREFIX = "cold-start-sample ";
+    static final String REGION = "us-east-1";
+    static final String AWS_ACCOUNT_ID = "123456789012";
+    static final String SCHEDULED_QUERY_NAME = "ColdStartScheduledQuery";
+    static final String SCHEDULED_QUERY_ARN =
+            "arn:aws:timestream:us-east-1:123456789012:scheduled-query/" + SCHEDULED_QUERY_NAME;
+
+    private ColdStartSample() {
+    }
+
+    /**
+     * @param args the simple name of the handler, the address of the stand-in.
+     */
+    public static void main(final String[] args) throws Exception {
+        final String handlerName = args[0];
+        final String standIn = args[1];
+        final long jvmStartedAt = ManagementFactory.getRuntimeMXBean().getStartTime();
+
+        new Configuration();
+        final BaseHandler<CallbackContext> handler = newHandler(handlerName);
+        final long initializedAt = System.currentTimeMillis();
+        final long heapAfterInit = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+
+        final long setupStartedAt = System.nanoTime();
+        final AmazonTimestreamQuery discoveryClient = TimestreamClientRegistry.getInstance().get(
+                REGION, null, ClientProfile.READ,
+                () -> AmazonTimestreamQueryClient.builder()
+                        .withEndpointConfiguration(new AwsClientBuilder.EndpointConfiguration(standIn, REGION))
+                        .withClientConfiguration(Configuration.clientConfiguration(ClientProfile.READ))
+                        .build());
+        final long setupMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - setupStartedAt);
+
+        final Logger logger = new LoggerProxy();
+        final AmazonWebServicesClientProxy proxy = new AmazonWebServicesClientProxy(
+                new LoggerProxy(),
+                new Credentials("accessKeyId", "secretAccessKey", "sessionToken"),
+                () -> TimeUnit.MINUTES.toMillis(15));
+
+        /*
+         * The first call of the handler resolves the endpoint and builds its client, time that on its own. The handler
+         * then finds the endpoint and the client cached, as its next invocations in the same sandbox would.
+         */
+        final long factoryStartedAt = System.nanoTime();
+        TimestreamClientFactory.release(TimestreamClientFactory.getClient(
+                TimestreamClientFactory.resolveEndpoint(proxy, AWS_ACCOUNT_ID, null, logger),
+                firstCallProfile(handlerName),
+                logger));
+        final long factoryNanos = System.nanoTime() - factoryStartedAt;
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                handler.handleRequest(proxy, newRequest(handlerName), null, logger);
+        final long respondedAt = System.currentTimeMillis();
+        final int loadedClasses = ManagementFactory.getClassLoadingMXBean().getLoadedClassCount();
+        TimestreamClientFactory.release(discoveryClient);
+        TimestreamClientRegistry.getInstance().clear();
+
+        if (response.getStatus() == OperationStatus.FAILED) {
+            throw new IllegalStateException(handlerName + " failed: " + response.getMessage());
+        }
+
+        final Map<String, Long> result = new LinkedHashMap<>();
+        result.put("firstResponseMillis", respondedAt - jvmStartedAt - setupMillis);
+        result.put("initMillis", initializedAt - jvmStartedAt);
+        result.put("clientFactoryMillis", TimeUnit.NANOSECONDS.toMillis(factoryNanos));
+        result.put("loadedClasses", (long) loadedClasses);
+        result.put("heapAfterInitBytes", heapAfterInit);
+        result.put("respondedAtEpochMillis", respondedAt - setupMillis);
+        System.out.println(RESULT_PREFIX + new ObjectMapper().writeValueAsString(result));
+    }
+
+    private static BaseHandler<CallbackContext> newHandler(final String handlerName) {
+        switch (handlerName) {
+            case "CreateHandler":
+                return new CreateHandler();
+            case "ReadHandler":
+                return new ReadHandler();
+            case "DeleteHandler":
+                return new DeleteHandler();
+            default:
+                throw new IllegalArgumentException("Unknown handler " + handlerName);
+        }
+    }
+
+    private static ClientProfile firstCallProfile(final String handlerName) {
+        return "ReadHandler".equals(handlerName) ? ClientProfile.READ : ClientProfile.MUTATE;
+    }
+
+    private static ResourceHandlerRequest<ResourceModel> newRequest(final String handlerName) {
+        final ResourceModel model = "CreateHandler".equals(handlerName)
+                ? ResourceModel.builder()
+                        .scheduledQueryName(SCHEDULED_QUERY_NAME)
+                        .queryString("SELECT 1")
+                        .scheduleConfiguration(ScheduleConfiguration.builder()
+                                .scheduleExpression("rate(1 hour)")
+                                .build())
+                        .notificationConfiguration(NotificationConfiguration.builder()
+                                .snsConfiguration(SnsConfiguration.builder().topicArn("ColdStartTopicArn").build())
+                                .build())
+                        .scheduledQueryExecutionRoleArn("ColdStartRoleArn")
+                        .errorReportConfiguration(ErrorReportConfiguration.builder()
+                                .s3Configuration(S3Configuration.builder().bucketName("cold-start-bucket").build())
+                                .build())
+                        .build()
+                : ResourceModel.builder().arn(SCHEDULED_QUERY_ARN).build();
+        return ResourceHandlerRequest.<ResourceModel>builder()
+                .awsAccountId(AWS_ACCOUNT_ID)
+                .desiredResourceState(model)
+                .clientRequestToken("ColdStartClientRequestToken")
+                .logicalResourceIdentifier("ColdStartScheduledQuery")
+                .build();
+    }
+}
@@ -0,0 +1,80 @@
+package software.amazon.timestream.scheduledquery;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.amazonaws.auth.AWSStaticCredentialsProvider;
+import com.amazonaws.auth.BasicAWSCredentials;
+import com.amazonaws.client.builder.AwsClientBuilder;
+import com.amazonaws.services.timestreamquery.AmazonTimestreamQuery;
+import com.amazonaws.services.timestreamquery.AmazonTimestreamQueryClient;
+import com.amazonaws.services.timestreamquery.model.DescribeEndpointsRequest;
+import com.sun.net.httpserver.HttpServer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConnectionPrewarmerTest {
+
+    private final List<String> authorizations = new CopyOnWriteArrayList<>();
+    private final List<Integer> remotePorts = new CopyOnWriteArrayList<>();
+
+    private HttpServer standIn;
+    private AmazonTimestreamQuery discoveryClient;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        // stands in for the discovery host, rejecting unsigned requests as the service does
+        standIn = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        standIn.createContext("/", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            final String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+            authorizations.add(String.valueOf(authorization));
+            remotePorts.add(exchange.getRemoteAddress().getPort());
+            final byte[] body = (authorization == null
+                    ? "{\"__type\":\"MissingAuthenticationTokenException\",\"message\":\"Missing Authentication Token\"}"
+                    : "{\"Endpoints\":[{\"Address\":\"endpoint\",\"CachePeriodInMinutes\":1440}]}")
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/x-amz-json-1.0");
+            exchange.sendResponseHeaders(authorization == null ? 403 : 200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        standIn.start();
+
+        discoveryClient = AmazonTimestreamQueryClient.builder()
+                .withCredentials(new AWSStaticCredentialsProvider(new BasicAWSCredentials("accessKey", "secretKey")))
+                .withEndpointConfiguration(new AwsClientBuilder.EndpointConfiguration(
+                        "http://127.0.0.1:" + standIn.getAddress().getPort(), "us-east-1"))
+                .build();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        discoveryClient.shutdown();
+        standIn.stop(0);
+    }
+
+    @Test
+    public void prewarmShouldNotSendCredentials() {
+        ConnectionPrewarmer.prewarm(discoveryClient);
+
+        assertThat(authorizations).containsExactly("null");
+    }
+
+    @Test
+    public void prewarmShouldLeaveConnectionForFirstCall() throws Exception {
+        ConnectionPrewarmer.start(() -> discoveryClient).join();
+
+        assertThat(discoveryClient.describeEndpoints(new DescribeEndpointsRequest()).getEndpoints())
+                .extracting("address")
+                .containsExactly("endpoint");
+        assertThat(authorizations).hasSize(2);
+        assertThat(remotePorts.get(1)).isEqualTo(remotePorts.get(0));
+    }
+}
@@ -6,6 +6,12 @@ import com.amazonaws.services.timestreamquery.model.Endpoint;
 import com.amazonaws.services.timestreamquery.model.CreateScheduledQueryResult;
 import com.amazonaws.services.timestreamquery.model.CreateScheduledQueryRequest;
 import com.amazonaws.services.timestreamquery.model.ConflictException;
+import com.amazonaws.services.timestreamquery.model.DescribeScheduledQueryRequest;
+import com.amazonaws.services.timestreamquery.model.DescribeScheduledQueryResult;
+import com.amazonaws.services.timestreamquery.model.ListScheduledQueriesRequest;
+import com.amazonaws.services.timestreamquery.model.ListScheduledQueriesResult;
+import com.amazonaws.services.timestreamquery.model.ScheduledQuery;
+import com.amazonaws.services.timestreamquery.model.ScheduledQueryDescription;
 import com.amazonaws.services.timestreamquery.model.ValidationException;
 import com.amazonaws.services.timestreamquery.model.InvalidEndpointException;
 import com.amazonaws.services.timestreamquery.model.AccessDeniedException;
@@ -24,6 +30,7 @@ import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.cloudformation.resource.IdentifierUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -37,15 +44,19 @@ import java.util.function.Function;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 
 @ExtendWith(MockitoExtension.class)
 public class CreateHandlerTest {
 
     private static final String TEST_ARN = "TestArn";
+    private static final String TEST_ADOPTED_ARN =
+            "arn:aws:timestream:us-east-1:123456789012:scheduled-query/TestLogicalId-abcdef0123456789";
     private static final String TEST_NAME = "TestName";
     private static final String TEST_QUERY_STRING = "TestQueryString";
     private static final ScheduleConfiguration TEST_SCHEDULE_CONFIGURATION = ScheduleConfiguration.builder()
@@ -57,6 +68,9 @@ public class CreateHandlerTest {
                     .build())
             .build();
     private static final String TEST_CLIENT_TOKEN = "TestClientToken";
+    private static final String TEST_LOGICAL_ID = "TestLogicalId";
+    private static final String TEST_CLIENT_REQUEST_TOKEN = "TestClientRequestToken";
+    private static final String TEST_ACCOUNT_ID = "123456789012";
     private static final String TEST_SCHEDULED_QUERY_EXECUTION_ROLE_ARN = "TestScheduledQueryExecutionRoleArn";
     private static final TargetConfiguration TEST_TARGET_CONFIGURATION = TargetConfiguration.builder()
             .timestreamConfiguration(TimestreamConfiguration.builder()
@@ -102,6 +116,8 @@ public class CreateHandlerTest {
 
     @BeforeEach
     public void setup() {
+        CircuitBreaker.clear();
+        EndpointCache.getInstance().clear();
         proxy = mock(AmazonWebServicesClientProxy.class);
         doReturn(new DescribeEndpointsResult().withEndpoints(new Endpoint().withAddress("endpoint")))
                 .when(proxy).injectCredentialsAndInvoke(any(DescribeEndpointsRequest.class), any(Function.class));
@@ -152,6 +168,89 @@ public class CreateHandlerTest {
         verify(proxy).injectCredentialsAndInvoke(any(CreateScheduledQueryRequest.class), any(Function.class));
     }
 
+    @Test
+    public void createScheduledQueryDeriveClientTokenFromRequestTest() {
+        final ResourceHandlerRequest<ResourceModel> request = givenAReplayableResourceHandlerRequest();
+
+        doReturn(new CreateScheduledQueryResult().withArn(TEST_ARN))
+                .when(proxy).injectCredentialsAndInvoke(any(CreateScheduledQueryRequest.class), any(Function.class));
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+                = handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModel().getClientToken())
+                .isEqualTo(CreateHandler.clientToken(givenAReplayableResourceHandlerRequest()))
+                .hasSizeGreaterThanOrEqualTo(32);
+        assertThat(CreateHandler.clientToken(givenAResourceHandlerRequestWithoutClientToken()))
+                .isNotEqualTo(CreateHandler.clientToken(givenAResourceHandlerRequestWithoutClientToken()));
+    }
+
+    @Test
+    public void createScheduledQueryAdoptWhenReplayedTest() {
+        final ResourceHandlerRequest<ResourceModel> request = givenAReplayableResourceHandlerRequest();
+
+        doThrow(new ConflictException("Test exception"))
+                .when(proxy).injectCredentialsAndInvoke(any(CreateScheduledQueryRequest.class), any(Function.class));
+        doReturn(new ListScheduledQueriesResult()
+                        .withScheduledQueries(new ScheduledQuery().withName(TEST_NAME).withArn("TestOtherArn"))
+                        .withNextToken("TestNextToken"),
+                new ListScheduledQueriesResult()
+                        .withScheduledQueries(new ScheduledQuery().withName(generatedName()).withArn(TEST_ADOPTED_ARN)))
+                .when(proxy).injectCredentialsAndInvoke(any(ListScheduledQueriesRequest.class), any(Function.class));
+        doReturn(new DescribeScheduledQueryResult().withScheduledQuery(givenAnEarlierAttempt(TEST_QUERY_STRING)))
+                .when(proxy).injectCredentialsAndInvoke(any(DescribeScheduledQueryRequest.class), any(Function.class));
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+                = handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModel().getArn()).isEqualTo(TEST_ADOPTED_ARN);
+        assertThat(response.getResourceModel().getSQName())
+                .isEqualTo(response.getResourceModel().getScheduledQueryName());
+
+        verify(proxy).injectCredentialsAndInvoke(
+                eq(new ListScheduledQueriesRequest().withMaxResults(1000).withNextToken("TestNextToken")),
+                any(Function.class));
+        verify(proxy).injectCredentialsAndInvoke(
+                eq(new DescribeScheduledQueryRequest().withScheduledQueryArn(TEST_ADOPTED_ARN)),
+                any(Function.class));
+    }
+
+    @Test
+    public void createScheduledQueryThrowWhenReplayedScheduledQueryDiffersTest() {
+        final ResourceHandlerRequest<ResourceModel> request = givenAReplayableResourceHandlerRequest();
+
+        doThrow(new ConflictException("Test exception"))
+                .when(proxy).injectCredentialsAndInvoke(any(CreateScheduledQueryRequest.class), any(Function.class));
+        doReturn(new ListScheduledQueriesResult()
+                        .withScheduledQueries(new ScheduledQuery().withName(generatedName()).withArn(TEST_ADOPTED_ARN)))
+                .when(proxy).injectCredentialsAndInvoke(any(ListScheduledQueriesRequest.class), any(Function.class));
+        doReturn(new DescribeScheduledQueryResult().withScheduledQuery(givenAnEarlierAttempt("TestOtherQueryString")))
+                .when(proxy).injectCredentialsAndInvoke(any(DescribeScheduledQueryRequest.class), any(Function.class));
+
+        assertThrows(
+                CfnAlreadyExistsException.class,
+                () -> handler.handleRequest(proxy, request, null, logger));
+    }
+
+    @Test
+    public void createScheduledQueryThrowWhenReplayedScheduledQueryNotFoundTest() {
+        final ResourceHandlerRequest<ResourceModel> request = givenAReplayableResourceHandlerRequest();
+
+        doThrow(new ConflictException("Test exception"))
+                .when(proxy).injectCredentialsAndInvoke(any(CreateScheduledQueryRequest.class), any(Function.class));
+        doReturn(new ListScheduledQueriesResult()
+                        .withScheduledQueries(new ScheduledQuery().withName(TEST_NAME).withArn("TestOtherArn")))
+                .when(proxy).injectCredentialsAndInvoke(any(ListScheduledQueriesRequest.class), any(Function.class));
+
+        assertThrows(
+                CfnAlreadyExistsException.class,
+                () -> handler.handleRequest(proxy, request, null, logger));
+        verify(proxy, never())
+                .injectCredentialsAndInvoke(any(DescribeScheduledQueryRequest.class), any(Function.class));
+    }
+
     @Test
     public void createScheduledQueryWithoutTargetConfigurationTest() {
         final ResourceHandlerRequest<ResourceModel> request = givenAResourceHandlerRequestWithoutTargetConfiguration();
@@ -206,6 +305,8 @@ public class CreateHandlerTest {
         assertThrows(
                 CfnAlreadyExistsException.class,
                 () -> handler.handleRequest(proxy, request, null, logger));
+        verify(proxy, never())
+                .injectCredentialsAndInvoke(any(DescribeScheduledQueryRequest.class), any(Function.class));
     }
 
     @Test
@@ -317,6 +418,39 @@ public class CreateHandlerTest {
                 .build();
     }
 
+    private static String generatedName() {
+        return IdentifierUtils.generateResourceIdentifier(TEST_LOGICAL_ID, TEST_CLIENT_REQUEST_TOKEN, 64);
+    }
+
+    private static ScheduledQueryDescription givenAnEarlierAttempt(final String queryString) {
+        return new ScheduledQueryDescription()
+                .withArn(TEST_ADOPTED_ARN)
+                .withName(generatedName())
+                .withQueryString(queryString)
+                .withTargetConfiguration(
+                        ScheduledQueryModelConverter.convertToTimestreamTargetConfiguration(TEST_TARGET_CONFIGURATION));
+    }
+
+    private ResourceHandlerRequest<ResourceModel> givenAReplayableResourceHandlerRequest() {
+        final ResourceModel model =
+                ResourceModel.builder()
+                        .queryString(TEST_QUERY_STRING)
+                        .scheduleConfiguration(TEST_SCHEDULE_CONFIGURATION)
+                        .notificationConfiguration(TEST_NOTIFICATION_CONFIGURATION)
+                        .scheduledQueryExecutionRoleArn(TEST_SCHEDULED_QUERY_EXECUTION_ROLE_ARN)
+                        .targetConfiguration(TEST_TARGET_CONFIGURATION)
+                        .errorReportConfiguration(TEST_ERROR_REPORT_CONFIGURATION)
+                        .kmsKeyId(TEST_KMS_KEY_ID)
+                        .tags(TEST_TAGS)
+                        .build();
+        return ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .awsAccountId(TEST_ACCOUNT_ID)
+                .logicalResourceIdentifier(TEST_LOGICAL_ID)
+                .clientRequestToken(TEST_CLIENT_REQUEST_TOKEN)
+                .build();
+    }
+
     private ResourceHandlerRequest<ResourceModel> givenAResourceHandlerRequestWithoutTargetConfiguration() {
         final ResourceModel model =
                 ResourceModel.builder()
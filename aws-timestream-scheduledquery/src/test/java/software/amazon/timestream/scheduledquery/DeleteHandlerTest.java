@@ -28,12 +28,18 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.verify;
@@ -43,7 +49,7 @@ import static org.mockito.Mockito.times;
 public class DeleteHandlerTest {
 
     private static final String TEST_ARN = "TestArn";
-    private static final int CALLBACK_DELAY_SECONDS = 15;
+    private static final long START_MILLIS = 1_600_000_000_000L;
 
     @Mock
     private AmazonWebServicesClientProxy proxy;
@@ -52,9 +58,13 @@ public class DeleteHandlerTest {
     private Logger logger;
 
     private final DeleteHandler handler = new DeleteHandler();
+    private final AtomicLong now = new AtomicLong(START_MILLIS);
+    private final List<Long> sleeps = new ArrayList<>();
+    private final DurationHistogram deleteDurations = new DurationHistogram();
 
     @BeforeEach
     public void setup() {
+        CircuitBreaker.clear();
         proxy = mock(AmazonWebServicesClientProxy.class);
         doReturn(new DescribeEndpointsResult().withEndpoints(new Endpoint().withAddress("endpoint")))
                 .when(proxy).injectCredentialsAndInvoke(any(DescribeEndpointsRequest.class), any(Function.class));
@@ -87,7 +97,47 @@ public class DeleteHandlerTest {
     }
 
     @Test
-    public void deleteScheduledQueryAfterWaitTest() {
+    public void deleteScheduledQueryCheckpointWhenDeadlineIsNearlyExpiredTest() {
+        final AtomicLong now = new AtomicLong();
+        doAnswer(invocation -> {
+            now.set(Deadline.MIN_BUDGET_MILLIS - Deadline.RESERVE_MILLIS);
+            return null;
+        }).when(proxy).injectCredentialsAndInvoke(any(DeleteScheduledQueryRequest.class), any(Function.class));
+        final DeleteHandler deadlineHandler =
+                new DeleteHandler(() -> new Deadline(Deadline.MIN_BUDGET_MILLIS, now::get));
+        final ResourceHandlerRequest<ResourceModel> request = givenAResourceHandlerRequest();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+            = deadlineHandler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackContext().isDeleteScheduledQueryStarted()).isTrue();
+        verify(proxy, never())
+                .injectCredentialsAndInvoke(any(DescribeScheduledQueryRequest.class), any(Function.class));
+    }
+
+    @Test
+    public void deleteScheduledQueryWaitWhileCircuitIsOpenTest() {
+        final CircuitBreaker breaker = CircuitBreaker.forEndpoint("endpoint");
+        for (int i = 0; i < CircuitBreaker.MIN_CALLS; i++) {
+            assertThrows(InternalServerException.class, () -> breaker.record(() -> {
+                throw new InternalServerException("Test exception");
+            }));
+        }
+        final ResourceHandlerRequest<ResourceModel> request = givenAResourceHandlerRequest();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+            = handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(CircuitBreaker.OPEN_CALLBACK_DELAY_SECONDS);
+        assertThat(response.getCallbackContext().isDeleteScheduledQueryStarted()).isFalse();
+        verify(proxy, never())
+                .injectCredentialsAndInvoke(any(DeleteScheduledQueryRequest.class), any(Function.class));
+    }
+
+    @Test
+    public void deleteScheduledQueryAfterInlinePollTest() {
         doReturn(null)
                 .when(proxy).injectCredentialsAndInvoke(any(DeleteScheduledQueryRequest.class), any(Function.class));
         doReturn(null).doThrow(new ResourceNotFoundException("Test exception"))
@@ -95,19 +145,44 @@ public class DeleteHandlerTest {
 
         final ResourceHandlerRequest<ResourceModel> request = givenAResourceHandlerRequest();
 
+        final ProgressEvent<ResourceModel, CallbackContext> response
+                = inlineHandler().handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getCallbackContext()).isNull();
+        assertThat(sleeps).containsExactly(Stabilizer.FIRST_POLL_DELAY_MILLIS);
+        assertThat(deleteDurations.median()).isEqualTo(Stabilizer.FIRST_POLL_DELAY_MILLIS);
+        verify(proxy, times(2))
+                .injectCredentialsAndInvoke(any(DescribeScheduledQueryRequest.class), any(Function.class));
+    }
+
+    @Test
+    public void deleteScheduledQueryAfterWaitTest() {
+        doReturn(null)
+                .when(proxy).injectCredentialsAndInvoke(any(DeleteScheduledQueryRequest.class), any(Function.class));
+        doReturn(null)
+                .when(proxy).injectCredentialsAndInvoke(any(DescribeScheduledQueryRequest.class), any(Function.class));
+
+        final ResourceHandlerRequest<ResourceModel> request = givenAResourceHandlerRequest();
+        final DeleteHandler inlineHandler = inlineHandler();
+
         ProgressEvent<ResourceModel, CallbackContext> response
-                = handler.handleRequest(proxy, request, null, logger);
+                = inlineHandler.handleRequest(proxy, request, null, logger);
 
         assertThat(response).isNotNull();
         assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
         assertThat(response.getCallbackContext()).isNotNull();
-        assertThat(response.getCallbackDelaySeconds()).isEqualTo(CALLBACK_DELAY_SECONDS);
+        assertThat(response.getCallbackContext().getDeleteScheduledQueryStartedAt()).isEqualTo(START_MILLIS);
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(Stabilizer.DEFAULT_CALLBACK_DELAY_SECONDS);
         assertThat(response.getResourceModel()).isEqualTo(request.getDesiredResourceState());
         assertThat(response.getResourceModels()).isNull();
         assertThat(response.getMessage()).isNull();
         assertThat(response.getErrorCode()).isNull();
 
-        response = handler.handleRequest(proxy, request, response.getCallbackContext(), logger);
+        doThrow(new ResourceNotFoundException("Test exception"))
+                .when(proxy).injectCredentialsAndInvoke(any(DescribeScheduledQueryRequest.class), any(Function.class));
+        now.addAndGet(TimeUnit.SECONDS.toMillis(response.getCallbackDelaySeconds()));
+        response = inlineHandler.handleRequest(proxy, request, response.getCallbackContext(), logger);
 
         assertThat(response).isNotNull();
         assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
@@ -117,10 +192,29 @@ public class DeleteHandlerTest {
         assertThat(response.getResourceModels()).isNull();
         assertThat(response.getMessage()).isNull();
         assertThat(response.getErrorCode()).isNull();
+        assertThat(deleteDurations.median()).isEqualTo(now.get() - START_MILLIS);
 
         verify(proxy).injectCredentialsAndInvoke(any(DeleteScheduledQueryRequest.class), any(Function.class));
-        verify(proxy, times(2))
-                .injectCredentialsAndInvoke(any(DescribeScheduledQueryRequest.class), any(Function.class));
+    }
+
+    @Test
+    public void deleteScheduledQueryCallbackDelayFromRecentDeletesTest() {
+        deleteDurations.record(TimeUnit.SECONDS.toMillis(40));
+        doReturn(null)
+                .when(proxy).injectCredentialsAndInvoke(any(DeleteScheduledQueryRequest.class), any(Function.class));
+        doReturn(null)
+                .when(proxy).injectCredentialsAndInvoke(any(DescribeScheduledQueryRequest.class), any(Function.class));
+        final ResourceHandlerRequest<ResourceModel> request = givenAResourceHandlerRequest();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+                = inlineHandler().handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackContext().getExpectedDeleteMillis()).isEqualTo(TimeUnit.SECONDS.toMillis(40));
+        // what is left of the 40s after the inline polls
+        final long inlineMillis = sleeps.stream().mapToLong(Long::longValue).sum();
+        assertThat(response.getCallbackDelaySeconds())
+                .isEqualTo((int) TimeUnit.MILLISECONDS.toSeconds(TimeUnit.SECONDS.toMillis(40) - inlineMillis + 999));
     }
 
     @Test
@@ -265,6 +359,15 @@ public class DeleteHandlerTest {
                 () -> handler.handleRequest(proxy, request, null, logger));
     }
 
+    private DeleteHandler inlineHandler() {
+        return new DeleteHandler(
+                () -> new Deadline(Deadline.DEFAULT_BUDGET_MILLIS, now::get),
+                deadline -> new Stabilizer(deadline, deleteDurations, now::get, millis -> {
+                    sleeps.add(millis);
+                    now.addAndGet(millis);
+                }));
+    }
+
     private ResourceHandlerRequest<ResourceModel> givenAResourceHandlerRequest() {
         final ResourceModel model = ResourceModel.builder()
                 .arn(TEST_ARN)
@@ -0,0 +1,174 @@
+package software.amazon.timestream.scheduledquery;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.amazonaws.services.timestreamquery.model.InternalServerException;
+import com.amazonaws.services.timestreamquery.model.ResourceNotFoundException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class HedgingTest {
+    private static final String TEST_OPERATION = "DescribeScheduledQueryRequest";
+    private static final long TEST_LATENCY_MILLIS = 10L;
+
+    private final AtomicLong now = new AtomicLong();
+    private final AtomicInteger hedges = new AtomicInteger();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void callShouldNotHedgeBeforeMinSamples() {
+        final Hedging hedging = new Hedging(true, executor, now::get);
+        for (int i = 0; i < Hedging.MIN_SAMPLES - 1; i++) {
+            answer(hedging);
+        }
+
+        assertThat(hedging.delayMillis(TEST_OPERATION)).isZero();
+        final Thread caller = Thread.currentThread();
+        assertThat(hedging.call(TEST_OPERATION, () -> Thread.currentThread().getName(), this::hedge))
+                .isEqualTo(caller.getName());
+        assertThat(hedges.get()).isZero();
+    }
+
+    @Test
+    public void callShouldNotHedgeWhenDisabled() {
+        final Hedging hedging = new Hedging(false, executor, now::get);
+        warmUp(hedging);
+
+        final String result = hedging.call(TEST_OPERATION, () -> {
+            sleep(5 * Hedging.MIN_DELAY_MILLIS);
+            return "first";
+        }, this::hedge);
+
+        assertThat(result).isEqualTo("first");
+        assertThat(hedges.get()).isZero();
+    }
+
+    @Test
+    public void delayShouldBeHedgePercentileOfOperation() {
+        final Hedging hedging = new Hedging(true, executor, now::get);
+        for (int i = 1; i <= 20; i++) {
+            final long millis = i * 10L;
+            hedging.call(TEST_OPERATION, () -> now.addAndGet(millis), () -> 0L);
+        }
+
+        assertThat(hedging.delayMillis(TEST_OPERATION)).isEqualTo(190L);
+        assertThat(hedging.delayMillis("ListTagsForResourceRequest")).isZero();
+    }
+
+    @Test
+    public void callShouldTakeFirstAttemptWhenFast() {
+        final Hedging hedging = new Hedging(true, executor, now::get);
+        warmUp(hedging);
+
+        assertThat(hedging.call(TEST_OPERATION, () -> "first", this::hedge)).isEqualTo("first");
+        assertThat(hedges.get()).isZero();
+    }
+
+    @Test
+    public void callShouldTakeHedgeWhenFirstAttemptIsSlow() throws Exception {
+        final Hedging hedging = new Hedging(true, executor, now::get);
+        warmUp(hedging);
+        final CountDownLatch cancelled = new CountDownLatch(1);
+
+        final String result = hedging.call(TEST_OPERATION, () -> {
+            try {
+                new CountDownLatch(1).await(5, TimeUnit.SECONDS);
+                return "first";
+            } catch (final InterruptedException ex) {
+                cancelled.countDown();
+                throw new IllegalStateException(ex);
+            }
+        }, this::hedge);
+
+        assertThat(result).isEqualTo("hedge");
+        assertThat(hedges.get()).isEqualTo(1);
+        assertThat(cancelled.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    public void callShouldTakeOtherAttemptWhenOneFails() {
+        final Hedging hedging = new Hedging(true, executor, now::get);
+        warmUp(hedging);
+        final CountDownLatch hedgeFailed = new CountDownLatch(1);
+
+        final String result = hedging.call(TEST_OPERATION, () -> {
+            try {
+                hedgeFailed.await(5, TimeUnit.SECONDS);
+            } catch (final InterruptedException ex) {
+                throw new IllegalStateException(ex);
+            }
+            return "first";
+        }, () -> {
+            hedgeFailed.countDown();
+            throw new InternalServerException("Test exception");
+        });
+
+        assertThat(result).isEqualTo("first");
+    }
+
+    @Test
+    public void callShouldThrowFirstFailureWhenBothFail() {
+        final Hedging hedging = new Hedging(true, executor, now::get);
+        warmUp(hedging);
+        final AtomicBoolean firstFailed = new AtomicBoolean();
+
+        assertThrows(ResourceNotFoundException.class, () -> hedging.call(TEST_OPERATION, () -> {
+            sleep(5 * Hedging.MIN_DELAY_MILLIS);
+            firstFailed.set(true);
+            throw new InternalServerException("Test exception");
+        }, () -> {
+            throw new ResourceNotFoundException("Test exception");
+        }));
+        assertThat(firstFailed.get()).isTrue();
+    }
+
+    @Test
+    public void callShouldNotHedgeFailureBeforeDelay() {
+        final Hedging hedging = new Hedging(true, executor, now::get);
+        warmUp(hedging);
+
+        assertThrows(ResourceNotFoundException.class, () -> hedging.call(TEST_OPERATION, () -> {
+            throw new ResourceNotFoundException("Test exception");
+        }, this::hedge));
+        assertThat(hedges.get()).isZero();
+    }
+
+    private void warmUp(final Hedging hedging) {
+        for (int i = 0; i < Hedging.MIN_SAMPLES; i++) {
+            answer(hedging);
+        }
+        assertThat(hedging.delayMillis(TEST_OPERATION)).isEqualTo(Hedging.MIN_DELAY_MILLIS);
+    }
+
+    private void answer(final Hedging hedging) {
+        hedging.call(TEST_OPERATION, () -> now.addAndGet(TEST_LATENCY_MILLIS), () -> 0L);
+    }
+
+    private String hedge() {
+        hedges.incrementAndGet();
+        return "hedge";
+    }
+
+    private static void sleep(final long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (final InterruptedException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
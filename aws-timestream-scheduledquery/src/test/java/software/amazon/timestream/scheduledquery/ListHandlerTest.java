@@ -53,6 +53,7 @@ public class ListHandlerTest {
 
     @BeforeEach
     public void setup() {
+        CircuitBreaker.clear();
         proxy = mock(AmazonWebServicesClientProxy.class);
         doReturn(new DescribeEndpointsResult().withEndpoints(new Endpoint().withAddress("endpoint")))
                 .when(proxy).injectCredentialsAndInvoke(any(DescribeEndpointsRequest.class), any(Function.class));
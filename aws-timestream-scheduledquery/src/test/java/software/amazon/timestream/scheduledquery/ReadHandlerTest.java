@@ -45,12 +45,16 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.verify;
@@ -60,6 +64,7 @@ import static org.mockito.Mockito.when;
 public class ReadHandlerTest {
 
     private static final String TEST_ARN = "TestArn";
+    private static final String TEST_OTHER_ARN = "TestOtherArn";
     private static final String TEST_NAME = "TestName";
     private static final String TEST_QUERY_STRING = "TestQueryString";
     private static final ScheduleConfiguration TEST_SCHEDULE_CONFIGURATION = new ScheduleConfiguration()
@@ -108,6 +113,7 @@ public class ReadHandlerTest {
 
     @BeforeEach
     public void setup() {
+        CircuitBreaker.clear();
         proxy = mock(AmazonWebServicesClientProxy.class);
         doReturn(new DescribeEndpointsResult().withEndpoints(new Endpoint().withAddress("endpoint")))
                 .when(proxy).injectCredentialsAndInvoke(any(DescribeEndpointsRequest.class), any(Function.class));
@@ -189,6 +195,49 @@ public class ReadHandlerTest {
         verify(proxy).injectCredentialsAndInvoke(any(ListTagsForResourceRequest.class), any(Function.class));
     }
 
+    @Test
+    public void readScheduledQueryListsTagsWhileDescribingTest() {
+        final ResourceHandlerRequest<ResourceModel> request = givenAResourceHandlerRequest();
+        final CountDownLatch tagsListed = new CountDownLatch(1);
+
+        doAnswer(invocation -> {
+            // only answers once the tags are being listed alongside
+            assertThat(tagsListed.await(5, TimeUnit.SECONDS)).isTrue();
+            return givenADescribeScheduledQueryResult(TEST_ARN);
+        }).when(proxy).injectCredentialsAndInvoke(any(DescribeScheduledQueryRequest.class), any(Function.class));
+        doAnswer(invocation -> {
+            tagsListed.countDown();
+            return givenAListTagsForResourceResultWithTags();
+        }).when(proxy).injectCredentialsAndInvoke(any(ListTagsForResourceRequest.class), any(Function.class));
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+                = handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModel().getTags()).containsExactly(
+                software.amazon.timestream.scheduledquery.Tag.builder().key(TEST_TAG_KEY).value(TEST_TAG_VALUE).build());
+        verify(proxy).injectCredentialsAndInvoke(eq(new ListTagsForResourceRequest().withResourceARN(TEST_ARN)),
+                any(Function.class));
+    }
+
+    @Test
+    public void readScheduledQueryListsTagsAgainWhenArnDiffersTest() {
+        final ResourceHandlerRequest<ResourceModel> request = givenAResourceHandlerRequest();
+
+        doReturn(givenADescribeScheduledQueryResult(TEST_OTHER_ARN)).when(proxy)
+                .injectCredentialsAndInvoke(any(DescribeScheduledQueryRequest.class), any(Function.class));
+        doReturn(givenAListTagsForResourceResultWithTags()).when(proxy)
+                .injectCredentialsAndInvoke(any(ListTagsForResourceRequest.class), any(Function.class));
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+                = handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModel().getArn()).isEqualTo(TEST_OTHER_ARN);
+        verify(proxy).injectCredentialsAndInvoke(eq(new ListTagsForResourceRequest().withResourceARN(TEST_OTHER_ARN)),
+                any(Function.class));
+    }
+
     @Test
     public void readScheduledQueryThrowWhenResourceNotFoundTest() {
         final ResourceHandlerRequest<ResourceModel> request = givenAResourceHandlerRequest();
@@ -249,6 +298,18 @@ public class ReadHandlerTest {
                 () -> handler.handleRequest(proxy, request, null, logger));
     }
 
+    @Test
+    public void readScheduledQueryThrowWhenRateLimitedClientSideTest() {
+        final ResourceHandlerRequest<ResourceModel> request = givenAResourceHandlerRequest();
+
+        doThrow(new ClientRateLimitedException("Test exception"))
+                .when(proxy).injectCredentialsAndInvoke(any(DescribeScheduledQueryRequest.class), any(Function.class));
+
+        assertThrows(
+                CfnThrottlingException.class,
+                () -> handler.handleRequest(proxy, request, null, logger));
+    }
+
     @Test
     public void readScheduledQueryThrowWhenInternalServerFailureTest() {
         final ResourceHandlerRequest<ResourceModel> request = givenAResourceHandlerRequest();
@@ -271,6 +332,18 @@ public class ReadHandlerTest {
                 .build();
     }
 
+    private DescribeScheduledQueryResult givenADescribeScheduledQueryResult(final String arn) {
+        return new DescribeScheduledQueryResult()
+                .withScheduledQuery(new ScheduledQueryDescription()
+                        .withArn(arn)
+                        .withName(TEST_NAME)
+                        .withQueryString(TEST_QUERY_STRING)
+                        .withScheduleConfiguration(TEST_SCHEDULE_CONFIGURATION)
+                        .withNotificationConfiguration(TEST_NOTIFICATION_CONFIGURATION)
+                        .withScheduledQueryExecutionRoleArn(TEST_SCHEDULED_QUERY_EXECUTION_ROLE_ARN)
+                        .withErrorReportConfiguration(TEST_ERROR_REPORT_CONFIGURATION));
+    }
+
     private ListTagsForResourceResult givenAListTagsForResourceResultWithTags() {
         final ListTagsForResourceResult mockListTagsForResourceResult = mock(ListTagsForResourceResult.class);
         final List<Tag> tags =
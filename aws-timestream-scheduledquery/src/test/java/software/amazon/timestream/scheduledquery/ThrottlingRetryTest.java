@@ -0,0 +1,147 @@
+package software.amazon.timestream.scheduledquery;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.cloudformation.proxy.Logger;
+
+import com.amazonaws.services.timestreamquery.model.ThrottlingException;
+import com.amazonaws.services.timestreamquery.model.ValidationException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+public class ThrottlingRetryTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final List<Long> sleeps = new ArrayList<>();
+    private final Logger logger = mock(Logger.class);
+
+    private ThrottlingRetry.TokenBucket bucket;
+
+    @BeforeEach
+    public void setup() {
+        bucket = new ThrottlingRetry.TokenBucket(now::get);
+    }
+
+    @Test
+    public void callShouldRetryThrottledCallWithBackoff() {
+        final AtomicInteger attempts = new AtomicInteger();
+
+        final String result = retry(Deadline.DEFAULT_BUDGET_MILLIS).call(() -> {
+            if (attempts.incrementAndGet() <= 2) {
+                throw new ThrottlingException("Test exception");
+            }
+            return "result";
+        });
+
+        assertThat(result).isEqualTo("result");
+        assertThat(sleeps).containsExactly(
+                ThrottlingRetry.BASE_BACKOFF_MILLIS, 2 * ThrottlingRetry.BASE_BACKOFF_MILLIS);
+    }
+
+    @Test
+    public void callShouldSurfaceThrottleOnceRetriesAreSpent() {
+        final ThrottlingRetry retry = retry(Deadline.DEFAULT_BUDGET_MILLIS);
+
+        assertThrows(ThrottlingException.class, () -> retry.call(ThrottlingRetryTest::throttle));
+        assertThat(sleeps).hasSize(ThrottlingRetry.MAX_RETRIES_PER_INVOCATION);
+
+        // the budget is per invocation, later calls of the same invocation are not retried either
+        sleeps.clear();
+        assertThrows(ThrottlingException.class, () -> retry.call(ThrottlingRetryTest::throttle));
+        assertThat(sleeps).isEmpty();
+    }
+
+    @Test
+    public void callShouldNotRetryWhenDeadlineLeavesNoRoom() {
+        final AtomicLong millis = new AtomicLong();
+        final Deadline deadline = new Deadline(Deadline.MIN_BUDGET_MILLIS, millis::get);
+        millis.set(Deadline.MIN_BUDGET_MILLIS - Deadline.RESERVE_MILLIS - ThrottlingRetry.MIN_CALL_MILLIS + 1);
+        final ThrottlingRetry retry = new ThrottlingRetry(deadline, bucket, () -> 0.0, sleeps::add, logger);
+
+        assertThrows(ThrottlingException.class, () -> retry.call(ThrottlingRetryTest::throttle));
+        assertThat(sleeps).isEmpty();
+    }
+
+    @Test
+    public void callShouldNotRetryWhenBucketIsEmpty() {
+        while (bucket.tryAcquire()) {
+            // drain the shared tokens, as concurrent throttled invocations would
+        }
+
+        assertThrows(ThrottlingException.class, () -> retry(Deadline.DEFAULT_BUDGET_MILLIS)
+                .call(ThrottlingRetryTest::throttle));
+        assertThat(sleeps).isEmpty();
+    }
+
+    @Test
+    public void callShouldNotRetryOtherFailures() {
+        assertThrows(ValidationException.class, () -> retry(Deadline.DEFAULT_BUDGET_MILLIS).call(() -> {
+            throw new ValidationException("Test exception");
+        }));
+        assertThat(sleeps).isEmpty();
+    }
+
+    @Test
+    public void callShouldNotRetryOrCountClientRateLimit() {
+        final double capacity = bucket.capacity();
+
+        assertThrows(ClientRateLimitedException.class, () -> retry(Deadline.DEFAULT_BUDGET_MILLIS).call(() -> {
+            throw new ClientRateLimitedException("Test exception");
+        }));
+        assertThat(sleeps).isEmpty();
+        assertThat(bucket.capacity()).isEqualTo(capacity);
+    }
+
+    @Test
+    public void backoffShouldBeCapped() {
+        final ThrottlingRetry retry = retry(Deadline.DEFAULT_BUDGET_MILLIS);
+
+        assertThat(retry.backoffMillis(0)).isEqualTo(ThrottlingRetry.BASE_BACKOFF_MILLIS);
+        assertThat(retry.backoffMillis(3)).isEqualTo(8 * ThrottlingRetry.BASE_BACKOFF_MILLIS);
+        assertThat(retry.backoffMillis(30)).isEqualTo(ThrottlingRetry.MAX_BACKOFF_MILLIS);
+    }
+
+    @Test
+    public void tokenBucketShouldShrinkOnThrottleAndGrowOnSuccess() {
+        bucket.onThrottle();
+        assertThat(bucket.capacity()).isEqualTo(ThrottlingRetry.TokenBucket.MAX_CAPACITY / 2);
+
+        bucket.onSuccess();
+        assertThat(bucket.capacity()).isEqualTo(
+                ThrottlingRetry.TokenBucket.MAX_CAPACITY / 2 + ThrottlingRetry.TokenBucket.CAPACITY_GROWTH);
+
+        for (int i = 0; i < 10; i++) {
+            bucket.onThrottle();
+        }
+        assertThat(bucket.capacity()).isEqualTo(ThrottlingRetry.TokenBucket.MIN_CAPACITY);
+    }
+
+    @Test
+    public void tokenBucketShouldRefillOverTime() {
+        while (bucket.tryAcquire()) {
+            // drain
+        }
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(2));
+
+        assertThat(bucket.tryAcquire()).isTrue();
+        assertThat(bucket.tryAcquire()).isTrue();
+        assertThat(bucket.tryAcquire()).isFalse();
+    }
+
+    private ThrottlingRetry retry(final long budgetMillis) {
+        return new ThrottlingRetry(new Deadline(budgetMillis, () -> 0L), bucket, () -> 1.0, sleeps::add, logger);
+    }
+
+    private static String throttle() {
+        throw new ThrottlingException("Test exception");
+    }
+}
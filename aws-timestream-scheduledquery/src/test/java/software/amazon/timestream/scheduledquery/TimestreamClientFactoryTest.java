@@ -1,5 +1,6 @@
 package software.amazon.timestream.scheduledquery;
 
+import com.amazonaws.services.timestreamquery.AmazonTimestreamQuery;
 import com.amazonaws.services.timestreamquery.model.DescribeEndpointsResult;
 import com.amazonaws.services.timestreamquery.model.DescribeEndpointsRequest;
 import com.amazonaws.services.timestreamquery.model.Endpoint;
@@ -16,16 +17,23 @@ import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.Logger;
 
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
 public class TimestreamClientFactoryTest {
+    private static final String TEST_ACCOUNT_ID = "123456789012";
 
     @Mock
     private AmazonWebServicesClientProxy proxy;
@@ -37,13 +45,64 @@ public class TimestreamClientFactoryTest {
     public void setup() {
         proxy = mock(AmazonWebServicesClientProxy.class);
         logger = mock(Logger.class);
+        EndpointCache.getInstance().clear();
+        TimestreamClientRegistry.getInstance().clear();
     }
 
     @Test
     public void getTimestreamClientTest() {
         doReturn(new DescribeEndpointsResult().withEndpoints(new Endpoint().withAddress("endpoint")))
                 .when(proxy).injectCredentialsAndInvoke(any(DescribeEndpointsRequest.class), any(Function.class));
-        TimestreamClientFactory.get(proxy, logger);
+        client(null, ClientProfile.READ);
+    }
+
+    @Test
+    public void getTimestreamClientReuseCachedEndpointTest() {
+        doReturn(new DescribeEndpointsResult().withEndpoints(
+                new Endpoint().withAddress("endpoint").withCachePeriodInMinutes(1440L)))
+                .when(proxy).injectCredentialsAndInvoke(any(DescribeEndpointsRequest.class), any(Function.class));
+        client(null, ClientProfile.READ);
+        client(null, ClientProfile.READ);
+        verify(proxy, times(1)).injectCredentialsAndInvoke(any(DescribeEndpointsRequest.class), any(Function.class));
+    }
+
+    @Test
+    public void getTimestreamClientReuseRegisteredClientTest() {
+        doReturn(new DescribeEndpointsResult().withEndpoints(
+                new Endpoint().withAddress("endpoint").withCachePeriodInMinutes(1440L)))
+                .when(proxy).injectCredentialsAndInvoke(any(DescribeEndpointsRequest.class), any(Function.class));
+        assertThat(client(null, ClientProfile.READ))
+                .isSameAs(client(null, ClientProfile.READ));
+    }
+
+    @Test
+    public void getTimestreamClientSeparateClientPerProfileTest() {
+        doReturn(new DescribeEndpointsResult().withEndpoints(
+                new Endpoint().withAddress("endpoint").withCachePeriodInMinutes(1440L)))
+                .when(proxy).injectCredentialsAndInvoke(any(DescribeEndpointsRequest.class), any(Function.class));
+        assertThat(client(null, ClientProfile.READ))
+                .isNotSameAs(client(null, ClientProfile.MUTATE));
+    }
+
+    @Test
+    public void getTimestreamClientUseEndpointFromCallbackContextTest() {
+        final CallbackContext callbackContext = CallbackContext.builder()
+                .endpointAddress("endpoint")
+                .endpointExpiresAt(System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(10))
+                .build();
+        client(callbackContext, ClientProfile.READ);
+        verify(proxy, never()).injectCredentialsAndInvoke(any(DescribeEndpointsRequest.class), any(Function.class));
+    }
+
+    @Test
+    public void getTimestreamClientRecordEndpointInCallbackContextTest() {
+        doReturn(new DescribeEndpointsResult().withEndpoints(
+                new Endpoint().withAddress("endpoint").withCachePeriodInMinutes(1440L)))
+                .when(proxy).injectCredentialsAndInvoke(any(DescribeEndpointsRequest.class), any(Function.class));
+        final CallbackContext callbackContext = CallbackContext.builder().build();
+        client(callbackContext, ClientProfile.READ);
+        assertThat(callbackContext.getEndpointAddress()).isEqualTo("endpoint");
+        assertThat(callbackContext.getEndpointExpiresAt()).isGreaterThan(System.currentTimeMillis());
     }
 
     @Test
@@ -52,7 +111,7 @@ public class TimestreamClientFactoryTest {
                 .when(proxy).injectCredentialsAndInvoke(any(DescribeEndpointsRequest.class), any(Function.class));
         assertThrows(
                 CfnInternalFailureException.class,
-                () -> TimestreamClientFactory.get(proxy, logger));
+                () -> client(null, ClientProfile.READ));
     }
 
     @Test
@@ -61,6 +120,23 @@ public class TimestreamClientFactoryTest {
                 .when(proxy).injectCredentialsAndInvoke(any(DescribeEndpointsRequest.class), any(Function.class));
         assertThrows(
                 CfnInvalidRequestException.class,
-                () -> TimestreamClientFactory.get(proxy, logger));
+                () -> client(null, ClientProfile.READ));
+    }
+
+    @Test
+    public void getClientOnlyLogWhenBuildingClientTest() {
+        TimestreamClientFactory.release(TimestreamClientFactory.getClient("endpoint", ClientProfile.READ, logger));
+        TimestreamClientFactory.release(TimestreamClientFactory.getClient("endpoint", ClientProfile.READ, logger));
+
+        verify(logger, times(1)).log(argThat(message -> message.startsWith("Creating")));
+    }
+
+    private AmazonTimestreamQuery client(final CallbackContext callbackContext, final ClientProfile profile) {
+        final AmazonTimestreamQuery client = TimestreamClientFactory.getClient(
+                TimestreamClientFactory.resolveEndpoint(proxy, TEST_ACCOUNT_ID, callbackContext, logger),
+                profile,
+                logger);
+        TimestreamClientFactory.release(client);
+        return client;
     }
 }
@@ -0,0 +1,168 @@
+package software.amazon.timestream.scheduledquery;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import com.amazonaws.services.timestreamquery.AmazonTimestreamQuery;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class TimestreamClientRegistryTest {
+    private static final String TEST_REGION = "us-east-1";
+    private static final String TEST_ENDPOINT = "endpoint";
+
+    private final AtomicLong now = new AtomicLong(0L);
+    private final TimestreamClientRegistry registry = new TimestreamClientRegistry(now::get);
+
+    @Test
+    public void getShouldReuseClientForSameRegionAndEndpoint() {
+        final AmazonTimestreamQuery client = mock(AmazonTimestreamQuery.class);
+
+        assertThat(registry.get(TEST_REGION, TEST_ENDPOINT, ClientProfile.READ, () -> client)).isSameAs(client);
+        assertThat(registry.get(TEST_REGION, TEST_ENDPOINT, ClientProfile.READ, () -> mock(AmazonTimestreamQuery.class))).isSameAs(client);
+        assertThat(registry.get(TEST_REGION, null, ClientProfile.READ, () -> mock(AmazonTimestreamQuery.class))).isNotSameAs(client);
+        assertThat(registry.size()).isEqualTo(2);
+    }
+
+    @Test
+    public void getShouldEvictAndShutdownIdleClients() {
+        final AmazonTimestreamQuery idle = mock(AmazonTimestreamQuery.class);
+        registry.get(TEST_REGION, TEST_ENDPOINT, ClientProfile.READ, () -> idle);
+
+        now.set(TimestreamClientRegistry.IDLE_TIMEOUT_MILLIS + 1);
+        final AmazonTimestreamQuery replacement = mock(AmazonTimestreamQuery.class);
+
+        assertThat(registry.get(TEST_REGION, TEST_ENDPOINT, ClientProfile.READ, () -> replacement)).isSameAs(replacement);
+        verify(idle).shutdown();
+        assertThat(registry.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void getShouldEvictLeastRecentlyUsedClientBeyondCapacity() {
+        final AmazonTimestreamQuery eldest = mock(AmazonTimestreamQuery.class);
+        final AmazonTimestreamQuery recent = mock(AmazonTimestreamQuery.class);
+        registry.release(registry.get(TEST_REGION, "endpoint-0", ClientProfile.READ, () -> eldest));
+        registry.release(registry.get(TEST_REGION, "endpoint-1", ClientProfile.READ, () -> recent));
+        registry.release(registry.get(TEST_REGION, "endpoint-0", ClientProfile.READ, () -> eldest));
+
+        for (int i = 2; i <= TimestreamClientRegistry.MAX_CLIENTS; i++) {
+            registry.get(TEST_REGION, "endpoint-" + i, ClientProfile.READ, () -> mock(AmazonTimestreamQuery.class));
+        }
+
+        assertThat(registry.size()).isEqualTo(TimestreamClientRegistry.MAX_CLIENTS);
+        verify(recent).shutdown();
+        verify(eldest, never()).shutdown();
+    }
+
+    @Test
+    public void evictAndClearShouldShutdownClients() {
+        final AmazonTimestreamQuery first = mock(AmazonTimestreamQuery.class);
+        final AmazonTimestreamQuery second = mock(AmazonTimestreamQuery.class);
+        registry.release(registry.get(TEST_REGION, TEST_ENDPOINT, ClientProfile.READ, () -> first));
+        registry.get(TEST_REGION, null, ClientProfile.READ, () -> second);
+
+        registry.evict(TEST_REGION, TEST_ENDPOINT);
+        verify(first).shutdown();
+        assertThat(registry.size()).isEqualTo(1);
+
+        registry.clear();
+        verify(second).shutdown();
+        assertThat(registry.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void getShouldKeepSeparateClientsPerProfile() {
+        final AmazonTimestreamQuery read = mock(AmazonTimestreamQuery.class);
+        final AmazonTimestreamQuery mutate = mock(AmazonTimestreamQuery.class);
+        assertThat(registry.get(TEST_REGION, TEST_ENDPOINT, ClientProfile.READ, () -> read)).isSameAs(read);
+        assertThat(registry.get(TEST_REGION, TEST_ENDPOINT, ClientProfile.MUTATE, () -> mutate)).isSameAs(mutate);
+        registry.release(read);
+        registry.release(mutate);
+
+        registry.evict(TEST_REGION, TEST_ENDPOINT);
+        verify(read).shutdown();
+        verify(mutate).shutdown();
+        assertThat(registry.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void evictShouldShutdownBorrowedClientOnceReleased() {
+        final AmazonTimestreamQuery client = mock(AmazonTimestreamQuery.class);
+        registry.get(TEST_REGION, TEST_ENDPOINT, ClientProfile.READ, () -> client);
+        registry.get(TEST_REGION, TEST_ENDPOINT, ClientProfile.READ, () -> client);
+
+        registry.evict(TEST_REGION, TEST_ENDPOINT);
+        assertThat(registry.size()).isEqualTo(0);
+        verify(client, never()).shutdown();
+
+        registry.release(client);
+        verify(client, never()).shutdown();
+
+        registry.release(client);
+        verify(client).shutdown();
+
+        registry.release(client);
+        verify(client, times(1)).shutdown();
+    }
+
+    @Test
+    public void getShouldShutdownBorrowedClientBeyondCapacityOnceReleased() {
+        final AmazonTimestreamQuery borrowed = mock(AmazonTimestreamQuery.class);
+        registry.get(TEST_REGION, "endpoint-0", ClientProfile.READ, () -> borrowed);
+
+        for (int i = 1; i <= TimestreamClientRegistry.MAX_CLIENTS; i++) {
+            registry.release(registry.get(
+                    TEST_REGION, "endpoint-" + i, ClientProfile.READ, () -> mock(AmazonTimestreamQuery.class)));
+        }
+        verify(borrowed, never()).shutdown();
+
+        registry.release(borrowed);
+        verify(borrowed).shutdown();
+    }
+
+    @Test
+    public void clearShouldShutdownBorrowedClients() {
+        final AmazonTimestreamQuery client = mock(AmazonTimestreamQuery.class);
+        registry.get(TEST_REGION, TEST_ENDPOINT, ClientProfile.READ, () -> client);
+        registry.evict(TEST_REGION, TEST_ENDPOINT);
+
+        registry.clear();
+
+        verify(client).shutdown();
+    }
+
+    @Test
+    public void getShouldBuildClientOutsideOfLock() {
+        final AmazonTimestreamQuery client = mock(AmazonTimestreamQuery.class);
+
+        assertThat(registry.get(TEST_REGION, TEST_ENDPOINT, ClientProfile.READ, () -> {
+            // another invocation gets a registered client while this one is built
+            final AmazonTimestreamQuery other = CompletableFuture.supplyAsync(() -> registry.get(
+                    TEST_REGION, null, ClientProfile.READ, () -> mock(AmazonTimestreamQuery.class)))
+                    .orTimeout(5, TimeUnit.SECONDS)
+                    .join();
+            assertThat(other).isNotNull();
+            return client;
+        })).isSameAs(client);
+    }
+
+    @Test
+    public void getShouldShutdownClientBuiltConcurrently() {
+        final AmazonTimestreamQuery registered = mock(AmazonTimestreamQuery.class);
+        final AmazonTimestreamQuery built = mock(AmazonTimestreamQuery.class);
+
+        assertThat(registry.get(TEST_REGION, TEST_ENDPOINT, ClientProfile.READ, () -> {
+            registry.release(registry.get(TEST_REGION, TEST_ENDPOINT, ClientProfile.READ, () -> registered));
+            return built;
+        })).isSameAs(registered);
+        verify(built).shutdown();
+        verify(registered, never()).shutdown();
+    }
+}
@@ -0,0 +1,90 @@
+package software.amazon.timestream.scheduledquery;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Local stand-in for a Timestream endpoint, answering every operation with a canned response keyed by the operation
+ * name of the X-Amz-Target header. Responses carrying a __type are returned as client errors, DescribeEndpoints
+ * points back at the stand-in and unknown operations fail validation.
+ *
+ * Faults can be injected per operation: the next requests of the operation are then answered with an
+ * InternalServerException, as during a partial outage of the service.
+ */
+final class TimestreamStandIn implements AutoCloseable {
+
+    static final String INTERNAL_SERVER_ERROR =
+            "{\"__type\":\"InternalServerException\",\"Message\":\"Injected fault.\"}";
+
+    private final HttpServer server;
+    private final Map<String, String> responses;
+    private final Map<String, AtomicInteger> faults = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> requests = new ConcurrentHashMap<>();
+
+    private TimestreamStandIn(final HttpServer server, final Map<String, String> responses) {
+        this.server = server;
+        this.responses = responses;
+    }
+
+    static TimestreamStandIn start(final Map<String, String> responses) throws IOException {
+        final TimestreamStandIn standIn =
+                new TimestreamStandIn(HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0), responses);
+        standIn.server.createContext("/", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            final String target = String.valueOf(exchange.getRequestHeaders().getFirst("X-Amz-Target"));
+            final String operation = target.substring(target.lastIndexOf('.') + 1);
+            standIn.requests.computeIfAbsent(operation, o -> new AtomicInteger()).incrementAndGet();
+            final boolean fault = standIn.takeFault(operation);
+            final String response = fault ? INTERNAL_SERVER_ERROR : standIn.respond(operation);
+            final byte[] body = response.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/x-amz-json-1.0");
+            exchange.sendResponseHeaders(fault ? 500 : response.contains("\"__type\"") ? 400 : 200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        standIn.server.start();
+        return standIn;
+    }
+
+    String endpoint() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    /**
+     * Answers the next requests of the operation with an InternalServerException.
+     */
+    void failNext(final String operation, final int count) {
+        faults.computeIfAbsent(operation, o -> new AtomicInteger()).addAndGet(count);
+    }
+
+    /**
+     * @return the number of requests of the operation received so far.
+     */
+    int requests(final String operation) {
+        return requests.computeIfAbsent(operation, o -> new AtomicInteger()).get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private boolean takeFault(final String operation) {
+        final AtomicInteger pendingFaults = faults.get(operation);
+        return pendingFaults != null && pendingFaults.getAndUpdate(n -> Math.max(0, n - 1)) > 0;
+    }
+
+    private String respond(final String operation) {
+        if ("DescribeEndpoints".equals(operation)) {
+            return "{\"Endpoints\":[{\"Address\":\"" + endpoint() + "\",\"CachePeriodInMinutes\":1440}]}";
+        }
+        return responses.getOrDefault(operation,
+                "{\"__type\":\"ValidationException\",\"Message\":\"Unexpected " + operation + "\"}");
+    }
+}
@@ -28,13 +28,17 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.verify;
@@ -98,6 +102,7 @@ public class UpdateHandlerTest {
 
     @BeforeEach
     public void setup() {
+        CircuitBreaker.clear();
         proxy = mock(AmazonWebServicesClientProxy.class);
         doReturn(new DescribeEndpointsResult().withEndpoints(new Endpoint().withAddress("endpoint")))
                 .when(proxy).injectCredentialsAndInvoke(any(DescribeEndpointsRequest.class), any(Function.class));
@@ -128,6 +133,41 @@ public class UpdateHandlerTest {
         verifyNoMoreInteractions(proxy);
     }
 
+    @Test
+    public void updateScheduledQueryCheckpointWhenDeadlineIsNearlyExpiredTest() {
+        final ResourceHandlerRequest<ResourceModel> request = givenAResourceHandlerRequest();
+        final AtomicLong now = new AtomicLong();
+        doAnswer(invocation -> {
+            // the untag call eats up the budget of the invocation
+            now.set(Deadline.MIN_BUDGET_MILLIS - Deadline.RESERVE_MILLIS);
+            return null;
+        }).when(proxy).injectCredentialsAndInvoke(any(UntagResourceRequest.class), any(Function.class));
+        final UpdateHandler deadlineHandler =
+                new UpdateHandler(() -> new Deadline(Deadline.MIN_BUDGET_MILLIS, now::get));
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+            = deadlineHandler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackContext().getCompletedSteps()).containsExactly("UntagResource");
+        verify(proxy, never()).injectCredentialsAndInvoke(any(TagResourceRequest.class), any(Function.class));
+    }
+
+    @Test
+    public void updateScheduledQueryResumeFromCheckpointTest() {
+        final ResourceHandlerRequest<ResourceModel> request = givenAResourceHandlerRequest();
+        final CallbackContext callbackContext = CallbackContext.builder()
+                .completedSteps(new ArrayList<>(Arrays.asList("UntagResource")))
+                .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+            = handler.handleRequest(proxy, request, callbackContext, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        verify(proxy, never()).injectCredentialsAndInvoke(any(UntagResourceRequest.class), any(Function.class));
+        verify(proxy).injectCredentialsAndInvoke(any(TagResourceRequest.class), any(Function.class));
+    }
+
     @Test
     public void updateScheduledQueryThrowWhenTagAndResourceNotFoundTest() {
         final ResourceHandlerRequest<ResourceModel> request = givenAResourceHandlerRequest();
@@ -185,7 +225,7 @@ public class UpdateHandlerTest {
     }
 
     @Test
-    public void updateScheduledQueryThrowWhenTagAndThrottlingTest() {
+    public void updateScheduledQueryResumeWhenTagAndThrottlingTest() {
         final ResourceHandlerRequest<ResourceModel> request = givenAResourceHandlerRequest();
 
         doReturn(null)
@@ -193,9 +233,37 @@ public class UpdateHandlerTest {
         doThrow(new ThrottlingException("Test exception"))
                 .when(proxy).injectCredentialsAndInvoke(any(TagResourceRequest.class), any(Function.class));
 
+        final ProgressEvent<ResourceModel, CallbackContext> throttled
+            = handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(throttled.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(throttled.getCallbackDelaySeconds())
+                .isEqualTo(StepSequence.FIRST_THROTTLED_CALLBACK_DELAY_SECONDS);
+        assertThat(throttled.getCallbackContext().getCompletedSteps()).containsExactly("UntagResource");
+
+        doReturn(null)
+                .when(proxy).injectCredentialsAndInvoke(any(TagResourceRequest.class), any(Function.class));
+        final ProgressEvent<ResourceModel, CallbackContext> response
+            = handler.handleRequest(proxy, request, throttled.getCallbackContext(), logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        verify(proxy).injectCredentialsAndInvoke(any(UntagResourceRequest.class), any(Function.class));
+    }
+
+    @Test
+    public void updateScheduledQueryThrowWhenTagAndThrottlingResumesSpentTest() {
+        final ResourceHandlerRequest<ResourceModel> request = givenAResourceHandlerRequest();
+        final CallbackContext callbackContext = CallbackContext.builder()
+                .completedSteps(new ArrayList<>(Arrays.asList("UntagResource")))
+                .throttledResumes(StepSequence.MAX_THROTTLED_RESUMES)
+                .build();
+
+        doThrow(new ThrottlingException("Test exception"))
+                .when(proxy).injectCredentialsAndInvoke(any(TagResourceRequest.class), any(Function.class));
+
         assertThrows(
                 CfnThrottlingException.class,
-                () -> handler.handleRequest(proxy, request, null, logger));
+                () -> handler.handleRequest(proxy, request, callbackContext, logger));
     }
 
     @Test
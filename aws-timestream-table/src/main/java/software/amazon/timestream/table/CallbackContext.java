@@ -1,5 +1,7 @@
 package software.amazon.timestream.table;
 
+import java.util.List;
+
 import lombok.Builder;
 import lombok.Data;
 
@@ -10,8 +12,19 @@ import com.fasterxml.jackson.databind.annotation.JsonPOJOBuilder;
 @Builder(builderClassName = "CallbackContextBuilder")
 @JsonDeserialize(builder = CallbackContext.CallbackContextBuilder.class)
 public class CallbackContext {
+    private boolean createTableStarted;
+    private boolean createTableStabilized;
+    private long createTableStartedAt;
+    private long expectedCreateMillis;
     private boolean deleteTableStarted;
     private boolean deleteTableStabilized;
+    private long deleteTableStartedAt;
+    private long expectedDeleteMillis;
+    private String endpointAddress;
+    private long endpointExpiresAt;
+    private String tableArn;
+    private List<String> completedSteps;
+    private int throttledResumes;
 
     @JsonPOJOBuilder(withPrefix = "")
     public static class CallbackContextBuilder {
@@ -0,0 +1,159 @@
+package software.amazon.timestream.table;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.services.timestreamwrite.model.InternalServerException;
+
+/**
+ * Circuit breaker of a Timestream endpoint, shared by the invocations of the container.
+ *
+ * The outcomes of the last WINDOW_SIZE calls to the endpoint are kept, calls failing with a server side error such
+ * as InternalServerException counting as errors. Once at least MIN_CALLS are recorded and the share of errors
+ * reaches the configured error rate (see Configuration.circuitErrorRate), the circuit opens: calls fail with
+ * CircuitOpenException without reaching the service, which the create, update and delete handlers report as
+ * IN_PROGRESS with a long callback delay. After OPEN_MILLIS a single caller probes the endpoint with a cheap call,
+ * the circuit closes when the endpoint answers and stays open for another OPEN_MILLIS otherwise.
+ */
+final class CircuitBreaker {
+
+    enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    static final int WINDOW_SIZE = 20;
+    static final int MIN_CALLS = 10;
+    static final double DEFAULT_ERROR_RATE = 0.5;
+    static final long OPEN_MILLIS = TimeUnit.SECONDS.toMillis(30);
+    static final int OPEN_CALLBACK_DELAY_SECONDS = 60;
+
+    private static final ConcurrentMap<String, CircuitBreaker> BREAKERS = new ConcurrentHashMap<>();
+
+    private final String endpoint;
+    private final double errorRate;
+    private final LongSupplier clock;
+    private final boolean[] errors = new boolean[WINDOW_SIZE];
+    private int calls;
+    private int next;
+    private int errorCount;
+    private State state = State.CLOSED;
+    private long openUntil;
+
+    CircuitBreaker(final String endpoint, final double errorRate, final LongSupplier clock) {
+        this.endpoint = endpoint;
+        this.errorRate = errorRate;
+        this.clock = clock;
+    }
+
+    static CircuitBreaker forEndpoint(final String endpoint) {
+        return BREAKERS.computeIfAbsent(endpoint,
+                e -> new CircuitBreaker(e, Configuration.circuitErrorRate(), System::currentTimeMillis));
+    }
+
+    static void clear() {
+        BREAKERS.clear();
+    }
+
+    /**
+     * Lets a call through while the circuit is closed. Once the circuit has been open for OPEN_MILLIS, the first
+     * caller runs the probe and the circuit closes if the probe does not fail with a server side error. The circuit
+     * opens again for OPEN_MILLIS on any other outcome, including an Error thrown by the probe.
+     *
+     * @throws CircuitOpenException while the circuit is open, or when the probe fails.
+     */
+    void acquire(final Runnable probe) {
+        synchronized (this) {
+            if (state == State.CLOSED) {
+                return;
+            }
+            if (state == State.HALF_OPEN || clock.getAsLong() < openUntil) {
+                // open, or another caller is probing already
+                throw new CircuitOpenException(endpoint);
+            }
+            state = State.HALF_OPEN;
+        }
+        boolean serving = false;
+        try {
+            probe.run();
+            serving = true;
+        } catch (final RuntimeException ex) {
+            if (isServerError(ex) || TimestreamInvoker.isEndpointFailure(ex)) {
+                throw new CircuitOpenException(endpoint, ex);
+            }
+            // any other answer shows the endpoint is serving again
+            serving = true;
+        } finally {
+            // whatever the probe throws, the circuit must not stay half open
+            synchronized (this) {
+                if (serving) {
+                    state = State.CLOSED;
+                    resetWindow();
+                } else {
+                    open();
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs a call to the endpoint and records its outcome.
+     */
+    <ResultT> ResultT record(final Supplier<ResultT> call) {
+        final ResultT result;
+        try {
+            result = call.get();
+        } catch (final RuntimeException ex) {
+            record(isServerError(ex));
+            throw ex;
+        }
+        record(false);
+        return result;
+    }
+
+    synchronized State state() {
+        return state;
+    }
+
+    private synchronized void record(final boolean error) {
+        if (state != State.CLOSED) {
+            // a call let through before the circuit opened
+            return;
+        }
+        if (calls == WINDOW_SIZE && errors[next]) {
+            errorCount--;
+        }
+        errors[next] = error;
+        if (error) {
+            errorCount++;
+        }
+        next = (next + 1) % WINDOW_SIZE;
+        calls = Math.min(WINDOW_SIZE, calls + 1);
+        if (calls >= MIN_CALLS && errorCount >= errorRate * calls) {
+            open();
+        }
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openUntil = clock.getAsLong() + OPEN_MILLIS;
+        resetWindow();
+    }
+
+    private void resetWindow() {
+        calls = 0;
+        next = 0;
+        errorCount = 0;
+    }
+
+    static boolean isServerError(final Throwable ex) {
+        return ex instanceof InternalServerException
+                || ex instanceof AmazonServiceException
+                        && ((AmazonServiceException) ex).getErrorType() == AmazonServiceException.ErrorType.Service;
+    }
+}
@@ -0,0 +1,40 @@
+package software.amazon.timestream.table;
+
+import software.amazon.cloudformation.exceptions.CfnServiceInternalErrorException;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+
+/**
+ * Thrown instead of calling an endpoint whose circuit is open, see CircuitBreaker. Handlers that can report progress
+ * turn it into IN_PROGRESS, the read and list handlers fail with it as a service internal error.
+ */
+class CircuitOpenException extends CfnServiceInternalErrorException {
+
+    private static final long serialVersionUID = 1L;
+
+    CircuitOpenException(final String endpoint) {
+        super(message(endpoint));
+    }
+
+    CircuitOpenException(final String endpoint, final Throwable cause) {
+        super(message(endpoint), cause);
+    }
+
+    /**
+     * @return the event asking to be called back once the circuit may have closed, keeping the progress made so far.
+     */
+    <CallbackT> ProgressEvent<ResourceModel, CallbackT> toProgressEvent(
+            final ResourceModel model, final CallbackT callbackContext) {
+        return ProgressEvent.<ResourceModel, CallbackT>builder()
+                .resourceModel(model)
+                .callbackContext(callbackContext)
+                .status(OperationStatus.IN_PROGRESS)
+                .callbackDelaySeconds(CircuitBreaker.OPEN_CALLBACK_DELAY_SECONDS)
+                .message(getMessage())
+                .build();
+    }
+
+    private static String message(final String endpoint) {
+        return "Calls to " + endpoint + " are paused after repeated service errors";
+    }
+}
@@ -1,8 +1,175 @@
 package software.amazon.timestream.table;
 
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+import com.amazonaws.ClientConfiguration;
+
 class Configuration extends BaseConfiguration {
 
+    static final String INVOCATION_BUDGET_ENV = "TIMESTREAM_INVOCATION_BUDGET_MILLIS";
+    static final String CALL_RATE_ENV = "TIMESTREAM_CALL_RATE_PER_SECOND";
+    static final String STABILIZE_TABLE_CREATE_ENV = "TIMESTREAM_STABILIZE_TABLE_CREATE";
+    static final String CIRCUIT_ERROR_RATE_ENV = "TIMESTREAM_CIRCUIT_ERROR_RATE";
+    static final String HEDGE_READS_ENV = "TIMESTREAM_HEDGE_READS";
+    static final String LIST_PAGE_SIZE_ENV = "TIMESTREAM_LIST_PAGE_SIZE";
+    static final String LIST_TAGS_ENV = "TIMESTREAM_LIST_TAGS";
+    static final String LIST_TAGS_CONCURRENCY_ENV = "TIMESTREAM_LIST_TAGS_CONCURRENCY";
+    static final String LIST_DATABASE_CONCURRENCY_ENV = "TIMESTREAM_LIST_DATABASE_CONCURRENCY";
+
     Configuration() {
         super("aws-timestream-table.json");
     }
+
+    /**
+     *
+     *  @return  the client configuration of the profile, defaults overridden by the environment of the handler.
+     */
+    static ClientConfiguration clientConfiguration(final ClientProfile profile) {
+        return profile.toClientConfiguration(System::getenv);
+    }
+
+    /**
+     *
+     *  @return  the time a single handler invocation may take, from handler entry on. An override must stay clearly
+     *           below the timeout of the function, as the cold start and the deserialisation of the request come on
+     *           top of it, see Deadline. A value that is not positive, or cannot be parsed, is ignored and the
+     *           default applies, a positive one below Deadline.MIN_BUDGET_MILLIS is raised to it by Deadline.
+     */
+    static long invocationBudgetMillis() {
+        return invocationBudgetMillis(System::getenv);
+    }
+
+    static long invocationBudgetMillis(final UnaryOperator<String> environment) {
+        return longSetting(environment, INVOCATION_BUDGET_ENV, Deadline.DEFAULT_BUDGET_MILLIS, 1L, Long.MAX_VALUE);
+    }
+
+    /**
+     *
+     *  @return  the rate of Timestream calls the container may make per region and account, see CallRateLimiter.
+     */
+    static double callRatePerSecond() {
+        return doubleSetting(
+                CALL_RATE_ENV, CallRateLimiter.DEFAULT_RATE_PER_SECOND, Double.MIN_VALUE, Double.MAX_VALUE);
+    }
+
+    /**
+     *
+     *  @return  whether the create handler waits for new tables to be ACTIVE, off unless set to true.
+     */
+    static boolean stabilizeTableCreate() {
+        return Boolean.parseBoolean(System.getenv(STABILIZE_TABLE_CREATE_ENV));
+    }
+
+    /**
+     *
+     *  @return  the share of failing calls, above 0 and up to 1, at which the circuit of an endpoint opens.
+     */
+    static double circuitErrorRate() {
+        return doubleSetting(CIRCUIT_ERROR_RATE_ENV, CircuitBreaker.DEFAULT_ERROR_RATE, Double.MIN_VALUE, 1);
+    }
+
+    /**
+     *
+     *  @return  whether slow read-only calls are sent a second time, see Hedging, off unless set to true.
+     */
+    static boolean hedgeReads() {
+        return Boolean.parseBoolean(System.getenv(HEDGE_READS_ENV));
+    }
+
+    /**
+     *
+     *  @return  the tables the list handler returns per page, up to the most ListTables returns, which is the default.
+     */
+    static int listPageSize() {
+        return intSetting(LIST_PAGE_SIZE_ENV, ListHandler.MAX_PAGE_SIZE, 1, ListHandler.MAX_PAGE_SIZE);
+    }
+
+    /**
+     *
+     *  @return  whether the list handler lists the tags of each table, off unless set to true.
+     */
+    static boolean listTags() {
+        return Boolean.parseBoolean(System.getenv(LIST_TAGS_ENV));
+    }
+
+    /**
+     *
+     *  @return  how many tables the list handler lists the tags of at a time.
+     */
+    static int listTagsConcurrency() {
+        return intSetting(LIST_TAGS_CONCURRENCY_ENV, ListHandler.DEFAULT_TAG_CONCURRENCY, 1, Integer.MAX_VALUE);
+    }
+
+    /**
+     *
+     *  @return  how many databases the list handler lists the tables of at a time, when listing all databases.
+     */
+    static int listDatabaseConcurrency() {
+        return intSetting(
+                LIST_DATABASE_CONCURRENCY_ENV, ListHandler.DEFAULT_DATABASE_CONCURRENCY, 1, Integer.MAX_VALUE);
+    }
+
+    static int intSetting(final String name, final int defaultValue, final int min, final int max) {
+        return intSetting(System::getenv, name, defaultValue, min, max);
+    }
+
+    static long longSetting(final String name, final long defaultValue, final long min, final long max) {
+        return longSetting(System::getenv, name, defaultValue, min, max);
+    }
+
+    static double doubleSetting(final String name, final double defaultValue, final double min, final double max) {
+        return doubleSetting(System::getenv, name, defaultValue, min, max);
+    }
+
+    /**
+     * @param environment looks up the value of an environment variable, null if it is not set.
+     * @return the value of the variable, or the default if it is not set, cannot be parsed or lies outside min to max.
+     */
+    static int intSetting(
+            final UnaryOperator<String> environment,
+            final String name,
+            final int defaultValue,
+            final int min,
+            final int max) {
+        return setting(environment, name, Integer::valueOf, defaultValue, min, max);
+    }
+
+    static long longSetting(
+            final UnaryOperator<String> environment,
+            final String name,
+            final long defaultValue,
+            final long min,
+            final long max) {
+        return setting(environment, name, Long::valueOf, defaultValue, min, max);
+    }
+
+    static double doubleSetting(
+            final UnaryOperator<String> environment,
+            final String name,
+            final double defaultValue,
+            final double min,
+            final double max) {
+        // NaN compares above every other value and is thus out of range
+        return setting(environment, name, Double::valueOf, defaultValue, min, max);
+    }
+
+    private static <T extends Comparable<T>> T setting(
+            final UnaryOperator<String> environment,
+            final String name,
+            final Function<String, T> parse,
+            final T defaultValue,
+            final T min,
+            final T max) {
+        final String value = environment.apply(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            final T parsed = parse.apply(value.trim());
+            return parsed.compareTo(min) < 0 || parsed.compareTo(max) > 0 ? defaultValue : parsed;
+        } catch (final NumberFormatException ex) {
+            return defaultValue;
+        }
+    }
 }
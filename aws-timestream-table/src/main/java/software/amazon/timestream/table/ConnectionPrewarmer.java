@@ -0,0 +1,68 @@
+package software.amazon.timestream.table;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import com.amazonaws.auth.AWSStaticCredentialsProvider;
+import com.amazonaws.auth.AnonymousAWSCredentials;
+import com.amazonaws.services.timestreamwrite.AmazonTimestreamWrite;
+import com.amazonaws.services.timestreamwrite.model.DescribeEndpointsRequest;
+
+/**
+ * Opt-in pre-warming of the connection to the regional Timestream discovery host.
+ *
+ * When TIMESTREAM_PREWARM_CONNECTIONS is set to true, a background thread started while the handler wrapper is
+ * being initialised resolves the discovery host and opens a TCP/TLS connection to it by sending an unsigned
+ * DescribeEndpoints request through the shared discovery client. The request is rejected by the service, but the
+ * connection stays in the client pool and the first real DescribeEndpoints of the handler reuses it instead of
+ * paying for DNS, connect and handshake one after another. No credentials are sent.
+ */
+final class ConnectionPrewarmer {
+
+    static final String PREWARM_ENV = "TIMESTREAM_PREWARM_CONNECTIONS";
+
+    private static final AtomicBoolean STARTED = new AtomicBoolean();
+
+    private ConnectionPrewarmer() {
+    }
+
+    static void startIfEnabled() {
+        if (Boolean.parseBoolean(System.getenv(PREWARM_ENV)) && STARTED.compareAndSet(false, true)) {
+            start(TimestreamClientFactory::getDiscoveryClient);
+        }
+    }
+
+    /**
+     * Starts over once the JVM is restored from a snapshot, the connection opened before the snapshot is gone.
+     */
+    static void restartIfEnabled() {
+        if (Boolean.parseBoolean(System.getenv(PREWARM_ENV))) {
+            STARTED.set(true);
+            start(TimestreamClientFactory::getDiscoveryClient);
+        }
+    }
+
+    static Thread start(final Supplier<AmazonTimestreamWrite> discoveryClient) {
+        final Thread thread = new Thread(() -> {
+            final AmazonTimestreamWrite client = discoveryClient.get();
+            try {
+                prewarm(client);
+            } finally {
+                TimestreamClientFactory.release(client);
+            }
+        }, "timestream-connection-prewarm");
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    static void prewarm(final AmazonTimestreamWrite discoveryClient) {
+        final DescribeEndpointsRequest request = new DescribeEndpointsRequest();
+        request.setRequestCredentialsProvider(new AWSStaticCredentialsProvider(new AnonymousAWSCredentials()));
+        try {
+            discoveryClient.describeEndpoints(request);
+        } catch (final RuntimeException ex) {
+            // expected, the request is not signed, only the pooled connection matters
+        }
+    }
+}
@@ -2,6 +2,8 @@ package software.amazon.timestream.table;
 
 import java.util.List;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import software.amazon.cloudformation.exceptions.CfnAccessDeniedException;
@@ -23,11 +25,14 @@ import com.amazonaws.services.timestreamwrite.model.AccessDeniedException;
 import com.amazonaws.services.timestreamwrite.model.ConflictException;
 import com.amazonaws.services.timestreamwrite.model.CreateTableRequest;
 import com.amazonaws.services.timestreamwrite.model.CreateTableResult;
+import com.amazonaws.services.timestreamwrite.model.DescribeTableRequest;
+import com.amazonaws.services.timestreamwrite.model.DescribeTableResult;
 import com.amazonaws.services.timestreamwrite.model.InternalServerException;
 import com.amazonaws.services.timestreamwrite.model.InvalidEndpointException;
 import com.amazonaws.services.timestreamwrite.model.ResourceNotFoundException;
 import com.amazonaws.services.timestreamwrite.model.MagneticStoreWriteProperties;
 import com.amazonaws.services.timestreamwrite.model.ServiceQuotaExceededException;
+import com.amazonaws.services.timestreamwrite.model.TableStatus;
 import com.amazonaws.services.timestreamwrite.model.ThrottlingException;
 import com.amazonaws.services.timestreamwrite.model.ValidationException;
 import com.amazonaws.util.StringUtils;
@@ -35,14 +40,39 @@ import com.amazonaws.util.StringUtils;
 /**
  * Timestream table resource creation handler. CloudFormation invokes this handler
  * when the resource is initially created during stack create operations.
+ *
+ * When create stabilization is enabled (see Configuration.stabilizeTableCreate), the handler does not report
+ * SUCCESS before DescribeTable reports the table ACTIVE, so that resources depending on the table can use it
+ * right away. It waits through a Stabilizer, as the DeleteHandler does.
+ *
+ * While the circuit of the endpoint is open (see CircuitBreaker), the handler returns IN_PROGRESS and carries on
+ * from where it stopped once called back.
  */
 public class CreateHandler extends BaseHandler<CallbackContext> {
 
     private static final String CREATE_TABLE = "CreateTable";
+    private static final String DESCRIBE_TABLE = "DescribeTable";
     private static final int TABLE_NAME_MAX_LENGTH = 64;
     private static final String QUOTE_MESSAGE = "Limit for number of tables per account exceeded.";
-    private AmazonWebServicesClientProxy proxy;
-    private AmazonTimestreamWrite timestreamClient;
+    private static final DurationHistogram CREATE_DURATIONS = new DurationHistogram();
+    private final Supplier<Deadline> deadlines;
+    private final Function<Deadline, Stabilizer> stabilizers;
+    private final boolean stabilizeCreate;
+
+    public CreateHandler() {
+        this(Deadline::start, deadline -> new Stabilizer(deadline, CREATE_DURATIONS),
+                Configuration.stabilizeTableCreate());
+        RuntimeHooks.init();
+    }
+
+    CreateHandler(
+            final Supplier<Deadline> deadlines,
+            final Function<Deadline, Stabilizer> stabilizers,
+            final boolean stabilizeCreate) {
+        this.deadlines = deadlines;
+        this.stabilizers = stabilizers;
+        this.stabilizeCreate = stabilizeCreate;
+    }
 
     @Override
     public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
@@ -51,11 +81,36 @@ public class CreateHandler extends BaseHandler<CallbackContext> {
         final CallbackContext callbackContext,
         final Logger logger) {
 
-        timestreamClient = TimestreamClientFactory.get(proxy, logger);
-        this.proxy = proxy;
+        final CallbackContext context = callbackContext == null ? CallbackContext.builder().build() : callbackContext;
+        try {
+            return handleCreate(proxy, request, context, logger);
+        } catch (CircuitOpenException ex) {
+            return ex.toProgressEvent(request.getDesiredResourceState(), context);
+        }
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> handleCreate(
+        final AmazonWebServicesClientProxy proxy,
+        final ResourceHandlerRequest<ResourceModel> request,
+        final CallbackContext context,
+        final Logger logger) {
+
+        final Deadline deadline = deadlines.get();
+        final RequestContext requestContext = RequestContext.of(proxy, request, context, deadline, logger);
 
         final ResourceModel model = request.getDesiredResourceState();
 
+        if (context.isCreateTableStarted()) {
+            // a callback of the create stabilization, the table is created already
+            final Stabilizer stabilizer = stabilizers.apply(deadline);
+            if (!context.isCreateTableStabilized() && !isTableActive(requestContext, model)) {
+                return inProgress(model, context, stabilizer);
+            }
+            context.setCreateTableStabilized(true);
+            stabilizer.recordStabilized(context.getCreateTableStartedAt());
+            return success(model);
+        }
+
         // resource can auto-generate a name if not supplied by caller
         // this logic should move up into the CloudFormation engine, but
         // currently exists here for backwards-compatibility with existing models
@@ -87,26 +142,82 @@ public class CreateHandler extends BaseHandler<CallbackContext> {
                     .collect(Collectors.toList()));
         }
 
+        createTable(requestContext, model, createTableRequest);
+        if (!stabilizeCreate) {
+            return success(model);
+        }
+
+        final Stabilizer stabilizer = stabilizers.apply(deadline);
+        context.setCreateTableStarted(true);
+        context.setCreateTableStartedAt(stabilizer.now());
+        context.setExpectedCreateMillis(stabilizer.expectedMillis());
+        if (deadline.isNearlyExpired() || !stabilizer.pollInline(() -> isTableActive(requestContext, model))) {
+            return inProgress(model, context, stabilizer);
+        }
+        stabilizer.recordStabilized(context.getCreateTableStartedAt());
+        return success(model);
+    }
+
+    private void createTable(
+            final RequestContext requestContext,
+            final ResourceModel model,
+            final CreateTableRequest createTableRequest) {
         try {
             final CreateTableResult result =
-                    this.proxy.injectCredentialsAndInvoke(createTableRequest, timestreamClient::createTable);
+                    requestContext.invoke(createTableRequest, AmazonTimestreamWrite::createTable);
             model.setArn(result.getTable().getArn());
         } catch (ConflictException ex) {
             throw new CfnAlreadyExistsException(ResourceModel.TYPE_NAME, model.getTableName(), ex);
         } catch (ValidationException | InvalidEndpointException ex) {
-            throw new CfnInvalidRequestException(request.toString(), ex);
+            throw new CfnInvalidRequestException(requestContext.getRequest().toString(), ex);
         } catch (AccessDeniedException ex) {
             throw new CfnAccessDeniedException(CREATE_TABLE, ex);
         } catch (ResourceNotFoundException ex) {
             throw new CfnNotFoundException("AWS::Timestream::Database", model.getDatabaseName(), ex);
         } catch (ServiceQuotaExceededException ex) {
             throw new CfnServiceLimitExceededException(ResourceModel.TYPE_NAME, QUOTE_MESSAGE, ex);
-        } catch (ThrottlingException ex) {
+        } catch (ThrottlingException | ClientRateLimitedException ex) {
             throw new CfnThrottlingException(CREATE_TABLE, ex);
         } catch (InternalServerException ex) {
             throw new CfnInternalFailureException(ex);
         }
+    }
+
+    private boolean isTableActive(final RequestContext requestContext, final ResourceModel model) {
+        final DescribeTableRequest describeTableRequest = new DescribeTableRequest()
+                .withDatabaseName(model.getDatabaseName())
+                .withTableName(model.getTableName());
+
+        try {
+            final DescribeTableResult result =
+                    requestContext.invoke(describeTableRequest, AmazonTimestreamWrite::describeTable);
+            return TableStatus.ACTIVE.toString().equals(result.getTable().getTableStatus());
+        } catch (ResourceNotFoundException ex) {
+            // the new table is not visible yet
+            return false;
+        } catch (ValidationException | InvalidEndpointException ex) {
+            throw new CfnInvalidRequestException(requestContext.getRequest().toString(), ex);
+        } catch (AccessDeniedException ex) {
+            throw new CfnAccessDeniedException(DESCRIBE_TABLE, ex);
+        } catch (ThrottlingException | ClientRateLimitedException ex) {
+            throw new CfnThrottlingException(DESCRIBE_TABLE, ex);
+        } catch (InternalServerException ex) {
+            throw new CfnInternalFailureException(ex);
+        }
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> inProgress(
+            final ResourceModel model, final CallbackContext callbackContext, final Stabilizer stabilizer) {
+        return ProgressEvent.<ResourceModel, CallbackContext>builder()
+                .callbackContext(callbackContext)
+                .resourceModel(model)
+                .status(OperationStatus.IN_PROGRESS)
+                .callbackDelaySeconds(stabilizer.callbackDelaySeconds(
+                        callbackContext.getCreateTableStartedAt(), callbackContext.getExpectedCreateMillis()))
+                .build();
+    }
 
+    private static ProgressEvent<ResourceModel, CallbackContext> success(final ResourceModel model) {
         return ProgressEvent.<ResourceModel, CallbackContext>builder()
             .resourceModel(model)
             .status(OperationStatus.SUCCESS)
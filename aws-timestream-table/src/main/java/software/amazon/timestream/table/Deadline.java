@@ -0,0 +1,61 @@
+package software.amazon.timestream.table;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import com.amazonaws.AmazonWebServiceRequest;
+
+/**
+ * Time budget of a single handler invocation, measured from handler entry.
+ *
+ * The proxy does not expose the remaining Lambda time, so the budget is configured instead, see
+ * Configuration.invocationBudgetMillis. Each call made through the invoker gets its SDK client execution timeout
+ * capped to what is left of the budget, less RESERVE_MILLIS kept for the handler to checkpoint its progress into
+ * the callback context and return IN_PROGRESS instead of running into the Lambda timeout.
+ *
+ * The budget starts at handler entry, after the cold start and the deserialisation of the request, which the
+ * reserve does not cover, so it has to be set clearly below the timeout of the function: the default of 45 seconds
+ * leaves room under the 60 seconds of template.yml.
+ */
+final class Deadline {
+
+    static final long DEFAULT_BUDGET_MILLIS = TimeUnit.SECONDS.toMillis(45);
+    static final long RESERVE_MILLIS = TimeUnit.SECONDS.toMillis(5);
+    // at least one call always fits in a fresh invocation, so a checkpointing handler keeps making progress
+    static final long MIN_BUDGET_MILLIS = 2 * RESERVE_MILLIS;
+
+    private final LongSupplier clock;
+    private final long expiresAt;
+
+    Deadline(final long budgetMillis, final LongSupplier clock) {
+        this.clock = clock;
+        this.expiresAt = clock.getAsLong() + Math.max(budgetMillis, MIN_BUDGET_MILLIS);
+    }
+
+    static Deadline start() {
+        return new Deadline(Configuration.invocationBudgetMillis(), System::currentTimeMillis);
+    }
+
+    long remainingMillis() {
+        return Math.max(0L, expiresAt - clock.getAsLong());
+    }
+
+    /**
+     * @return true once only the reserve is left, i.e. the handler should checkpoint instead of starting a call.
+     */
+    boolean isNearlyExpired() {
+        return remainingMillis() <= RESERVE_MILLIS;
+    }
+
+    /**
+     * Caps the client execution timeout of the request to the usable part of the remaining budget, unless the
+     * configured timeout of the client is already shorter.
+     */
+    <RequestT extends AmazonWebServiceRequest> RequestT cap(final RequestT request, final int clientExecutionTimeoutMillis) {
+        final long usable = Math.max(1L, remainingMillis() - RESERVE_MILLIS);
+        if (clientExecutionTimeoutMillis <= 0 || usable < clientExecutionTimeoutMillis) {
+            request.setSdkClientExecutionTimeout((int) Math.min(usable, Integer.MAX_VALUE));
+        }
+        return request;
+    }
+}
@@ -1,5 +1,8 @@
 package software.amazon.timestream.table;
 
+import java.util.function.Function;
+import java.util.function.Supplier;
+
 import software.amazon.cloudformation.exceptions.CfnAccessDeniedException;
 import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
 import software.amazon.cloudformation.exceptions.CfnInternalFailureException;
@@ -26,14 +29,32 @@ import com.amazonaws.services.timestreamwrite.model.ValidationException;
  * Timestream table resource deletion handler. CloudFormation invokes this handler
  * when the resource is deleted, either when the resource is deleted from the stack as
  * part of a stack update operation, or the stack itself is deleted.
+ *
+ * Once the deletion is started, the handler waits for the table to be gone through a Stabilizer: inline at first,
+ * then over callbacks sized from the durations of recent deletions. While the circuit of the endpoint is open (see
+ * CircuitBreaker), it returns IN_PROGRESS instead.
  */
 public class DeleteHandler extends BaseHandler<CallbackContext> {
 
     private static final String DELETE_TABLE = "DeleteTable";
     private static final String DESCRIBE_TABLE = "DescribeTable";
-    private static final int CALLBACK_DELAY_SECONDS = 15;
-    private AmazonWebServicesClientProxy proxy;
-    private AmazonTimestreamWrite timestreamClient;
+    private static final DurationHistogram DELETE_DURATIONS = new DurationHistogram();
+    private final Supplier<Deadline> deadlines;
+    private final Function<Deadline, Stabilizer> stabilizers;
+
+    public DeleteHandler() {
+        this(Deadline::start);
+        RuntimeHooks.init();
+    }
+
+    DeleteHandler(final Supplier<Deadline> deadlines) {
+        this(deadlines, deadline -> new Stabilizer(deadline, DELETE_DURATIONS));
+    }
+
+    DeleteHandler(final Supplier<Deadline> deadlines, final Function<Deadline, Stabilizer> stabilizers) {
+        this.deadlines = deadlines;
+        this.stabilizers = stabilizers;
+    }
 
     @Override
     public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
@@ -42,11 +63,6 @@ public class DeleteHandler extends BaseHandler<CallbackContext> {
             CallbackContext callbackContext,
             Logger logger) {
 
-        timestreamClient = TimestreamClientFactory.get(proxy, logger);
-        this.proxy = proxy;
-
-        final ResourceModel model = request.getDesiredResourceState();
-
         if (callbackContext == null) {
             callbackContext = CallbackContext.builder()
                     .deleteTableStarted(false)
@@ -54,34 +70,78 @@ public class DeleteHandler extends BaseHandler<CallbackContext> {
                     .build();
         }
 
+        try {
+            return handleDelete(proxy, request, callbackContext, logger);
+        } catch (CircuitOpenException ex) {
+            return ex.toProgressEvent(request.getDesiredResourceState(), callbackContext);
+        }
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> handleDelete(
+            AmazonWebServicesClientProxy proxy,
+            ResourceHandlerRequest<ResourceModel> request,
+            CallbackContext callbackContext,
+            Logger logger) {
+
+        final Deadline deadline = deadlines.get();
+        final Stabilizer stabilizer = stabilizers.apply(deadline);
+        final RequestContext requestContext = RequestContext.of(proxy, request, callbackContext, deadline, logger);
+
+        final ResourceModel model = request.getDesiredResourceState();
+
         if (! callbackContext.isDeleteTableStarted()) {
-            initiateDeleteTable(request, callbackContext, model);
+            initiateDeleteTable(requestContext, callbackContext, model);
+            callbackContext.setDeleteTableStartedAt(stabilizer.now());
+            callbackContext.setExpectedDeleteMillis(stabilizer.expectedMillis());
+            if (deadline.isNearlyExpired()) {
+                // the deletion is recorded as started, leave checking on it to the next invocation
+                return inProgress(model, callbackContext, stabilizer);
+            }
+            if (! stabilizer.pollInline(() -> isTableDeleted(requestContext, model))) {
+                return inProgress(model, callbackContext, stabilizer);
+            }
+            callbackContext.setDeleteTableStabilized(true);
         }
 
-        if (callbackContext.isDeleteTableStarted() && ! callbackContext.isDeleteTableStabilized()) {
-            return checkDeleteTableStatus(model, callbackContext);
-        } else {
-            return ProgressEvent.<ResourceModel, CallbackContext>builder()
-                    .status(OperationStatus.SUCCESS)
-                    .build();
+        if (! callbackContext.isDeleteTableStabilized()) {
+            if (! isTableDeleted(requestContext, model)) {
+                return inProgress(model, callbackContext, stabilizer);
+            }
+            callbackContext.setDeleteTableStabilized(true);
         }
+
+        stabilizer.recordStabilized(callbackContext.getDeleteTableStartedAt());
+        return ProgressEvent.<ResourceModel, CallbackContext>builder()
+                .status(OperationStatus.SUCCESS)
+                .build();
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> inProgress(
+            ResourceModel model, CallbackContext callbackContext, Stabilizer stabilizer) {
+        return ProgressEvent.<ResourceModel, CallbackContext>builder()
+                .callbackContext(callbackContext)
+                .resourceModel(model)
+                .status(OperationStatus.IN_PROGRESS)
+                .callbackDelaySeconds(stabilizer.callbackDelaySeconds(
+                        callbackContext.getDeleteTableStartedAt(), callbackContext.getExpectedDeleteMillis()))
+                .build();
     }
 
     private void initiateDeleteTable(
-            ResourceHandlerRequest<ResourceModel> request, CallbackContext callbackContext, ResourceModel model) {
+            RequestContext requestContext, CallbackContext callbackContext, ResourceModel model) {
         final DeleteTableRequest deleteTableRequest =
                 new DeleteTableRequest()
                         .withDatabaseName(model.getDatabaseName())
                         .withTableName(model.getTableName());
 
         try {
-            this.proxy.injectCredentialsAndInvoke(deleteTableRequest, timestreamClient::deleteTable);
+            requestContext.invoke(deleteTableRequest, AmazonTimestreamWrite::deleteTable);
         } catch (InternalServerException ex) {
             throw new CfnInternalFailureException(ex);
-        } catch (ThrottlingException ex) {
+        } catch (ThrottlingException | ClientRateLimitedException ex) {
             throw new CfnThrottlingException(DELETE_TABLE, ex);
         } catch (ValidationException | InvalidEndpointException ex) {
-            throw new CfnInvalidRequestException(request.toString(), ex);
+            throw new CfnInvalidRequestException(requestContext.getRequest().toString(), ex);
         } catch (ResourceNotFoundException ex) {
             // could be either database does not exist or table does not exist.
             throw new CfnNotFoundException(ex);
@@ -92,28 +152,18 @@ public class DeleteHandler extends BaseHandler<CallbackContext> {
         callbackContext.setDeleteTableStarted(true);
     }
 
-    private ProgressEvent<ResourceModel, CallbackContext> checkDeleteTableStatus(ResourceModel model,
-            CallbackContext callbackContext) {
+    private boolean isTableDeleted(RequestContext requestContext, ResourceModel model) {
         DescribeTableRequest describeTableRequest = new DescribeTableRequest()
                 .withDatabaseName(model.getDatabaseName())
                 .withTableName(model.getTableName());
 
         try {
-            this.proxy.injectCredentialsAndInvoke(describeTableRequest, timestreamClient::describeTable);
+            requestContext.invoke(describeTableRequest, AmazonTimestreamWrite::describeTable);
         } catch (ResourceNotFoundException ex) {
             // could be either database does not exist or table does not exist.
             // In both cases table is gone and we can return success.
-            return  ProgressEvent.<ResourceModel, CallbackContext>builder()
-                    .status(OperationStatus.SUCCESS)
-                    .build();
+            return true;
         }
-
-        return  ProgressEvent.<ResourceModel, CallbackContext>builder()
-                .callbackContext(callbackContext)
-                .resourceModel(model)
-                .status(OperationStatus.IN_PROGRESS)
-                .callbackDelaySeconds(CALLBACK_DELAY_SECONDS)
-                .build();
-
+        return false;
     }
 }
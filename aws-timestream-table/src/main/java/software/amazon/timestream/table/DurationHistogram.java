@@ -0,0 +1,42 @@
+package software.amazon.timestream.table;
+
+import java.util.Arrays;
+
+/**
+ * Durations of the most recent MAX_SAMPLES operations of one kind, shared by the invocations of the container.
+ */
+final class DurationHistogram {
+
+    static final int MAX_SAMPLES = 64;
+
+    private final long[] samples = new long[MAX_SAMPLES];
+    private int count;
+    private int next;
+
+    synchronized void record(final long millis) {
+        samples[next] = Math.max(0L, millis);
+        next = (next + 1) % MAX_SAMPLES;
+        count = Math.min(MAX_SAMPLES, count + 1);
+    }
+
+    /**
+     * @return the duration below which the given share of the recorded operations completed, 0 if none was recorded.
+     */
+    synchronized long percentile(final double share) {
+        if (count == 0) {
+            return 0L;
+        }
+        final long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        final int index = (int) Math.ceil(share * count) - 1;
+        return sorted[Math.max(0, Math.min(count - 1, index))];
+    }
+
+    synchronized int size() {
+        return count;
+    }
+
+    long median() {
+        return percentile(0.5);
+    }
+}
@@ -1,6 +1,10 @@
 package software.amazon.timestream.table;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import software.amazon.cloudformation.exceptions.CfnAccessDeniedException;
@@ -13,28 +17,65 @@ import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.timestream.table.TableListToken.DatabaseCursor;
 
 import com.amazonaws.services.timestreamwrite.AmazonTimestreamWrite;
 import com.amazonaws.services.timestreamwrite.model.AccessDeniedException;
 import com.amazonaws.services.timestreamwrite.model.InternalServerException;
 import com.amazonaws.services.timestreamwrite.model.InvalidEndpointException;
+import com.amazonaws.services.timestreamwrite.model.ListDatabasesRequest;
+import com.amazonaws.services.timestreamwrite.model.ListDatabasesResult;
 import com.amazonaws.services.timestreamwrite.model.ListTablesRequest;
 import com.amazonaws.services.timestreamwrite.model.ListTablesResult;
+import com.amazonaws.services.timestreamwrite.model.ListTagsForResourceRequest;
+import com.amazonaws.services.timestreamwrite.model.ListTagsForResourceResult;
 import com.amazonaws.services.timestreamwrite.model.ResourceNotFoundException;
+import com.amazonaws.services.timestreamwrite.model.Table;
 import com.amazonaws.services.timestreamwrite.model.ThrottlingException;
 import com.amazonaws.services.timestreamwrite.model.ValidationException;
 
 /**
  * Timestream table resource list handler. CloudFormation invokes this handler when summary
  * information about multiple resources of this resource provider is required.
+ *
+ * The models are built in full from the ListTables records, so that discovery does not have to follow up with a Read
+ * per table; the tags are only listed, a few tables at a time, when TIMESTREAM_LIST_TAGS is set. ListTables may
+ * answer with fewer tables than asked for, in which case the handler goes on to the next page, fetched while the
+ * current one is being converted, until it has a page of the configured size.
+ *
+ * Without a DatabaseName, the handler lists the tables of all databases: it pages through ListDatabases as it goes and
+ * lists a page of tables in up to TIMESTREAM_LIST_DATABASE_CONCURRENCY databases at once, merged in the order
+ * ListDatabases returned the databases. Its next token is then a TableListToken, recording the position in
+ * ListDatabases and the ListTables next token of each database not yet listed to the end.
  */
 public class ListHandler extends BaseHandler<CallbackContext> {
 
-    private static final int MAX_ITEMS = 10;
+    /**
+     * The most tables ListTables returns at once.
+     */
+    static final int MAX_PAGE_SIZE = 20;
+    static final int DEFAULT_TAG_CONCURRENCY = 4;
+    static final int DEFAULT_DATABASE_CONCURRENCY = 4;
     private static final String LIST_TABLES = "ListTables";
     private static final String DATABASE = "AWS::Timestream::Database";
-    private AmazonWebServicesClientProxy proxy;
-    private AmazonTimestreamWrite timestreamClient;
+
+    private final int pageSize;
+    private final boolean listTags;
+    private final int tagConcurrency;
+    private final int databaseConcurrency;
+
+    public ListHandler() {
+        this(Configuration.listPageSize(), Configuration.listTags(), Configuration.listTagsConcurrency(),
+                Configuration.listDatabaseConcurrency());
+        RuntimeHooks.init();
+    }
+
+    ListHandler(final int pageSize, final boolean listTags, final int tagConcurrency, final int databaseConcurrency) {
+        this.pageSize = pageSize;
+        this.listTags = listTags;
+        this.tagConcurrency = tagConcurrency;
+        this.databaseConcurrency = databaseConcurrency;
+    }
 
     @Override
     public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
@@ -43,46 +84,205 @@ public class ListHandler extends BaseHandler<CallbackContext> {
         final CallbackContext callbackContext,
         final Logger logger) {
 
-        timestreamClient = TimestreamClientFactory.get(proxy, logger);
-        this.proxy = proxy;
-
-        ListTablesResult result;
-        final ListTablesRequest listTablesRequest =
-                new ListTablesRequest()
-                        .withDatabaseName(request.getDesiredResourceState().getDatabaseName())
-                        .withNextToken(request.getNextToken())
-                        .withMaxResults(MAX_ITEMS);
+        final RequestContext requestContext =
+                RequestContext.of(proxy, request, callbackContext, Deadline.start(), logger);
+        final ResourceModel model = request.getDesiredResourceState();
+        final String databaseName = model == null ? null : model.getDatabaseName();
 
         try {
-            result = this.proxy.injectCredentialsAndInvoke(listTablesRequest, timestreamClient::listTables);
+            return databaseName == null
+                    ? listAllTables(requestContext, request.getNextToken())
+                    : listTables(requestContext, databaseName, request.getNextToken());
+        } catch (IllegalArgumentException ex) {
+            // a next token not issued by this handler
+            throw new CfnInvalidRequestException(request.toString(), ex);
         } catch(InternalServerException ex) {
             throw new CfnInternalFailureException(ex);
-        } catch (ThrottlingException ex) {
+        } catch (ThrottlingException | ClientRateLimitedException ex) {
             throw new CfnThrottlingException(LIST_TABLES, ex);
         } catch (ValidationException | InvalidEndpointException ex) {
             throw new CfnInvalidRequestException(request.toString(), ex);
         } catch (ResourceNotFoundException ex) {
-            throw new CfnNotFoundException(DATABASE, request.getDesiredResourceState().getDatabaseName(), ex);
+            throw new CfnNotFoundException(DATABASE, databaseName, ex);
         } catch (AccessDeniedException ex) {
             throw new CfnAccessDeniedException(LIST_TABLES, ex);
         }
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> listTables(
+            final RequestContext requestContext,
+            final String databaseName,
+            final String firstToken) {
+        final List<ResourceModel> models = new ArrayList<>();
+        Future<ListTablesResult> nextPage = null;
+        try {
+            ListTablesResult page = listTables(requestContext, databaseName, firstToken, pageSize);
+            while (true) {
+                final String nextToken = page.getNextToken();
+                final int missing = pageSize - models.size() - page.getTables().size();
+                if (nextToken != null && missing > 0 && !requestContext.getDeadline().isNearlyExpired()) {
+                    nextPage = FanOut.fork(() -> listTables(requestContext, databaseName, nextToken, missing));
+                }
+
+                models.addAll(toModels(requestContext, page.getTables()));
+
+                if (nextPage == null) {
+                    return success(models, nextToken);
+                }
+                page = FanOut.join(nextPage);
+                nextPage = null;
+            }
+        } finally {
+            if (nextPage != null) {
+                nextPage.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * Lists a page of tables in each of the next databaseConcurrency databases at once, the tables merged in database
+     * order, so that each invocation carries the listing on where the previous one stopped.
+     */
+    private ProgressEvent<ResourceModel, CallbackContext> listAllTables(
+            final RequestContext requestContext,
+            final String firstToken) {
+        final TableListToken token = TableListToken.decode(firstToken);
+        final List<DatabaseCursor> databases = new ArrayList<>(token.getDatabases());
+        String databasesNextToken = token.getDatabasesNextToken();
+        boolean databasesListed = token.isDatabasesListed();
+        while (databases.size() < databaseConcurrency && !databasesListed) {
+            final ListDatabasesResult page = requestContext.invoke(
+                    new ListDatabasesRequest().withNextToken(databasesNextToken).withMaxResults(MAX_PAGE_SIZE),
+                    AmazonTimestreamWrite::listDatabases);
+            page.getDatabases().forEach(database ->
+                    databases.add(DatabaseCursor.builder().databaseName(database.getDatabaseName()).build()));
+            databasesNextToken = page.getNextToken();
+            databasesListed = databasesNextToken == null;
+        }
+
+        final List<DatabaseCursor> round = new ArrayList<>(
+                databases.subList(0, Math.min(databaseConcurrency, databases.size())));
+        final List<Future<ListTablesResult>> pages = new ArrayList<>();
+        final List<ResourceModel> models = new ArrayList<>();
+        try {
+            round.forEach(database -> pages.add(FanOut.fork(() -> listTablesIfExists(requestContext, database))));
+            for (int i = 0; i < round.size(); i++) {
+                final ListTablesResult page = FanOut.join(pages.get(i));
+                models.addAll(toModels(requestContext, page.getTables()));
+                final int position = databases.indexOf(round.get(i));
+                if (page.getNextToken() == null) {
+                    databases.remove(position);
+                } else {
+                    databases.set(position, DatabaseCursor.builder()
+                            .databaseName(round.get(i).getDatabaseName())
+                            .nextToken(page.getNextToken())
+                            .build());
+                }
+            }
+        } finally {
+            pages.forEach(page -> page.cancel(true));
+        }
+
+        return success(models, TableListToken.builder()
+                .databasesListed(databasesListed)
+                .databasesNextToken(databasesNextToken)
+                .databases(databases)
+                .build()
+                .encode());
+    }
 
-        final List<ResourceModel> models =
-                result
-                        .getTables()
-                        .stream()
-                        .map(record ->
-                                ResourceModel.builder()
-                                        .databaseName(record.getDatabaseName())
-                                        .tableName(record.getTableName())
-                                        .retentionProperties(RetentionPropertiesModelConverter.convert(record.getRetentionProperties()))
-                                        .build())
-                        .collect(Collectors.toList());
+    /**
+     * @return the next page of tables of the database, or no tables if it was deleted since it was listed.
+     */
+    private ListTablesResult listTablesIfExists(final RequestContext requestContext, final DatabaseCursor database) {
+        try {
+            return listTables(requestContext, database.getDatabaseName(), database.getNextToken(), pageSize);
+        } catch (ResourceNotFoundException ex) {
+            return new ListTablesResult().withTables(Collections.emptyList());
+        }
+    }
 
+    private static ProgressEvent<ResourceModel, CallbackContext> success(
+            final List<ResourceModel> models,
+            final String nextToken) {
         return ProgressEvent.<ResourceModel, CallbackContext>builder()
             .resourceModels(models)
-            .nextToken(result.getNextToken())
+            .nextToken(nextToken)
             .status(OperationStatus.SUCCESS)
             .build();
     }
+
+    private static ListTablesResult listTables(
+            final RequestContext requestContext,
+            final String databaseName,
+            final String nextToken,
+            final int maxResults) {
+        final ListTablesRequest listTablesRequest =
+                new ListTablesRequest()
+                        .withDatabaseName(databaseName)
+                        .withNextToken(nextToken)
+                        .withMaxResults(maxResults);
+        return requestContext.invoke(listTablesRequest, AmazonTimestreamWrite::listTables);
+    }
+
+    private List<ResourceModel> toModels(final RequestContext requestContext, final List<Table> records) {
+        final List<ResourceModel> models = records.stream().map(ListHandler::toModel).collect(Collectors.toList());
+        if (listTags) {
+            fillInTags(requestContext, models);
+        }
+        return models;
+    }
+
+    static ResourceModel toModel(final Table record) {
+        return ResourceModel.builder()
+                .arn(record.getArn())
+                .name(record.getTableName())
+                .databaseName(record.getDatabaseName())
+                .tableName(record.getTableName())
+                .retentionProperties(RetentionPropertiesModelConverter.convert(record.getRetentionProperties()))
+                .magneticStoreWriteProperties(
+                        MagneticStoreWritePropertiesModelConverter.convert(record.getMagneticStoreWriteProperties()))
+                .build();
+    }
+
+    /**
+     * Lists the tags of the tables with no more than tagConcurrency calls at a time, each forked worker taking the
+     * next table until none is left.
+     */
+    private void fillInTags(final RequestContext requestContext, final List<ResourceModel> models) {
+        final AtomicInteger nextIndex = new AtomicInteger();
+        final List<Future<Void>> workers = new ArrayList<>();
+        try {
+            for (int i = 0; i < Math.min(tagConcurrency, models.size()); i++) {
+                workers.add(FanOut.fork(() -> {
+                    for (int index = nextIndex.getAndIncrement(); index < models.size();
+                            index = nextIndex.getAndIncrement()) {
+                        fillInTags(requestContext, models.get(index));
+                    }
+                    return null;
+                }));
+            }
+            workers.forEach(FanOut::join);
+        } finally {
+            workers.forEach(worker -> worker.cancel(true));
+        }
+    }
+
+    private static void fillInTags(final RequestContext requestContext, final ResourceModel model) {
+        final ListTagsForResourceResult listTagsForResourceResult;
+        try {
+            listTagsForResourceResult = requestContext.invoke(
+                    new ListTagsForResourceRequest().withResourceARN(model.getArn()),
+                    AmazonTimestreamWrite::listTagsForResource);
+        } catch (ResourceNotFoundException ex) {
+            // the table was deleted since it was listed, there are no tags to tell
+            return;
+        }
+        if (listTagsForResourceResult.getTags() == null || listTagsForResourceResult.getTags().isEmpty()) {
+            return;
+        }
+        model.setTags(listTagsForResourceResult.getTags().stream()
+                .map(tag -> Tag.builder().key(tag.getKey()).value(tag.getValue()).build())
+                .collect(Collectors.toList()));
+    }
 }
@@ -1,6 +1,7 @@
 package software.amazon.timestream.table;
 
 import java.util.List;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 import software.amazon.cloudformation.exceptions.CfnAccessDeniedException;
@@ -30,8 +31,10 @@ import com.amazonaws.services.timestreamwrite.model.ValidationException;
 public class ReadHandler extends BaseHandler<CallbackContext> {
 
     private static final String DESCRIBE_TABLE = "DescribeTable";
-    private AmazonWebServicesClientProxy proxy;
-    private AmazonTimestreamWrite timestreamClient;
+
+    public ReadHandler() {
+        RuntimeHooks.init();
+    }
 
     @Override
     public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
@@ -40,8 +43,8 @@ public class ReadHandler extends BaseHandler<CallbackContext> {
         final CallbackContext callbackContext,
         final Logger logger) {
 
-        timestreamClient = TimestreamClientFactory.get(proxy, logger);
-        this.proxy = proxy;
+        final RequestContext requestContext =
+                RequestContext.of(proxy, request, callbackContext, Deadline.start(), logger);
 
         ResourceModel result;
         final ResourceModel model = request.getDesiredResourceState();
@@ -49,15 +52,27 @@ public class ReadHandler extends BaseHandler<CallbackContext> {
                 new DescribeTableRequest().withDatabaseName(model.getDatabaseName()).withTableName(
                         model.getTableName());
 
+        // with the ARN known up front, the tags are listed while the table is described
+        final String expectedArn =
+                Arns.table(request.getAwsAccountId(), model.getDatabaseName(), model.getTableName());
+        final Future<List<Tag>> expectedTags =
+                expectedArn == null ? null : FanOut.fork(() -> getTags(requestContext, expectedArn));
+
         try {
             final DescribeTableResult describeTableResult =
-                    this.proxy.injectCredentialsAndInvoke(describeTableRequest, timestreamClient::describeTable);
+                    requestContext.invoke(describeTableRequest, AmazonTimestreamWrite::describeTable);
 
             final Table tableRecord = describeTableResult.getTable();
-            final List<Tag> tags = getTags(tableRecord.getArn());
+            final List<Tag> tags = getTags(requestContext, tableRecord.getArn(), expectedArn, expectedTags);
             model.setTags(tags == null || tags.isEmpty() ? null : tags);
             model.setArn(tableRecord.getArn());
             model.setName(tableRecord.getTableName());
+            model.setDatabaseName(tableRecord.getDatabaseName());
+            model.setTableName(tableRecord.getTableName());
+            model.setRetentionProperties(
+                    RetentionPropertiesModelConverter.convert(tableRecord.getRetentionProperties()));
+            model.setMagneticStoreWriteProperties(
+                    MagneticStoreWritePropertiesModelConverter.convert(tableRecord.getMagneticStoreWriteProperties()));
             result = model;
         } catch (ResourceNotFoundException ex) {
             // could be either database does not exist or table does not exist.
@@ -66,10 +81,14 @@ public class ReadHandler extends BaseHandler<CallbackContext> {
             throw new CfnInvalidRequestException(request.toString(), ex);
         } catch (AccessDeniedException ex) {
             throw new CfnAccessDeniedException(DESCRIBE_TABLE, ex);
-        } catch (ThrottlingException ex) {
+        } catch (ThrottlingException | ClientRateLimitedException ex) {
             throw new CfnThrottlingException(DESCRIBE_TABLE, ex);
         } catch (InternalServerException ex) {
             throw new CfnInternalFailureException(ex);
+        } finally {
+            if (expectedTags != null) {
+                expectedTags.cancel(true);
+            }
         }
 
         return ProgressEvent.<ResourceModel, CallbackContext>builder()
@@ -78,12 +97,32 @@ public class ReadHandler extends BaseHandler<CallbackContext> {
             .build();
     }
 
-    private List<Tag> getTags(final String arn) {
+    /**
+     * @return the tags listed while the table was described, unless the ARN they were listed for is not the actual one.
+     */
+    private List<Tag> getTags(
+            final RequestContext requestContext,
+            final String arn,
+            final String expectedArn,
+            final Future<List<Tag>> expectedTags) {
+        if (expectedTags == null) {
+            return getTags(requestContext, arn);
+        }
+        if (!arn.equals(expectedArn)) {
+            expectedTags.cancel(true);
+            requestContext.getLogger().log("Table ARN " + arn + " differs from the synthesized " + expectedArn
+                    + ", listing its tags again\n");
+            return getTags(requestContext, arn);
+        }
+        return FanOut.join(expectedTags);
+    }
+
+    private List<Tag> getTags(final RequestContext requestContext, final String arn) {
         final ListTagsForResourceRequest listTagsForResourceRequest =
                 new ListTagsForResourceRequest().withResourceARN(arn);
         final ListTagsForResourceResult listTagsForResourceResult =
-                this.proxy.injectCredentialsAndInvoke(
-                        listTagsForResourceRequest, timestreamClient::listTagsForResource);
+                requestContext.invoke(
+                        listTagsForResourceRequest, AmazonTimestreamWrite::listTagsForResource);
 
         if (listTagsForResourceResult.getTags() == null) {
             return null;
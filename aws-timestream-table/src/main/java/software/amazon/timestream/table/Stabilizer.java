@@ -0,0 +1,109 @@
+package software.amazon.timestream.table;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Waits for a resource operation to stabilize, in two phases.
+ *
+ * Most operations settle within seconds, so the first phase polls inline, starting FIRST_POLL_DELAY_MILLIS after
+ * the first poll and doubling the delay up to MAX_POLL_DELAY_MILLIS, for at most MAX_INLINE_MILLIS and only as
+ * long as the deadline of the invocation leaves room for another poll. After that the handler returns IN_PROGRESS
+ * and polls once per callback, with callback delays sized from how long the operation has been running and how long
+ * recent ones took. The expected duration is taken from the container-wide DurationHistogram when the operation
+ * starts and kept in the callback context, as the callbacks may land in other containers.
+ */
+final class Stabilizer {
+
+    static final long FIRST_POLL_DELAY_MILLIS = 500L;
+    static final long MAX_POLL_DELAY_MILLIS = 4_000L;
+    static final long MAX_INLINE_MILLIS = 20_000L;
+    // without any recorded duration to go by
+    static final int DEFAULT_CALLBACK_DELAY_SECONDS = 15;
+    static final int MIN_CALLBACK_DELAY_SECONDS = 5;
+    static final int MAX_CALLBACK_DELAY_SECONDS = 60;
+
+    private final Deadline deadline;
+    private final DurationHistogram history;
+    private final LongSupplier clock;
+    private final ThrottlingRetry.Sleeper sleeper;
+
+    Stabilizer(final Deadline deadline, final DurationHistogram history) {
+        this(deadline, history, System::currentTimeMillis, Thread::sleep);
+    }
+
+    Stabilizer(
+            final Deadline deadline,
+            final DurationHistogram history,
+            final LongSupplier clock,
+            final ThrottlingRetry.Sleeper sleeper) {
+        this.deadline = deadline;
+        this.history = history;
+        this.clock = clock;
+        this.sleeper = sleeper;
+    }
+
+    /**
+     * @return the start time to record for an operation that starts now, in epoch milliseconds.
+     */
+    long now() {
+        return clock.getAsLong();
+    }
+
+    /**
+     * @return how long recent operations took to stabilize, 0 if unknown.
+     */
+    long expectedMillis() {
+        return history.median();
+    }
+
+    /**
+     * Polls until the operation is stabilized or the inline phase is over.
+     *
+     * @return true once stabilized, false when the rest is left to callbacks.
+     */
+    boolean pollInline(final BooleanSupplier stabilized) {
+        final long inlineUntil = clock.getAsLong() + MAX_INLINE_MILLIS;
+        for (long delay = FIRST_POLL_DELAY_MILLIS; ; delay = Math.min(MAX_POLL_DELAY_MILLIS, 2 * delay)) {
+            if (stabilized.getAsBoolean()) {
+                return true;
+            }
+            if (clock.getAsLong() + delay > inlineUntil
+                    || deadline.remainingMillis() - delay < Deadline.RESERVE_MILLIS + ThrottlingRetry.MIN_CALL_MILLIS) {
+                return false;
+            }
+            try {
+                sleeper.sleep(delay);
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Records the duration of an operation started at the given time, which just stabilized.
+     */
+    void recordStabilized(final long startedAt) {
+        if (startedAt > 0) {
+            history.record(clock.getAsLong() - startedAt);
+        }
+    }
+
+    /**
+     * @return the delay until the next poll of an operation started at the given time and expected to take
+     *         expectedMillis: what is left of the expected duration, or a quarter of the time spent so far once the
+     *         operation is overdue.
+     */
+    int callbackDelaySeconds(final long startedAt, final long expectedMillis) {
+        if (startedAt <= 0 || expectedMillis <= 0) {
+            return DEFAULT_CALLBACK_DELAY_SECONDS;
+        }
+        final long elapsed = Math.max(0L, clock.getAsLong() - startedAt);
+        final long remaining = expectedMillis - elapsed;
+        final long delayMillis = remaining > 0 ? remaining : elapsed / 4;
+        final long delaySeconds = (delayMillis + TimeUnit.SECONDS.toMillis(1) - 1) / TimeUnit.SECONDS.toMillis(1);
+        return (int) Math.max(MIN_CALLBACK_DELAY_SECONDS, Math.min(MAX_CALLBACK_DELAY_SECONDS, delaySeconds));
+    }
+}
@@ -0,0 +1,95 @@
+package software.amazon.timestream.table;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+
+import lombok.Builder;
+import lombok.Value;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonPOJOBuilder;
+
+/**
+ * The next token of a table listing across all databases, recording how far the listing got: where ListDatabases is
+ * to carry on, and, in the order ListDatabases returned them, the databases whose tables are still to be listed
+ * together with the ListTables next token of each. It is handed to CloudFormation as URL safe Base64 of its JSON.
+ */
+@Value
+@Builder(builderClassName = "TableListTokenBuilder")
+@JsonDeserialize(builder = TableListToken.TableListTokenBuilder.class)
+class TableListToken {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /**
+     * Whether ListDatabases has been paged through to the end.
+     */
+    boolean databasesListed;
+    String databasesNextToken;
+    List<DatabaseCursor> databases;
+
+    /**
+     * @return the token to start a listing with, when CloudFormation passes none.
+     */
+    static TableListToken start() {
+        return TableListToken.builder().databases(Collections.emptyList()).build();
+    }
+
+    /**
+     * @return the token decoded, or the start of a listing for null.
+     * @throws IllegalArgumentException if the token was not issued by encode.
+     */
+    static TableListToken decode(final String nextToken) {
+        if (nextToken == null) {
+            return start();
+        }
+        try {
+            final TableListToken token =
+                    MAPPER.readValue(Base64.getUrlDecoder().decode(nextToken), TableListToken.class);
+            if (token.getDatabases() == null) {
+                throw new IllegalArgumentException("Malformed next token " + nextToken);
+            }
+            return token;
+        } catch (final IOException ex) {
+            throw new IllegalArgumentException("Malformed next token " + nextToken, ex);
+        }
+    }
+
+    /**
+     * @return the token encoded, or null once the listing is done.
+     */
+    String encode() {
+        if (databasesListed && databases.isEmpty()) {
+            return null;
+        }
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(MAPPER.writeValueAsBytes(this));
+        } catch (final IOException ex) {
+            throw new IllegalStateException("Failed to encode next token", ex);
+        }
+    }
+
+    @JsonPOJOBuilder(withPrefix = "")
+    static class TableListTokenBuilder {
+    }
+
+    /**
+     * A database whose tables are still to be listed, and the ListTables next token to carry on with, null for its
+     * first page.
+     */
+    @Value
+    @Builder(builderClassName = "DatabaseCursorBuilder")
+    @JsonDeserialize(builder = DatabaseCursor.DatabaseCursorBuilder.class)
+    static class DatabaseCursor {
+        String databaseName;
+        String nextToken;
+
+        @JsonPOJOBuilder(withPrefix = "")
+        static class DatabaseCursorBuilder {
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package software.amazon.timestream.table;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+/**
+ * The calls a table update takes, worked out from the previous and the desired resource state so that nothing that
+ * is in place already is sent again:
+ *
+ * - UpdateTable, only when the retention or the magnetic store write properties change, down to the S3
+ *   configuration of the rejected data location. A property left out of the desired state is no change, as
+ *   UpdateTable leaves what it is not sent as it is.
+ * - DescribeTable, only to learn the ARN to tag when UpdateTable is not called and the ARN is not known otherwise,
+ *   or when no other call is made, so that an update of a table that is gone fails as not found.
+ * - UntagResource and TagResource, only for the tags that differ.
+ *
+ * An update of the tags alone thus leaves the table itself untouched. Without a previous resource state, every
+ * property and tag set in the desired state is taken as changed. The calls are named after the steps of the update,
+ * in the order they are to run.
+ */
+final class TableUpdatePlan {
+
+    static final String UPDATE_TABLE = "UpdateTable";
+    static final String DESCRIBE_TABLE = "DescribeTable";
+    static final String UNTAG_RESOURCE = "UntagResource";
+    static final String TAG_RESOURCE = "TagResource";
+
+    private final List<String> calls;
+    private final Set<Tag> tagsToAdd;
+    private final Set<String> tagsToRemove;
+
+    private TableUpdatePlan(final List<String> calls, final Set<Tag> tagsToAdd, final Set<String> tagsToRemove) {
+        this.calls = Collections.unmodifiableList(calls);
+        this.tagsToAdd = tagsToAdd;
+        this.tagsToRemove = tagsToRemove;
+    }
+
+    /**
+     * @param knownArn the ARN of the table if known without asking the service, or else null.
+     */
+    static TableUpdatePlan of(final ResourceHandlerRequest<ResourceModel> request, final String knownArn) {
+        final Map<String, String> desiredTags = TagHelper.getNewDesiredTags(request.getDesiredResourceState(), request);
+        final Map<String, String> previousTags = TagHelper.getPreviouslyAttachedTags(request);
+        final Set<Tag> tagsToAdd = TagHelper.convertToSet(TagHelper.generateTagsToAdd(previousTags, desiredTags));
+        final Set<String> tagsToRemove = TagHelper.generateTagsToRemove(previousTags, desiredTags);
+
+        final List<String> calls = new ArrayList<>();
+        final boolean updatesTable =
+                updatesTable(request.getPreviousResourceState(), request.getDesiredResourceState());
+        if (updatesTable) {
+            calls.add(UPDATE_TABLE);
+        }
+        final boolean updatesTags = !tagsToRemove.isEmpty() || !tagsToAdd.isEmpty();
+        if (!updatesTable && (knownArn == null || !updatesTags)) {
+            calls.add(DESCRIBE_TABLE);
+        }
+        if (!tagsToRemove.isEmpty()) {
+            calls.add(UNTAG_RESOURCE);
+        }
+        if (!tagsToAdd.isEmpty()) {
+            calls.add(TAG_RESOURCE);
+        }
+        return new TableUpdatePlan(calls, tagsToAdd, tagsToRemove);
+    }
+
+    static boolean updatesTable(final ResourceModel previous, final ResourceModel desired) {
+        if (previous == null) {
+            return desired.getRetentionProperties() != null || desired.getMagneticStoreWriteProperties() != null;
+        }
+        return changes(previous.getRetentionProperties(), desired.getRetentionProperties())
+                || changes(previous.getMagneticStoreWriteProperties(), desired.getMagneticStoreWriteProperties());
+    }
+
+    private static boolean changes(final Object previous, final Object desired) {
+        // the generated property classes compare by value, nested properties included
+        return desired != null && !Objects.equals(previous, desired);
+    }
+
+    List<String> getCalls() {
+        return calls;
+    }
+
+    Set<Tag> getTagsToAdd() {
+        return tagsToAdd;
+    }
+
+    Set<String> getTagsToRemove() {
+        return tagsToRemove;
+    }
+}
@@ -101,7 +101,9 @@ public class TagHelper {
         final Map<String, String> previousTags = handlerRequest.getPreviousResourceTags() != null ?
                 handlerRequest.getPreviousResourceTags() : new HashMap<>();
 
-        previousTags.putAll(convertToMap(handlerRequest.getPreviousResourceState().getTags()));
+        if (handlerRequest.getPreviousResourceState() != null) {
+            previousTags.putAll(convertToMap(handlerRequest.getPreviousResourceState().getTags()));
+        }
         return previousTags;
     }
 
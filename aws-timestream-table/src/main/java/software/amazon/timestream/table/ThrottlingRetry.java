@@ -0,0 +1,162 @@
+package software.amazon.timestream.table;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import software.amazon.cloudformation.proxy.Logger;
+
+import com.amazonaws.services.timestreamwrite.model.ThrottlingException;
+
+/**
+ * Client side retry of throttled Timestream calls, for a single handler invocation.
+ *
+ * A ThrottlingException that reaches the handler is turned into CfnThrottlingException, after which CloudFormation
+ * backs off for long and runs the whole handler again. Throttled calls are therefore retried here first, with full
+ * jitter exponential backoff, as long as
+ * - the invocation has retries left, at most MAX_RETRIES_PER_INVOCATION across all of its calls,
+ * - the deadline of the invocation leaves room for the backoff and the call, and
+ * - the token bucket shared by every invocation in the container has a token left. Each throttle halves the
+ *   capacity of the bucket and each successful call grows it back, so that a container that keeps being throttled
+ *   stops adding load and leaves backing off to CloudFormation.
+ */
+final class ThrottlingRetry {
+
+    static final int MAX_RETRIES_PER_INVOCATION = 4;
+    static final long BASE_BACKOFF_MILLIS = 100L;
+    static final long MAX_BACKOFF_MILLIS = 2_000L;
+    // a retry is only worth it if the call still gets at least this long before the deadline reserve
+    static final long MIN_CALL_MILLIS = 1_000L;
+
+    private final Deadline deadline;
+    private final TokenBucket bucket;
+    private final DoubleSupplier jitter;
+    private final Sleeper sleeper;
+    private final Logger logger;
+    private int retriesLeft = MAX_RETRIES_PER_INVOCATION;
+
+    ThrottlingRetry(final Deadline deadline, final Logger logger) {
+        this(deadline, TokenBucket.getInstance(), () -> ThreadLocalRandom.current().nextDouble(), Thread::sleep, logger);
+    }
+
+    ThrottlingRetry(
+            final Deadline deadline,
+            final TokenBucket bucket,
+            final DoubleSupplier jitter,
+            final Sleeper sleeper,
+            final Logger logger) {
+        this.deadline = deadline;
+        this.bucket = bucket;
+        this.jitter = jitter;
+        this.sleeper = sleeper;
+        this.logger = logger;
+    }
+
+    <ResultT> ResultT call(final Supplier<ResultT> call) {
+        for (int attempt = 0; ; attempt++) {
+            try {
+                final ResultT result = call.get();
+                bucket.onSuccess();
+                return result;
+            } catch (final ThrottlingException ex) {
+                bucket.onThrottle();
+                final long backoff = backoffMillis(attempt);
+                if (!mayRetry(backoff)) {
+                    throw ex;
+                }
+                logger.log("Throttled, retrying in " + backoff + " ms\n");
+                try {
+                    sleeper.sleep(backoff);
+                } catch (final InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw ex;
+                }
+            }
+        }
+    }
+
+    long backoffMillis(final int attempt) {
+        final long ceiling = Math.min(MAX_BACKOFF_MILLIS, BASE_BACKOFF_MILLIS << Math.min(attempt, 20));
+        return (long) (jitter.getAsDouble() * ceiling);
+    }
+
+    private synchronized boolean mayRetry(final long backoff) {
+        if (retriesLeft <= 0
+                || deadline.remainingMillis() - backoff < Deadline.RESERVE_MILLIS + MIN_CALL_MILLIS
+                || !bucket.tryAcquire()) {
+            return false;
+        }
+        retriesLeft--;
+        return true;
+    }
+
+    @FunctionalInterface
+    interface Sleeper {
+        void sleep(long millis) throws InterruptedException;
+    }
+
+    /**
+     * Retry tokens shared by the invocations of the container. Tokens refill over time up to the capacity, which
+     * halves on every throttle, down to MIN_CAPACITY, and grows back by CAPACITY_GROWTH on every successful call.
+     */
+    static final class TokenBucket {
+
+        static final double MAX_CAPACITY = 20;
+        static final double MIN_CAPACITY = 1;
+        static final double CAPACITY_GROWTH = 0.5;
+        static final double REFILL_PER_SECOND = 1;
+
+        private static final TokenBucket INSTANCE = new TokenBucket(System::nanoTime);
+
+        private final LongSupplier nanoClock;
+        private double capacity = MAX_CAPACITY;
+        private double tokens = MAX_CAPACITY;
+        private long refilledAt;
+
+        TokenBucket(final LongSupplier nanoClock) {
+            this.nanoClock = nanoClock;
+            this.refilledAt = nanoClock.getAsLong();
+        }
+
+        static TokenBucket getInstance() {
+            return INSTANCE;
+        }
+
+        synchronized boolean tryAcquire() {
+            refill();
+            if (tokens < 1) {
+                return false;
+            }
+            tokens -= 1;
+            return true;
+        }
+
+        synchronized void onThrottle() {
+            capacity = Math.max(MIN_CAPACITY, capacity / 2);
+            tokens = Math.min(tokens, capacity);
+        }
+
+        synchronized void onSuccess() {
+            capacity = Math.min(MAX_CAPACITY, capacity + CAPACITY_GROWTH);
+        }
+
+        synchronized double capacity() {
+            return capacity;
+        }
+
+        synchronized void reset() {
+            capacity = MAX_CAPACITY;
+            tokens = MAX_CAPACITY;
+            refilledAt = nanoClock.getAsLong();
+        }
+
+        private void refill() {
+            final long now = nanoClock.getAsLong();
+            final double elapsedSeconds = (now - refilledAt) / (double) TimeUnit.SECONDS.toNanos(1);
+            tokens = Math.min(capacity, tokens + elapsedSeconds * REFILL_PER_SECOND);
+            refilledAt = now;
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package software.amazon.timestream.table;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import lombok.Value;
+
+import com.amazonaws.services.timestreamwrite.AmazonTimestreamWrite;
+
+/**
+ * Bounded, process-wide registry of Timestream write clients, keyed by region, endpoint and client profile.
+ *
+ * Clients do not carry any credentials, the caller credentials are injected per request by
+ * AmazonWebServicesClientProxy.injectCredentialsAndInvoke, so the same client and its pool of kept-alive
+ * connections can be shared by every invocation the container serves. Clients idle for longer than
+ * IDLE_TIMEOUT_MILLIS, or beyond MAX_CLIENTS in least recently used order, are evicted and shut down.
+ *
+ * A client is borrowed by get until handed back with release, as concurrent invocations, hedged attempts and
+ * failovers may still be using a client when it is evicted. A client evicted beyond MAX_CLIENTS, or for its
+ * endpoint, is only shut down once the last borrower released it. A client idle for longer than
+ * IDLE_TIMEOUT_MILLIS is shut down right away, no call lasts as long as that.
+ */
+final class TimestreamClientRegistry {
+
+    static final int MAX_CLIENTS = 8;
+    static final long IDLE_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(15);
+
+    private static final TimestreamClientRegistry INSTANCE = new TimestreamClientRegistry(System::currentTimeMillis);
+
+    private final Map<Key, RegisteredClient> clients = new LinkedHashMap<>(MAX_CLIENTS, 0.75f, true);
+    /**
+     * The clients evicted while still borrowed, until they are released.
+     */
+    private final Map<AmazonTimestreamWrite, RegisteredClient> retired = new IdentityHashMap<>();
+    private final LongSupplier clock;
+
+    TimestreamClientRegistry(final LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    static TimestreamClientRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * The client is built outside of the lock of the registry, building one takes long enough to hold up every other
+     * invocation. Should a concurrent invocation register a client for the same key meanwhile, that one is used and
+     * the one just built is shut down again.
+     *
+     * @param endpoint the endpoint the client is bound to, or null for the regional discovery client.
+     * @return the registered client for the region, endpoint and profile, building it if there is none yet, to be
+     *         handed back with release once the call made with it is done.
+     */
+    AmazonTimestreamWrite get(
+            final String region,
+            final String endpoint,
+            final ClientProfile profile,
+            final Supplier<AmazonTimestreamWrite> builder) {
+        final Key key = new Key(region, endpoint, profile);
+        final AmazonTimestreamWrite registered = borrow(key, null);
+        if (registered != null) {
+            return registered;
+        }
+        final AmazonTimestreamWrite built = builder.get();
+        final AmazonTimestreamWrite client = borrow(key, built);
+        if (client != built) {
+            built.shutdown();
+        }
+        return client;
+    }
+
+    /**
+     * @param built the client to register if there is none for the key yet, or null to borrow a registered one only.
+     * @return the client borrowed, or null if there is none for the key and none was built.
+     */
+    private AmazonTimestreamWrite borrow(final Key key, final AmazonTimestreamWrite built) {
+        final List<AmazonTimestreamWrite> evicted = new ArrayList<>();
+        final AmazonTimestreamWrite client;
+        synchronized (clients) {
+            final long now = clock.getAsLong();
+            final Iterator<RegisteredClient> iterator = clients.values().iterator();
+            while (iterator.hasNext()) {
+                final RegisteredClient registered = iterator.next();
+                if (now - registered.lastUsed > IDLE_TIMEOUT_MILLIS) {
+                    evicted.add(registered.client);
+                    iterator.remove();
+                }
+            }
+
+            RegisteredClient registered = clients.get(key);
+            if (registered == null && built != null) {
+                registered = new RegisteredClient(built, now);
+                clients.put(key, registered);
+            }
+            if (registered == null) {
+                client = null;
+            } else {
+                registered.lastUsed = now;
+                registered.borrowers++;
+                client = registered.client;
+            }
+
+            final Iterator<RegisteredClient> eldest = clients.values().iterator();
+            while (clients.size() > MAX_CLIENTS) {
+                retire(eldest.next(), evicted);
+                eldest.remove();
+            }
+        }
+
+        evicted.forEach(AmazonTimestreamWrite::shutdown);
+        return client;
+    }
+
+    /**
+     * Hands back a client borrowed by get, shutting it down if it was evicted meanwhile and this was its last borrower.
+     */
+    void release(final AmazonTimestreamWrite client) {
+        synchronized (clients) {
+            final RegisteredClient registered = clients.values().stream()
+                    .filter(candidate -> candidate.client == client)
+                    .findFirst()
+                    .orElse(retired.get(client));
+            if (registered == null || registered.borrowers == 0) {
+                return;
+            }
+            registered.borrowers--;
+            if (registered.borrowers > 0 || retired.remove(client) == null) {
+                return;
+            }
+        }
+        client.shutdown();
+    }
+
+    /**
+     * Removes the clients bound to the endpoint, e.g. once the endpoint is known to be stale, and shuts them down once
+     * no longer borrowed.
+     */
+    void evict(final String region, final String endpoint) {
+        final List<AmazonTimestreamWrite> evicted = new ArrayList<>();
+        synchronized (clients) {
+            final Iterator<Map.Entry<Key, RegisteredClient>> iterator = clients.entrySet().iterator();
+            while (iterator.hasNext()) {
+                final Map.Entry<Key, RegisteredClient> entry = iterator.next();
+                if (entry.getKey().getRegion().equals(region) && Objects.equals(entry.getKey().getEndpoint(), endpoint)) {
+                    retire(entry.getValue(), evicted);
+                    iterator.remove();
+                }
+            }
+        }
+        evicted.forEach(AmazonTimestreamWrite::shutdown);
+    }
+
+    /**
+     * Shuts down and removes every registered client, borrowed or not, e.g. before a snapshot of the JVM is taken.
+     */
+    void clear() {
+        final List<RegisteredClient> evicted;
+        synchronized (clients) {
+            evicted = new ArrayList<>(clients.values());
+            evicted.addAll(retired.values());
+            clients.clear();
+            retired.clear();
+        }
+        evicted.forEach(registered -> registered.client.shutdown());
+    }
+
+    /**
+     * Shuts the evicted client down if no longer borrowed, or else leaves it to its last borrower to do so.
+     */
+    private void retire(final RegisteredClient registered, final List<AmazonTimestreamWrite> evicted) {
+        if (registered.borrowers == 0) {
+            evicted.add(registered.client);
+        } else {
+            retired.put(registered.client, registered);
+        }
+    }
+
+    int size() {
+        synchronized (clients) {
+            return clients.size();
+        }
+    }
+
+    @Value
+    private static class Key {
+        String region;
+        String endpoint;
+        ClientProfile profile;
+    }
+
+    private static class RegisteredClient {
+        private final AmazonTimestreamWrite client;
+        private long lastUsed;
+        private int borrowers;
+
+        RegisteredClient(final AmazonTimestreamWrite client, final long lastUsed) {
+            this.client = client;
+            this.lastUsed = lastUsed;
+        }
+    }
+}
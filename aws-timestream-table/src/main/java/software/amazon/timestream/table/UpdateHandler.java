@@ -1,8 +1,10 @@
 package software.amazon.timestream.table;
 
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
-import java.util.Comparator;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import software.amazon.cloudformation.exceptions.CfnAccessDeniedException;
@@ -12,14 +14,12 @@ import software.amazon.cloudformation.exceptions.CfnNotFoundException;
 import software.amazon.cloudformation.exceptions.CfnThrottlingException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.Logger;
-import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 
 import com.amazonaws.services.timestreamwrite.AmazonTimestreamWrite;
 import com.amazonaws.services.timestreamwrite.model.AccessDeniedException;
 import com.amazonaws.services.timestreamwrite.model.DescribeTableRequest;
-import com.amazonaws.services.timestreamwrite.model.DescribeTableResult;
 import com.amazonaws.services.timestreamwrite.model.InternalServerException;
 import com.amazonaws.services.timestreamwrite.model.InvalidEndpointException;
 import com.amazonaws.services.timestreamwrite.model.ResourceNotFoundException;
@@ -31,17 +31,30 @@ import com.amazonaws.services.timestreamwrite.model.UntagResourceRequest;
 import com.amazonaws.services.timestreamwrite.model.UpdateTableRequest;
 import com.amazonaws.services.timestreamwrite.model.UpdateTableResult;
 import com.amazonaws.services.timestreamwrite.model.ValidationException;
-import com.google.common.collect.Sets;
 
 /**
  * Timestream table resource update handler. CloudFormation invokes this handler when the
  * resource is updated as part of a stack update operation.
+ *
+ * The update runs the calls of its TableUpdatePlan, e.g. UpdateTable, UntagResource and TagResource, as a
+ * StepSequence, so that an invocation running short of time, or throttled part way, resumes at the unfinished step
+ * once called back. An update of the tags alone does not call UpdateTable: the ARN to tag is then taken from the
+ * previous resource state or built from the account (see Arns), and only described when neither is at hand. An
+ * update that changes nothing describes the table all the same, so that it fails as not found when the table is gone.
  */
 public class UpdateHandler extends BaseHandler<CallbackContext> {
 
-    private static final String UPDATE_TABLE = "UpdateTable";
-    private AmazonWebServicesClientProxy proxy;
-    private AmazonTimestreamWrite timestreamClient;
+    private static final String UPDATE_TABLE = TableUpdatePlan.UPDATE_TABLE;
+    private final Supplier<Deadline> deadlines;
+
+    public UpdateHandler() {
+        this(Deadline::start);
+        RuntimeHooks.init();
+    }
+
+    UpdateHandler(final Supplier<Deadline> deadlines) {
+        this.deadlines = deadlines;
+    }
 
     @Override
     public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
@@ -50,58 +63,39 @@ public class UpdateHandler extends BaseHandler<CallbackContext> {
         final CallbackContext callbackContext,
         final Logger logger) {
 
-        timestreamClient = TimestreamClientFactory.get(proxy, logger);
-        this.proxy = proxy;
+        final Deadline deadline = deadlines.get();
+        final CallbackContext context = callbackContext == null ? CallbackContext.builder().build() : callbackContext;
+        final RequestContext requestContext = RequestContext.of(proxy, request, context, deadline, logger);
 
         final ResourceModel model = request.getDesiredResourceState();
-        final ResourceModel existingModel = request.getPreviousResourceState();
-
-        final Map<String, String> desiredTags = TagHelper.getNewDesiredTags(model, request);
-        final Map<String, String> previousTags = TagHelper.getPreviouslyAttachedTags(request);
+        final String knownArn = knownArn(request);
+        final TableUpdatePlan plan = TableUpdatePlan.of(request, knownArn);
+        if (context.getTableArn() == null) {
+            context.setTableArn(knownArn);
+        }
 
-        final Set<Tag> tagsToAdd = TagHelper.convertToSet(
-                TagHelper.generateTagsToAdd(previousTags, desiredTags));
-        final Set<String> tagsToRemove = TagHelper.generateTagsToRemove(previousTags, desiredTags);
+        final Map<String, StepSequence.Step> calls = new HashMap<>();
+        calls.put(TableUpdatePlan.UPDATE_TABLE,
+                () -> context.setTableArn(updateTable(requestContext, model)));
+        calls.put(TableUpdatePlan.DESCRIBE_TABLE, () -> context.setTableArn(describeTableArn(requestContext, model)));
+        /*
+         * Update tags
+         *
+         * Here we first remove the tags no long exist, this includes tags whose values are modified.
+         * New tags are added afterwards, including tags with updated values.
+         */
+        calls.put(TableUpdatePlan.UNTAG_RESOURCE,
+                () -> removeTags(requestContext, context.getTableArn(), plan.getTagsToRemove()));
+        calls.put(TableUpdatePlan.TAG_RESOURCE,
+                () -> addTags(requestContext, context.getTableArn(), plan.getTagsToAdd()));
 
         try {
-            RetentionProperties retentionProperties;
-
-            if (model.getRetentionProperties() == null) {
-                // TODO there are cases when Uluru not keeping RetentionProperties in the existing model properly
-                // here will fetch from TS directly for the current RetentionProperties if not defined in the CFN
-                // template
-                final DescribeTableRequest describeTableRequest =
-                        new DescribeTableRequest()
-                                .withDatabaseName(model.getDatabaseName())
-                                .withTableName(model.getTableName());
-                final DescribeTableResult describeTableResult = this.proxy.injectCredentialsAndInvoke(describeTableRequest, timestreamClient::describeTable);
-                retentionProperties = describeTableResult.getTable().getRetentionProperties();
-            } else {
-                retentionProperties = RetentionPropertiesModelConverter.convert(model.getRetentionProperties());
-            }
-
-            MagneticStoreWriteProperties magneticStoreWriteProperties = MagneticStoreWritePropertiesModelConverter.convert(model.getMagneticStoreWriteProperties());
-
-            final UpdateTableRequest updateTableRequest =
-                    new UpdateTableRequest()
-                            .withDatabaseName(model.getDatabaseName())
-                            .withTableName(model.getTableName())
-                            .withRetentionProperties(retentionProperties)
-                            .withMagneticStoreWriteProperties(magneticStoreWriteProperties);
-
-            final UpdateTableResult updateTableResult =
-                    this.proxy.injectCredentialsAndInvoke(updateTableRequest, timestreamClient::updateTable);
-            /*
-             * Update tags
-             *
-             * Here we first remove the tags no long exist, this includes tags whose values are modified.
-             * New tags are added afterwards, including tags with updated values.
-             */
-            removeTags(updateTableResult.getTable().getArn(), tagsToRemove);
-            addTags(updateTableResult.getTable().getArn(), tagsToAdd);
+            final StepSequence steps = new StepSequence(deadline, context, logger);
+            plan.getCalls().forEach(call -> steps.step(call, calls.get(call)));
+            return steps.run(model);
         } catch (InternalServerException ex) {
             throw new CfnInternalFailureException(ex);
-        } catch (ThrottlingException ex) {
+        } catch (ThrottlingException | ClientRateLimitedException ex) {
             throw new CfnThrottlingException(UPDATE_TABLE, ex);
         } catch (ValidationException | InvalidEndpointException ex) {
             throw new CfnInvalidRequestException(request.toString(), ex);
@@ -110,34 +104,72 @@ public class UpdateHandler extends BaseHandler<CallbackContext> {
             throw new CfnNotFoundException(ex);
         } catch (AccessDeniedException ex) {
             throw new CfnAccessDeniedException(UPDATE_TABLE, ex);
+        } catch (CircuitOpenException ex) {
+            // the progress made so far is checkpointed, carry on once the circuit may have closed
+            return ex.toProgressEvent(model, context);
         }
-
-        return ProgressEvent.<ResourceModel, CallbackContext>builder()
-            .resourceModel(model)
-            .status(OperationStatus.SUCCESS)
-            .build();
     }
 
-    private void removeTags(final String arn, final Set<String> tagsToRemove) {
-        if (!tagsToRemove.isEmpty()) {
-            final UntagResourceRequest untagResourceRequest = new UntagResourceRequest()
-                    .withResourceARN(arn)
-                    .withTagKeys(tagsToRemove);
-            this.proxy.injectCredentialsAndInvoke(untagResourceRequest, timestreamClient::untagResource);
+    /**
+     * @return the ARN of the table as known without asking the service, or null.
+     */
+    private static String knownArn(final ResourceHandlerRequest<ResourceModel> request) {
+        final ResourceModel existingModel = request.getPreviousResourceState();
+        if (existingModel != null && existingModel.getArn() != null) {
+            return existingModel.getArn();
         }
+        final ResourceModel model = request.getDesiredResourceState();
+        return Arns.table(request.getAwsAccountId(), model.getDatabaseName(), model.getTableName());
     }
 
-    private void addTags(final String arn, final Set<Tag> tagsToAdd) {
-        if (!tagsToAdd.isEmpty()) {
-            final TagResourceRequest tagResourceRequest = new TagResourceRequest().withResourceARN(arn).withTags(
-                    tagsToAdd.stream().map(
-                                    tag -> new com.amazonaws.services.timestreamwrite.model.Tag()
-                                            .withKey(tag.getKey())
-                                            .withValue(tag.getValue()))
-                            // sort with decisive order for reliable testing
-                            .sorted(Comparator.comparing(com.amazonaws.services.timestreamwrite.model.Tag::getKey))
-                            .collect(Collectors.toList()));
-            this.proxy.injectCredentialsAndInvoke(tagResourceRequest, timestreamClient::tagResource);
-        }
+    private String describeTableArn(final RequestContext requestContext, final ResourceModel model) {
+        final DescribeTableRequest describeTableRequest =
+                new DescribeTableRequest()
+                        .withDatabaseName(model.getDatabaseName())
+                        .withTableName(model.getTableName());
+        return requestContext.invoke(describeTableRequest, AmazonTimestreamWrite::describeTable).getTable().getArn();
+    }
+
+    /**
+     * A RetentionProperties left out of the template is left out of the request as well, so that UpdateTable keeps
+     * the retention the table has.
+     *
+     * @return the ARN of the updated table.
+     */
+    private String updateTable(final RequestContext requestContext, final ResourceModel model) {
+        final RetentionProperties retentionProperties =
+                RetentionPropertiesModelConverter.convert(model.getRetentionProperties());
+        final MagneticStoreWriteProperties magneticStoreWriteProperties =
+                MagneticStoreWritePropertiesModelConverter.convert(model.getMagneticStoreWriteProperties());
+
+        final UpdateTableRequest updateTableRequest =
+                new UpdateTableRequest()
+                        .withDatabaseName(model.getDatabaseName())
+                        .withTableName(model.getTableName())
+                        .withRetentionProperties(retentionProperties)
+                        .withMagneticStoreWriteProperties(magneticStoreWriteProperties);
+
+        final UpdateTableResult updateTableResult =
+                requestContext.invoke(updateTableRequest, AmazonTimestreamWrite::updateTable);
+        return updateTableResult.getTable().getArn();
+    }
+
+    private void removeTags(final RequestContext requestContext, final String arn, final Set<String> tagsToRemove) {
+        final UntagResourceRequest untagResourceRequest = new UntagResourceRequest()
+                .withResourceARN(arn)
+                .withTagKeys(tagsToRemove);
+        requestContext.invoke(untagResourceRequest, AmazonTimestreamWrite::untagResource);
+    }
+
+    private void addTags(final RequestContext requestContext, final String arn, final Set<Tag> tagsToAdd) {
+        final TagResourceRequest tagResourceRequest = new TagResourceRequest().withResourceARN(arn).withTags(
+                tagsToAdd.stream().map(
+                                tag -> new com.amazonaws.services.timestreamwrite.model.Tag()
+                                        .withKey(tag.getKey())
+                                        .withValue(tag.getValue()))
+                        // sort with decisive order for reliable testing
+                        .sorted(Comparator.comparing(com.amazonaws.services.timestreamwrite.model.Tag::getKey))
+                        .collect(Collectors.toList()));
+        requestContext.invoke(tagResourceRequest, AmazonTimestreamWrite::tagResource);
     }
 }
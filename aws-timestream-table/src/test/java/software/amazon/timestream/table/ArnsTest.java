@@ -0,0 +1,32 @@
+package software.amazon.timestream.table;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ArnsTest {
+    private static final String TEST_ACCOUNT_ID = "123456789012";
+
+    @Test
+    public void partitionShouldFollowRegion() {
+        assertThat(Arns.partition("us-east-1")).isEqualTo("aws");
+        assertThat(Arns.partition("eu-west-1")).isEqualTo("aws");
+        assertThat(Arns.partition("cn-north-1")).isEqualTo("aws-cn");
+        assertThat(Arns.partition("us-gov-west-1")).isEqualTo("aws-us-gov");
+    }
+
+    @Test
+    public void tableShouldBeBuiltFromRegionAccountAndNames() {
+        final String region = TimestreamClientFactory.getRegion();
+
+        assertThat(Arns.table(TEST_ACCOUNT_ID, "TestDatabaseName", "TestTableName")).isEqualTo(
+                "arn:" + Arns.partition(region) + ":timestream:" + region + ":" + TEST_ACCOUNT_ID
+                        + ":database/TestDatabaseName/table/TestTableName");
+    }
+
+    @Test
+    public void tableShouldBeNullWithoutAccount() {
+        assertThat(Arns.table(null, "TestDatabaseName", "TestTableName")).isNull();
+        assertThat(Arns.table("", "TestDatabaseName", "TestTableName")).isNull();
+    }
+}
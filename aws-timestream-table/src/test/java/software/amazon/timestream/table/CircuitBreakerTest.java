@@ -0,0 +1,239 @@
+package software.amazon.timestream.table;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+
+import com.amazonaws.AmazonWebServiceRequest;
+import com.amazonaws.auth.AWSStaticCredentialsProvider;
+import com.amazonaws.auth.BasicAWSCredentials;
+import com.amazonaws.services.timestreamwrite.AmazonTimestreamWrite;
+import com.amazonaws.services.timestreamwrite.model.DescribeEndpointsResult;
+import com.amazonaws.services.timestreamwrite.model.DescribeTableRequest;
+import com.amazonaws.services.timestreamwrite.model.Endpoint;
+import com.amazonaws.services.timestreamwrite.model.InternalServerException;
+import com.amazonaws.services.timestreamwrite.model.ValidationException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+public class CircuitBreakerTest {
+    private static final String TEST_ENDPOINT = "endpoint";
+    private static final String TEST_ACCOUNT_ID = "123456789012";
+
+    private final AtomicLong now = new AtomicLong();
+    private final AtomicInteger probes = new AtomicInteger();
+
+    private CircuitBreaker breaker;
+
+    @BeforeEach
+    public void setup() {
+        breaker = new CircuitBreaker(TEST_ENDPOINT, CircuitBreaker.DEFAULT_ERROR_RATE, now::get);
+        clearSharedState();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        clearSharedState();
+    }
+
+    @Test
+    public void breakerShouldOpenOnceErrorRateIsReached() {
+        for (int i = 0; i < CircuitBreaker.MIN_CALLS / 2; i++) {
+            succeed();
+        }
+        for (int i = 0; i < CircuitBreaker.MIN_CALLS / 2 - 1; i++) {
+            fail(new InternalServerException("Test exception"));
+        }
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+        fail(new InternalServerException("Test exception"));
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    public void breakerShouldStayClosedBelowMinCalls() {
+        for (int i = 0; i < CircuitBreaker.MIN_CALLS - 1; i++) {
+            fail(new InternalServerException("Test exception"));
+        }
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+        breaker.acquire(this::probe);
+        assertThat(probes.get()).isZero();
+    }
+
+    @Test
+    public void breakerShouldNotCountClientErrors() {
+        for (int i = 0; i < CircuitBreaker.WINDOW_SIZE; i++) {
+            fail(new ValidationException("Test exception"));
+        }
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    public void breakerShouldRejectCallsWhileOpen() {
+        open();
+        now.addAndGet(CircuitBreaker.OPEN_MILLIS - 1);
+
+        assertThrows(CircuitOpenException.class, () -> breaker.acquire(this::probe));
+        assertThat(probes.get()).isZero();
+    }
+
+    @Test
+    public void breakerShouldCloseOnceProbeSucceeds() {
+        open();
+        now.addAndGet(CircuitBreaker.OPEN_MILLIS);
+
+        breaker.acquire(this::probe);
+
+        assertThat(probes.get()).isEqualTo(1);
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+        breaker.acquire(this::probe);
+        assertThat(probes.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void breakerShouldReopenWhenProbeFails() {
+        open();
+        now.addAndGet(CircuitBreaker.OPEN_MILLIS);
+
+        final CircuitOpenException ex = assertThrows(CircuitOpenException.class, () -> breaker.acquire(() -> {
+            probe();
+            throw new InternalServerException("Test exception");
+        }));
+
+        assertThat(ex).hasCauseInstanceOf(InternalServerException.class);
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThrows(CircuitOpenException.class, () -> breaker.acquire(this::probe));
+        assertThat(probes.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void breakerShouldReopenWhenProbeThrowsError() {
+        open();
+        now.addAndGet(CircuitBreaker.OPEN_MILLIS);
+
+        assertThrows(StackOverflowError.class, () -> breaker.acquire(() -> {
+            probe();
+            throw new StackOverflowError();
+        }));
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThrows(CircuitOpenException.class, () -> breaker.acquire(this::probe));
+        now.addAndGet(CircuitBreaker.OPEN_MILLIS);
+        breaker.acquire(this::probe);
+        assertThat(probes.get()).isEqualTo(2);
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    public void breakerShouldLetSingleCallerProbe() {
+        open();
+        now.addAndGet(CircuitBreaker.OPEN_MILLIS);
+
+        breaker.acquire(() -> {
+            probe();
+            // a concurrent caller comes in while the probe is in flight
+            assertThrows(CircuitOpenException.class, () -> breaker.acquire(this::probe));
+        });
+
+        assertThat(probes.get()).isEqualTo(1);
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    public void circuitOpenExceptionShouldAskForCallback() {
+        final CallbackContext callbackContext = CallbackContext.builder().build();
+        final ResourceModel model = ResourceModel.builder().build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> event =
+                new CircuitOpenException(TEST_ENDPOINT).toProgressEvent(model, callbackContext);
+
+        assertThat(event.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(event.getCallbackDelaySeconds()).isEqualTo(CircuitBreaker.OPEN_CALLBACK_DELAY_SECONDS);
+        assertThat(event.getCallbackContext()).isSameAs(callbackContext);
+        assertThat(event.getResourceModel()).isSameAs(model);
+    }
+
+    @Test
+    public void invokerShouldStopCallingFailingStandIn() throws Exception {
+        try (TimestreamStandIn standIn = TimestreamStandIn.start(
+                Collections.singletonMap("DescribeTable", "{\"Table\":{\"TableName\":\"table\"}}"))) {
+            EndpointCache.getInstance().get(TimestreamClientFactory.getRegion(), TEST_ACCOUNT_ID,
+                    () -> new DescribeEndpointsResult().withEndpoints(
+                            new Endpoint().withAddress(standIn.endpoint()).withCachePeriodInMinutes(1440L)));
+            final TimestreamInvoker invoker =
+                    new TimestreamInvoker(standInProxy(), TEST_ACCOUNT_ID, null, Deadline.start(), mock(Logger.class));
+            standIn.failNext("DescribeTable", Integer.MAX_VALUE);
+
+            while (CircuitBreaker.forEndpoint(standIn.endpoint()).state() == CircuitBreaker.State.CLOSED) {
+                assertThrows(InternalServerException.class,
+                        () -> invoker.invoke(new DescribeTableRequest(), AmazonTimestreamWrite::describeTable));
+            }
+            final int requests = standIn.requests("DescribeTable");
+
+            assertThrows(CircuitOpenException.class,
+                    () -> invoker.invoke(new DescribeTableRequest(), AmazonTimestreamWrite::describeTable));
+            assertThat(standIn.requests("DescribeTable")).isEqualTo(requests);
+            assertThat(standIn.requests("DescribeEndpoints")).isZero();
+        }
+    }
+
+    /**
+     * @return a proxy that calls the stand-in with static credentials, as the real proxy would with the caller's.
+     */
+    @SuppressWarnings("unchecked")
+    private static AmazonWebServicesClientProxy standInProxy() {
+        final AmazonWebServicesClientProxy proxy = mock(AmazonWebServicesClientProxy.class);
+        doAnswer(invocation -> {
+            final AmazonWebServiceRequest request = invocation.getArgument(0);
+            request.setRequestCredentialsProvider(
+                    new AWSStaticCredentialsProvider(new BasicAWSCredentials("accessKey", "secretKey")));
+            return invocation.<Function<AmazonWebServiceRequest, Object>>getArgument(1).apply(request);
+        }).when(proxy).injectCredentialsAndInvoke(any(AmazonWebServiceRequest.class), any(Function.class));
+        return proxy;
+    }
+
+    private void open() {
+        for (int i = 0; i < CircuitBreaker.MIN_CALLS; i++) {
+            fail(new InternalServerException("Test exception"));
+        }
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    private void succeed() {
+        breaker.record(() -> "result");
+    }
+
+    private void fail(final RuntimeException ex) {
+        assertThrows(ex.getClass(), () -> breaker.record(() -> {
+            throw ex;
+        }));
+    }
+
+    private void probe() {
+        probes.incrementAndGet();
+    }
+
+    private static void clearSharedState() {
+        CircuitBreaker.clear();
+        EndpointCache.getInstance().clear();
+        TimestreamClientRegistry.getInstance().clear();
+        ThrottlingRetry.TokenBucket.getInstance().reset();
+        CallRateLimiter.getInstance().clear();
+    }
+}
@@ -0,0 +1,71 @@
+package software.amazon.timestream.table;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConfigurationTest {
+
+    private static final String SETTING = "TIMESTREAM_TEST_SETTING";
+
+    private final Map<String, String> environment = new HashMap<>();
+
+    @Test
+    public void settingsShouldDefaultWhenUnset() {
+        assertThat(Configuration.intSetting(environment::get, SETTING, 4, 1, 10)).isEqualTo(4);
+        assertThat(Configuration.longSetting(environment::get, SETTING, 4L, 1L, 10L)).isEqualTo(4L);
+        assertThat(Configuration.doubleSetting(environment::get, SETTING, 0.5, Double.MIN_VALUE, 1)).isEqualTo(0.5);
+    }
+
+    @Test
+    public void settingsShouldParseValuesInRange() {
+        environment.put(SETTING, " 10 ");
+
+        assertThat(Configuration.intSetting(environment::get, SETTING, 4, 1, 10)).isEqualTo(10);
+        assertThat(Configuration.longSetting(environment::get, SETTING, 4L, 1L, 10L)).isEqualTo(10L);
+        assertThat(Configuration.doubleSetting(environment::get, SETTING, 0.5, Double.MIN_VALUE, 10)).isEqualTo(10.0);
+    }
+
+    @Test
+    public void settingsShouldDefaultWhenOutOfRange() {
+        environment.put(SETTING, "0");
+        assertThat(Configuration.intSetting(environment::get, SETTING, 4, 1, 10)).isEqualTo(4);
+        assertThat(Configuration.doubleSetting(environment::get, SETTING, 0.5, Double.MIN_VALUE, 1)).isEqualTo(0.5);
+
+        environment.put(SETTING, "11");
+        assertThat(Configuration.longSetting(environment::get, SETTING, 4L, 1L, 10L)).isEqualTo(4L);
+
+        environment.put(SETTING, "NaN");
+        assertThat(Configuration.doubleSetting(environment::get, SETTING, 0.5, Double.MIN_VALUE, 1)).isEqualTo(0.5);
+    }
+
+    @Test
+    public void settingsShouldDefaultWhenUnparsable() {
+        environment.put(SETTING, "fast");
+
+        assertThat(Configuration.intSetting(environment::get, SETTING, 4, 1, 10)).isEqualTo(4);
+        assertThat(Configuration.longSetting(environment::get, SETTING, 4L, 1L, 10L)).isEqualTo(4L);
+        assertThat(Configuration.doubleSetting(environment::get, SETTING, 0.5, Double.MIN_VALUE, 1)).isEqualTo(0.5);
+    }
+
+    @Test
+    public void invocationBudgetShouldIgnoreValuesThatAreNotPositive() {
+        environment.put(Configuration.INVOCATION_BUDGET_ENV, "-1");
+        assertThat(Configuration.invocationBudgetMillis(environment::get)).isEqualTo(Deadline.DEFAULT_BUDGET_MILLIS);
+
+        environment.put(Configuration.INVOCATION_BUDGET_ENV, "0");
+        assertThat(Configuration.invocationBudgetMillis(environment::get)).isEqualTo(Deadline.DEFAULT_BUDGET_MILLIS);
+    }
+
+    @Test
+    public void invocationBudgetShouldBeRaisedToMinimumByDeadline() {
+        environment.put(Configuration.INVOCATION_BUDGET_ENV, "1000");
+        assertThat(Configuration.invocationBudgetMillis(environment::get)).isEqualTo(1000L);
+
+        final Deadline deadline = new Deadline(Configuration.invocationBudgetMillis(environment::get), () -> 0L);
+        assertThat(deadline.remainingMillis()).isEqualTo(Deadline.MIN_BUDGET_MILLIS);
+    }
+}
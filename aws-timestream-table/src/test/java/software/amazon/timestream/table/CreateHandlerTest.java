@@ -1,6 +1,9 @@
 package software.amazon.timestream.table;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -27,12 +30,15 @@ import com.amazonaws.services.timestreamwrite.model.CreateTableRequest;
 import com.amazonaws.services.timestreamwrite.model.CreateTableResult;
 import com.amazonaws.services.timestreamwrite.model.DescribeEndpointsRequest;
 import com.amazonaws.services.timestreamwrite.model.DescribeEndpointsResult;
+import com.amazonaws.services.timestreamwrite.model.DescribeTableRequest;
+import com.amazonaws.services.timestreamwrite.model.DescribeTableResult;
 import com.amazonaws.services.timestreamwrite.model.Endpoint;
 import com.amazonaws.services.timestreamwrite.model.InternalServerException;
 import com.amazonaws.services.timestreamwrite.model.InvalidEndpointException;
 import com.amazonaws.services.timestreamwrite.model.ResourceNotFoundException;
 import com.amazonaws.services.timestreamwrite.model.ServiceQuotaExceededException;
 import com.amazonaws.services.timestreamwrite.model.Table;
+import com.amazonaws.services.timestreamwrite.model.TableStatus;
 import com.amazonaws.services.timestreamwrite.model.ThrottlingException;
 import com.amazonaws.services.timestreamwrite.model.ValidationException;
 
@@ -43,6 +49,8 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
@@ -83,9 +91,13 @@ public class CreateHandlerTest {
     private Logger logger;
 
     private final CreateHandler handler = new CreateHandler();
+    private final AtomicLong now = new AtomicLong(1_600_000_000_000L);
+    private final List<Long> sleeps = new ArrayList<>();
+    private final DurationHistogram createDurations = new DurationHistogram();
 
     @BeforeEach
     public void setup() {
+        CircuitBreaker.clear();
         proxy = mock(AmazonWebServicesClientProxy.class);
         doReturn(new DescribeEndpointsResult().withEndpoints(new Endpoint().withAddress("endpoint")))
                 .when(proxy).injectCredentialsAndInvoke(any(DescribeEndpointsRequest.class), any(Function.class));
@@ -365,6 +377,83 @@ public class CreateHandlerTest {
                 () -> handler.handleRequest(proxy, request, null, logger));
     }
 
+    @Test
+    public void createTableShouldWaitUntilActive() {
+        final ResourceHandlerRequest<ResourceModel> request = givenAResourceHandlerRequest();
+        doReturn(new CreateTableResult().withTable(new Table().withTableStatus(TableStatus.ACTIVE)))
+                .when(proxy).injectCredentialsAndInvoke(any(CreateTableRequest.class), any(Function.class));
+        doThrow(new ResourceNotFoundException("Test exception")).doReturn(describeTableResult(TableStatus.ACTIVE))
+                .when(proxy).injectCredentialsAndInvoke(any(DescribeTableRequest.class), any(Function.class));
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+            = stabilizingHandler().handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getCallbackContext()).isNull();
+        assertThat(response.getResourceModel()).isEqualTo(request.getDesiredResourceState());
+        assertThat(sleeps).containsExactly(Stabilizer.FIRST_POLL_DELAY_MILLIS);
+        assertThat(createDurations.median()).isEqualTo(Stabilizer.FIRST_POLL_DELAY_MILLIS);
+        verify(proxy, times(2)).injectCredentialsAndInvoke(any(DescribeTableRequest.class), any(Function.class));
+    }
+
+    @Test
+    public void createTableShouldStabilizeOverCallbacks() {
+        final ResourceHandlerRequest<ResourceModel> request = givenAResourceHandlerRequest();
+        doReturn(new CreateTableResult().withTable(new Table().withTableStatus(TableStatus.ACTIVE)))
+                .when(proxy).injectCredentialsAndInvoke(any(CreateTableRequest.class), any(Function.class));
+        doThrow(new ResourceNotFoundException("Test exception"))
+                .when(proxy).injectCredentialsAndInvoke(any(DescribeTableRequest.class), any(Function.class));
+        final CreateHandler stabilizingHandler = stabilizingHandler();
+
+        ProgressEvent<ResourceModel, CallbackContext> response
+            = stabilizingHandler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackContext().isCreateTableStarted()).isTrue();
+        assertThat(response.getCallbackContext().isCreateTableStabilized()).isFalse();
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(Stabilizer.DEFAULT_CALLBACK_DELAY_SECONDS);
+        assertThat(response.getResourceModel()).isEqualTo(request.getDesiredResourceState());
+
+        doReturn(describeTableResult(TableStatus.ACTIVE))
+                .when(proxy).injectCredentialsAndInvoke(any(DescribeTableRequest.class), any(Function.class));
+        response = stabilizingHandler.handleRequest(proxy, request, response.getCallbackContext(), logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getCallbackContext()).isNull();
+        assertThat(response.getResourceModel()).isEqualTo(request.getDesiredResourceState());
+        verify(proxy, times(1)).injectCredentialsAndInvoke(any(CreateTableRequest.class), any(Function.class));
+    }
+
+    @Test
+    public void createTableShouldThrowWhenDeniedWhileStabilizing() {
+        final ResourceHandlerRequest<ResourceModel> request = givenAResourceHandlerRequest();
+        final CallbackContext callbackContext = CallbackContext.builder().createTableStarted(true).build();
+        doThrow(new AccessDeniedException("Test exception"))
+                .when(proxy).injectCredentialsAndInvoke(any(DescribeTableRequest.class), any(Function.class));
+
+        assertThrows(
+                CfnAccessDeniedException.class,
+                () -> stabilizingHandler().handleRequest(proxy, request, callbackContext, logger));
+        verify(proxy, never()).injectCredentialsAndInvoke(any(CreateTableRequest.class), any(Function.class));
+    }
+
+    private CreateHandler stabilizingHandler() {
+        return new CreateHandler(
+                () -> new Deadline(Deadline.DEFAULT_BUDGET_MILLIS, now::get),
+                deadline -> new Stabilizer(deadline, createDurations, now::get, millis -> {
+                    sleeps.add(millis);
+                    now.addAndGet(millis);
+                }),
+                true);
+    }
+
+    private static DescribeTableResult describeTableResult(final TableStatus status) {
+        return new DescribeTableResult().withTable(new Table()
+                .withDatabaseName(TEST_DATABASE_NAME)
+                .withTableName(TEST_TABLE_NAME)
+                .withTableStatus(status));
+    }
+
     private ResourceHandlerRequest<ResourceModel> givenAResourceHandlerRequest() {
         final ResourceModel model =
                 ResourceModel.builder()
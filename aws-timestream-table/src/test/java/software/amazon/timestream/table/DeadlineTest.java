@@ -0,0 +1,63 @@
+package software.amazon.timestream.table;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import com.amazonaws.services.timestreamwrite.model.DescribeTableRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DeadlineTest {
+    private static final long BUDGET_MILLIS = 30_000L;
+
+    private final AtomicLong now = new AtomicLong(1_000L);
+
+    @Test
+    public void remainingShouldBeMeasuredFromStart() {
+        final Deadline deadline = new Deadline(BUDGET_MILLIS, now::get);
+        now.addAndGet(10_000L);
+
+        assertThat(deadline.remainingMillis()).isEqualTo(20_000L);
+        now.addAndGet(BUDGET_MILLIS);
+        assertThat(deadline.remainingMillis()).isEqualTo(0L);
+    }
+
+    @Test
+    public void isNearlyExpiredShouldKeepReserve() {
+        final Deadline deadline = new Deadline(BUDGET_MILLIS, now::get);
+        now.addAndGet(BUDGET_MILLIS - Deadline.RESERVE_MILLIS - 1);
+        assertThat(deadline.isNearlyExpired()).isFalse();
+
+        now.incrementAndGet();
+        assertThat(deadline.isNearlyExpired()).isTrue();
+    }
+
+    @Test
+    public void budgetShouldNotBeBelowMinimum() {
+        final Deadline deadline = new Deadline(0L, now::get);
+
+        assertThat(deadline.remainingMillis()).isEqualTo(Deadline.MIN_BUDGET_MILLIS);
+        assertThat(deadline.isNearlyExpired()).isFalse();
+    }
+
+    @Test
+    public void capShouldKeepShorterClientTimeout() {
+        final Deadline deadline = new Deadline(BUDGET_MILLIS, now::get);
+
+        assertThat(deadline.cap(new DescribeTableRequest(), 5_000).getSdkClientExecutionTimeout()).isNull();
+    }
+
+    @Test
+    public void capShouldBoundCallByRemainingBudget() {
+        final Deadline deadline = new Deadline(BUDGET_MILLIS, now::get);
+        now.addAndGet(20_000L);
+
+        assertThat(deadline.cap(new DescribeTableRequest(), 15_000).getSdkClientExecutionTimeout())
+                .isEqualTo((int) (10_000L - Deadline.RESERVE_MILLIS));
+        assertThat(deadline.cap(new DescribeTableRequest(), 0).getSdkClientExecutionTimeout())
+                .isEqualTo((int) (10_000L - Deadline.RESERVE_MILLIS));
+        now.addAndGet(10_000L);
+        assertThat(deadline.cap(new DescribeTableRequest(), 15_000).getSdkClientExecutionTimeout()).isEqualTo(1);
+    }
+}
@@ -32,6 +32,10 @@ import com.amazonaws.services.timestreamwrite.model.Table;
 import com.amazonaws.services.timestreamwrite.model.ThrottlingException;
 import com.amazonaws.services.timestreamwrite.model.ValidationException;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -39,15 +43,19 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
 public class DeleteHandlerTest {
     private static final String TEST_DATABASE_NAME = "TestDatabaseName";
     private static final String TEST_TABLE_NAME = "TestTableName";
+    private static final long START_MILLIS = 1_600_000_000_000L;
 
     @Mock
     private AmazonWebServicesClientProxy proxy;
@@ -56,9 +64,13 @@ public class DeleteHandlerTest {
     private Logger logger;
 
     private final DeleteHandler handler = new DeleteHandler();
+    private final AtomicLong now = new AtomicLong(START_MILLIS);
+    private final List<Long> sleeps = new ArrayList<>();
+    private final DurationHistogram deleteDurations = new DurationHistogram();
 
     @BeforeEach
     public void setup() {
+        CircuitBreaker.clear();
         proxy = mock(AmazonWebServicesClientProxy.class);
         doReturn(new DescribeEndpointsResult().withEndpoints(new Endpoint().withAddress("endpoint")))
                 .when(proxy).injectCredentialsAndInvoke(any(DescribeEndpointsRequest.class), any(Function.class));
@@ -89,29 +101,56 @@ public class DeleteHandlerTest {
     }
 
     @Test
-    public void deleteTableShouldSucceedAfterWait() {
-        doReturn(null).when(proxy).injectCredentialsAndInvoke(any(DeleteTableRequest.class), any(Function.class));
-        DescribeTableResult tableResponse = new DescribeTableResult()
-                .withTable(new Table()
-                          .withDatabaseName(TEST_DATABASE_NAME)
-                          .withTableName(TEST_TABLE_NAME)
-                          .withRetentionProperties(new RetentionProperties()
-                                                  .withMemoryStoreRetentionPeriodInHours(1L)
-                                                  .withMagneticStoreRetentionPeriodInDays(2L))
-                          .withTableStatus("DELETE_IN_PROGRESS"));
+    public void deleteTableShouldCheckpointWhenDeadlineIsNearlyExpired() {
+        final AtomicLong now = new AtomicLong();
+        doAnswer(invocation -> {
+            now.set(Deadline.MIN_BUDGET_MILLIS - Deadline.RESERVE_MILLIS);
+            return null;
+        }).when(proxy).injectCredentialsAndInvoke(any(DeleteTableRequest.class), any(Function.class));
+        final DeleteHandler deadlineHandler = new DeleteHandler(() -> new Deadline(Deadline.MIN_BUDGET_MILLIS, now::get));
+        final ResourceHandlerRequest<ResourceModel> request = givenAResourceHandlerRequest();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+            = deadlineHandler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackContext().isDeleteTableStarted()).isTrue();
+        verify(proxy, never()).injectCredentialsAndInvoke(any(DescribeTableRequest.class), any(Function.class));
+    }
 
-        doReturn(tableResponse).doThrow(new ResourceNotFoundException("Test Message"))
-                .when(proxy).injectCredentialsAndInvoke(any(DescribeTableRequest.class),any(Function.class));
+    @Test
+    public void deleteTableShouldSucceedAfterInlinePoll() {
+        doReturn(null).when(proxy).injectCredentialsAndInvoke(any(DeleteTableRequest.class), any(Function.class));
+        doReturn(deletingTable()).doThrow(new ResourceNotFoundException("Test Message"))
+                .when(proxy).injectCredentialsAndInvoke(any(DescribeTableRequest.class), any(Function.class));
         final ResourceHandlerRequest<ResourceModel> request = givenAResourceHandlerRequest();
 
+        final ProgressEvent<ResourceModel, CallbackContext> response
+                = inlineHandler().handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getCallbackContext()).isNull();
+        assertThat(sleeps).containsExactly(Stabilizer.FIRST_POLL_DELAY_MILLIS);
+        assertThat(deleteDurations.median()).isEqualTo(Stabilizer.FIRST_POLL_DELAY_MILLIS);
+        verify(proxy, times(2)).injectCredentialsAndInvoke(any(DescribeTableRequest.class), any(Function.class));
+    }
+
+    @Test
+    public void deleteTableShouldSucceedAfterWait() {
+        doReturn(null).when(proxy).injectCredentialsAndInvoke(any(DeleteTableRequest.class), any(Function.class));
+        doReturn(deletingTable())
+                .when(proxy).injectCredentialsAndInvoke(any(DescribeTableRequest.class), any(Function.class));
+        final ResourceHandlerRequest<ResourceModel> request = givenAResourceHandlerRequest();
+        final DeleteHandler inlineHandler = inlineHandler();
 
         ProgressEvent<ResourceModel, CallbackContext> response
-                = handler.handleRequest(proxy, request, null, logger);
+                = inlineHandler.handleRequest(proxy, request, null, logger);
 
         assertThat(response).isNotNull();
         assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
         assertThat(response.getCallbackContext()).isNotNull();
-        assertThat(response.getCallbackDelaySeconds()).isEqualTo(15);
+        assertThat(response.getCallbackContext().getDeleteTableStartedAt()).isEqualTo(START_MILLIS);
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(Stabilizer.DEFAULT_CALLBACK_DELAY_SECONDS);
         assertThat(response.getResourceModel()).isEqualTo(request.getDesiredResourceState());
         assertThat(response.getResourceModels()).isNull();
         assertThat(response.getMessage()).isNull();
@@ -122,7 +161,10 @@ public class DeleteHandlerTest {
 
         verify(proxy).injectCredentialsAndInvoke(eq(expectedDeleteTableRequest), any(Function.class));
 
-        response = handler.handleRequest(proxy, request, response.getCallbackContext(), logger);
+        doThrow(new ResourceNotFoundException("Test Message"))
+                .when(proxy).injectCredentialsAndInvoke(any(DescribeTableRequest.class), any(Function.class));
+        now.addAndGet(TimeUnit.SECONDS.toMillis(response.getCallbackDelaySeconds()));
+        response = inlineHandler.handleRequest(proxy, request, response.getCallbackContext(), logger);
 
         assertThat(response).isNotNull();
         assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
@@ -132,7 +174,26 @@ public class DeleteHandlerTest {
         assertThat(response.getResourceModels()).isNull();
         assertThat(response.getMessage()).isNull();
         assertThat(response.getErrorCode()).isNull();
+        assertThat(deleteDurations.median()).isEqualTo(now.get() - START_MILLIS);
+    }
 
+    @Test
+    public void deleteTableShouldSizeCallbackDelayFromRecentDeletes() {
+        deleteDurations.record(TimeUnit.SECONDS.toMillis(40));
+        doReturn(null).when(proxy).injectCredentialsAndInvoke(any(DeleteTableRequest.class), any(Function.class));
+        doReturn(deletingTable())
+                .when(proxy).injectCredentialsAndInvoke(any(DescribeTableRequest.class), any(Function.class));
+        final ResourceHandlerRequest<ResourceModel> request = givenAResourceHandlerRequest();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+                = inlineHandler().handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackContext().getExpectedDeleteMillis()).isEqualTo(TimeUnit.SECONDS.toMillis(40));
+        // what is left of the 40s after the inline polls
+        final long inlineMillis = sleeps.stream().mapToLong(Long::longValue).sum();
+        assertThat(response.getCallbackDelaySeconds())
+                .isEqualTo((int) TimeUnit.MILLISECONDS.toSeconds(TimeUnit.SECONDS.toMillis(40) - inlineMillis + 999));
     }
 
     /*
@@ -186,6 +247,25 @@ public class DeleteHandlerTest {
                 () -> handler.handleRequest(proxy, request, null, logger));
     }
 
+    @Test
+    public void deleteTableShouldWaitWhileCircuitIsOpen() {
+        final CircuitBreaker breaker = CircuitBreaker.forEndpoint("endpoint");
+        for (int i = 0; i < CircuitBreaker.MIN_CALLS; i++) {
+            assertThrows(InternalServerException.class, () -> breaker.record(() -> {
+                throw new InternalServerException("Test exception");
+            }));
+        }
+        final ResourceHandlerRequest<ResourceModel> request = givenAResourceHandlerRequest();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+            = handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(CircuitBreaker.OPEN_CALLBACK_DELAY_SECONDS);
+        assertThat(response.getCallbackContext().isDeleteTableStarted()).isFalse();
+        verify(proxy, never()).injectCredentialsAndInvoke(any(DeleteTableRequest.class), any(Function.class));
+    }
+
     @Test
     public void deleteTableShouldThrowWhenThrottled() {
         final ResourceHandlerRequest<ResourceModel> request = givenAResourceHandlerRequest();
@@ -210,6 +290,26 @@ public class DeleteHandlerTest {
                 () -> handler.handleRequest(proxy, request, null, logger));
     }
 
+    private DeleteHandler inlineHandler() {
+        return new DeleteHandler(
+                () -> new Deadline(Deadline.DEFAULT_BUDGET_MILLIS, now::get),
+                deadline -> new Stabilizer(deadline, deleteDurations, now::get, millis -> {
+                    sleeps.add(millis);
+                    now.addAndGet(millis);
+                }));
+    }
+
+    private static DescribeTableResult deletingTable() {
+        return new DescribeTableResult()
+                .withTable(new Table()
+                          .withDatabaseName(TEST_DATABASE_NAME)
+                          .withTableName(TEST_TABLE_NAME)
+                          .withRetentionProperties(new RetentionProperties()
+                                                  .withMemoryStoreRetentionPeriodInHours(1L)
+                                                  .withMagneticStoreRetentionPeriodInDays(2L))
+                          .withTableStatus("DELETE_IN_PROGRESS"));
+    }
+
     private ResourceHandlerRequest<ResourceModel> givenAResourceHandlerRequest() {
         final ResourceModel model =
                 ResourceModel.builder().databaseName(TEST_DATABASE_NAME).tableName(TEST_TABLE_NAME).build();
@@ -0,0 +1,38 @@
+package software.amazon.timestream.table;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DurationHistogramTest {
+
+    private final DurationHistogram histogram = new DurationHistogram();
+
+    @Test
+    public void percentileShouldBeZeroWithoutSamples() {
+        assertThat(histogram.median()).isZero();
+    }
+
+    @Test
+    public void percentileShouldFollowRecordedDurations() {
+        for (long millis = 1_000L; millis <= 10_000L; millis += 1_000L) {
+            histogram.record(millis);
+        }
+
+        assertThat(histogram.median()).isEqualTo(5_000L);
+        assertThat(histogram.percentile(0.9)).isEqualTo(9_000L);
+        assertThat(histogram.percentile(1.0)).isEqualTo(10_000L);
+    }
+
+    @Test
+    public void histogramShouldOnlyKeepRecentSamples() {
+        for (int i = 0; i < DurationHistogram.MAX_SAMPLES; i++) {
+            histogram.record(60_000L);
+        }
+        for (int i = 0; i < DurationHistogram.MAX_SAMPLES; i++) {
+            histogram.record(2_000L);
+        }
+
+        assertThat(histogram.percentile(1.0)).isEqualTo(2_000L);
+    }
+}
@@ -0,0 +1,183 @@
+package software.amazon.timestream.table;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+
+import com.amazonaws.services.timestreamwrite.model.DescribeEndpointsResult;
+import com.amazonaws.services.timestreamwrite.model.Endpoint;
+import com.amazonaws.services.timestreamwrite.model.InternalServerException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class EndpointCacheTest {
+    private static final String TEST_REGION = "us-east-1";
+    private static final String TEST_ACCOUNT_ID = "123456789012";
+    private static final long CACHE_PERIOD_IN_MINUTES = 10L;
+
+    private final AtomicLong now = new AtomicLong(0L);
+    private final EndpointCache cache = new EndpointCache(now::get);
+
+    @Test
+    public void getShouldDiscoverOnlyOnceWithinCachePeriod() {
+        final AtomicInteger discoveries = new AtomicInteger();
+        final Supplier<DescribeEndpointsResult> discovery = () -> describeEndpointsResult("endpoint" + discoveries.incrementAndGet());
+
+        assertThat(cache.get(TEST_REGION, TEST_ACCOUNT_ID, discovery).getAddress()).isEqualTo("endpoint1");
+        now.set(TimeUnit.MINUTES.toMillis(CACHE_PERIOD_IN_MINUTES) - EndpointCache.REFRESH_WINDOW_MILLIS - 1);
+        assertThat(cache.get(TEST_REGION, TEST_ACCOUNT_ID, discovery).getAddress()).isEqualTo("endpoint1");
+        assertThat(discoveries.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void getShouldRefreshWithinRefreshWindow() {
+        final AtomicInteger discoveries = new AtomicInteger();
+        final Supplier<DescribeEndpointsResult> discovery = () -> describeEndpointsResult("endpoint" + discoveries.incrementAndGet());
+
+        cache.get(TEST_REGION, TEST_ACCOUNT_ID, discovery);
+        now.set(TimeUnit.MINUTES.toMillis(CACHE_PERIOD_IN_MINUTES) - EndpointCache.REFRESH_WINDOW_MILLIS);
+        assertThat(cache.get(TEST_REGION, TEST_ACCOUNT_ID, discovery).getAddress()).isEqualTo("endpoint2");
+        assertThat(discoveries.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void getShouldKeepValidEndpointWhenRefreshFails() {
+        cache.get(TEST_REGION, TEST_ACCOUNT_ID, () -> describeEndpointsResult("endpoint"));
+        now.set(TimeUnit.MINUTES.toMillis(CACHE_PERIOD_IN_MINUTES) - 1);
+
+        assertThat(cache.get(TEST_REGION, TEST_ACCOUNT_ID, () -> {
+            throw new InternalServerException("Test exception");
+        }).getAddress()).isEqualTo("endpoint");
+    }
+
+    @Test
+    public void getShouldThrowWhenExpiredAndDiscoveryFails() {
+        cache.get(TEST_REGION, TEST_ACCOUNT_ID, () -> describeEndpointsResult("endpoint"));
+        now.set(TimeUnit.MINUTES.toMillis(CACHE_PERIOD_IN_MINUTES));
+
+        assertThrows(InternalServerException.class, () -> cache.get(TEST_REGION, TEST_ACCOUNT_ID, () -> {
+            throw new InternalServerException("Test exception");
+        }));
+    }
+
+    @Test
+    public void getShouldKeySeparatelyByRegionAndAccount() {
+        cache.get(TEST_REGION, TEST_ACCOUNT_ID, () -> describeEndpointsResult("endpoint1"));
+
+        assertThat(cache.get("us-west-2", TEST_ACCOUNT_ID, () -> describeEndpointsResult("endpoint2")).getAddress())
+                .isEqualTo("endpoint2");
+        assertThat(cache.get(TEST_REGION, "210987654321", () -> describeEndpointsResult("endpoint3")).getAddress())
+                .isEqualTo("endpoint3");
+        assertThat(cache.get(TEST_REGION, TEST_ACCOUNT_ID, () -> describeEndpointsResult("endpoint4")).getAddress())
+                .isEqualTo("endpoint1");
+    }
+
+    @Test
+    public void getShouldNotCacheWithoutCachePeriod() {
+        cache.get(TEST_REGION, TEST_ACCOUNT_ID,
+                () -> new DescribeEndpointsResult().withEndpoints(new Endpoint().withAddress("endpoint1")));
+
+        assertThat(cache.get(TEST_REGION, TEST_ACCOUNT_ID, () -> describeEndpointsResult("endpoint2")).getAddress())
+                .isEqualTo("endpoint2");
+    }
+
+    @Test
+    public void seedShouldAvoidDiscoveryUntilExpiry() {
+        final long expiresAt = TimeUnit.MINUTES.toMillis(CACHE_PERIOD_IN_MINUTES);
+        cache.seed(TEST_REGION, TEST_ACCOUNT_ID, "seeded", expiresAt);
+
+        assertThat(cache.get(TEST_REGION, TEST_ACCOUNT_ID, () -> describeEndpointsResult("endpoint")).getAddress())
+                .isEqualTo("seeded");
+        now.set(expiresAt);
+        assertThat(cache.get(TEST_REGION, TEST_ACCOUNT_ID, () -> describeEndpointsResult("endpoint")).getAddress())
+                .isEqualTo("endpoint");
+    }
+
+    @Test
+    public void seedShouldIgnoreExpiredOrShorterLivedEndpoints() {
+        cache.get(TEST_REGION, TEST_ACCOUNT_ID, () -> describeEndpointsResult("endpoint"));
+        cache.seed(TEST_REGION, TEST_ACCOUNT_ID, "shorter", 1L);
+        cache.seed(TEST_REGION, "210987654321", "expired", 0L);
+
+        assertThat(cache.get(TEST_REGION, TEST_ACCOUNT_ID, () -> describeEndpointsResult("other")).getAddress())
+                .isEqualTo("endpoint");
+        assertThat(cache.get(TEST_REGION, "210987654321", () -> describeEndpointsResult("other")).getAddress())
+                .isEqualTo("other");
+    }
+
+    @Test
+    public void evictShouldFailOverToNextDiscoveredAddress() {
+        final AtomicInteger discoveries = new AtomicInteger();
+        final Supplier<DescribeEndpointsResult> discovery = () -> {
+            discoveries.incrementAndGet();
+            return new DescribeEndpointsResult().withEndpoints(
+                    new Endpoint().withAddress("endpoint1").withCachePeriodInMinutes(CACHE_PERIOD_IN_MINUTES),
+                    new Endpoint().withAddress("endpoint2").withCachePeriodInMinutes(CACHE_PERIOD_IN_MINUTES));
+        };
+
+        assertThat(cache.get(TEST_REGION, TEST_ACCOUNT_ID, discovery).getAddress()).isEqualTo("endpoint1");
+        cache.evict(TEST_REGION, TEST_ACCOUNT_ID, "endpoint1");
+        assertThat(cache.get(TEST_REGION, TEST_ACCOUNT_ID, discovery).getAddress()).isEqualTo("endpoint2");
+        assertThat(discoveries.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void evictShouldRediscoverOnceNoAddressIsLeft() {
+        cache.get(TEST_REGION, TEST_ACCOUNT_ID, () -> describeEndpointsResult("endpoint1"));
+        cache.evict(TEST_REGION, TEST_ACCOUNT_ID, "unknown");
+        assertThat(cache.get(TEST_REGION, TEST_ACCOUNT_ID, () -> describeEndpointsResult("endpoint2")).getAddress())
+                .isEqualTo("endpoint1");
+
+        cache.evict(TEST_REGION, TEST_ACCOUNT_ID, "endpoint1");
+        assertThat(cache.get(TEST_REGION, TEST_ACCOUNT_ID, () -> describeEndpointsResult("endpoint2")).getAddress())
+                .isEqualTo("endpoint2");
+    }
+
+    @Test
+    public void getShouldRunSingleDiscoveryForConcurrentCallers() throws Exception {
+        final int callers = 8;
+        final AtomicInteger discoveries = new AtomicInteger();
+        final CountDownLatch started = new CountDownLatch(callers);
+        final ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            final Supplier<DescribeEndpointsResult> discovery = () -> {
+                discoveries.incrementAndGet();
+                try {
+                    Thread.sleep(100);
+                } catch (final InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                return describeEndpointsResult("endpoint");
+            };
+
+            final Future<?>[] futures = new Future<?>[callers];
+            for (int i = 0; i < callers; i++) {
+                futures[i] = executor.submit(() -> {
+                    started.countDown();
+                    started.await();
+                    return cache.get(TEST_REGION, TEST_ACCOUNT_ID, discovery).getAddress();
+                });
+            }
+            for (final Future<?> future : futures) {
+                assertThat(future.get()).isEqualTo("endpoint");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(discoveries.get()).isEqualTo(1);
+    }
+
+    private static DescribeEndpointsResult describeEndpointsResult(final String address) {
+        return new DescribeEndpointsResult().withEndpoints(
+                new Endpoint().withAddress(address).withCachePeriodInMinutes(CACHE_PERIOD_IN_MINUTES));
+    }
+}
@@ -1,7 +1,12 @@
 package software.amazon.timestream.table;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -19,15 +24,21 @@ import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.timestream.table.TableListToken.DatabaseCursor;
 
 import com.amazonaws.services.timestreamwrite.model.AccessDeniedException;
+import com.amazonaws.services.timestreamwrite.model.Database;
 import com.amazonaws.services.timestreamwrite.model.DescribeEndpointsRequest;
 import com.amazonaws.services.timestreamwrite.model.DescribeEndpointsResult;
 import com.amazonaws.services.timestreamwrite.model.Endpoint;
 import com.amazonaws.services.timestreamwrite.model.InternalServerException;
 import com.amazonaws.services.timestreamwrite.model.InvalidEndpointException;
+import com.amazonaws.services.timestreamwrite.model.ListDatabasesRequest;
+import com.amazonaws.services.timestreamwrite.model.ListDatabasesResult;
 import com.amazonaws.services.timestreamwrite.model.ListTablesRequest;
 import com.amazonaws.services.timestreamwrite.model.ListTablesResult;
+import com.amazonaws.services.timestreamwrite.model.ListTagsForResourceRequest;
+import com.amazonaws.services.timestreamwrite.model.ListTagsForResourceResult;
 import com.amazonaws.services.timestreamwrite.model.ResourceNotFoundException;
 import com.amazonaws.services.timestreamwrite.model.Table;
 import com.amazonaws.services.timestreamwrite.model.ThrottlingException;
@@ -36,9 +47,14 @@ import com.amazonaws.services.timestreamwrite.model.ValidationException;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
 public class ListHandlerTest {
@@ -46,6 +62,9 @@ public class ListHandlerTest {
     private static final String TEST_DATABASE_NAME = "TestDatabaseName";
     private static final String TEST_TABLE_NAME_1 = "TestTableName1";
     private static final String TEST_TABLE_NAME_2 = "TestTableName2";
+    private static final String TEST_TAG_KEY = "TestTagKey";
+    private static final String TEST_NEXT_TOKEN = "TestNextToken";
+    private static final String TEST_NEXT_TOKEN_2 = "TestNextToken2";
 
     @Mock
     private AmazonWebServicesClientProxy proxy;
@@ -57,6 +76,7 @@ public class ListHandlerTest {
 
     @BeforeEach
     public void setup() {
+        CircuitBreaker.clear();
         proxy = mock(AmazonWebServicesClientProxy.class);
         doReturn(new DescribeEndpointsResult().withEndpoints(new Endpoint().withAddress("endpoint")))
                 .when(proxy).injectCredentialsAndInvoke(any(DescribeEndpointsRequest.class), any(Function.class));
@@ -89,10 +109,237 @@ public class ListHandlerTest {
         assertThat(response.getErrorCode()).isNull();
 
         final List<ResourceModel> resourceModelList = response.getResourceModels();
-        assertThat(resourceModelList.get(0))
-                .isEqualTo(ResourceModel.builder().databaseName(TEST_DATABASE_NAME).tableName(TEST_TABLE_NAME_1).build());
-        assertThat(resourceModelList.get(1))
-                .isEqualTo(ResourceModel.builder().databaseName(TEST_DATABASE_NAME).tableName(TEST_TABLE_NAME_2).build());
+        assertThat(resourceModelList.get(0)).isEqualTo(ResourceModel.builder()
+                .databaseName(TEST_DATABASE_NAME).tableName(TEST_TABLE_NAME_1).name(TEST_TABLE_NAME_1).build());
+        assertThat(resourceModelList.get(1)).isEqualTo(ResourceModel.builder()
+                .databaseName(TEST_DATABASE_NAME).tableName(TEST_TABLE_NAME_2).name(TEST_TABLE_NAME_2).build());
+    }
+
+    @Test
+    public void listTableShouldBuildModelsInFull() {
+        final ResourceHandlerRequest<ResourceModel> request = givenAResourceHandlerRequest();
+        final Table record = new Table()
+                .withDatabaseName(TEST_DATABASE_NAME)
+                .withTableName(TEST_TABLE_NAME_1)
+                .withArn(arn(TEST_TABLE_NAME_1))
+                .withRetentionProperties(new com.amazonaws.services.timestreamwrite.model.RetentionProperties()
+                        .withMemoryStoreRetentionPeriodInHours(9L)
+                        .withMagneticStoreRetentionPeriodInDays(14L))
+                .withMagneticStoreWriteProperties(new com.amazonaws.services.timestreamwrite.model.MagneticStoreWriteProperties()
+                        .withEnableMagneticStoreWrites(false));
+        doReturn(new ListTablesResult().withTables(record))
+                .when(proxy).injectCredentialsAndInvoke(any(ListTablesRequest.class), any(Function.class));
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getResourceModels()).containsExactly(ResourceModel.builder()
+                .arn(arn(TEST_TABLE_NAME_1))
+                .name(TEST_TABLE_NAME_1)
+                .databaseName(TEST_DATABASE_NAME)
+                .tableName(TEST_TABLE_NAME_1)
+                .retentionProperties(RetentionProperties.builder()
+                        .memoryStoreRetentionPeriodInHours("9")
+                        .magneticStoreRetentionPeriodInDays("14")
+                        .build())
+                .magneticStoreWriteProperties(MagneticStoreWriteProperties.builder()
+                        .enableMagneticStoreWrites(false)
+                        .build())
+                .build());
+        verify(proxy, never()).injectCredentialsAndInvoke(any(ListTagsForResourceRequest.class), any(Function.class));
+    }
+
+    @Test
+    public void listTableShouldAskForPageSize() {
+        final ResourceHandlerRequest<ResourceModel> request = givenAResourceHandlerRequest();
+        request.setNextToken(TEST_NEXT_TOKEN);
+        doReturn(new ListTablesResult().withTables(records(5)).withNextToken(TEST_NEXT_TOKEN_2))
+                .when(proxy).injectCredentialsAndInvoke(any(ListTablesRequest.class), any(Function.class));
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            new ListHandler(5, false, 1, 1).handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getResourceModels()).hasSize(5);
+        assertThat(response.getNextToken()).isEqualTo(TEST_NEXT_TOKEN_2);
+        verify(proxy).injectCredentialsAndInvoke(
+                eq(listTablesRequest(TEST_DATABASE_NAME, TEST_NEXT_TOKEN, 5)), any(Function.class));
+    }
+
+    @Test
+    public void listTableShouldFillUpShortPages() {
+        final ResourceHandlerRequest<ResourceModel> request = givenAResourceHandlerRequest();
+        final List<Table> records = records(5);
+        doReturn(new ListTablesResult().withTables(records.subList(0, 2)).withNextToken(TEST_NEXT_TOKEN))
+                .when(proxy).injectCredentialsAndInvoke(
+                        eq(listTablesRequest(TEST_DATABASE_NAME, null, 5)), any(Function.class));
+        doReturn(new ListTablesResult().withTables(records.subList(2, 5)).withNextToken(TEST_NEXT_TOKEN_2))
+                .when(proxy).injectCredentialsAndInvoke(
+                        eq(listTablesRequest(TEST_DATABASE_NAME, TEST_NEXT_TOKEN, 3)), any(Function.class));
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            new ListHandler(5, false, 1, 1).handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getResourceModels())
+                .extracting(ResourceModel::getTableName)
+                .containsExactly("TestTable0", "TestTable1", "TestTable2", "TestTable3", "TestTable4");
+        assertThat(response.getNextToken()).isEqualTo(TEST_NEXT_TOKEN_2);
+    }
+
+    @Test
+    public void listTableShouldListTagsWithCappedConcurrency() {
+        final ResourceHandlerRequest<ResourceModel> request = givenAResourceHandlerRequest();
+        doReturn(new ListTablesResult().withTables(records(12)))
+                .when(proxy).injectCredentialsAndInvoke(any(ListTablesRequest.class), any(Function.class));
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger mostRunning = new AtomicInteger();
+        doAnswer(invocation -> {
+            mostRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(5);
+            running.decrementAndGet();
+            final String arn = invocation.<ListTagsForResourceRequest>getArgument(0).getResourceARN();
+            return new ListTagsForResourceResult().withTags(
+                    new com.amazonaws.services.timestreamwrite.model.Tag().withKey(TEST_TAG_KEY).withValue(arn));
+        }).when(proxy).injectCredentialsAndInvoke(any(ListTagsForResourceRequest.class), any(Function.class));
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            new ListHandler(20, true, 3, 1).handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getResourceModels()).hasSize(12);
+        response.getResourceModels().forEach(model -> assertThat(model.getTags())
+                .containsExactly(Tag.builder().key(TEST_TAG_KEY).value(model.getArn()).build()));
+        assertThat(mostRunning.get()).isBetween(1, 3);
+    }
+
+    @Test
+    public void listTableShouldSkipTagsOfDeletedTables() {
+        final ResourceHandlerRequest<ResourceModel> request = givenAResourceHandlerRequest();
+        doReturn(new ListTablesResult().withTables(records(1)))
+                .when(proxy).injectCredentialsAndInvoke(any(ListTablesRequest.class), any(Function.class));
+        doThrow(new ResourceNotFoundException("Test exception"))
+                .when(proxy).injectCredentialsAndInvoke(any(ListTagsForResourceRequest.class), any(Function.class));
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            new ListHandler(20, true, 3, 1).handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModels()).hasSize(1);
+        assertThat(response.getResourceModels().get(0).getTags()).isNull();
+    }
+
+    @Test
+    public void listAllTablesShouldMergeDatabasesInOrder() {
+        final ResourceHandlerRequest<ResourceModel> request = givenAnAllDatabasesRequest();
+        doReturn(new ListDatabasesResult().withDatabases(databases("DatabaseA", "DatabaseB", "DatabaseC")))
+                .when(proxy).injectCredentialsAndInvoke(any(ListDatabasesRequest.class), any(Function.class));
+        givenTablePage("DatabaseA", null, null, records("DatabaseA", 2));
+        givenTablePage("DatabaseB", null, TEST_NEXT_TOKEN, records("DatabaseB", 1));
+        final ListHandler allDatabasesHandler = new ListHandler(20, false, 1, 2);
+
+        final ProgressEvent<ResourceModel, CallbackContext> first =
+            allDatabasesHandler.handleRequest(proxy, request, null, logger);
+
+        assertThat(first.getResourceModels())
+                .extracting(ResourceModel::getArn)
+                .containsExactly(arn("DatabaseA", "TestTable0"), arn("DatabaseA", "TestTable1"),
+                        arn("DatabaseB", "TestTable0"));
+        assertThat(TableListToken.decode(first.getNextToken())).isEqualTo(TableListToken.builder()
+                .databasesListed(true)
+                .databases(Arrays.asList(
+                        DatabaseCursor.builder().databaseName("DatabaseB").nextToken(TEST_NEXT_TOKEN).build(),
+                        DatabaseCursor.builder().databaseName("DatabaseC").build()))
+                .build());
+
+        givenTablePage("DatabaseB", TEST_NEXT_TOKEN, null, records("DatabaseB", 2).subList(1, 2));
+        givenTablePage("DatabaseC", null, null, records("DatabaseC", 1));
+        request.setNextToken(first.getNextToken());
+
+        final ProgressEvent<ResourceModel, CallbackContext> second =
+            allDatabasesHandler.handleRequest(proxy, request, null, logger);
+
+        assertThat(second.getResourceModels())
+                .extracting(ResourceModel::getArn)
+                .containsExactly(arn("DatabaseB", "TestTable1"), arn("DatabaseC", "TestTable0"));
+        assertThat(second.getNextToken()).isNull();
+        verify(proxy, times(1)).injectCredentialsAndInvoke(any(ListDatabasesRequest.class), any(Function.class));
+    }
+
+    @Test
+    public void listAllTablesShouldPageThroughListDatabases() {
+        final ResourceHandlerRequest<ResourceModel> request = givenAnAllDatabasesRequest();
+        doReturn(new ListDatabasesResult().withDatabases(databases("DatabaseA")).withNextToken(TEST_NEXT_TOKEN))
+                .when(proxy).injectCredentialsAndInvoke(
+                        eq(new ListDatabasesRequest().withMaxResults(ListHandler.MAX_PAGE_SIZE)), any(Function.class));
+        doReturn(new ListDatabasesResult().withDatabases(databases("DatabaseB")).withNextToken(TEST_NEXT_TOKEN_2))
+                .when(proxy).injectCredentialsAndInvoke(
+                        eq(new ListDatabasesRequest().withNextToken(TEST_NEXT_TOKEN)
+                                .withMaxResults(ListHandler.MAX_PAGE_SIZE)),
+                        any(Function.class));
+        givenTablePage("DatabaseA", null, null, records("DatabaseA", 1));
+        givenTablePage("DatabaseB", null, null, records("DatabaseB", 1));
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            new ListHandler(20, false, 1, 2).handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getResourceModels()).hasSize(2);
+        assertThat(TableListToken.decode(response.getNextToken())).isEqualTo(TableListToken.builder()
+                .databasesNextToken(TEST_NEXT_TOKEN_2)
+                .databases(Collections.emptyList())
+                .build());
+    }
+
+    @Test
+    public void listAllTablesShouldBoundDatabaseConcurrency() {
+        final ResourceHandlerRequest<ResourceModel> request = givenAnAllDatabasesRequest();
+        request.setDesiredResourceState(null);
+        doReturn(new ListDatabasesResult().withDatabases(databases("D0", "D1", "D2", "D3", "D4", "D5", "D6")))
+                .when(proxy).injectCredentialsAndInvoke(any(ListDatabasesRequest.class), any(Function.class));
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger mostRunning = new AtomicInteger();
+        doAnswer(invocation -> {
+            mostRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(5);
+            running.decrementAndGet();
+            final String databaseName = invocation.<ListTablesRequest>getArgument(0).getDatabaseName();
+            return new ListTablesResult().withTables(records(databaseName, 1));
+        }).when(proxy).injectCredentialsAndInvoke(any(ListTablesRequest.class), any(Function.class));
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            new ListHandler(20, false, 1, 3).handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getResourceModels())
+                .extracting(ResourceModel::getDatabaseName)
+                .containsExactly("D0", "D1", "D2");
+        assertThat(mostRunning.get()).isBetween(1, 3);
+        verify(proxy, times(3)).injectCredentialsAndInvoke(any(ListTablesRequest.class), any(Function.class));
+    }
+
+    @Test
+    public void listAllTablesShouldSkipDeletedDatabases() {
+        final ResourceHandlerRequest<ResourceModel> request = givenAnAllDatabasesRequest();
+        doReturn(new ListDatabasesResult().withDatabases(databases("DatabaseA", "DatabaseB")))
+                .when(proxy).injectCredentialsAndInvoke(any(ListDatabasesRequest.class), any(Function.class));
+        doThrow(new ResourceNotFoundException("Test exception"))
+                .when(proxy).injectCredentialsAndInvoke(
+                        eq(listTablesRequest("DatabaseA", null, 20)), any(Function.class));
+        givenTablePage("DatabaseB", null, null, records("DatabaseB", 1));
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            new ListHandler(20, false, 1, 2).handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getResourceModels())
+                .extracting(ResourceModel::getDatabaseName)
+                .containsExactly("DatabaseB");
+        assertThat(response.getNextToken()).isNull();
+    }
+
+    @Test
+    public void listAllTablesShouldThrowWhenNextTokenIsMalformed() {
+        final ResourceHandlerRequest<ResourceModel> request = givenAnAllDatabasesRequest();
+        request.setNextToken("not a token");
+
+        assertThrows(
+                CfnInvalidRequestException.class,
+                () -> handler.handleRequest(proxy, request, null, logger));
     }
 
     /*
@@ -170,11 +417,58 @@ public class ListHandlerTest {
                 () -> handler.handleRequest(proxy, request, null, logger));
     }
 
+    private void givenTablePage(
+            final String databaseName, final String nextToken, final String pageNextToken, final List<Table> records) {
+        doReturn(new ListTablesResult().withTables(records).withNextToken(pageNextToken))
+                .when(proxy).injectCredentialsAndInvoke(
+                        eq(listTablesRequest(databaseName, nextToken, 20)), any(Function.class));
+    }
+
+    private static List<Table> records(final int count) {
+        return records(TEST_DATABASE_NAME, count);
+    }
+
+    private static List<Table> records(final String databaseName, final int count) {
+        final List<Table> records = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            records.add(new Table()
+                    .withDatabaseName(databaseName)
+                    .withTableName("TestTable" + i)
+                    .withArn(arn(databaseName, "TestTable" + i)));
+        }
+        return records;
+    }
+
+    private static List<Database> databases(final String... databaseNames) {
+        return Arrays.stream(databaseNames)
+                .map(databaseName -> new Database().withDatabaseName(databaseName))
+                .collect(Collectors.toList());
+    }
+
+    private static ListTablesRequest listTablesRequest(
+            final String databaseName, final String nextToken, final int maxResults) {
+        return new ListTablesRequest().withDatabaseName(databaseName).withNextToken(nextToken).withMaxResults(maxResults);
+    }
+
+    private static String arn(final String tableName) {
+        return arn(TEST_DATABASE_NAME, tableName);
+    }
+
+    private static String arn(final String databaseName, final String tableName) {
+        return "arn:aws:timestream:us-east-1:123456789012:database/" + databaseName + "/table/" + tableName;
+    }
+
     private ResourceHandlerRequest<ResourceModel> givenAResourceHandlerRequest() {
-        final ResourceModel model = ResourceModel.builder().build();
+        final ResourceModel model = ResourceModel.builder().databaseName(TEST_DATABASE_NAME).build();
 
         return ResourceHandlerRequest.<ResourceModel>builder()
             .desiredResourceState(model)
             .build();
     }
+
+    private ResourceHandlerRequest<ResourceModel> givenAnAllDatabasesRequest() {
+        return ResourceHandlerRequest.<ResourceModel>builder()
+            .desiredResourceState(ResourceModel.builder().build())
+            .build();
+    }
 }
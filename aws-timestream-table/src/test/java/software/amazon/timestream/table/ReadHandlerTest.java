@@ -2,6 +2,8 @@ package software.amazon.timestream.table;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -40,6 +42,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
@@ -55,6 +58,7 @@ public class ReadHandlerTest {
     private static final String TEST_ARN = "TestArn";
     private static final String TEST_TAG_KEY = "TestKey";
     private static final String TEST_TAG_VALUE = "TestValue";
+    private static final String TEST_ACCOUNT_ID = "123456789012";
 
     @Mock
     private AmazonWebServicesClientProxy proxy;
@@ -66,12 +70,61 @@ public class ReadHandlerTest {
 
     @BeforeEach
     public void setup() {
+        CircuitBreaker.clear();
+        EndpointCache.getInstance().clear();
         proxy = mock(AmazonWebServicesClientProxy.class);
         doReturn(new DescribeEndpointsResult().withEndpoints(new Endpoint().withAddress("endpoint")))
                 .when(proxy).injectCredentialsAndInvoke(any(DescribeEndpointsRequest.class), any(Function.class));
         logger = mock(Logger.class);
     }
 
+    @Test
+    public void readTableShouldFillInEveryProperty() {
+        final ResourceHandlerRequest<ResourceModel> request = givenAResourceHandlerRequest();
+        final Table record = new Table()
+                .withDatabaseName(TEST_DATABASE_NAME)
+                .withTableName(TEST_TABLE_NAME)
+                .withArn(TEST_ARN)
+                .withRetentionProperties(new com.amazonaws.services.timestreamwrite.model.RetentionProperties()
+                        .withMemoryStoreRetentionPeriodInHours(9L)
+                        .withMagneticStoreRetentionPeriodInDays(14L))
+                .withMagneticStoreWriteProperties(new com.amazonaws.services.timestreamwrite.model.MagneticStoreWriteProperties()
+                        .withEnableMagneticStoreWrites(true)
+                        .withMagneticStoreRejectedDataLocation(
+                                new com.amazonaws.services.timestreamwrite.model.MagneticStoreRejectedDataLocation()
+                                        .withS3Configuration(new com.amazonaws.services.timestreamwrite.model.S3Configuration()
+                                                .withBucketName("BucketName")
+                                                .withEncryptionOption("SSE_S3"))));
+        doReturn(new DescribeTableResult().withTable(record))
+                .when(proxy).injectCredentialsAndInvoke(any(DescribeTableRequest.class), any(Function.class));
+        doReturn(new ListTagsForResourceResult())
+                .when(proxy).injectCredentialsAndInvoke(any(ListTagsForResourceRequest.class), any(Function.class));
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+            = handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModel()).isEqualTo(ResourceModel.builder()
+                .databaseName(TEST_DATABASE_NAME)
+                .tableName(TEST_TABLE_NAME)
+                .arn(TEST_ARN)
+                .name(TEST_TABLE_NAME)
+                .retentionProperties(RetentionProperties.builder()
+                        .memoryStoreRetentionPeriodInHours("9")
+                        .magneticStoreRetentionPeriodInDays("14")
+                        .build())
+                .magneticStoreWriteProperties(MagneticStoreWriteProperties.builder()
+                        .enableMagneticStoreWrites(true)
+                        .magneticStoreRejectedDataLocation(MagneticStoreRejectedDataLocation.builder()
+                                .s3Configuration(S3Configuration.builder()
+                                        .bucketName("BucketName")
+                                        .encryptionOption("SSE_S3")
+                                        .build())
+                                .build())
+                        .build())
+                .build());
+    }
+
     @Test
     public void readTableShouldSucceed() {
         final ResourceHandlerRequest<ResourceModel> request = givenAResourceHandlerRequest();
@@ -113,6 +166,55 @@ public class ReadHandlerTest {
         verifyNoMoreInteractions(proxy);
     }
 
+    @Test
+    public void readTableShouldListTagsWhileDescribing() {
+        final ResourceHandlerRequest<ResourceModel> request = givenAResourceHandlerRequestWithAccount();
+        final String arn = Arns.table(TEST_ACCOUNT_ID, TEST_DATABASE_NAME, TEST_TABLE_NAME);
+        final CountDownLatch tagsListed = new CountDownLatch(1);
+
+        doAnswer(invocation -> {
+            // only answers once the tags are being listed alongside
+            assertThat(tagsListed.await(5, TimeUnit.SECONDS)).isTrue();
+            return new DescribeTableResult().withTable(
+                    new Table().withDatabaseName(TEST_DATABASE_NAME).withTableName(TEST_TABLE_NAME).withArn(arn));
+        }).when(proxy).injectCredentialsAndInvoke(any(DescribeTableRequest.class), any(Function.class));
+        doAnswer(invocation -> {
+            tagsListed.countDown();
+            return givenAListTagsForResourceResultWithTags();
+        }).when(proxy).injectCredentialsAndInvoke(any(ListTagsForResourceRequest.class), any(Function.class));
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+            = handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModel().getArn()).isEqualTo(arn);
+        assertThat(response.getResourceModel().getTags())
+                .containsExactly(Tag.builder().key(TEST_TAG_KEY).value(TEST_TAG_VALUE).build());
+        verify(proxy).injectCredentialsAndInvoke(eq(new ListTagsForResourceRequest().withResourceARN(arn)),
+                any(Function.class));
+    }
+
+    @Test
+    public void readTableShouldListTagsAgainWhenSynthesizedArnDiffers() {
+        final ResourceHandlerRequest<ResourceModel> request = givenAResourceHandlerRequestWithAccount();
+        final Table record = new Table().withDatabaseName(TEST_DATABASE_NAME).withTableName(TEST_TABLE_NAME).withArn(TEST_ARN);
+
+        doReturn(new DescribeTableResult().withTable(record))
+                .when(proxy).injectCredentialsAndInvoke(any(DescribeTableRequest.class), any(Function.class));
+        doReturn(givenAListTagsForResourceResultWithTags())
+                .when(proxy).injectCredentialsAndInvoke(any(ListTagsForResourceRequest.class), any(Function.class));
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+            = handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModel().getArn()).isEqualTo(TEST_ARN);
+        assertThat(response.getResourceModel().getTags())
+                .containsExactly(Tag.builder().key(TEST_TAG_KEY).value(TEST_TAG_VALUE).build());
+        verify(proxy).injectCredentialsAndInvoke(eq(new ListTagsForResourceRequest().withResourceARN(TEST_ARN)),
+                any(Function.class));
+    }
+
     /*
      * Tests for error handling.
      */
@@ -164,6 +266,18 @@ public class ReadHandlerTest {
                 () -> handler.handleRequest(proxy, request, null, logger));
     }
 
+    @Test
+    public void readTableShouldThrowWhenRateLimitedClientSide() {
+        final ResourceHandlerRequest<ResourceModel> request = givenAResourceHandlerRequest();
+
+        doThrow(new ClientRateLimitedException("Test exception"))
+                .when(proxy).injectCredentialsAndInvoke(any(DescribeTableRequest.class), any(Function.class));
+
+        assertThrows(
+                CfnThrottlingException.class,
+                () -> handler.handleRequest(proxy, request, null, logger));
+    }
+
     @Test
     public void readTableShouldThrowWhenGenericException() {
         final ResourceHandlerRequest<ResourceModel> request = givenAResourceHandlerRequest();
@@ -197,6 +311,16 @@ public class ReadHandlerTest {
             .build();
     }
 
+    private ResourceHandlerRequest<ResourceModel> givenAResourceHandlerRequestWithAccount() {
+        final ResourceModel model =
+                ResourceModel.builder().databaseName(TEST_DATABASE_NAME).tableName(TEST_TABLE_NAME).build();
+
+        return ResourceHandlerRequest.<ResourceModel>builder()
+            .awsAccountId(TEST_ACCOUNT_ID)
+            .desiredResourceState(model)
+            .build();
+    }
+
     private ListTagsForResourceResult givenAListTagsForResourceResultWithTags() {
         final ListTagsForResourceResult mockListTagsForResourceResult = mock(ListTagsForResourceResult.class);
         final List<com.amazonaws.services.timestreamwrite.model.Tag> tags =
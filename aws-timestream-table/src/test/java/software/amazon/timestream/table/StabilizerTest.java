@@ -0,0 +1,99 @@
+package software.amazon.timestream.table;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StabilizerTest {
+    private static final long START_MILLIS = 1_600_000_000_000L;
+
+    private final AtomicLong now = new AtomicLong(START_MILLIS);
+    private final List<Long> sleeps = new ArrayList<>();
+    private final DurationHistogram history = new DurationHistogram();
+
+    @Test
+    public void pollInlineShouldReturnOnceStabilized() {
+        final AtomicInteger polls = new AtomicInteger();
+
+        assertThat(stabilizer(Deadline.DEFAULT_BUDGET_MILLIS).pollInline(() -> polls.incrementAndGet() == 4)).isTrue();
+
+        assertThat(sleeps).containsExactly(
+                Stabilizer.FIRST_POLL_DELAY_MILLIS,
+                2 * Stabilizer.FIRST_POLL_DELAY_MILLIS,
+                4 * Stabilizer.FIRST_POLL_DELAY_MILLIS);
+    }
+
+    @Test
+    public void pollInlineShouldStopAfterInlinePhase() {
+        assertThat(stabilizer(Deadline.DEFAULT_BUDGET_MILLIS).pollInline(() -> false)).isFalse();
+
+        assertThat(sleeps).allMatch(delay -> delay <= Stabilizer.MAX_POLL_DELAY_MILLIS);
+        assertThat(now.get() - START_MILLIS).isLessThanOrEqualTo(Stabilizer.MAX_INLINE_MILLIS);
+    }
+
+    @Test
+    public void pollInlineShouldStopWhenDeadlineLeavesNoRoom() {
+        final AtomicInteger polls = new AtomicInteger();
+
+        assertThat(stabilizer(Deadline.MIN_BUDGET_MILLIS).pollInline(() -> polls.incrementAndGet() > 10)).isFalse();
+
+        assertThat(polls.get()).isLessThan(10);
+        assertThat(now.get() - START_MILLIS)
+                .isLessThanOrEqualTo(Deadline.MIN_BUDGET_MILLIS - Deadline.RESERVE_MILLIS - ThrottlingRetry.MIN_CALL_MILLIS);
+    }
+
+    @Test
+    public void callbackDelayShouldDefaultWithoutHistory() {
+        final Stabilizer stabilizer = stabilizer(Deadline.DEFAULT_BUDGET_MILLIS);
+
+        assertThat(stabilizer.expectedMillis()).isZero();
+        assertThat(stabilizer.callbackDelaySeconds(START_MILLIS, stabilizer.expectedMillis()))
+                .isEqualTo(Stabilizer.DEFAULT_CALLBACK_DELAY_SECONDS);
+        assertThat(stabilizer.callbackDelaySeconds(0L, TimeUnit.SECONDS.toMillis(30)))
+                .isEqualTo(Stabilizer.DEFAULT_CALLBACK_DELAY_SECONDS);
+    }
+
+    @Test
+    public void callbackDelayShouldCoverRestOfExpectedDuration() {
+        final Stabilizer stabilizer = stabilizer(Deadline.DEFAULT_BUDGET_MILLIS);
+        now.addAndGet(TimeUnit.SECONDS.toMillis(10));
+
+        assertThat(stabilizer.callbackDelaySeconds(START_MILLIS, TimeUnit.SECONDS.toMillis(30))).isEqualTo(20);
+        assertThat(stabilizer.callbackDelaySeconds(START_MILLIS, TimeUnit.SECONDS.toMillis(12)))
+                .isEqualTo(Stabilizer.MIN_CALLBACK_DELAY_SECONDS);
+        assertThat(stabilizer.callbackDelaySeconds(START_MILLIS, TimeUnit.MINUTES.toMillis(10)))
+                .isEqualTo(Stabilizer.MAX_CALLBACK_DELAY_SECONDS);
+    }
+
+    @Test
+    public void callbackDelayShouldBackOffOnceOverdue() {
+        final Stabilizer stabilizer = stabilizer(Deadline.DEFAULT_BUDGET_MILLIS);
+        now.addAndGet(TimeUnit.SECONDS.toMillis(120));
+
+        assertThat(stabilizer.callbackDelaySeconds(START_MILLIS, TimeUnit.SECONDS.toMillis(30))).isEqualTo(30);
+    }
+
+    @Test
+    public void recordStabilizedShouldFeedExpectedDuration() {
+        final Stabilizer stabilizer = stabilizer(Deadline.DEFAULT_BUDGET_MILLIS);
+        now.addAndGet(TimeUnit.SECONDS.toMillis(8));
+
+        stabilizer.recordStabilized(START_MILLIS);
+        stabilizer.recordStabilized(0L);
+
+        assertThat(stabilizer.expectedMillis()).isEqualTo(TimeUnit.SECONDS.toMillis(8));
+    }
+
+    private Stabilizer stabilizer(final long budgetMillis) {
+        return new Stabilizer(new Deadline(budgetMillis, now::get), history, now::get, millis -> {
+            sleeps.add(millis);
+            now.addAndGet(millis);
+        });
+    }
+}
@@ -0,0 +1,122 @@
+package software.amazon.timestream.table;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+
+import com.amazonaws.services.timestreamwrite.model.ThrottlingException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+public class StepSequenceTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final List<String> calls = new ArrayList<>();
+    private final Logger logger = mock(Logger.class);
+    private final ResourceModel model = ResourceModel.builder().build();
+
+    @Test
+    public void runShouldRunStepsInOrder() {
+        final CallbackContext context = CallbackContext.builder().build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> event = sequence(context).run(model);
+
+        assertThat(event.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(calls).containsExactly("first", "second", "third");
+        assertThat(context.getCompletedSteps()).containsExactly("first", "second", "third");
+    }
+
+    @Test
+    public void runShouldSkipFinishedSteps() {
+        final CallbackContext context = CallbackContext.builder()
+                .completedSteps(new ArrayList<>(Arrays.asList("first", "second")))
+                .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> event = sequence(context).run(model);
+
+        assertThat(event.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(calls).containsExactly("third");
+    }
+
+    @Test
+    public void runShouldCheckpointWhenDeadlineIsNearlyExpired() {
+        final CallbackContext context = CallbackContext.builder().build();
+        final StepSequence sequence = sequence(context)
+                .step("fourth", () -> now.set(Deadline.MIN_BUDGET_MILLIS - Deadline.RESERVE_MILLIS))
+                .step("fifth", () -> calls.add("fifth"));
+
+        final ProgressEvent<ResourceModel, CallbackContext> event = sequence.run(model);
+
+        assertThat(event.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(event.getCallbackDelaySeconds()).isEqualTo(StepSequence.CHECKPOINT_CALLBACK_DELAY_SECONDS);
+        assertThat(event.getCallbackContext()).isSameAs(context);
+        assertThat(context.getCompletedSteps()).containsExactly("first", "second", "third", "fourth");
+        assertThat(calls).doesNotContain("fifth");
+    }
+
+    @Test
+    public void runShouldResumeAtThrottledStep() {
+        final CallbackContext context = CallbackContext.builder().build();
+        final StepSequence sequence = sequence(context).step("fourth", StepSequenceTest::throttle);
+
+        final ProgressEvent<ResourceModel, CallbackContext> event = sequence.run(model);
+
+        assertThat(event.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(event.getCallbackDelaySeconds()).isEqualTo(StepSequence.FIRST_THROTTLED_CALLBACK_DELAY_SECONDS);
+        assertThat(context.getCompletedSteps()).containsExactly("first", "second", "third");
+        assertThat(context.getThrottledResumes()).isEqualTo(1);
+    }
+
+    @Test
+    public void runShouldFailWhenThrottledBeforeAnyProgress() {
+        final CallbackContext context = CallbackContext.builder().build();
+        final StepSequence sequence =
+                new StepSequence(deadline(), context, logger).step("first", StepSequenceTest::throttle);
+
+        assertThrows(ThrottlingException.class, () -> sequence.run(model));
+        assertThat(context.getThrottledResumes()).isZero();
+    }
+
+    @Test
+    public void runShouldFailOnceThrottledResumesAreSpent() {
+        final CallbackContext context = CallbackContext.builder()
+                .throttledResumes(StepSequence.MAX_THROTTLED_RESUMES)
+                .build();
+        final StepSequence sequence = sequence(context).step("fourth", StepSequenceTest::throttle);
+
+        assertThrows(ThrottlingException.class, () -> sequence.run(model));
+    }
+
+    @Test
+    public void throttledCallbackDelayShouldDoubleUpToCap() {
+        assertThat(StepSequence.throttledCallbackDelaySeconds(0))
+                .isEqualTo(StepSequence.FIRST_THROTTLED_CALLBACK_DELAY_SECONDS);
+        assertThat(StepSequence.throttledCallbackDelaySeconds(1))
+                .isEqualTo(2 * StepSequence.FIRST_THROTTLED_CALLBACK_DELAY_SECONDS);
+        assertThat(StepSequence.throttledCallbackDelaySeconds(30))
+                .isEqualTo(StepSequence.MAX_THROTTLED_CALLBACK_DELAY_SECONDS);
+    }
+
+    private StepSequence sequence(final CallbackContext context) {
+        return new StepSequence(deadline(), context, logger)
+                .step("first", () -> calls.add("first"))
+                .step("second", () -> calls.add("second"))
+                .step("third", () -> calls.add("third"));
+    }
+
+    private Deadline deadline() {
+        return new Deadline(Deadline.MIN_BUDGET_MILLIS, now::get);
+    }
+
+    private static void throttle() {
+        throw new ThrottlingException("Test exception");
+    }
+}
@@ -0,0 +1,47 @@
+package software.amazon.timestream.table;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.timestream.table.TableListToken.DatabaseCursor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class TableListTokenTest {
+
+    @Test
+    public void tokenShouldSurviveEncoding() {
+        final TableListToken token = TableListToken.builder()
+                .databasesNextToken("DatabasesNextToken")
+                .databases(Arrays.asList(
+                        DatabaseCursor.builder().databaseName("DatabaseA").nextToken("TablesNextToken").build(),
+                        DatabaseCursor.builder().databaseName("DatabaseB").build()))
+                .build();
+
+        assertThat(TableListToken.decode(token.encode())).isEqualTo(token);
+    }
+
+    @Test
+    public void noTokenShouldStartListing() {
+        assertThat(TableListToken.decode(null)).isEqualTo(TableListToken.start());
+        assertThat(TableListToken.start().encode()).isNotNull();
+    }
+
+    @Test
+    public void finishedListingShouldHaveNoToken() {
+        final TableListToken token = TableListToken.builder()
+                .databasesListed(true)
+                .databases(Collections.emptyList())
+                .build();
+
+        assertThat(token.encode()).isNull();
+    }
+
+    @Test
+    public void decodeShouldRejectMalformedToken() {
+        assertThrows(IllegalArgumentException.class, () -> TableListToken.decode("not a token"));
+        assertThrows(IllegalArgumentException.class, () -> TableListToken.decode("e30"));
+    }
+}
@@ -0,0 +1,158 @@
+package software.amazon.timestream.table;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TableUpdatePlanTest {
+    private static final String TEST_ARN = "TestArn";
+
+    @Test
+    public void planShouldOnlyTagWhenTagsChange() {
+        final TableUpdatePlan plan = TableUpdatePlan.of(request(
+                model(retention("1", "2"), magneticStore("BucketName"), tag("Key1", "Value1"), tag("Key2", "Value2")),
+                model(retention("1", "2"), magneticStore("BucketName"), tag("Key2", "Value2New"))),
+                TEST_ARN);
+
+        assertThat(plan.getCalls())
+                .containsExactly(TableUpdatePlan.UNTAG_RESOURCE, TableUpdatePlan.TAG_RESOURCE);
+        assertThat(plan.getTagsToRemove()).containsExactly("Key1");
+        assertThat(plan.getTagsToAdd()).containsExactly(tag("Key2", "Value2New"));
+    }
+
+    @Test
+    public void planShouldDescribeTableWhenTagsChangeWithoutArn() {
+        final TableUpdatePlan plan = TableUpdatePlan.of(request(
+                model(retention("1", "2"), null, tag("Key1", "Value1")),
+                model(retention("1", "2"), null, tag("Key1", "Value1"), tag("Key2", "Value2"))),
+                null);
+
+        assertThat(plan.getCalls())
+                .containsExactly(TableUpdatePlan.DESCRIBE_TABLE, TableUpdatePlan.TAG_RESOURCE);
+    }
+
+    @Test
+    public void planShouldNotDescribeTableWhenTableIsUpdated() {
+        final TableUpdatePlan plan = TableUpdatePlan.of(request(
+                model(retention("1", "2"), null, tag("Key1", "Value1")),
+                model(retention("3", "2"), null)),
+                null);
+
+        assertThat(plan.getCalls())
+                .containsExactly(TableUpdatePlan.UPDATE_TABLE, TableUpdatePlan.UNTAG_RESOURCE);
+    }
+
+    @Test
+    public void planShouldUpdateTableWhenRetentionChanges() {
+        final TableUpdatePlan plan = TableUpdatePlan.of(request(
+                model(retention("1", "2"), magneticStore("BucketName")),
+                model(retention("1", "3"), magneticStore("BucketName"))),
+                TEST_ARN);
+
+        assertThat(plan.getCalls()).containsExactly(TableUpdatePlan.UPDATE_TABLE);
+    }
+
+    @Test
+    public void planShouldUpdateTableWhenS3ConfigurationChanges() {
+        final TableUpdatePlan plan = TableUpdatePlan.of(request(
+                model(retention("1", "2"), magneticStore("BucketName")),
+                model(retention("1", "2"), magneticStore("OtherBucketName"))),
+                TEST_ARN);
+
+        assertThat(plan.getCalls()).containsExactly(TableUpdatePlan.UPDATE_TABLE);
+    }
+
+    @Test
+    public void planShouldTakeMissingPropertiesAsUnchanged() {
+        final TableUpdatePlan plan = TableUpdatePlan.of(request(
+                model(retention("1", "2"), magneticStore("BucketName")),
+                model(null, null)),
+                TEST_ARN);
+
+        assertThat(plan.getCalls()).containsExactly(TableUpdatePlan.DESCRIBE_TABLE);
+    }
+
+    @Test
+    public void planShouldOnlyDescribeTableWithoutChanges() {
+        final TableUpdatePlan plan = TableUpdatePlan.of(request(
+                model(retention("1", "2"), magneticStore("BucketName"), tag("Key1", "Value1")),
+                model(retention("1", "2"), magneticStore("BucketName"), tag("Key1", "Value1"))),
+                TEST_ARN);
+
+        assertThat(plan.getCalls()).containsExactly(TableUpdatePlan.DESCRIBE_TABLE);
+        assertThat(plan.getTagsToAdd()).isEmpty();
+        assertThat(plan.getTagsToRemove()).isEmpty();
+    }
+
+    @Test
+    public void planShouldTakeEverythingDesiredAsChangedWithoutPreviousState() {
+        final TableUpdatePlan plan = TableUpdatePlan.of(request(
+                null,
+                model(retention("1", "2"), null, tag("Key1", "Value1"))),
+                TEST_ARN);
+
+        assertThat(plan.getCalls()).containsExactly(TableUpdatePlan.UPDATE_TABLE, TableUpdatePlan.TAG_RESOURCE);
+        assertThat(plan.getTagsToAdd()).containsExactly(tag("Key1", "Value1"));
+        assertThat(plan.getTagsToRemove()).isEmpty();
+    }
+
+    @Test
+    public void planShouldOnlyTagWithoutPreviousStateAndTableProperties() {
+        final TableUpdatePlan plan = TableUpdatePlan.of(request(
+                null,
+                model(null, null, tag("Key1", "Value1"))),
+                TEST_ARN);
+
+        assertThat(plan.getCalls()).containsExactly(TableUpdatePlan.TAG_RESOURCE);
+    }
+
+    private static ResourceHandlerRequest<ResourceModel> request(
+            final ResourceModel previous, final ResourceModel desired) {
+        return ResourceHandlerRequest.<ResourceModel>builder()
+                .previousResourceState(previous)
+                .desiredResourceState(desired)
+                .build();
+    }
+
+    private static ResourceModel model(
+            final RetentionProperties retentionProperties,
+            final MagneticStoreWriteProperties magneticStoreWriteProperties,
+            final Tag... tags) {
+        final List<Tag> tagList = tags.length == 0 ? Collections.emptyList() : Arrays.asList(tags);
+        return ResourceModel.builder()
+                .databaseName("TestDatabaseName")
+                .tableName("TestTableName")
+                .retentionProperties(retentionProperties)
+                .magneticStoreWriteProperties(magneticStoreWriteProperties)
+                .tags(tagList)
+                .build();
+    }
+
+    private static RetentionProperties retention(final String memoryStoreHours, final String magneticStoreDays) {
+        return RetentionProperties.builder()
+                .memoryStoreRetentionPeriodInHours(memoryStoreHours)
+                .magneticStoreRetentionPeriodInDays(magneticStoreDays)
+                .build();
+    }
+
+    private static MagneticStoreWriteProperties magneticStore(final String bucketName) {
+        return MagneticStoreWriteProperties.builder()
+                .enableMagneticStoreWrites(true)
+                .magneticStoreRejectedDataLocation(MagneticStoreRejectedDataLocation.builder()
+                        .s3Configuration(S3Configuration.builder()
+                                .bucketName(bucketName)
+                                .encryptionOption("SSE_S3")
+                                .build())
+                        .build())
+                .build();
+    }
+
+    private static Tag tag(final String key, final String value) {
+        return Tag.builder().key(key).value(value).build();
+    }
+}
@@ -0,0 +1,168 @@
+package software.amazon.timestream.table;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import com.amazonaws.services.timestreamwrite.AmazonTimestreamWrite;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class TimestreamClientRegistryTest {
+    private static final String TEST_REGION = "us-east-1";
+    private static final String TEST_ENDPOINT = "endpoint";
+
+    private final AtomicLong now = new AtomicLong(0L);
+    private final TimestreamClientRegistry registry = new TimestreamClientRegistry(now::get);
+
+    @Test
+    public void getShouldReuseClientForSameRegionAndEndpoint() {
+        final AmazonTimestreamWrite client = mock(AmazonTimestreamWrite.class);
+
+        assertThat(registry.get(TEST_REGION, TEST_ENDPOINT, ClientProfile.READ, () -> client)).isSameAs(client);
+        assertThat(registry.get(TEST_REGION, TEST_ENDPOINT, ClientProfile.READ, () -> mock(AmazonTimestreamWrite.class))).isSameAs(client);
+        assertThat(registry.get(TEST_REGION, null, ClientProfile.READ, () -> mock(AmazonTimestreamWrite.class))).isNotSameAs(client);
+        assertThat(registry.size()).isEqualTo(2);
+    }
+
+    @Test
+    public void getShouldEvictAndShutdownIdleClients() {
+        final AmazonTimestreamWrite idle = mock(AmazonTimestreamWrite.class);
+        registry.get(TEST_REGION, TEST_ENDPOINT, ClientProfile.READ, () -> idle);
+
+        now.set(TimestreamClientRegistry.IDLE_TIMEOUT_MILLIS + 1);
+        final AmazonTimestreamWrite replacement = mock(AmazonTimestreamWrite.class);
+
+        assertThat(registry.get(TEST_REGION, TEST_ENDPOINT, ClientProfile.READ, () -> replacement)).isSameAs(replacement);
+        verify(idle).shutdown();
+        assertThat(registry.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void getShouldEvictLeastRecentlyUsedClientBeyondCapacity() {
+        final AmazonTimestreamWrite eldest = mock(AmazonTimestreamWrite.class);
+        final AmazonTimestreamWrite recent = mock(AmazonTimestreamWrite.class);
+        registry.release(registry.get(TEST_REGION, "endpoint-0", ClientProfile.READ, () -> eldest));
+        registry.release(registry.get(TEST_REGION, "endpoint-1", ClientProfile.READ, () -> recent));
+        registry.release(registry.get(TEST_REGION, "endpoint-0", ClientProfile.READ, () -> eldest));
+
+        for (int i = 2; i <= TimestreamClientRegistry.MAX_CLIENTS; i++) {
+            registry.get(TEST_REGION, "endpoint-" + i, ClientProfile.READ, () -> mock(AmazonTimestreamWrite.class));
+        }
+
+        assertThat(registry.size()).isEqualTo(TimestreamClientRegistry.MAX_CLIENTS);
+        verify(recent).shutdown();
+        verify(eldest, never()).shutdown();
+    }
+
+    @Test
+    public void evictAndClearShouldShutdownClients() {
+        final AmazonTimestreamWrite first = mock(AmazonTimestreamWrite.class);
+        final AmazonTimestreamWrite second = mock(AmazonTimestreamWrite.class);
+        registry.release(registry.get(TEST_REGION, TEST_ENDPOINT, ClientProfile.READ, () -> first));
+        registry.get(TEST_REGION, null, ClientProfile.READ, () -> second);
+
+        registry.evict(TEST_REGION, TEST_ENDPOINT);
+        verify(first).shutdown();
+        assertThat(registry.size()).isEqualTo(1);
+
+        registry.clear();
+        verify(second).shutdown();
+        assertThat(registry.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void getShouldKeepSeparateClientsPerProfile() {
+        final AmazonTimestreamWrite read = mock(AmazonTimestreamWrite.class);
+        final AmazonTimestreamWrite mutate = mock(AmazonTimestreamWrite.class);
+        assertThat(registry.get(TEST_REGION, TEST_ENDPOINT, ClientProfile.READ, () -> read)).isSameAs(read);
+        assertThat(registry.get(TEST_REGION, TEST_ENDPOINT, ClientProfile.MUTATE, () -> mutate)).isSameAs(mutate);
+        registry.release(read);
+        registry.release(mutate);
+
+        registry.evict(TEST_REGION, TEST_ENDPOINT);
+        verify(read).shutdown();
+        verify(mutate).shutdown();
+        assertThat(registry.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void evictShouldShutdownBorrowedClientOnceReleased() {
+        final AmazonTimestreamWrite client = mock(AmazonTimestreamWrite.class);
+        registry.get(TEST_REGION, TEST_ENDPOINT, ClientProfile.READ, () -> client);
+        registry.get(TEST_REGION, TEST_ENDPOINT, ClientProfile.READ, () -> client);
+
+        registry.evict(TEST_REGION, TEST_ENDPOINT);
+        assertThat(registry.size()).isEqualTo(0);
+        verify(client, never()).shutdown();
+
+        registry.release(client);
+        verify(client, never()).shutdown();
+
+        registry.release(client);
+        verify(client).shutdown();
+
+        registry.release(client);
+        verify(client, times(1)).shutdown();
+    }
+
+    @Test
+    public void getShouldShutdownBorrowedClientBeyondCapacityOnceReleased() {
+        final AmazonTimestreamWrite borrowed = mock(AmazonTimestreamWrite.class);
+        registry.get(TEST_REGION, "endpoint-0", ClientProfile.READ, () -> borrowed);
+
+        for (int i = 1; i <= TimestreamClientRegistry.MAX_CLIENTS; i++) {
+            registry.release(registry.get(
+                    TEST_REGION, "endpoint-" + i, ClientProfile.READ, () -> mock(AmazonTimestreamWrite.class)));
+        }
+        verify(borrowed, never()).shutdown();
+
+        registry.release(borrowed);
+        verify(borrowed).shutdown();
+    }
+
+    @Test
+    public void clearShouldShutdownBorrowedClients() {
+        final AmazonTimestreamWrite client = mock(AmazonTimestreamWrite.class);
+        registry.get(TEST_REGION, TEST_ENDPOINT, ClientProfile.READ, () -> client);
+        registry.evict(TEST_REGION, TEST_ENDPOINT);
+
+        registry.clear();
+
+        verify(client).shutdown();
+    }
+
+    @Test
+    public void getShouldBuildClientOutsideOfLock() {
+        final AmazonTimestreamWrite client = mock(AmazonTimestreamWrite.class);
+
+        assertThat(registry.get(TEST_REGION, TEST_ENDPOINT, ClientProfile.READ, () -> {
+            // another invocation gets a registered client while this one is built
+            final AmazonTimestreamWrite other = CompletableFuture.supplyAsync(() -> registry.get(
+                    TEST_REGION, null, ClientProfile.READ, () -> mock(AmazonTimestreamWrite.class)))
+                    .orTimeout(5, TimeUnit.SECONDS)
+                    .join();
+            assertThat(other).isNotNull();
+            return client;
+        })).isSameAs(client);
+    }
+
+    @Test
+    public void getShouldShutdownClientBuiltConcurrently() {
+        final AmazonTimestreamWrite registered = mock(AmazonTimestreamWrite.class);
+        final AmazonTimestreamWrite built = mock(AmazonTimestreamWrite.class);
+
+        assertThat(registry.get(TEST_REGION, TEST_ENDPOINT, ClientProfile.READ, () -> {
+            registry.release(registry.get(TEST_REGION, TEST_ENDPOINT, ClientProfile.READ, () -> registered));
+            return built;
+        })).isSameAs(registered);
+        verify(built).shutdown();
+        verify(registered, never()).shutdown();
+    }
+}
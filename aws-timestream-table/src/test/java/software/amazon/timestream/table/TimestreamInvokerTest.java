@@ -0,0 +1,173 @@
+package software.amazon.timestream.table;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Logger;
+
+import com.amazonaws.SdkClientException;
+import com.amazonaws.services.timestreamwrite.AmazonTimestreamWrite;
+import com.amazonaws.services.timestreamwrite.model.DescribeEndpointsRequest;
+import com.amazonaws.services.timestreamwrite.model.DescribeEndpointsResult;
+import com.amazonaws.services.timestreamwrite.model.DescribeTableRequest;
+import com.amazonaws.services.timestreamwrite.model.DescribeTableResult;
+import com.amazonaws.services.timestreamwrite.model.Endpoint;
+import com.amazonaws.services.timestreamwrite.model.InvalidEndpointException;
+import com.amazonaws.services.timestreamwrite.model.ThrottlingException;
+import com.amazonaws.services.timestreamwrite.model.ValidationException;
+
+import java.net.ConnectException;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class TimestreamInvokerTest {
+    private static final String TEST_ACCOUNT_ID = "123456789012";
+    private static final long CACHE_PERIOD_IN_MINUTES = 1440L;
+
+    @Mock
+    private AmazonWebServicesClientProxy proxy;
+
+    @Mock
+    private Logger logger;
+
+    @BeforeEach
+    public void setup() {
+        proxy = mock(AmazonWebServicesClientProxy.class);
+        logger = mock(Logger.class);
+        EndpointCache.getInstance().clear();
+        TimestreamClientRegistry.getInstance().clear();
+        ThrottlingRetry.TokenBucket.getInstance().reset();
+        CallRateLimiter.getInstance().clear();
+        CircuitBreaker.clear();
+    }
+
+    @Test
+    public void invokeShouldFailOverToNextEndpointWhenInvalidEndpoint() {
+        doReturn(describeEndpointsResult("endpoint1", "endpoint2"))
+                .when(proxy).injectCredentialsAndInvoke(any(DescribeEndpointsRequest.class), any(Function.class));
+        final DescribeTableResult describeTableResult = new DescribeTableResult();
+        doThrow(new InvalidEndpointException("Test exception")).doReturn(describeTableResult)
+                .when(proxy).injectCredentialsAndInvoke(any(DescribeTableRequest.class), any(Function.class));
+        final CallbackContext callbackContext = CallbackContext.builder().build();
+
+        final TimestreamInvoker invoker =
+                new TimestreamInvoker(proxy, TEST_ACCOUNT_ID, callbackContext, Deadline.start(), logger);
+        assertThat(callbackContext.getEndpointAddress()).isEqualTo("endpoint1");
+
+        assertThat(invoker.invoke(new DescribeTableRequest(), AmazonTimestreamWrite::describeTable))
+                .isSameAs(describeTableResult);
+        assertThat(callbackContext.getEndpointAddress()).isEqualTo("endpoint2");
+        verify(proxy, times(1)).injectCredentialsAndInvoke(any(DescribeEndpointsRequest.class), any(Function.class));
+        verify(proxy, times(2)).injectCredentialsAndInvoke(any(DescribeTableRequest.class), any(Function.class));
+    }
+
+    @Test
+    public void invokeShouldRediscoverWhenEndpointUnreachable() {
+        doReturn(describeEndpointsResult("endpoint1")).doReturn(describeEndpointsResult("endpoint2"))
+                .when(proxy).injectCredentialsAndInvoke(any(DescribeEndpointsRequest.class), any(Function.class));
+        final DescribeTableResult describeTableResult = new DescribeTableResult();
+        doThrow(new SdkClientException("Unable to execute HTTP request", new ConnectException("Connection refused")))
+                .doReturn(describeTableResult)
+                .when(proxy).injectCredentialsAndInvoke(any(DescribeTableRequest.class), any(Function.class));
+        final CallbackContext callbackContext = CallbackContext.builder().build();
+
+        final TimestreamInvoker invoker =
+                new TimestreamInvoker(proxy, TEST_ACCOUNT_ID, callbackContext, Deadline.start(), logger);
+
+        assertThat(invoker.invoke(new DescribeTableRequest(), AmazonTimestreamWrite::describeTable))
+                .isSameAs(describeTableResult);
+        assertThat(callbackContext.getEndpointAddress()).isEqualTo("endpoint2");
+        verify(proxy, times(2)).injectCredentialsAndInvoke(any(DescribeEndpointsRequest.class), any(Function.class));
+    }
+
+    @Test
+    public void invokeShouldRetryOnlyOnce() {
+        doReturn(describeEndpointsResult("endpoint1")).doReturn(describeEndpointsResult("endpoint2"))
+                .when(proxy).injectCredentialsAndInvoke(any(DescribeEndpointsRequest.class), any(Function.class));
+        doThrow(new InvalidEndpointException("Test exception"))
+                .when(proxy).injectCredentialsAndInvoke(any(DescribeTableRequest.class), any(Function.class));
+
+        final TimestreamInvoker invoker =
+                new TimestreamInvoker(proxy, TEST_ACCOUNT_ID, null, Deadline.start(), logger);
+
+        assertThrows(InvalidEndpointException.class,
+                () -> invoker.invoke(new DescribeTableRequest(), AmazonTimestreamWrite::describeTable));
+        verify(proxy, times(2)).injectCredentialsAndInvoke(any(DescribeTableRequest.class), any(Function.class));
+    }
+
+    @Test
+    public void invokeShouldNotRetryOtherFailures() {
+        doReturn(describeEndpointsResult("endpoint1", "endpoint2"))
+                .when(proxy).injectCredentialsAndInvoke(any(DescribeEndpointsRequest.class), any(Function.class));
+        doThrow(new ValidationException("Test exception"))
+                .when(proxy).injectCredentialsAndInvoke(any(DescribeTableRequest.class), any(Function.class));
+        final CallbackContext callbackContext = CallbackContext.builder().build();
+
+        final TimestreamInvoker invoker =
+                new TimestreamInvoker(proxy, TEST_ACCOUNT_ID, callbackContext, Deadline.start(), logger);
+
+        assertThrows(ValidationException.class,
+                () -> invoker.invoke(new DescribeTableRequest(), AmazonTimestreamWrite::describeTable));
+        assertThat(callbackContext.getEndpointAddress()).isEqualTo("endpoint1");
+        verify(proxy, times(1)).injectCredentialsAndInvoke(any(DescribeTableRequest.class), any(Function.class));
+    }
+
+    @Test
+    public void invokeShouldRetryThrottledCall() {
+        doReturn(describeEndpointsResult("endpoint1"))
+                .when(proxy).injectCredentialsAndInvoke(any(DescribeEndpointsRequest.class), any(Function.class));
+        final DescribeTableResult describeTableResult = new DescribeTableResult();
+        doThrow(new ThrottlingException("Test exception")).doReturn(describeTableResult)
+                .when(proxy).injectCredentialsAndInvoke(any(DescribeTableRequest.class), any(Function.class));
+
+        final TimestreamInvoker invoker =
+                new TimestreamInvoker(proxy, TEST_ACCOUNT_ID, null, Deadline.start(), logger);
+
+        assertThat(invoker.invoke(new DescribeTableRequest(), AmazonTimestreamWrite::describeTable))
+                .isSameAs(describeTableResult);
+        verify(proxy, times(1)).injectCredentialsAndInvoke(any(DescribeEndpointsRequest.class), any(Function.class));
+        verify(proxy, times(2)).injectCredentialsAndInvoke(any(DescribeTableRequest.class), any(Function.class));
+    }
+
+    @Test
+    public void invokeShouldBoundCallByDeadline() {
+        doReturn(describeEndpointsResult("endpoint1"))
+                .when(proxy).injectCredentialsAndInvoke(any(DescribeEndpointsRequest.class), any(Function.class));
+        final Deadline deadline = new Deadline(Deadline.MIN_BUDGET_MILLIS, () -> 0L);
+        final TimestreamInvoker invoker = new TimestreamInvoker(proxy, TEST_ACCOUNT_ID, null, deadline, logger);
+
+        final DescribeTableRequest describeTableRequest = new DescribeTableRequest();
+        invoker.invoke(describeTableRequest, AmazonTimestreamWrite::describeTable);
+        assertThat(describeTableRequest.getSdkClientExecutionTimeout())
+                .isEqualTo((int) (Deadline.MIN_BUDGET_MILLIS - Deadline.RESERVE_MILLIS));
+    }
+
+    @Test
+    public void isEndpointFailureShouldOnlyMatchStaleOrUnreachableEndpoints() {
+        assertThat(TimestreamInvoker.isEndpointFailure(new InvalidEndpointException("Test exception"))).isTrue();
+        assertThat(TimestreamInvoker.isEndpointFailure(
+                new SdkClientException("Test exception", new ConnectException("Connection refused")))).isTrue();
+        assertThat(TimestreamInvoker.isEndpointFailure(new SdkClientException("Test exception"))).isFalse();
+        assertThat(TimestreamInvoker.isEndpointFailure(new ThrottlingException("Test exception"))).isFalse();
+    }
+
+    private static DescribeEndpointsResult describeEndpointsResult(final String... addresses) {
+        final DescribeEndpointsResult result = new DescribeEndpointsResult();
+        for (final String address : addresses) {
+            result.withEndpoints(new Endpoint().withAddress(address).withCachePeriodInMinutes(CACHE_PERIOD_IN_MINUTES));
+        }
+        return result;
+    }
+}
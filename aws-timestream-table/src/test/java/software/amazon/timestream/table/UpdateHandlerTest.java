@@ -1,6 +1,8 @@
 package software.amazon.timestream.table;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -22,6 +24,8 @@ import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 import com.amazonaws.services.timestreamwrite.model.AccessDeniedException;
 import com.amazonaws.services.timestreamwrite.model.DescribeEndpointsRequest;
 import com.amazonaws.services.timestreamwrite.model.DescribeEndpointsResult;
+import com.amazonaws.services.timestreamwrite.model.DescribeTableRequest;
+import com.amazonaws.services.timestreamwrite.model.DescribeTableResult;
 import com.amazonaws.services.timestreamwrite.model.Endpoint;
 import com.amazonaws.services.timestreamwrite.model.InternalServerException;
 import com.amazonaws.services.timestreamwrite.model.InvalidEndpointException;
@@ -37,10 +41,13 @@ import com.amazonaws.services.timestreamwrite.model.ValidationException;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 
@@ -57,6 +64,7 @@ public class UpdateHandlerTest {
     private static final String TEST_TAG_VALUE_2_NEW = "TestTagValue2New";
     private static final String TEST_TAG_VALUE_3 = "TestTagValue3";
     private static final String TEST_ARN = "TestArn";
+    private static final String TEST_ACCOUNT_ID = "123456789012";
 
     @Mock
     private AmazonWebServicesClientProxy proxy;
@@ -68,6 +76,8 @@ public class UpdateHandlerTest {
 
     @BeforeEach
     public void setup() {
+        CircuitBreaker.clear();
+        EndpointCache.getInstance().clear();
         proxy = mock(AmazonWebServicesClientProxy.class);
         doReturn(new DescribeEndpointsResult().withEndpoints(new Endpoint().withAddress("endpoint")))
                 .when(proxy).injectCredentialsAndInvoke(any(DescribeEndpointsRequest.class), any(Function.class));
@@ -130,6 +140,204 @@ public class UpdateHandlerTest {
         verifyNoMoreInteractions(proxy);
     }
 
+    @Test
+    public void updateTableShouldCheckpointWhenDeadlineIsNearlyExpired() {
+        final ResourceHandlerRequest<ResourceModel> request = givenAResourceHandlerRequest();
+        final Table table = new Table().withDatabaseName(TEST_DATABASE_NAME).withTableName(TEST_TABLE_NAME).withArn(TEST_ARN);
+        final AtomicLong now = new AtomicLong();
+        doAnswer(invocation -> {
+            // the update eats up the budget of the invocation
+            now.set(Deadline.MIN_BUDGET_MILLIS - Deadline.RESERVE_MILLIS);
+            return new UpdateTableResult().withTable(table);
+        }).when(proxy).injectCredentialsAndInvoke(any(UpdateTableRequest.class), any(Function.class));
+        final UpdateHandler deadlineHandler = new UpdateHandler(() -> new Deadline(Deadline.MIN_BUDGET_MILLIS, now::get));
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+            = deadlineHandler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackContext().getCompletedSteps()).containsExactly("UpdateTable");
+        assertThat(response.getCallbackContext().getTableArn()).isEqualTo(TEST_ARN);
+        verify(proxy, never()).injectCredentialsAndInvoke(any(UntagResourceRequest.class), any(Function.class));
+        verify(proxy, never()).injectCredentialsAndInvoke(any(TagResourceRequest.class), any(Function.class));
+    }
+
+    @Test
+    public void updateTableShouldResumeFromCheckpoint() {
+        final ResourceHandlerRequest<ResourceModel> request = givenAResourceHandlerRequest();
+        final CallbackContext callbackContext = CallbackContext.builder()
+                .completedSteps(new ArrayList<>(Arrays.asList("UpdateTable")))
+                .tableArn(TEST_ARN)
+                .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+            = handler.handleRequest(proxy, request, callbackContext, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        verify(proxy, never()).injectCredentialsAndInvoke(any(UpdateTableRequest.class), any(Function.class));
+        verify(proxy).injectCredentialsAndInvoke(
+                eq(new UntagResourceRequest().withResourceARN(TEST_ARN).withTagKeys(TEST_TAG_KEY_1)), any(Function.class));
+        verify(proxy).injectCredentialsAndInvoke(any(TagResourceRequest.class), any(Function.class));
+    }
+
+    @Test
+    public void updateTableShouldResumeAtThrottledStep() {
+        final ResourceHandlerRequest<ResourceModel> request = givenAResourceHandlerRequest();
+        final Table table = new Table().withDatabaseName(TEST_DATABASE_NAME).withTableName(TEST_TABLE_NAME).withArn(TEST_ARN);
+        doReturn(new UpdateTableResult().withTable(table))
+                .when(proxy).injectCredentialsAndInvoke(any(UpdateTableRequest.class), any(Function.class));
+        doReturn(null).when(proxy).injectCredentialsAndInvoke(any(UntagResourceRequest.class), any(Function.class));
+        doThrow(new ThrottlingException("Test exception"))
+                .when(proxy).injectCredentialsAndInvoke(any(TagResourceRequest.class), any(Function.class));
+
+        final ProgressEvent<ResourceModel, CallbackContext> throttled
+            = handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(throttled.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(throttled.getCallbackDelaySeconds())
+                .isEqualTo(StepSequence.FIRST_THROTTLED_CALLBACK_DELAY_SECONDS);
+        assertThat(throttled.getCallbackContext().getCompletedSteps())
+                .containsExactly("UpdateTable", "UntagResource");
+
+        doReturn(null).when(proxy).injectCredentialsAndInvoke(any(TagResourceRequest.class), any(Function.class));
+        final ProgressEvent<ResourceModel, CallbackContext> response
+            = handler.handleRequest(proxy, request, throttled.getCallbackContext(), logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        verify(proxy).injectCredentialsAndInvoke(any(UpdateTableRequest.class), any(Function.class));
+        verify(proxy).injectCredentialsAndInvoke(any(UntagResourceRequest.class), any(Function.class));
+    }
+
+    @Test
+    public void updateTableShouldLeaveOmittedRetentionOutWithoutDescribingTable() {
+        final ResourceHandlerRequest<ResourceModel> request = givenAResourceHandlerRequest();
+        request.getDesiredResourceState().setRetentionProperties(null);
+        final Table table = new Table().withDatabaseName(TEST_DATABASE_NAME).withTableName(TEST_TABLE_NAME).withArn(TEST_ARN);
+        doReturn(new UpdateTableResult().withTable(table))
+                .when(proxy).injectCredentialsAndInvoke(any(UpdateTableRequest.class), any(Function.class));
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+            = handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        verify(proxy).injectCredentialsAndInvoke(
+                argThat(updateTableRequest -> updateTableRequest instanceof UpdateTableRequest
+                        && ((UpdateTableRequest) updateTableRequest).getRetentionProperties() == null
+                        && ((UpdateTableRequest) updateTableRequest).getMagneticStoreWriteProperties() != null),
+                any(Function.class));
+        verify(proxy, never()).injectCredentialsAndInvoke(any(DescribeTableRequest.class), any(Function.class));
+    }
+
+    @Test
+    public void updateTagsShouldNotUpdateTableWithPreviousArn() {
+        final ResourceHandlerRequest<ResourceModel> request = givenATagOnlyResourceHandlerRequest(TEST_ARN, null);
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+            = handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        verify(proxy).injectCredentialsAndInvoke(
+                eq(new UntagResourceRequest().withResourceARN(TEST_ARN).withTagKeys(TEST_TAG_KEY_1)), any(Function.class));
+        verify(proxy).injectCredentialsAndInvoke(
+                eq(new TagResourceRequest().withResourceARN(TEST_ARN).withTags(
+                        new com.amazonaws.services.timestreamwrite.model.Tag()
+                                .withKey(TEST_TAG_KEY_2).withValue(TEST_TAG_VALUE_2_NEW),
+                        new com.amazonaws.services.timestreamwrite.model.Tag()
+                                .withKey(TEST_TAG_KEY_3).withValue(TEST_TAG_VALUE_3))),
+                any(Function.class));
+        verify(proxy, never()).injectCredentialsAndInvoke(any(UpdateTableRequest.class), any(Function.class));
+        verify(proxy, never()).injectCredentialsAndInvoke(any(DescribeTableRequest.class), any(Function.class));
+    }
+
+    @Test
+    public void updateTagsShouldNotUpdateTableWithAccount() {
+        final ResourceHandlerRequest<ResourceModel> request =
+                givenATagOnlyResourceHandlerRequest(null, TEST_ACCOUNT_ID);
+        final String expectedArn = Arns.table(TEST_ACCOUNT_ID, TEST_DATABASE_NAME, TEST_TABLE_NAME);
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+            = handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        verify(proxy).injectCredentialsAndInvoke(
+                eq(new UntagResourceRequest().withResourceARN(expectedArn).withTagKeys(TEST_TAG_KEY_1)),
+                any(Function.class));
+        verify(proxy, never()).injectCredentialsAndInvoke(any(UpdateTableRequest.class), any(Function.class));
+        verify(proxy, never()).injectCredentialsAndInvoke(any(DescribeTableRequest.class), any(Function.class));
+    }
+
+    @Test
+    public void updateTagsShouldDescribeTableWithoutArn() {
+        final ResourceHandlerRequest<ResourceModel> request = givenATagOnlyResourceHandlerRequest(null, null);
+        final Table table = new Table().withDatabaseName(TEST_DATABASE_NAME).withTableName(TEST_TABLE_NAME).withArn(TEST_ARN);
+        doReturn(new DescribeTableResult().withTable(table))
+                .when(proxy).injectCredentialsAndInvoke(any(DescribeTableRequest.class), any(Function.class));
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+            = handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        verify(proxy).injectCredentialsAndInvoke(
+                eq(new UntagResourceRequest().withResourceARN(TEST_ARN).withTagKeys(TEST_TAG_KEY_1)), any(Function.class));
+        verify(proxy, never()).injectCredentialsAndInvoke(any(UpdateTableRequest.class), any(Function.class));
+    }
+
+    @Test
+    public void updateShouldOnlyDescribeTableWithoutChanges() {
+        final ResourceHandlerRequest<ResourceModel> request = givenATagOnlyResourceHandlerRequest(TEST_ARN, null);
+        request.getDesiredResourceState().setTags(request.getPreviousResourceState().getTags());
+        final Table table = new Table().withDatabaseName(TEST_DATABASE_NAME).withTableName(TEST_TABLE_NAME).withArn(TEST_ARN);
+        doReturn(new DescribeTableResult().withTable(table))
+                .when(proxy).injectCredentialsAndInvoke(any(DescribeTableRequest.class), any(Function.class));
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+            = handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        verify(proxy).injectCredentialsAndInvoke(
+                eq(new DescribeTableRequest().withDatabaseName(TEST_DATABASE_NAME).withTableName(TEST_TABLE_NAME)),
+                any(Function.class));
+        verify(proxy, never()).injectCredentialsAndInvoke(any(UpdateTableRequest.class), any(Function.class));
+        verify(proxy, never()).injectCredentialsAndInvoke(any(TagResourceRequest.class), any(Function.class));
+        verify(proxy, never()).injectCredentialsAndInvoke(any(UntagResourceRequest.class), any(Function.class));
+    }
+
+    @Test
+    public void updateWithoutChangesShouldThrowWhenTableIsGone() {
+        final ResourceHandlerRequest<ResourceModel> request = givenATagOnlyResourceHandlerRequest(TEST_ARN, null);
+        request.getDesiredResourceState().setTags(request.getPreviousResourceState().getTags());
+        doThrow(new ResourceNotFoundException("Test exception"))
+                .when(proxy).injectCredentialsAndInvoke(any(DescribeTableRequest.class), any(Function.class));
+
+        assertThrows(
+                CfnNotFoundException.class,
+                () -> handler.handleRequest(proxy, request, null, logger));
+    }
+
+    @Test
+    public void updateShouldApplyDesiredStateWithoutPreviousState() {
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .desiredResourceState(givenAResourceHandlerRequest().getDesiredResourceState())
+            .build();
+        final Table table = new Table().withDatabaseName(TEST_DATABASE_NAME).withTableName(TEST_TABLE_NAME).withArn(TEST_ARN);
+        doReturn(new UpdateTableResult().withTable(table))
+                .when(proxy).injectCredentialsAndInvoke(any(UpdateTableRequest.class), any(Function.class));
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+            = handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        verify(proxy).injectCredentialsAndInvoke(any(UpdateTableRequest.class), any(Function.class));
+        verify(proxy).injectCredentialsAndInvoke(
+                eq(new TagResourceRequest().withResourceARN(TEST_ARN).withTags(
+                        new com.amazonaws.services.timestreamwrite.model.Tag()
+                                .withKey(TEST_TAG_KEY_2).withValue(TEST_TAG_VALUE_2_NEW),
+                        new com.amazonaws.services.timestreamwrite.model.Tag()
+                                .withKey(TEST_TAG_KEY_3).withValue(TEST_TAG_VALUE_3))),
+                any(Function.class));
+        verify(proxy, never()).injectCredentialsAndInvoke(any(UntagResourceRequest.class), any(Function.class));
+    }
+
     /*
      * Tests for error handling.
      */
@@ -250,4 +458,21 @@ public class UpdateHandlerTest {
             .desiredResourceState(model).previousResourceState(existingModel)
             .build();
     }
+
+    /**
+     * @return a request changing the tags of the table only.
+     */
+    private ResourceHandlerRequest<ResourceModel> givenATagOnlyResourceHandlerRequest(
+            final String previousArn, final String awsAccountId) {
+        final ResourceHandlerRequest<ResourceModel> request = givenAResourceHandlerRequest();
+        final ResourceModel existingModel = request.getPreviousResourceState();
+        existingModel.setArn(previousArn);
+        final ResourceModel model = request.getDesiredResourceState();
+        model.setRetentionProperties(existingModel.getRetentionProperties());
+        model.setMagneticStoreWriteProperties(null);
+        return ResourceHandlerRequest.<ResourceModel>builder()
+            .awsAccountId(awsAccountId)
+            .desiredResourceState(model).previousResourceState(existingModel)
+            .build();
+    }
 }